@@ -85,7 +85,8 @@ public class Common {
                 password,
                 false,
                 false,
-                "&rewriteBatchedStatements=true&useBulkStmts=false" + other);
+                "&rewriteBatchedStatements=true&useBulkStmts=false&useBulkStmtsForInserts=false"
+                    + other);
         connectionTextRewrite =
             ((java.sql.Driver) Class.forName(className).getDeclaredConstructor().newInstance())
                 .connect(jdbcUrlTextRewrite, new Properties());
@@ -176,6 +177,19 @@ public class Common {
           stmt.executeUpdate(sb.toString());
           stmt.executeUpdate(sb2.toString());
 
+          stmt.executeUpdate("DROP TABLE IF EXISTS test100datetime");
+          sb = new StringBuilder("CREATE TABLE test100datetime (t1 DATETIME(6)");
+          sb2 =
+              new StringBuilder("INSERT INTO test100datetime value ('2023-01-01 10:11:12.123456'");
+          for (int i = 2; i <= 100; i++) {
+            sb.append(",t").append(i).append(" DATETIME(6)");
+            sb2.append(",'2023-01-").append(10 + i % 20).append(" 10:11:12.123456'");
+          }
+          sb.append(")");
+          sb2.append(")");
+          stmt.executeUpdate(sb.toString());
+          stmt.executeUpdate(sb2.toString());
+
           stmt.execute("DROP TABLE IF EXISTS perfTestTextBatch");
           try {
             stmt.execute("INSTALL SONAME 'ha_blackhole'");
@@ -4,12 +4,18 @@
 package org.mariadb.jdbc;
 
 import java.sql.Connection;
+import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.*;
 
+/**
+ * Batch insert strategies comparison: <code>binary</code> uses bulk command when server support it,
+ * <code>pipeline</code> sends one text command per parameter set without waiting for results, and
+ * <code>rewrite</code> merges parameter sets in multi-values INSERT commands.
+ */
 public class Insert_batch extends Common {
 
   static final List<String> chars = new ArrayList<>();
@@ -29,11 +35,37 @@ public class Insert_batch extends Common {
     return result.toString();
   }
 
+  @State(Scope.Thread)
+  public static class PipelineState {
+
+    protected Connection connection;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      connection =
+          DriverManager.getConnection(
+              String.format(
+                  "jdbc:mariadb://%s:%s/%s?user=%s&password=%s&sslMode=DISABLED"
+                      + "&useBulkStmts=false&useBulkStmtsForInserts=false%s",
+                  host, port, database, username, password, other));
+    }
+
+    @TearDown(Level.Trial)
+    public void doTearDown() throws Exception {
+      connection.close();
+    }
+  }
+
   @Benchmark
   public int[] binary(MyState state) throws Throwable {
     return run(state.connectionBinary);
   }
 
+  @Benchmark
+  public int[] pipeline(PipelineState state) throws Throwable {
+    return run(state.connection);
+  }
+
   @Benchmark
   public int[] rewrite(MyState state) throws Throwable {
     return run(state.connectionTextRewrite);
@@ -0,0 +1,107 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Upload of a 1G stream of unknown length with a 64M heap: succeeding permits to ensure value is
+ * never buffered. <code>binary</code> sends value in COM_STMT_SEND_LONG_DATA chunks, <code>text
+ * </code> escapes value directly in the query packets.
+ *
+ * <p>Server must be configured with max_allowed_packet=1G.
+ */
+@Fork(value = 1, jvmArgsAppend = "-Xmx64m")
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class Insert_stream extends Common {
+
+  private static final long LENGTH = 1024L * 1024 * 1024;
+
+  @State(Scope.Thread)
+  public static class StreamState {
+
+    protected Connection connectionText;
+    protected Connection connectionBinary;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      String url =
+          String.format(
+              "jdbc:mariadb://%s:%s/%s?user=%s&password=%s&sslMode=DISABLED%s",
+              host, port, database, username, password, other);
+      connectionText = DriverManager.getConnection(url);
+      connectionBinary = DriverManager.getConnection(url + "&useServerPrepStmts=true");
+      try (Statement stmt = connectionText.createStatement()) {
+        stmt.execute("DROP TABLE IF EXISTS perfTestStream");
+        try {
+          stmt.execute("INSTALL SONAME 'ha_blackhole'");
+        } catch (SQLException e) {
+        }
+        try {
+          stmt.execute("CREATE TABLE perfTestStream (t0 LONGBLOB) ENGINE = BLACKHOLE");
+        } catch (SQLException e) {
+          stmt.execute("CREATE TABLE perfTestStream (t0 LONGBLOB)");
+        }
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void doTearDown() throws Exception {
+      connectionText.close();
+      connectionBinary.close();
+    }
+  }
+
+  @Benchmark
+  public int binary(StreamState state) throws Throwable {
+    return run(state.connectionBinary);
+  }
+
+  @Benchmark
+  public int text(StreamState state) throws Throwable {
+    return run(state.connectionText);
+  }
+
+  private int run(Connection con) throws Throwable {
+    try (PreparedStatement prep = con.prepareStatement("INSERT INTO perfTestStream VALUES (?)")) {
+      prep.setBinaryStream(1, new GeneratedStream(LENGTH));
+      return prep.executeUpdate();
+    }
+  }
+
+  /** Stream generating data, without keeping any in memory */
+  private static class GeneratedStream extends InputStream {
+    private long remaining;
+
+    GeneratedStream(long length) {
+      this.remaining = length;
+    }
+
+    @Override
+    public int read() {
+      if (remaining <= 0) return -1;
+      return (int) (remaining-- % 251);
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (remaining <= 0) return -1;
+      int read = (int) Math.min(len, remaining);
+      for (int i = 0; i < read; i++) {
+        b[off + i] = (byte) (remaining-- % 251);
+      }
+      return read;
+    }
+  }
+}
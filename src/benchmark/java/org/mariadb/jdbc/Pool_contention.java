@@ -0,0 +1,166 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.mariadb.jdbc.client.Client;
+import org.mariadb.jdbc.client.Completion;
+import org.mariadb.jdbc.client.Context;
+import org.mariadb.jdbc.client.DataType;
+import org.mariadb.jdbc.client.result.CompleteResult;
+import org.mariadb.jdbc.export.ExceptionFactory;
+import org.mariadb.jdbc.message.server.util.ServerVersionUtility;
+import org.mariadb.jdbc.pool.MariaDbInnerPoolConnection;
+import org.mariadb.jdbc.pool.Pool;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Pool borrowing contention: getPoolConnection() / close cycles against stubbed connections, so
+ * only pool overhead is measured.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 10, timeUnit = TimeUnit.SECONDS, time = 1)
+@Measurement(iterations = 10, timeUnit = TimeUnit.SECONDS, time = 1)
+@Fork(value = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class Pool_contention {
+
+  private static final AtomicLong threadIds = new AtomicLong();
+
+  private Pool pool;
+  private ScheduledThreadPoolExecutor poolExecutor;
+
+  @Param({"8", "32"})
+  int maxPoolSize;
+
+  @Setup(Level.Trial)
+  public void createPool() throws SQLException {
+    Configuration conf =
+        Configuration.parse(
+            String.format(
+                "jdbc:mariadb://localhost/testj?pool&registerJmxPool=false&minPoolSize=%s&maxPoolSize=%s",
+                maxPoolSize, maxPoolSize));
+    poolExecutor = new ScheduledThreadPoolExecutor(1);
+    pool = new Pool(conf, 1, poolExecutor, Pool_contention::stubConnection);
+  }
+
+  @TearDown(Level.Trial)
+  public void closePool() {
+    pool.close();
+    poolExecutor.shutdown();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public long threads_1() throws SQLException {
+    return borrowAndRelease();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public long threads_4() throws SQLException {
+    return borrowAndRelease();
+  }
+
+  @Benchmark
+  @Threads(16)
+  public long threads_16() throws SQLException {
+    return borrowAndRelease();
+  }
+
+  @Benchmark
+  @Threads(64)
+  public long threads_64() throws SQLException {
+    return borrowAndRelease();
+  }
+
+  private long borrowAndRelease() throws SQLException {
+    MariaDbInnerPoolConnection poolConnection = pool.getPoolConnection();
+    Connection connection = poolConnection.getConnection();
+    long threadId = connection.getThreadId();
+    connection.close();
+    return threadId;
+  }
+
+  /**
+   * Create a connection without any network exchange: ping / reset succeed immediately, and queries
+   * return a one-row result-set (needed for pool initial @@wait_timeout query).
+   */
+  private static Connection stubConnection(Configuration conf) {
+    ExceptionFactory exceptionFactory = new ExceptionFactory(conf, null);
+    ServerVersionUtility version = new ServerVersionUtility("11.2.2-MariaDB", true);
+    long threadId = threadIds.incrementAndGet();
+
+    Context context =
+        (Context)
+            Proxy.newProxyInstance(
+                Context.class.getClassLoader(),
+                new Class<?>[] {Context.class},
+                (proxy, method, args) -> {
+                  switch (method.getName()) {
+                    case "getVersion":
+                      return version;
+                    case "getConf":
+                      return conf;
+                    case "getExceptionFactory":
+                      return exceptionFactory;
+                    case "getThreadId":
+                      return threadId;
+                    default:
+                      return defaultValue(method.getReturnType());
+                  }
+                });
+
+    Client client =
+        (Client)
+            Proxy.newProxyInstance(
+                Client.class.getClassLoader(),
+                new Class<?>[] {Client.class},
+                (proxy, method, args) -> {
+                  switch (method.getName()) {
+                    case "getContext":
+                      return context;
+                    case "getExceptionFactory":
+                      return exceptionFactory;
+                    case "getLastReadNanos":
+                      return System.nanoTime();
+                    case "execute":
+                      List<Completion> completions = new ArrayList<>();
+                      if (args.length > 2) {
+                        completions.add(
+                            (Completion)
+                                CompleteResult.createResultSet(
+                                    "res",
+                                    DataType.INTEGER,
+                                    new String[][] {{"28800"}},
+                                    context,
+                                    0,
+                                    ResultSet.TYPE_FORWARD_ONLY));
+                      }
+                      return completions;
+                    default:
+                      return defaultValue(method.getReturnType());
+                  }
+                });
+
+    return new Connection(conf, new ReentrantLock(), client);
+  }
+
+  private static Object defaultValue(Class<?> type) {
+    if (type == boolean.class) return false;
+    if (type == int.class) return 0;
+    if (type == long.class) return 0L;
+    if (type == short.class) return (short) 0;
+    return null;
+  }
+}
@@ -0,0 +1,88 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Forward-only streaming of 10000 rows, with and without row buffer recycling. Allocation rate is
+ * best compared running with gc profiler: <code>-prof gc</code>.
+ */
+public class Select_10000_Rows_streaming extends Common {
+  private static final String sql =
+      "select seq, 'abcdefghijabcdefghijabcdefghijaa' from seq_1_to_10000";
+
+  @State(Scope.Thread)
+  public static class StreamingState {
+
+    protected Connection connectionText;
+    protected Connection connectionBinary;
+
+    @Param({"false", "true"})
+    boolean recycleRowBuffers;
+
+    @Setup(Level.Trial)
+    public void createConnections() throws SQLException {
+      String jdbcBase =
+          "jdbc:mariadb://%s:%s/%s?user=%s&password=%s&sslMode=DISABLED&useServerPrepStmts=%s&recycleRowBuffers=%s%s";
+      connectionText =
+          DriverManager.getConnection(
+              String.format(
+                  jdbcBase,
+                  host,
+                  port,
+                  database,
+                  username,
+                  password,
+                  false,
+                  recycleRowBuffers,
+                  other));
+      connectionBinary =
+          DriverManager.getConnection(
+              String.format(
+                  jdbcBase,
+                  host,
+                  port,
+                  database,
+                  username,
+                  password,
+                  true,
+                  recycleRowBuffers,
+                  other));
+    }
+
+    @TearDown(Level.Trial)
+    public void doTearDown() throws SQLException {
+      connectionText.close();
+      connectionBinary.close();
+    }
+  }
+
+  @Benchmark
+  public void text(StreamingState state, Blackhole blackhole) throws Throwable {
+    run(state.connectionText, blackhole);
+  }
+
+  @Benchmark
+  public void binary(StreamingState state, Blackhole blackhole) throws Throwable {
+    run(state.connectionBinary, blackhole);
+  }
+
+  private void run(Connection con, Blackhole blackhole) throws Throwable {
+    try (PreparedStatement st = con.prepareStatement(sql)) {
+      st.setFetchSize(100);
+      ResultSet rs = st.executeQuery();
+      while (rs.next()) {
+        blackhole.consume(rs.getInt(1));
+        blackhole.consume(rs.getString(2));
+      }
+    }
+  }
+}
@@ -0,0 +1,108 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import org.mariadb.jdbc.plugin.CompressionPlugin;
+import org.mariadb.jdbc.plugin.compression.CompressionPluginLoader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compression algorithms comparison on Select_1000_Rows result-set. <code>compress</code> and
+ * <code>decompress</code> benchmarks measure algorithm CPU cost on the result-set packets, <code>
+ * text</code> measures query throughput with a compressed connection (zstd is only negotiated with
+ * MySQL 8.0.18+ servers, falling back to zlib with MariaDB servers).
+ */
+public class Select_1000_Rows_compression extends Common {
+  private static final String sql =
+      "select seq, 'abcdefghijabcdefghijabcdefghijaa' from seq_1_to_1000";
+
+  @State(Scope.Thread)
+  public static class CompressionState {
+
+    protected Connection connection;
+    protected CompressionPlugin.Compressor compressor;
+    protected CompressionPlugin.Decompressor decompressor;
+    protected byte[] payload;
+    protected byte[] compressed;
+    protected int compressedLength;
+    protected byte[] decompressed;
+
+    @Param({"zlib", "zstd"})
+    String algorithm;
+
+    @Param({"0", "1"})
+    int level;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      connection =
+          DriverManager.getConnection(
+              String.format(
+                  "jdbc:mariadb://%s:%s/%s?user=%s&password=%s&sslMode=DISABLED&useCompression"
+                      + "&compressionAlgorithms=%s,zlib&compressionLevel=%s%s",
+                  host, port, database, username, password, algorithm, level, other));
+
+      // text protocol row packets, as sent by server for Select_1000_Rows query
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] str = "abcdefghijabcdefghijabcdefghijaa".getBytes(StandardCharsets.UTF_8);
+      for (int i = 1; i <= 1000; i++) {
+        byte[] seq = Integer.toString(i).getBytes(StandardCharsets.UTF_8);
+        int len = 2 + seq.length + str.length;
+        out.write(len);
+        out.write(0);
+        out.write(0);
+        out.write(i);
+        out.write(seq.length);
+        out.write(seq, 0, seq.length);
+        out.write(str.length);
+        out.write(str, 0, str.length);
+      }
+      payload = out.toByteArray();
+
+      CompressionPlugin plugin = CompressionPluginLoader.get(algorithm);
+      compressor = plugin.compressor(level);
+      decompressor = plugin.decompressor();
+      compressed = new byte[compressor.maxCompressedLength(payload.length)];
+      compressedLength = compressor.compress(payload, 0, payload.length, compressed, 0);
+      decompressed = new byte[payload.length];
+    }
+
+    @TearDown(Level.Trial)
+    public void doTearDown() throws Exception {
+      connection.close();
+      compressor.close();
+      decompressor.close();
+    }
+  }
+
+  @Benchmark
+  public int compress(CompressionState state) throws Throwable {
+    return state.compressor.compress(state.payload, 0, state.payload.length, state.compressed, 0);
+  }
+
+  @Benchmark
+  public byte[] decompress(CompressionState state) throws Throwable {
+    state.decompressor.decompress(
+        state.compressed, 0, state.compressedLength, state.decompressed, 0, state.payload.length);
+    return state.decompressed;
+  }
+
+  @Benchmark
+  public void text(CompressionState state, Blackhole blackhole) throws Throwable {
+    try (PreparedStatement st = state.connection.prepareStatement(sql)) {
+      ResultSet rs = st.executeQuery();
+      while (rs.next()) {
+        blackhole.consume(rs.getInt(1));
+        blackhole.consume(rs.getString(2));
+      }
+    }
+  }
+}
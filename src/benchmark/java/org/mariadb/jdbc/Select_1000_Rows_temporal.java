@@ -0,0 +1,70 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Temporal decoding without calendar: 1000 rows of 10 DATETIME, DATE or TIME values, read with
+ * getTimestamp, getDate and getTime.
+ */
+public class Select_1000_Rows_temporal extends Common {
+
+  @State(Scope.Thread)
+  public static class TemporalState {
+    @Param({"DATETIME(6)", "DATE", "TIME(6)"})
+    String type;
+
+    String sql;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      StringBuilder sb = new StringBuilder("SELECT ");
+      for (int i = 0; i < 10; i++) {
+        if (i > 0) sb.append(",");
+        sb.append("CAST(TIMESTAMP'2023-01-01 10:11:12.123456' + INTERVAL seq * ")
+            .append(i + 1)
+            .append(" MINUTE AS ")
+            .append(type)
+            .append(")");
+      }
+      sql = sb.append(" FROM seq_1_to_1000").toString();
+    }
+  }
+
+  @Benchmark
+  public void text(MyState state, TemporalState temporal, Blackhole blackhole) throws Throwable {
+    run(state.connectionText, temporal, blackhole);
+  }
+
+  @Benchmark
+  public void binary(MyState state, TemporalState temporal, Blackhole blackhole) throws Throwable {
+    run(state.connectionBinary, temporal, blackhole);
+  }
+
+  private void run(Connection con, TemporalState temporal, Blackhole blackhole) throws Throwable {
+    try (PreparedStatement st = con.prepareStatement(temporal.sql)) {
+      ResultSet rs = st.executeQuery();
+      while (rs.next()) {
+        for (int i = 1; i <= 10; i++) {
+          switch (temporal.type) {
+            case "DATE":
+              blackhole.consume(rs.getDate(i));
+              break;
+            case "TIME(6)":
+              blackhole.consume(rs.getTime(i));
+              break;
+            default:
+              blackhole.consume(rs.getTimestamp(i));
+              break;
+          }
+        }
+      }
+    }
+  }
+}
@@ -5,21 +5,60 @@ package org.mariadb.jdbc;
 
 import java.sql.*;
 import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.infra.Blackhole;
 
 public class Select_100_cols extends Common {
 
+  private static final int[] SEQUENTIAL_ORDER = new int[100];
+  private static final int[] REVERSE_ORDER = new int[100];
+  private static final int[] RANDOM_ORDER = new int[100];
+
+  static {
+    List<Integer> shuffled = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      SEQUENTIAL_ORDER[i] = i + 1;
+      REVERSE_ORDER[i] = 100 - i;
+      shuffled.add(i + 1);
+    }
+    Collections.shuffle(shuffled, new Random(42));
+    for (int i = 0; i < 100; i++) RANDOM_ORDER[i] = shuffled.get(i);
+  }
+
   @Benchmark
   public void text(MyState state, Blackhole blackhole) throws Throwable {
     run(state.connectionText, blackhole);
   }
 
+  @Benchmark
+  public void textReverse(MyState state, Blackhole blackhole) throws Throwable {
+    run(state.connectionText, blackhole, REVERSE_ORDER);
+  }
+
+  @Benchmark
+  public void textRandom(MyState state, Blackhole blackhole) throws Throwable {
+    run(state.connectionText, blackhole, RANDOM_ORDER);
+  }
+
   @Benchmark
   public void binary(MyState state, Blackhole blackhole) throws Throwable {
     run(state.connectionBinary, blackhole);
   }
 
+  @Benchmark
+  public void binaryReverse(MyState state, Blackhole blackhole) throws Throwable {
+    run(state.connectionBinary, blackhole, REVERSE_ORDER);
+  }
+
+  @Benchmark
+  public void binaryRandom(MyState state, Blackhole blackhole) throws Throwable {
+    run(state.connectionBinary, blackhole, RANDOM_ORDER);
+  }
+
   @Benchmark
   public void binaryNoCache(MyState state, Blackhole blackhole) throws Throwable {
     run(state.connectionBinaryNoCache, blackhole);
@@ -31,12 +70,16 @@ public class Select_100_cols extends Common {
   }
 
   private void run(Connection con, Blackhole blackhole) throws Throwable {
+    run(con, blackhole, SEQUENTIAL_ORDER);
+  }
+
+  private void run(Connection con, Blackhole blackhole, int[] order) throws Throwable {
 
     try (PreparedStatement prep = con.prepareStatement("select * FROM test100")) {
       try (ResultSet rs = prep.executeQuery()) {
         rs.next();
         for (int i = 0; i < 100; i++) {
-          blackhole.consume(rs.getInt(i + 1));
+          blackhole.consume(rs.getInt(order[i]));
         }
       }
     }
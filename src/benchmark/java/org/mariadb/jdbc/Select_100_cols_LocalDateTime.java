@@ -0,0 +1,35 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc;
+
+import java.sql.*;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Wide result-set read using typed <code>getObject(i, LocalDateTime.class)</code> */
+public class Select_100_cols_LocalDateTime extends Common {
+
+  @Benchmark
+  public void text(MyState state, Blackhole blackhole) throws Throwable {
+    run(state.connectionText, blackhole);
+  }
+
+  @Benchmark
+  public void binary(MyState state, Blackhole blackhole) throws Throwable {
+    run(state.connectionBinary, blackhole);
+  }
+
+  private void run(Connection con, Blackhole blackhole) throws Throwable {
+    try (PreparedStatement prep = con.prepareStatement("select * FROM test100datetime")) {
+      try (ResultSet rs = prep.executeQuery()) {
+        rs.next();
+        for (int i = 1; i <= 100; i++) {
+          blackhole.consume(rs.getObject(i, LocalDateTime.class));
+        }
+      }
+    }
+  }
+}
@@ -11,16 +11,26 @@ import java.sql.*;
 import java.sql.Date;
 import java.sql.Statement;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 import org.mariadb.jdbc.client.result.Result;
 import org.mariadb.jdbc.codec.Parameter;
 import org.mariadb.jdbc.export.ExceptionFactory;
 import org.mariadb.jdbc.util.ParameterList;
+import org.mariadb.jdbc.util.ParseCache;
 
 /** Common methods for function/stored procedure */
 public abstract class BaseCallableStatement extends ServerPreparedStatement
     implements CallableStatement {
 
+  private static final ParseCache<CachedParameterMetaData> parameterMetaDataCache =
+      new ParseCache<>(512);
+
+  // errors indicating that procedure definition doesn't correspond to cached metadata
+  private static final int ER_SP_DOES_NOT_EXIST = 1305;
+  private static final int ER_SP_WRONG_NO_OF_ARGS = 1318;
+  private static final int ER_SP_NOT_VAR_ARG = 1414;
+
   /** Database name */
   protected final String databaseName;
 
@@ -87,6 +97,22 @@ public abstract class BaseCallableStatement extends ServerPreparedStatement
    */
   public abstract boolean isFunction();
 
+  @Override
+  protected void executeInternal() throws SQLException {
+    try {
+      super.executeInternal();
+    } catch (SQLException e) {
+      switch (e.getErrorCode()) {
+        case ER_SP_DOES_NOT_EXIST:
+        case ER_SP_WRONG_NO_OF_ARGS:
+        case ER_SP_NOT_VAR_ARG:
+          invalidateParameterMetaData();
+          break;
+      }
+      throw e;
+    }
+  }
+
   /**
    * Output result without output parameters
    *
@@ -749,6 +775,20 @@ public abstract class BaseCallableStatement extends ServerPreparedStatement
     if (parameterName == null) throw exceptionFactory().create("parameter name cannot be null");
     if (parameterMetaData == null) parameterMetaData = getParameterMetaData();
 
+    int index = findParameter(parameterName);
+    if (index == -1 && con.getContext().getConf().callableStmtCacheTtl() > 0) {
+      // cached metadata might predate procedure change
+      invalidateParameterMetaData();
+      parameterMetaData = getParameterMetaData();
+      index = findParameter(parameterName);
+    }
+    if (index == -1) {
+      throw exceptionFactory().create(String.format("parameter name %s not found", parameterName));
+    }
+    return index;
+  }
+
+  private int findParameter(String parameterName) throws SQLException {
     int count = parameterMetaData.getParameterCount();
     for (int i = 1; i <= count; i++) {
       String name = parameterMetaData.getParameterName(i);
@@ -756,7 +796,7 @@ public abstract class BaseCallableStatement extends ServerPreparedStatement
         return i;
       }
     }
-    throw exceptionFactory().create(String.format("parameter name %s not found", parameterName));
+    return -1;
   }
 
   /**
@@ -2806,9 +2846,39 @@ public abstract class BaseCallableStatement extends ServerPreparedStatement
     registerOutParameter(nameToIndex(parameterName), sqlType);
   }
 
+  /**
+   * Parameter metadata cache, shared by connections with option <code>callableStmtCacheTtl</code>
+   *
+   * @return parameter metadata cache
+   */
+  public static ParseCache<?> parameterMetaDataCache() {
+    return parameterMetaDataCache;
+  }
+
+  private String parameterMetaDataKey() {
+    return con.getClient().getHostAddress() + "/" + databaseName + "." + procedureName;
+  }
+
+  private void invalidateParameterMetaData() {
+    if (con.getContext().getConf().callableStmtCacheTtl() > 0) {
+      parameterMetaDataCache.remove(parameterMetaDataKey(), isFunction());
+    }
+  }
+
   @Override
   public CallableParameterMetaData getParameterMetaData() throws SQLException {
-    PreparedStatement prep =
+    int ttl = con.getContext().getConf().callableStmtCacheTtl();
+    if (ttl > 0) {
+      CachedParameterMetaData cached =
+          parameterMetaDataCache.get(parameterMetaDataKey(), isFunction());
+      if (cached != null && System.nanoTime() - cached.loadTime < TimeUnit.SECONDS.toNanos(ttl)) {
+        parameterMetaData = cached.metaData;
+        return parameterMetaData;
+      }
+    }
+
+    long loadTime = System.nanoTime();
+    try (PreparedStatement prep =
         new ClientPreparedStatement(
             "SELECT * from information_schema.PARAMETERS "
                 + "WHERE SPECIFIC_NAME = ? "
@@ -2821,11 +2891,28 @@ public abstract class BaseCallableStatement extends ServerPreparedStatement
             Statement.NO_GENERATED_KEYS,
             ResultSet.TYPE_FORWARD_ONLY,
             ResultSet.CONCUR_READ_ONLY,
-            0);
-    prep.setString(1, procedureName);
-    prep.setString(2, databaseName);
-    ResultSet rs = prep.executeQuery();
-    parameterMetaData = new CallableParameterMetaData(rs, isFunction());
+            0)) {
+      prep.setString(1, procedureName);
+      prep.setString(2, databaseName);
+      ResultSet rs = prep.executeQuery();
+      parameterMetaData = new CallableParameterMetaData(rs, isFunction());
+    }
+    if (ttl > 0) {
+      parameterMetaDataCache.put(
+          parameterMetaDataKey(),
+          isFunction(),
+          new CachedParameterMetaData(parameterMetaData, loadTime));
+    }
     return parameterMetaData;
   }
+
+  private static final class CachedParameterMetaData {
+    private final CallableParameterMetaData metaData;
+    private final long loadTime;
+
+    CachedParameterMetaData(CallableParameterMetaData metaData, long loadTime) {
+      this.metaData = metaData;
+      this.loadTime = loadTime;
+    }
+  }
 }
@@ -13,14 +13,19 @@ import java.sql.ParameterMetaData;
 import java.util.*;
 import java.util.concurrent.locks.ReentrantLock;
 import org.mariadb.jdbc.client.ColumnDecoder;
+import org.mariadb.jdbc.client.Completion;
+import org.mariadb.jdbc.client.result.LabelIndex;
+import org.mariadb.jdbc.client.result.Result;
 import org.mariadb.jdbc.client.util.Parameters;
 import org.mariadb.jdbc.codec.*;
 import org.mariadb.jdbc.export.ExceptionFactory;
 import org.mariadb.jdbc.export.Prepare;
+import org.mariadb.jdbc.message.server.OkPacket;
 import org.mariadb.jdbc.plugin.Codec;
 import org.mariadb.jdbc.plugin.codec.*;
 import org.mariadb.jdbc.util.ClientParser;
 import org.mariadb.jdbc.util.ParameterList;
+import org.mariadb.jdbc.util.constants.Capabilities;
 import org.mariadb.jdbc.util.constants.ServerStatus;
 
 /** Common methods for prepare statement, for client and server prepare statement. */
@@ -40,6 +45,9 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
 
   protected Boolean isCommandInsert = null;
 
+  /** result-set label index of last execution */
+  private LabelIndex labelIndex = null;
+
   /**
    * Constructor
    *
@@ -94,6 +102,54 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
     return sb.toString();
   }
 
+  /**
+   * Can bulk command be used when generated keys are requested. This is possible if server returns
+   * individual results (one auto increment id per parameter set), or for INSERT commands with
+   * option `returnMultiValuesGeneratedIds`, ids being then derived from bulk first insert id and
+   * auto_increment_increment, expecting consecutive ids.
+   *
+   * @return true if bulk command can return all generated keys
+   */
+  protected boolean canBulkReturnGeneratedKeys() {
+    checkIfInsertCommand();
+    return con.getContext().hasClientCapability(Capabilities.BULK_UNIT_RESULTS)
+        || (isCommandInsert && con.getContext().getConf().returnMultiValuesGeneratedIds());
+  }
+
+  /**
+   * Must bulk command ask for individual results
+   *
+   * @return true if generated keys are requested and server can return individual results
+   */
+  protected boolean useBulkUnitResults() {
+    return autoGeneratedKeys == java.sql.Statement.RETURN_GENERATED_KEYS
+        && con.getContext().hasClientCapability(Capabilities.BULK_UNIT_RESULTS);
+  }
+
+  /**
+   * Bulk individual results are returned as a result-set, one row (auto increment id, affected
+   * rows) for each parameter set. Convert them to one OK_Packet by parameter set, permitting
+   * standard update count and generated keys handling.
+   *
+   * @param res bulk results
+   * @return results, with one OK_Packet by parameter set
+   * @throws SQLException if any error occurs reading result-set
+   */
+  protected static List<Completion> fromBulkUnitResults(List<Completion> res) throws SQLException {
+    List<Completion> completions = new ArrayList<>();
+    for (Completion completion : res) {
+      if (completion instanceof Result) {
+        Result rs = (Result) completion;
+        while (rs.next()) {
+          completions.add(new OkPacket(rs.getLong(2), rs.getLong(1)));
+        }
+      } else {
+        completions.add(completion);
+      }
+    }
+    return completions;
+  }
+
   protected void checkIfInsertCommand() {
     if (isCommandInsert == null) {
       if (sql == null) {
@@ -131,6 +187,22 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
     return this.prepareResult.getColumns();
   }
 
+  /**
+   * Get result-set label index, reusing index of previous executions if metadata labels didn't
+   * change.
+   *
+   * @param columns result-set metadata
+   * @return label index
+   */
+  public LabelIndex labelIndex(ColumnDecoder[] columns) {
+    LabelIndex index = labelIndex;
+    if (index == null || !index.matches(columns)) {
+      index = LabelIndex.of(columns);
+      labelIndex = index;
+    }
+    return index;
+  }
+
   /**
    * update cached metadata list
    *
@@ -369,7 +441,7 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   @Override
   public void setInt(int parameterIndex, int x) throws SQLException {
     checkIndex(parameterIndex);
-    parameters.set(parameterIndex - 1, new NonNullParameter<>(IntCodec.INSTANCE, x));
+    parameters.setInt(parameterIndex - 1, x);
   }
 
   /**
@@ -385,7 +457,7 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   @Override
   public void setLong(int parameterIndex, long x) throws SQLException {
     checkIndex(parameterIndex);
-    parameters.set(parameterIndex - 1, new NonNullParameter<>(LongCodec.INSTANCE, x));
+    parameters.setLong(parameterIndex - 1, x);
   }
 
   /**
@@ -417,7 +489,7 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   @Override
   public void setDouble(int parameterIndex, double x) throws SQLException {
     checkIndex(parameterIndex);
-    parameters.set(parameterIndex - 1, new NonNullParameter<>(DoubleCodec.INSTANCE, x));
+    parameters.setDouble(parameterIndex - 1, x);
   }
 
   /**
@@ -1274,12 +1346,11 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
     }
 
     // in case parameter still not set, defaulting to object type
-    for (Codec<?> codec : con.getContext().getConf().codecs()) {
-      if (codec.canEncode(obj)) {
-        Parameter p = new Parameter(codec, obj, scaleOrLength);
-        parameters.set(parameterIndex - 1, p);
-        return;
-      }
+    Codec<?> codec = con.getContext().getConf().codecDispatch().encoder(obj);
+    if (codec != null) {
+      Parameter p = new Parameter(codec, obj, scaleOrLength);
+      parameters.set(parameterIndex - 1, p);
+      return;
     }
 
     throw new SQLException(String.format("Type %s not supported type", obj.getClass().getName()));
@@ -5,17 +5,27 @@ package org.mariadb.jdbc;
 
 import java.math.BigDecimal;
 import java.sql.*;
+import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.List;
 import java.util.Locale;
 
 /**
  * Callable parameter metadata. Server doesn't give detailled information about parameter, so even
  * if driver return those information, they are not completely accurate.
+ *
+ * <p>Parameter information is read when constructing, so metadata is immutable and can be shared.
  */
 public class CallableParameterMetaData implements java.sql.ParameterMetaData {
-  private final ResultSet rs;
   private final int parameterCount;
   private final boolean isFunction;
+  private final String[] dtdIdentifiers;
+  private final long[] characterMaxLengths;
+  private final int[] numericPrecisions;
+  private final int[] numericScales;
+  private final String[] parameterNames;
+  private final String[] dataTypes;
+  private final String[] parameterModes;
 
   /**
    * Constructor
@@ -25,11 +35,32 @@ public class CallableParameterMetaData implements java.sql.ParameterMetaData {
    * @throws SQLException if any error occurs
    */
   public CallableParameterMetaData(ResultSet rs, boolean isFunction) throws SQLException {
-    this.rs = rs;
-    int count = 0;
-    while (rs.next()) count++;
-    this.parameterCount = count;
+    List<String> dtdIdentifiers = new ArrayList<>();
+    List<Long> characterMaxLengths = new ArrayList<>();
+    List<Integer> numericPrecisions = new ArrayList<>();
+    List<Integer> numericScales = new ArrayList<>();
+    List<String> parameterNames = new ArrayList<>();
+    List<String> dataTypes = new ArrayList<>();
+    List<String> parameterModes = new ArrayList<>();
+    while (rs.next()) {
+      dtdIdentifiers.add(rs.getString("DTD_IDENTIFIER"));
+      // BIGINT UNSIGNED: 4294967295 for LONGTEXT/LONGBLOB parameters
+      characterMaxLengths.add(rs.getLong("CHARACTER_MAXIMUM_LENGTH"));
+      numericPrecisions.add(rs.getInt("NUMERIC_PRECISION"));
+      numericScales.add(rs.getInt("NUMERIC_SCALE"));
+      parameterNames.add(rs.getString("PARAMETER_NAME"));
+      dataTypes.add(rs.getString("DATA_TYPE"));
+      parameterModes.add(rs.getString("PARAMETER_MODE"));
+    }
+    this.parameterCount = parameterNames.size();
     this.isFunction = isFunction;
+    this.dtdIdentifiers = dtdIdentifiers.toArray(new String[0]);
+    this.characterMaxLengths = characterMaxLengths.stream().mapToLong(Long::longValue).toArray();
+    this.numericPrecisions = numericPrecisions.stream().mapToInt(Integer::intValue).toArray();
+    this.numericScales = numericScales.stream().mapToInt(Integer::intValue).toArray();
+    this.parameterNames = parameterNames.toArray(new String[0]);
+    this.dataTypes = dataTypes.toArray(new String[0]);
+    this.parameterModes = parameterModes.toArray(new String[0]);
   }
 
   /**
@@ -60,11 +91,11 @@ public class CallableParameterMetaData implements java.sql.ParameterMetaData {
     return ParameterMetaData.parameterNullableUnknown;
   }
 
-  private void setIndex(int index) throws SQLException {
+  private int setIndex(int index) throws SQLException {
     if (index < 1 || index > parameterCount) {
       throw new SQLException("invalid parameter index " + index);
     }
-    rs.absolute(index);
+    return index - 1;
   }
 
   /**
@@ -77,8 +108,7 @@ public class CallableParameterMetaData implements java.sql.ParameterMetaData {
    */
   @Override
   public boolean isSigned(int index) throws SQLException {
-    setIndex(index);
-    String paramDetail = rs.getString("DTD_IDENTIFIER");
+    String paramDetail = dtdIdentifiers[setIndex(index)];
     return !paramDetail.contains(" unsigned");
   }
 
@@ -98,10 +128,12 @@ public class CallableParameterMetaData implements java.sql.ParameterMetaData {
    */
   @Override
   public int getPrecision(int index) throws SQLException {
-    setIndex(index);
-    int characterMaxLength = rs.getInt("CHARACTER_MAXIMUM_LENGTH");
-    int numericPrecision = rs.getInt("NUMERIC_PRECISION");
-    return (numericPrecision > 0) ? numericPrecision : characterMaxLength;
+    int i = setIndex(index);
+    long characterMaxLength = characterMaxLengths[i];
+    int numericPrecision = numericPrecisions[i];
+    return (numericPrecision > 0)
+        ? numericPrecision
+        : (int) Math.min(characterMaxLength, Integer.MAX_VALUE);
   }
 
   /**
@@ -114,8 +146,7 @@ public class CallableParameterMetaData implements java.sql.ParameterMetaData {
    */
   @Override
   public int getScale(int index) throws SQLException {
-    setIndex(index);
-    return rs.getInt("NUMERIC_SCALE");
+    return numericScales[setIndex(index)];
   }
 
   /**
@@ -126,8 +157,7 @@ public class CallableParameterMetaData implements java.sql.ParameterMetaData {
    * @throws SQLException if wrong index
    */
   public String getParameterName(int index) throws SQLException {
-    setIndex(index);
-    return rs.getString("PARAMETER_NAME");
+    return parameterNames[setIndex(index)];
   }
 
   /**
@@ -141,8 +171,7 @@ public class CallableParameterMetaData implements java.sql.ParameterMetaData {
    */
   @Override
   public int getParameterType(int index) throws SQLException {
-    setIndex(index);
-    String str = rs.getString("DATA_TYPE").toUpperCase(Locale.ROOT);
+    String str = dataTypes[setIndex(index)].toUpperCase(Locale.ROOT);
     switch (str) {
       case "BIT":
         return Types.BIT;
@@ -210,8 +239,7 @@ public class CallableParameterMetaData implements java.sql.ParameterMetaData {
    */
   @Override
   public String getParameterTypeName(int index) throws SQLException {
-    setIndex(index);
-    return rs.getString("DATA_TYPE").toUpperCase(Locale.ROOT);
+    return dataTypes[setIndex(index)].toUpperCase(Locale.ROOT);
   }
 
   /**
@@ -227,8 +255,7 @@ public class CallableParameterMetaData implements java.sql.ParameterMetaData {
    */
   @Override
   public String getParameterClassName(int index) throws SQLException {
-    setIndex(index);
-    String str = rs.getString("DATA_TYPE").toUpperCase(Locale.ROOT);
+    String str = dataTypes[setIndex(index)].toUpperCase(Locale.ROOT);
     switch (str) {
       case "BIT":
         return BitSet.class.getName();
@@ -294,9 +321,9 @@ public class CallableParameterMetaData implements java.sql.ParameterMetaData {
    */
   @Override
   public int getParameterMode(int index) throws SQLException {
-    setIndex(index);
+    int i = setIndex(index);
     if (isFunction) return ParameterMetaData.parameterModeOut;
-    String str = rs.getString("PARAMETER_MODE");
+    String str = parameterModes[i];
     switch (str) {
       case "IN":
         return ParameterMetaData.parameterModeIn;
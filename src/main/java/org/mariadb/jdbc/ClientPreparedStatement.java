@@ -85,6 +85,7 @@ public class ClientPreparedStatement extends BasePreparedStatement {
     checkNotClosed();
     validParameters();
     lock.lock();
+    armTimeout();
     try {
       QueryWithParametersPacket query =
           new QueryWithParametersPacket(preSqlCmd(), parser, parameters, localInfileInputStream);
@@ -99,12 +100,14 @@ public class ClientPreparedStatement extends BasePreparedStatement {
                   resultSetType,
                   closeOnCompletion,
                   false);
+      con.recordTextExecution(sql);
     } catch (SQLException e) {
       results = null;
       currResult = null;
       throw e;
     } finally {
       localInfileInputStream = null;
+      disarmTimeout();
       lock.unlock();
     }
   }
@@ -117,9 +120,16 @@ public class ClientPreparedStatement extends BasePreparedStatement {
         && ((isCommandInsert && (conf.useBulkStmts() || conf.useBulkStmtsForInserts()))
             || (!isCommandInsert && conf.useBulkStmts()))
         && batchParameters.size() > 1
-        && autoGeneratedKeys != Statement.RETURN_GENERATED_KEYS) {
+        && (autoGeneratedKeys != Statement.RETURN_GENERATED_KEYS || canBulkReturnGeneratedKeys())) {
       executeBatchBulk();
       return isCommandInsert;
+    } else if (conf.rewriteBatchedStatements()
+        && parser.isMultiValuesRewritable()
+        && batchParameters.size() > 1
+        && (autoGeneratedKeys != Statement.RETURN_GENERATED_KEYS
+            || conf.returnMultiValuesGeneratedIds())) {
+      executeBatchRewrite();
+      return true;
     } else {
       boolean possibleLoadLocal = con.getContext().hasClientCapability(LOCAL_FILES);
       if (possibleLoadLocal) {
@@ -149,7 +159,8 @@ public class ClientPreparedStatement extends BasePreparedStatement {
       if (prepareResult == null) {
         ClientMessage[] packets =
             new ClientMessage[] {
-              new PreparePacket(cmd), new BulkExecutePacket(null, batchParameters, cmd, null)
+              new PreparePacket(cmd),
+              new BulkExecutePacket(null, batchParameters, cmd, null, useBulkUnitResults())
             };
         List<Completion> res =
             con.getClient()
@@ -172,7 +183,8 @@ public class ClientPreparedStatement extends BasePreparedStatement {
         results =
             con.getClient()
                 .execute(
-                    new BulkExecutePacket(prepareResult, batchParameters, cmd, null),
+                    new BulkExecutePacket(
+                        prepareResult, batchParameters, cmd, null, useBulkUnitResults()),
                     this,
                     fetchSize,
                     maxRows,
@@ -181,6 +193,32 @@ public class ClientPreparedStatement extends BasePreparedStatement {
                     closeOnCompletion,
                     false);
       }
+      if (useBulkUnitResults()) results = fromBulkUnitResults(results);
+    } catch (SQLException bue) {
+      results = null;
+      throw exceptionFactory()
+          .createBatchUpdate(Collections.emptyList(), batchParameters.size(), bue);
+    }
+  }
+
+  /**
+   * Send batch as multi-values INSERT COM_QUERY commands, then read all answers
+   *
+   * @throws SQLException if IOException / Command error
+   */
+  private void executeBatchRewrite() throws SQLException {
+    try {
+      results =
+          con.getClient()
+              .execute(
+                  new MultiValuesQueryPacket(preSqlCmd(), parser, batchParameters),
+                  this,
+                  0,
+                  maxRows,
+                  ResultSet.CONCUR_READ_ONLY,
+                  ResultSet.TYPE_FORWARD_ONLY,
+                  closeOnCompletion,
+                  false);
     } catch (SQLException bue) {
       results = null;
       throw exceptionFactory()
@@ -470,8 +508,11 @@ public class ClientPreparedStatement extends BasePreparedStatement {
     checkNotClosed();
     if (batchParameters == null || batchParameters.isEmpty()) return new int[0];
     lock.lock();
+    armTimeout();
     try {
       boolean wasBulkInsert = executeInternalPreparedBatch();
+      // a batch counts as a single execution for adaptive prepare
+      con.recordTextExecution(sql);
 
       int[] updates = new int[batchParameters.size()];
 
@@ -511,6 +552,7 @@ public class ClientPreparedStatement extends BasePreparedStatement {
       throw e;
     } finally {
       batchParameters.clear();
+      disarmTimeout();
       lock.unlock();
     }
   }
@@ -520,9 +562,12 @@ public class ClientPreparedStatement extends BasePreparedStatement {
     checkNotClosed();
     if (batchParameters == null || batchParameters.isEmpty()) return new long[0];
     lock.lock();
+    armTimeout();
     try {
       boolean wasBulkInsert = executeInternalPreparedBatch();
-      long[] updates = new long[results.size()];
+      // a batch counts as a single execution for adaptive prepare
+      con.recordTextExecution(sql);
+      long[] updates = new long[batchParameters.size()];
 
       // specific case for BULK INSERT
       // return not Statement.SUCCESS_NO_INFO, but 1
@@ -538,8 +583,16 @@ public class ClientPreparedStatement extends BasePreparedStatement {
         }
       }
 
-      for (int i = 0; i < results.size(); i++) {
-        updates[i] = ((OkPacket) results.get(i)).getAffectedRows();
+      if (results.size() != batchParameters.size()) {
+        Arrays.fill(updates, Statement.SUCCESS_NO_INFO);
+      } else {
+        for (int i = 0; i < updates.length; i++) {
+          if (results.get(i) instanceof OkPacket) {
+            updates[i] = ((OkPacket) results.get(i)).getAffectedRows();
+          } else {
+            updates[i] = org.mariadb.jdbc.Statement.SUCCESS_NO_INFO;
+          }
+        }
       }
       currResult = results.remove(0);
       return updates;
@@ -550,6 +603,7 @@ public class ClientPreparedStatement extends BasePreparedStatement {
       throw e;
     } finally {
       batchParameters.clear();
+      disarmTimeout();
       lock.unlock();
     }
   }
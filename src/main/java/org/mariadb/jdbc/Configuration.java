@@ -9,6 +9,7 @@ import java.lang.reflect.Field;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.*;
+import org.mariadb.jdbc.codec.CodecDispatch;
 import org.mariadb.jdbc.export.HaMode;
 import org.mariadb.jdbc.export.SslMode;
 import org.mariadb.jdbc.plugin.Codec;
@@ -92,6 +93,9 @@ public class Configuration {
   private String localSocketAddress = null;
   private int socketTimeout = 0;
   private boolean useReadAheadInput = false;
+  private boolean recycleRowBuffers = false;
+  private boolean streamLargeColumns = false;
+  private boolean useSocketChannel = false;
   private String tlsSocketType = null;
 
   // SSL
@@ -109,14 +113,19 @@ public class Configuration {
   private boolean allowMultiQueries = false;
   private boolean allowLocalInfile = true;
   private boolean useCompression = false;
+  private int compressionLevel = 0;
+  private String compressionAlgorithms;
   private boolean useAffectedRows = false;
   private boolean useBulkStmts = false;
   private boolean useBulkStmtsForInserts = true;
+  private boolean rewriteBatchedStatements = false;
   private boolean disablePipeline = false;
   // prepare
   private boolean cachePrepStmts = true;
   private int prepStmtCacheSize = 250;
+  private int callableStmtCacheTtl = 0;
   private boolean useServerPrepStmts = false;
+  private int prepareThreshold = 0;
 
   // authentication
   private CredentialPlugin credentialType = null;
@@ -147,6 +156,8 @@ public class Configuration {
   private int maxIdleTime = 600_000;
   private boolean registerJmxPool = true;
   private int poolValidMinDelay = 1000;
+  private int poolMaxConnecting = 4;
+  private int poolPrepStmtWarmUp = 0;
   private boolean useResetConnection = false;
 
   // MySQL sha authentication
@@ -154,6 +165,7 @@ public class Configuration {
   private boolean allowPublicKeyRetrieval = false;
 
   private Codec<?>[] codecs = null;
+  private CodecDispatch codecDispatch = null;
 
   private Configuration() {}
 
@@ -191,6 +203,9 @@ public class Configuration {
       String localSocketAddress,
       int socketTimeout,
       boolean useReadAheadInput,
+      boolean recycleRowBuffers,
+      boolean streamLargeColumns,
+      boolean useSocketChannel,
       String tlsSocketType,
       SslMode sslMode,
       String serverSslCert,
@@ -204,13 +219,18 @@ public class Configuration {
       boolean allowMultiQueries,
       boolean allowLocalInfile,
       boolean useCompression,
+      int compressionLevel,
+      String compressionAlgorithms,
       boolean useAffectedRows,
       boolean useBulkStmts,
       boolean useBulkStmtsForInserts,
+      boolean rewriteBatchedStatements,
       boolean disablePipeline,
       boolean cachePrepStmts,
       int prepStmtCacheSize,
+      int callableStmtCacheTtl,
       boolean useServerPrepStmts,
+      int prepareThreshold,
       CredentialPlugin credentialType,
       String sessionVariables,
       String connectionAttributes,
@@ -233,6 +253,8 @@ public class Configuration {
       int maxIdleTime,
       boolean registerJmxPool,
       int poolValidMinDelay,
+      int poolMaxConnecting,
+      int poolPrepStmtWarmUp,
       boolean useResetConnection,
       String serverRsaPublicKeyFile,
       boolean allowPublicKeyRetrieval) {
@@ -269,6 +291,9 @@ public class Configuration {
     this.localSocketAddress = localSocketAddress;
     this.socketTimeout = socketTimeout;
     this.useReadAheadInput = useReadAheadInput;
+    this.recycleRowBuffers = recycleRowBuffers;
+    this.streamLargeColumns = streamLargeColumns;
+    this.useSocketChannel = useSocketChannel;
     this.tlsSocketType = tlsSocketType;
     this.sslMode = sslMode;
     this.serverSslCert = serverSslCert;
@@ -282,13 +307,18 @@ public class Configuration {
     this.allowMultiQueries = allowMultiQueries;
     this.allowLocalInfile = allowLocalInfile;
     this.useCompression = useCompression;
+    this.compressionLevel = compressionLevel;
+    this.compressionAlgorithms = compressionAlgorithms;
     this.useAffectedRows = useAffectedRows;
     this.useBulkStmts = useBulkStmts;
     this.useBulkStmtsForInserts = useBulkStmtsForInserts;
+    this.rewriteBatchedStatements = rewriteBatchedStatements;
     this.disablePipeline = disablePipeline;
     this.cachePrepStmts = cachePrepStmts;
     this.prepStmtCacheSize = prepStmtCacheSize;
+    this.callableStmtCacheTtl = callableStmtCacheTtl;
     this.useServerPrepStmts = useServerPrepStmts;
+    this.prepareThreshold = prepareThreshold;
     this.credentialType = credentialType;
     this.sessionVariables = sessionVariables;
     this.connectionAttributes = connectionAttributes;
@@ -311,6 +341,8 @@ public class Configuration {
     this.maxIdleTime = maxIdleTime;
     this.registerJmxPool = registerJmxPool;
     this.poolValidMinDelay = poolValidMinDelay;
+    this.poolMaxConnecting = poolMaxConnecting;
+    this.poolPrepStmtWarmUp = poolPrepStmtWarmUp;
     this.useResetConnection = useResetConnection;
     this.serverRsaPublicKeyFile = serverRsaPublicKeyFile;
     this.allowPublicKeyRetrieval = allowPublicKeyRetrieval;
@@ -339,6 +371,8 @@ public class Configuration {
       Boolean allowMultiQueries,
       Boolean allowLocalInfile,
       Boolean useCompression,
+      Integer compressionLevel,
+      String compressionAlgorithms,
       Boolean blankTableNameMeta,
       String credentialType,
       String sslMode,
@@ -351,11 +385,14 @@ public class Configuration {
       String timezone,
       Boolean dumpQueriesOnException,
       Integer prepStmtCacheSize,
+      Integer callableStmtCacheTtl,
       Boolean useAffectedRows,
       Boolean useServerPrepStmts,
+      Integer prepareThreshold,
       String connectionAttributes,
       Boolean useBulkStmts,
       Boolean useBulkStmtsForInserts,
+      Boolean rewriteBatchedStatements,
       Boolean disablePipeline,
       Boolean autocommit,
       Boolean useMysqlMetadata,
@@ -379,6 +416,8 @@ public class Configuration {
       Integer maxIdleTime,
       Boolean registerJmxPool,
       Integer poolValidMinDelay,
+      Integer poolMaxConnecting,
+      Integer poolPrepStmtWarmUp,
       Boolean useResetConnection,
       String serverRsaPublicKeyFile,
       Boolean allowPublicKeyRetrieval,
@@ -389,6 +428,9 @@ public class Configuration {
       String keyStoreType,
       String trustStoreType,
       Boolean useReadAheadInput,
+      Boolean recycleRowBuffers,
+      Boolean streamLargeColumns,
+      Boolean useSocketChannel,
       Boolean cachePrepStmts,
       Boolean transactionReplay,
       Integer transactionReplaySize,
@@ -420,6 +462,8 @@ public class Configuration {
     if (allowMultiQueries != null) this.allowMultiQueries = allowMultiQueries;
     if (allowLocalInfile != null) this.allowLocalInfile = allowLocalInfile;
     if (useCompression != null) this.useCompression = useCompression;
+    if (compressionLevel != null) this.compressionLevel = compressionLevel;
+    if (compressionAlgorithms != null) this.compressionAlgorithms = compressionAlgorithms;
     if (blankTableNameMeta != null) this.blankTableNameMeta = blankTableNameMeta;
     if (this.credentialType != null
         && this.credentialType.mustUseSsl()
@@ -438,11 +482,14 @@ public class Configuration {
     this.timezone = timezone;
     if (dumpQueriesOnException != null) this.dumpQueriesOnException = dumpQueriesOnException;
     if (prepStmtCacheSize != null) this.prepStmtCacheSize = prepStmtCacheSize;
+    if (callableStmtCacheTtl != null) this.callableStmtCacheTtl = callableStmtCacheTtl;
     if (useAffectedRows != null) this.useAffectedRows = useAffectedRows;
     if (useServerPrepStmts != null) this.useServerPrepStmts = useServerPrepStmts;
+    if (prepareThreshold != null) this.prepareThreshold = prepareThreshold;
     this.connectionAttributes = connectionAttributes;
     if (useBulkStmts != null) this.useBulkStmts = useBulkStmts;
     if (useBulkStmtsForInserts != null) this.useBulkStmtsForInserts = useBulkStmtsForInserts;
+    if (rewriteBatchedStatements != null) this.rewriteBatchedStatements = rewriteBatchedStatements;
     if (disablePipeline != null) this.disablePipeline = disablePipeline;
     if (autocommit != null) this.autocommit = autocommit;
     if (useMysqlMetadata != null) this.useMysqlMetadata = useMysqlMetadata;
@@ -486,10 +533,15 @@ public class Configuration {
     if (maxIdleTime != null) this.maxIdleTime = maxIdleTime;
     if (registerJmxPool != null) this.registerJmxPool = registerJmxPool;
     if (poolValidMinDelay != null) this.poolValidMinDelay = poolValidMinDelay;
+    if (poolMaxConnecting != null) this.poolMaxConnecting = poolMaxConnecting;
+    if (poolPrepStmtWarmUp != null) this.poolPrepStmtWarmUp = poolPrepStmtWarmUp;
     if (useResetConnection != null) this.useResetConnection = useResetConnection;
     if (serverRsaPublicKeyFile != null) this.serverRsaPublicKeyFile = serverRsaPublicKeyFile;
     if (allowPublicKeyRetrieval != null) this.allowPublicKeyRetrieval = allowPublicKeyRetrieval;
     if (useReadAheadInput != null) this.useReadAheadInput = useReadAheadInput;
+    if (recycleRowBuffers != null) this.recycleRowBuffers = recycleRowBuffers;
+    if (streamLargeColumns != null) this.streamLargeColumns = streamLargeColumns;
+    if (useSocketChannel != null) this.useSocketChannel = useSocketChannel;
     if (cachePrepStmts != null) this.cachePrepStmts = cachePrepStmts;
     if (transactionReplay != null) this.transactionReplay = transactionReplay;
     if (transactionReplaySize != null) this.transactionReplaySize = transactionReplaySize;
@@ -808,7 +860,8 @@ public class Configuration {
     StringBuilder sbDefaultOpts = new StringBuilder();
     StringBuilder sbDifferentOpts = new StringBuilder();
     try {
-      List<String> propertyToSkip = Arrays.asList("initialUrl", "logger", "codecs", "$jacocoData");
+      List<String> propertyToSkip =
+          Arrays.asList("initialUrl", "logger", "codecs", "codecDispatch", "$jacocoData");
       Field[] fields = Configuration.class.getDeclaredFields();
       Arrays.sort(fields, Comparator.comparing(Field::getName));
 
@@ -1067,6 +1120,9 @@ public class Configuration {
         this.localSocketAddress,
         this.socketTimeout,
         this.useReadAheadInput,
+        this.recycleRowBuffers,
+        this.streamLargeColumns,
+        this.useSocketChannel,
         this.tlsSocketType,
         this.sslMode,
         this.serverSslCert,
@@ -1080,13 +1136,18 @@ public class Configuration {
         this.allowMultiQueries,
         this.allowLocalInfile,
         this.useCompression,
+        this.compressionLevel,
+        this.compressionAlgorithms,
         this.useAffectedRows,
         this.useBulkStmts,
         this.useBulkStmtsForInserts,
+        this.rewriteBatchedStatements,
         this.disablePipeline,
         this.cachePrepStmts,
         this.prepStmtCacheSize,
+        this.callableStmtCacheTtl,
         this.useServerPrepStmts,
+        this.prepareThreshold,
         this.credentialType,
         this.sessionVariables,
         this.connectionAttributes,
@@ -1109,6 +1170,8 @@ public class Configuration {
         this.maxIdleTime,
         this.registerJmxPool,
         this.poolValidMinDelay,
+        this.poolMaxConnecting,
+        this.poolPrepStmtWarmUp,
         this.useResetConnection,
         this.serverRsaPublicKeyFile,
         this.allowPublicKeyRetrieval);
@@ -1387,6 +1450,24 @@ public class Configuration {
     return useCompression;
   }
 
+  /**
+   * Compression level, 0 meaning algorithm default level.
+   *
+   * @return compression level
+   */
+  public int compressionLevel() {
+    return compressionLevel;
+  }
+
+  /**
+   * Compression algorithms, by order of preference, when using compression. Null means zlib only.
+   *
+   * @return compression algorithms
+   */
+  public String compressionAlgorithms() {
+    return compressionAlgorithms;
+  }
+
   /**
    * force returning blank table metadata (for old oracle compatibility)
    *
@@ -1486,6 +1567,16 @@ public class Configuration {
     return prepStmtCacheSize;
   }
 
+  /**
+   * Stored procedure and function parameter metadata cache time to live, in seconds. 0 disables
+   * cache.
+   *
+   * @return parameter metadata cache ttl
+   */
+  public int callableStmtCacheTtl() {
+    return callableStmtCacheTtl;
+  }
+
   /**
    * Use affected row
    *
@@ -1504,6 +1595,16 @@ public class Configuration {
     return useServerPrepStmts;
   }
 
+  /**
+   * Number of executions of a command using text protocol before server side preparing it, when
+   * useServerPrepStmts is not set. 0 disables adaptive prepare.
+   *
+   * @return adaptive prepare threshold
+   */
+  public int prepareThreshold() {
+    return prepareThreshold;
+  }
+
   /**
    * Connections attributes
    *
@@ -1532,6 +1633,15 @@ public class Configuration {
     return useBulkStmtsForInserts;
   }
 
+  /**
+   * Must batch of INSERT be rewritten client side as multi-values INSERT when bulk cannot be used
+   *
+   * @return must rewrite batched INSERT
+   */
+  public boolean rewriteBatchedStatements() {
+    return rewriteBatchedStatements;
+  }
+
   /**
    * Disable pipeline.
    *
@@ -1752,6 +1862,25 @@ public class Configuration {
     return poolValidMinDelay;
   }
 
+  /**
+   * Maximum number of connections pool creates concurrently.
+   *
+   * @return maximum concurrent connection creation
+   */
+  public int poolMaxConnecting() {
+    return poolMaxConnecting;
+  }
+
+  /**
+   * Number of most used server prepared commands of pool connections to prepare on new pool
+   * connections.
+   *
+   * @return number of commands to prepare on new pool connections
+   */
+  public int poolPrepStmtWarmUp() {
+    return poolPrepStmtWarmUp;
+  }
+
   /**
    * Must connection returned to pool be RESET
    *
@@ -1788,6 +1917,34 @@ public class Configuration {
     return useReadAheadInput;
   }
 
+  /**
+   * Must forward-only streaming result-sets recycle row buffers
+   *
+   * @return recycle row buffers
+   */
+  public boolean recycleRowBuffers() {
+    return recycleRowBuffers;
+  }
+
+  /**
+   * Must forward-only streaming result-sets stream columns of rows exceeding 16M from socket
+   * instead of loading the whole row in memory
+   *
+   * @return stream large columns
+   */
+  public boolean streamLargeColumns() {
+    return streamLargeColumns;
+  }
+
+  /**
+   * Use a java.nio SocketChannel transport, with pooled direct buffers, instead of socket streams
+   *
+   * @return use socket channel
+   */
+  public boolean useSocketChannel() {
+    return useSocketChannel;
+  }
+
   /**
    * Cache prepared statement result.
    *
@@ -1851,6 +2008,15 @@ public class Configuration {
     return codecs;
   }
 
+  /**
+   * datatype Encoder/decoder dispatch table
+   *
+   * @return codec dispatch table
+   */
+  public CodecDispatch codecDispatch() {
+    return codecDispatch;
+  }
+
   /**
    * ToString implementation.
    *
@@ -1880,6 +2046,7 @@ public class Configuration {
     List<Codec<?>> result = new ArrayList<>();
     loader.iterator().forEachRemaining(result::add);
     codecs = result.toArray(new Codec<?>[0]);
+    codecDispatch = new CodecDispatch(codecs);
   }
 
   @Override
@@ -1929,6 +2096,9 @@ public class Configuration {
     private String localSocketAddress;
     private Integer socketTimeout;
     private Boolean useReadAheadInput;
+    private Boolean recycleRowBuffers;
+    private Boolean streamLargeColumns;
+    private Boolean useSocketChannel;
     private String tlsSocketType;
 
     // SSL
@@ -1946,14 +2116,19 @@ public class Configuration {
     private Boolean allowMultiQueries;
     private Boolean allowLocalInfile;
     private Boolean useCompression;
+    private Integer compressionLevel;
+    private String compressionAlgorithms;
     private Boolean useAffectedRows;
     private Boolean useBulkStmts;
     private Boolean useBulkStmtsForInserts;
+    private Boolean rewriteBatchedStatements;
     private Boolean disablePipeline;
     // prepare
     private Boolean cachePrepStmts;
     private Integer prepStmtCacheSize;
+    private Integer callableStmtCacheTtl;
     private Boolean useServerPrepStmts;
+    private Integer prepareThreshold;
 
     // authentication
     private String credentialType;
@@ -1985,6 +2160,8 @@ public class Configuration {
     private Integer maxIdleTime;
     private Boolean registerJmxPool;
     private Integer poolValidMinDelay;
+    private Integer poolMaxConnecting;
+    private Integer poolPrepStmtWarmUp;
     private Boolean useResetConnection;
 
     // MySQL sha authentication
@@ -2369,6 +2546,31 @@ public class Configuration {
       return this;
     }
 
+    /**
+     * Set compression level used by client and, for zstd, requested from server. 0 (default) means
+     * algorithm default level
+     *
+     * @param compressionLevel compression level
+     * @return this {@link Builder}
+     */
+    public Builder compressionLevel(Integer compressionLevel) {
+      this.compressionLevel = compressionLevel;
+      return this;
+    }
+
+    /**
+     * Set compression algorithms to negotiate when compression is enabled, as a comma separated
+     * list of compression plugin types by order of preference. First algorithm supported by server
+     * is used. default: zlib
+     *
+     * @param compressionAlgorithms compression algorithms
+     * @return this {@link Builder}
+     */
+    public Builder compressionAlgorithms(String compressionAlgorithms) {
+      this.compressionAlgorithms = compressionAlgorithms;
+      return this;
+    }
+
     /**
      * Set blank table name for metadata (old oracle compatibility)
      *
@@ -2501,6 +2703,19 @@ public class Configuration {
       return this;
     }
 
+    /**
+     * Cache stored procedure and function parameter metadata (used for named parameters) for this
+     * number of seconds, avoiding an information_schema query for each new callable statement.
+     * Cache is shared by all connections to the same server. Default: 0 (no cache)
+     *
+     * @param callableStmtCacheTtl parameter metadata cache time to live, in seconds
+     * @return this {@link Builder}
+     */
+    public Builder callableStmtCacheTtl(Integer callableStmtCacheTtl) {
+      this.callableStmtCacheTtl = callableStmtCacheTtl;
+      return this;
+    }
+
     /**
      * Indicate server to return affected rows in place of found rows. This impact the return number
      * of rows affected by update
@@ -2524,6 +2739,19 @@ public class Configuration {
       return this;
     }
 
+    /**
+     * When useServerPrepStmts is not set, commands start using text protocol. Once a command has
+     * been executed this number of times on a connection, new PreparedStatement with this command
+     * are prepared server side, using binary protocol. Default: 0 (disabled)
+     *
+     * @param prepareThreshold adaptive prepare threshold
+     * @return this {@link Builder}
+     */
+    public Builder prepareThreshold(Integer prepareThreshold) {
+      this.prepareThreshold = prepareThreshold;
+      return this;
+    }
+
     /**
      * Additional connection attributes to identify connection
      *
@@ -2558,6 +2786,19 @@ public class Configuration {
       return this;
     }
 
+    /**
+     * Set if batch of INSERT must be rewritten client side as multi-values INSERT commands (INSERT
+     * INTO t VALUES (...),(...)) when bulk cannot be used (servers without bulk support or bulk
+     * disabled). default: false
+     *
+     * @param rewriteBatchedStatements rewrite batched INSERT
+     * @return this {@link Builder}
+     */
+    public Builder rewriteBatchedStatements(Boolean rewriteBatchedStatements) {
+      this.rewriteBatchedStatements = rewriteBatchedStatements;
+      return this;
+    }
+
     /**
      * Disable pipeline
      *
@@ -2833,6 +3074,30 @@ public class Configuration {
       return this;
     }
 
+    /**
+     * Maximum number of connections the pool creates concurrently (warm-up and growth).
+     *
+     * @param poolMaxConnecting maximum concurrent connection creation
+     * @return this {@link Builder}
+     */
+    public Builder poolMaxConnecting(Integer poolMaxConnecting) {
+      this.poolMaxConnecting = poolMaxConnecting;
+      return this;
+    }
+
+    /**
+     * When pool creates a new connection, prepare the most used commands of existing pool
+     * connections prepare cache on it, so new connection doesn't have to prepare them when first
+     * used. Requires useServerPrepStmts and cachePrepStmts. Default: 0 (disabled)
+     *
+     * @param poolPrepStmtWarmUp number of commands to prepare on new pool connections
+     * @return this {@link Builder}
+     */
+    public Builder poolPrepStmtWarmUp(Integer poolPrepStmtWarmUp) {
+      this.poolPrepStmtWarmUp = poolPrepStmtWarmUp;
+      return this;
+    }
+
     /**
      * Indicate that connection returned to pool must be RESETed like having proper connection
      * state.
@@ -2878,6 +3143,45 @@ public class Configuration {
       return this;
     }
 
+    /**
+     * Forward-only streaming result-sets (fetch size set) read rows in arrays coming from a
+     * connection buffer pool, given back when result-set moves past them, avoiding one allocation
+     * per row.
+     *
+     * @param recycleRowBuffers recycle row buffers
+     * @return this {@link Builder}
+     */
+    public Builder recycleRowBuffers(Boolean recycleRowBuffers) {
+      this.recycleRowBuffers = recycleRowBuffers;
+      return this;
+    }
+
+    /**
+     * For forward-only streaming result-sets (fetch size set), a column of a row exceeding 16M is
+     * not loaded in memory: getBinaryStream / getCharacterStream then read it from socket as it is
+     * consumed. Default: false.
+     *
+     * @param streamLargeColumns stream large columns
+     * @return this {@link Builder}
+     */
+    public Builder streamLargeColumns(Boolean streamLargeColumns) {
+      this.streamLargeColumns = streamLargeColumns;
+      return this;
+    }
+
+    /**
+     * Use a java.nio SocketChannel transport instead of socket streams. Named pipes and custom
+     * socket factories are not supported by this transport and keep using sockets. Unix domain
+     * sockets need java 16.
+     *
+     * @param useSocketChannel use socket channel transport
+     * @return this {@link Builder}
+     */
+    public Builder useSocketChannel(Boolean useSocketChannel) {
+      this.useSocketChannel = useSocketChannel;
+      return this;
+    }
+
     /**
      * Cache server prepare result
      *
@@ -2941,6 +3245,8 @@ public class Configuration {
               this.allowMultiQueries,
               this.allowLocalInfile,
               this.useCompression,
+              this.compressionLevel,
+              this.compressionAlgorithms,
               this.blankTableNameMeta,
               this.credentialType,
               this.sslMode,
@@ -2953,11 +3259,14 @@ public class Configuration {
               this.timezone,
               this.dumpQueriesOnException,
               this.prepStmtCacheSize,
+              this.callableStmtCacheTtl,
               this.useAffectedRows,
               this.useServerPrepStmts,
+              this.prepareThreshold,
               this.connectionAttributes,
               this.useBulkStmts,
               this.useBulkStmtsForInserts,
+              this.rewriteBatchedStatements,
               this.disablePipeline,
               this.autocommit,
               this.useMysqlMetadata,
@@ -2981,6 +3290,8 @@ public class Configuration {
               this.maxIdleTime,
               this.registerJmxPool,
               this.poolValidMinDelay,
+              this.poolMaxConnecting,
+              this.poolPrepStmtWarmUp,
               this.useResetConnection,
               this.serverRsaPublicKeyFile,
               this.allowPublicKeyRetrieval,
@@ -2991,6 +3302,9 @@ public class Configuration {
               this.keyStoreType,
               this.trustStoreType,
               this.useReadAheadInput,
+              this.recycleRowBuffers,
+              this.streamLargeColumns,
+              this.useSocketChannel,
               this.cachePrepStmts,
               this.transactionReplay,
               this.transactionReplaySize,
@@ -5,6 +5,7 @@ package org.mariadb.jdbc;
 
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
@@ -13,7 +14,7 @@ import java.util.regex.Pattern;
 import javax.sql.ConnectionEvent;
 import org.mariadb.jdbc.client.Client;
 import org.mariadb.jdbc.client.Context;
-import org.mariadb.jdbc.client.impl.StandardClient;
+import org.mariadb.jdbc.client.impl.CancelChannel;
 import org.mariadb.jdbc.export.ExceptionFactory;
 import org.mariadb.jdbc.message.client.ChangeDbPacket;
 import org.mariadb.jdbc.message.client.PingPacket;
@@ -36,6 +37,9 @@ public class Connection implements java.sql.Connection {
               + "\\s*(#.*)?)\\s*(}\\s*)?$",
           Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
 
+  private static final int MAX_TRACKED_COMMANDS = 1024;
+  private static final int EVICTION_SAMPLE_SIZE = 8;
+
   private final ReentrantLock lock;
   private final Configuration conf;
   private final Client client;
@@ -46,6 +50,8 @@ public class Connection implements java.sql.Connection {
   private final boolean canUseServerMaxRows;
   private final int defaultFetchSize;
   private final boolean forceTransactionEnd;
+  // text protocol execution number by command, when using adaptive prepare
+  private final ConcurrentHashMap<String, AtomicInteger> textExecutions;
   private ExceptionFactory exceptionFactory;
   private int lowercaseTableNames = -1;
   private boolean readOnly;
@@ -75,6 +81,46 @@ public class Connection implements java.sql.Connection {
             && context.getVersion().versionGreaterOrEqual(10, 3, 0);
     this.canCachePrepStmts = context.getConf().cachePrepStmts();
     this.defaultFetchSize = context.getConf().defaultFetchSize();
+    this.textExecutions =
+        !conf.useServerPrepStmts() && conf.prepareThreshold() > 0
+            ? new ConcurrentHashMap<>()
+            : null;
+  }
+
+  /**
+   * Internal method. Record a text protocol execution of a prepared command, permitting adaptive
+   * prepare (option <code>prepareThreshold</code>). A batch execution is recorded once.
+   *
+   * @param sql command
+   */
+  public void recordTextExecution(String sql) {
+    if (textExecutions == null) return;
+    AtomicInteger count = textExecutions.get(sql);
+    if (count == null) {
+      if (textExecutions.size() >= MAX_TRACKED_COMMANDS) evictTextExecution();
+      count = textExecutions.computeIfAbsent(sql, k -> new AtomicInteger());
+    }
+    count.incrementAndGet();
+  }
+
+  /**
+   * Remove the least executed command among a few sampled ones, keeping counters of commands close
+   * to threshold.
+   */
+  private void evictTextExecution() {
+    Map.Entry<String, AtomicInteger> evicted = null;
+    int sampled = 0;
+    for (Map.Entry<String, AtomicInteger> entry : textExecutions.entrySet()) {
+      if (evicted == null || entry.getValue().get() < evicted.getValue().get()) evicted = entry;
+      if (++sampled >= EVICTION_SAMPLE_SIZE) break;
+    }
+    if (evicted != null) textExecutions.remove(evicted.getKey(), evicted.getValue());
+  }
+
+  private boolean isHotCommand(String sql) {
+    if (textExecutions == null) return false;
+    AtomicInteger count = textExecutions.get(sql);
+    return count != null && count.get() >= conf.prepareThreshold();
   }
 
   /**
@@ -88,8 +134,8 @@ public class Connection implements java.sql.Connection {
   }
 
   /**
-   * Cancels the current query - clones the current protocol and executes a query using the new
-   * connection.
+   * Cancels the current query - sends a KILL QUERY command using the cancel channel shared by
+   * connections to this host.
    *
    * @throws SQLException never thrown
    */
@@ -102,9 +148,7 @@ public class Connection implements java.sql.Connection {
             : HostAddress.from(
                 currentIp, client.getHostAddress().port, client.getHostAddress().primary);
 
-    try (Client cli = new StandardClient(conf, hostAddress, new ReentrantLock(), true)) {
-      cli.execute(new QueryPacket("KILL QUERY " + client.getContext().getThreadId()), false);
-    }
+    CancelChannel.get(conf, hostAddress).cancel(client.getContext().getThreadId());
   }
 
   @Override
@@ -137,7 +181,8 @@ public class Connection implements java.sql.Connection {
    * @param autoGeneratedKeys auto generated key required
    * @param resultSetType result-set type
    * @param resultSetConcurrency concurrency
-   * @param useBinary use server prepare statement
+   * @param useBinary use server prepare statement. If not set, commands executed at least <code>
+   *     prepareThreshold</code> times are server prepared anyway
    * @return prepared statement
    * @throws SQLException if Prepare fails
    */
@@ -149,10 +194,11 @@ public class Connection implements java.sql.Connection {
       boolean useBinary)
       throws SQLException {
     checkNotClosed();
-    if (useBinary && !sql.startsWith("/*client prepare*/")) {
+    String nativeSql = NativeSql.parse(sql, client.getContext());
+    if ((useBinary || isHotCommand(nativeSql)) && !sql.startsWith("/*client prepare*/")) {
       try {
         return new ServerPreparedStatement(
-            NativeSql.parse(sql, client.getContext()),
+            nativeSql,
             this,
             lock,
             canUseServerTimeout,
@@ -167,7 +213,7 @@ public class Connection implements java.sql.Connection {
       }
     }
     return new ClientPreparedStatement(
-        NativeSql.parse(sql, client.getContext()),
+        nativeSql,
         this,
         lock,
         canUseServerTimeout,
@@ -10,8 +10,10 @@ import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.SQLTimeoutException;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 import javax.sql.*;
+import org.mariadb.jdbc.export.HistogramSnapshot;
 import org.mariadb.jdbc.pool.Pool;
 import org.mariadb.jdbc.pool.Pools;
 
@@ -296,6 +298,16 @@ public class MariaDbPoolDataSource
     return (pool != null) ? pool.getPoolTag() : null;
   }
 
+  /**
+   * Get pool latency histograms, by name: BorrowWaitTime, ConnectionCreationTime, ValidationTime,
+   * ResetTime and HoldTime. Same information is available through JMX.
+   *
+   * @return pool histograms, or null if pool is not initialized
+   */
+  public Map<String, HistogramSnapshot> getPoolHistograms() {
+    return (pool != null) ? pool.getHistograms() : null;
+  }
+
   /**
    * Get current idle threads. !! For testing purpose only !!
    *
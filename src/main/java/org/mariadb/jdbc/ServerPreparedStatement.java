@@ -12,6 +12,7 @@ import java.util.regex.Pattern;
 import org.mariadb.jdbc.client.ColumnDecoder;
 import org.mariadb.jdbc.client.Completion;
 import org.mariadb.jdbc.client.result.CompleteResult;
+import org.mariadb.jdbc.client.result.LabelIndex;
 import org.mariadb.jdbc.client.result.Result;
 import org.mariadb.jdbc.client.util.Parameters;
 import org.mariadb.jdbc.export.ExceptionFactory;
@@ -20,6 +21,7 @@ import org.mariadb.jdbc.message.client.BulkExecutePacket;
 import org.mariadb.jdbc.message.client.ExecutePacket;
 import org.mariadb.jdbc.message.client.PrepareExecutePacket;
 import org.mariadb.jdbc.message.client.PreparePacket;
+import org.mariadb.jdbc.message.server.CachedPrepareResultPacket;
 import org.mariadb.jdbc.message.server.OkPacket;
 import org.mariadb.jdbc.message.server.PrepareResultPacket;
 import org.mariadb.jdbc.util.ParameterList;
@@ -88,6 +90,7 @@ public class ServerPreparedStatement extends BasePreparedStatement {
     checkNotClosed();
     validParameters();
     lock.lock();
+    armTimeout();
     String cmd = escapeTimeout(sql);
     if (prepareResult == null)
       if (canCachePrepStmts) prepareResult = con.getContext().getPrepareCache().get(cmd, this);
@@ -103,6 +106,7 @@ public class ServerPreparedStatement extends BasePreparedStatement {
       throw e;
     } finally {
       localInfileInputStream = null;
+      disarmTimeout();
       lock.unlock();
     }
   }
@@ -180,7 +184,8 @@ public class ServerPreparedStatement extends BasePreparedStatement {
         checkIfInsertCommand();
         if (((isCommandInsert && (conf.useBulkStmts() || conf.useBulkStmtsForInserts()))
                 || (!isCommandInsert && conf.useBulkStmts()))
-            && autoGeneratedKeys != Statement.RETURN_GENERATED_KEYS) {
+            && (autoGeneratedKeys != Statement.RETURN_GENERATED_KEYS
+                || canBulkReturnGeneratedKeys())) {
           executeBatchBulk(cmd);
           return isCommandInsert;
         } else {
@@ -208,7 +213,8 @@ public class ServerPreparedStatement extends BasePreparedStatement {
         ClientMessage[] packets;
         packets =
             new ClientMessage[] {
-              new PreparePacket(cmd), new BulkExecutePacket(null, batchParameters, cmd, this)
+              new PreparePacket(cmd),
+              new BulkExecutePacket(null, batchParameters, cmd, this, useBulkUnitResults())
             };
         res =
             con.getClient()
@@ -232,7 +238,8 @@ public class ServerPreparedStatement extends BasePreparedStatement {
         results =
             con.getClient()
                 .execute(
-                    new BulkExecutePacket(prepareResult, batchParameters, cmd, this),
+                    new BulkExecutePacket(
+                        prepareResult, batchParameters, cmd, this, useBulkUnitResults()),
                     this,
                     0,
                     maxRows,
@@ -241,6 +248,7 @@ public class ServerPreparedStatement extends BasePreparedStatement {
                     closeOnCompletion,
                     false);
       }
+      if (useBulkUnitResults()) results = fromBulkUnitResults(results);
     } catch (SQLException bue) {
       results = null;
       throw exceptionFactory()
@@ -612,6 +620,7 @@ public class ServerPreparedStatement extends BasePreparedStatement {
     checkNotClosed();
     if (batchParameters == null || batchParameters.isEmpty()) return new int[0];
     lock.lock();
+    armTimeout();
     try {
       boolean wasBulkInsert = executeInternalPreparedBatch();
 
@@ -654,6 +663,7 @@ public class ServerPreparedStatement extends BasePreparedStatement {
     } finally {
       localInfileInputStream = null;
       batchParameters.clear();
+      disarmTimeout();
       lock.unlock();
     }
   }
@@ -663,6 +673,7 @@ public class ServerPreparedStatement extends BasePreparedStatement {
     checkNotClosed();
     if (batchParameters == null || batchParameters.isEmpty()) return new long[0];
     lock.lock();
+    armTimeout();
     try {
       boolean wasBulkInsert = executeInternalPreparedBatch();
 
@@ -705,6 +716,7 @@ public class ServerPreparedStatement extends BasePreparedStatement {
       throw e;
     } finally {
       batchParameters.clear();
+      disarmTimeout();
       lock.unlock();
     }
   }
@@ -713,6 +725,21 @@ public class ServerPreparedStatement extends BasePreparedStatement {
     return con.getExceptionFactory().of(this);
   }
 
+  @Override
+  public LabelIndex labelIndex(ColumnDecoder[] columns) {
+    if (prepareResult instanceof CachedPrepareResultPacket) {
+      // shared by all statements using the same cached prepare result
+      CachedPrepareResultPacket cachedPrepare = (CachedPrepareResultPacket) prepareResult;
+      LabelIndex index = cachedPrepare.getLabelIndex();
+      if (index == null || !index.matches(columns)) {
+        index = LabelIndex.of(columns);
+        cachedPrepare.setLabelIndex(index);
+      }
+      return index;
+    }
+    return super.labelIndex(columns);
+  }
+
   @Override
   public void close() throws SQLException {
     if (prepareResult != null) {
@@ -21,6 +21,7 @@ import org.mariadb.jdbc.message.client.QueryPacket;
 import org.mariadb.jdbc.message.server.OkPacket;
 import org.mariadb.jdbc.util.ClientParser;
 import org.mariadb.jdbc.util.NativeSql;
+import org.mariadb.jdbc.util.TimeoutWheel;
 import org.mariadb.jdbc.util.constants.ColumnFlags;
 import org.mariadb.jdbc.util.constants.ServerStatus;
 
@@ -66,6 +67,18 @@ public class Statement implements java.sql.Statement {
   /** required query timeout */
   protected int queryTimeout;
 
+  /** client side query timeout, when server cannot enforce it */
+  private TimeoutWheel.Timeout timeout;
+
+  /** sequence of executions armed with client side timeout */
+  private long executionSequence;
+
+  /** execution whose client side timeout is armed, 0 if none. Guarded by timeoutLock */
+  private long timedExecution;
+
+  /** lock ensuring client side timeout doesn't cancel a query once execution ended */
+  private final ReentrantLock timeoutLock = new ReentrantLock();
+
   /** maximum row number */
   protected long maxRows;
 
@@ -744,6 +757,7 @@ public class Statement implements java.sql.Statement {
     checkNotClosed();
     if (batchQueries == null || batchQueries.isEmpty()) return new int[0];
     lock.lock();
+    armTimeout();
     try {
       this.lastSql = batchQueries.get(0);
       this.autoGeneratedKeys = java.sql.Statement.RETURN_GENERATED_KEYS;
@@ -782,6 +796,7 @@ public class Statement implements java.sql.Statement {
       throw e;
     } finally {
       batchQueries.clear();
+      disarmTimeout();
       lock.unlock();
     }
   }
@@ -1026,6 +1041,7 @@ public class Statement implements java.sql.Statement {
   private void executeInternal(String sql, int autoGeneratedKeys) throws SQLException {
     checkNotClosed();
     lock.lock();
+    armTimeout();
     try {
       this.lastSql = sql;
       this.autoGeneratedKeys = autoGeneratedKeys;
@@ -1047,6 +1063,7 @@ public class Statement implements java.sql.Statement {
       throw e;
     } finally {
       localInfileInputStream = null;
+      disarmTimeout();
       lock.unlock();
     }
   }
@@ -1200,6 +1217,60 @@ public class Statement implements java.sql.Statement {
     return escapedSql;
   }
 
+  /**
+   * Arm client side query timeout, when query timeout is set and server cannot enforce it (MySQL,
+   * MariaDB before 10.1.2). To be called after acquiring lock.
+   */
+  protected void armTimeout() {
+    if (queryTimeout != 0 && !canUseServerTimeout) {
+      if (timeout == null) timeout = new TimeoutWheel.Timeout(this::timeoutExpired);
+      long execution = ++executionSequence;
+      timeoutLock.lock();
+      try {
+        timedExecution = execution;
+      } finally {
+        timeoutLock.unlock();
+      }
+      TimeoutWheel.getDefault().arm(timeout, queryTimeout * 1000L, execution);
+    }
+  }
+
+  /**
+   * Disarm client side query timeout. To be called before releasing lock. Waits for a cancellation
+   * in progress, so it cannot apply to a following command.
+   */
+  protected void disarmTimeout() {
+    if (timeout != null) {
+      timeoutLock.lock();
+      try {
+        timedExecution = 0;
+      } finally {
+        timeoutLock.unlock();
+      }
+      TimeoutWheel.getDefault().disarm(timeout);
+    }
+  }
+
+  private void timeoutExpired(long execution) {
+    timeoutLock.lock();
+    try {
+      // execution has already ended
+      if (timedExecution != execution) return;
+      try {
+        con.cancelCurrentQuery();
+      } catch (SQLException e) {
+        // cannot send KILL QUERY: close socket to end current query
+        try {
+          con.getClient().close();
+        } catch (SQLException ee) {
+          // eat
+        }
+      }
+    } finally {
+      timeoutLock.unlock();
+    }
+  }
+
   /**
    * Executes the given SQL statement, which may return multiple results, and signals the driver
    * that the auto-generated keys indicated in the given array should be made available for
@@ -1580,6 +1651,7 @@ public class Statement implements java.sql.Statement {
     checkNotClosed();
     if (batchQueries == null || batchQueries.isEmpty()) return new long[0];
     lock.lock();
+    armTimeout();
     try {
       this.lastSql = batchQueries.get(0);
       this.autoGeneratedKeys = java.sql.Statement.RETURN_GENERATED_KEYS;
@@ -1613,6 +1685,7 @@ public class Statement implements java.sql.Statement {
       throw e;
     } finally {
       batchQueries.clear();
+      disarmTimeout();
       lock.unlock();
     }
   }
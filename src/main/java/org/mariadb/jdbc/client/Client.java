@@ -196,4 +196,20 @@ public interface Client extends AutoCloseable {
    * @return Socket current IP
    */
   String getSocketIp();
+
+  /**
+   * Get {@link System#nanoTime()} value of last successful server response read.
+   *
+   * @return last read time in nanoseconds
+   */
+  long getLastReadNanos();
+
+  /**
+   * Passive socket check, without any exchange with server: indicate if socket is closed, or if
+   * server has sent data while no command is in progress, meaning connection has been ended by
+   * server.
+   *
+   * @return true if connection is known to be unusable
+   */
+  boolean hasUnsolicitedData();
 }
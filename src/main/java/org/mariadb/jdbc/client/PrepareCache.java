@@ -3,6 +3,7 @@
 // Copyright (c) 2015-2023 MariaDB Corporation Ab
 package org.mariadb.jdbc.client;
 
+import java.util.Map;
 import org.mariadb.jdbc.ServerPreparedStatement;
 import org.mariadb.jdbc.export.Prepare;
 
@@ -28,6 +29,13 @@ public interface PrepareCache {
    */
   Prepare put(String key, Prepare result, ServerPreparedStatement preparedStatement);
 
+  /**
+   * Use number of cached commands
+   *
+   * @return map of command to use number
+   */
+  Map<String, Long> uses();
+
   /** Reset cache */
   void reset();
 }
@@ -29,6 +29,14 @@ public interface ReadableByteBuf {
    */
   byte[] buf();
 
+  /**
+   * Indicate if buffer array is recycled once result-set moves past current row. Decoded values
+   * must then not reference buffer array.
+   *
+   * @return true if buffer array is recycled
+   */
+  boolean recycled();
+
   /**
    * Reset buffer
    *
@@ -6,6 +6,8 @@ package org.mariadb.jdbc.client;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.net.SocketAddress;
+import java.nio.channels.SocketChannel;
 import org.mariadb.jdbc.Configuration;
 
 public class SocketHelper {
@@ -35,4 +37,24 @@ public class SocketHelper {
       socket.bind(localAddress);
     }
   }
+
+  /**
+   * Create unix domain socket address for socket channel. Requires java 16.
+   *
+   * @param path unix domain socket path
+   * @return null, unix domain socket channels are not supported with this java version
+   */
+  public static SocketAddress unixDomainSocketAddress(String path) {
+    return null;
+  }
+
+  /**
+   * Open a unix domain socket channel. Requires java 16.
+   *
+   * @return unix domain socket channel
+   * @throws IOException since unix domain socket channels are not supported with this java version
+   */
+  public static SocketChannel openUnixDomainChannel() throws IOException {
+    throw new IOException("Unix domain socket channels require java 16");
+  }
 }
@@ -15,6 +15,7 @@ import org.mariadb.jdbc.client.DataType;
 import org.mariadb.jdbc.client.ReadableByteBuf;
 import org.mariadb.jdbc.client.util.MutableInt;
 import org.mariadb.jdbc.message.server.ColumnDefinitionPacket;
+import org.mariadb.jdbc.util.TimeZoneConverter;
 
 /** Column metadata definition */
 public class DateColumn extends ColumnDefinitionPacket implements ColumnDecoder {
@@ -207,6 +208,8 @@ public class DateColumn extends ColumnDefinitionPacket implements ColumnDecoder
     }
 
     if (cal == null) {
+      long millis = TimeZoneConverter.getDefault().epochMillis(year, month, dayOfMonth, 0, 0, 0);
+      if (millis != TimeZoneConverter.UNSUPPORTED) return new Date(millis);
       Calendar c = Calendar.getInstance();
       c.clear();
       c.set(Calendar.YEAR, year);
@@ -233,11 +236,16 @@ public class DateColumn extends ColumnDefinitionPacket implements ColumnDecoder
     }
 
     if (cal == null) {
+      int year = buf.readShort();
+      int month = buf.readByte();
+      int dayOfMonth = buf.readByte();
+      long millis = TimeZoneConverter.getDefault().epochMillis(year, month, dayOfMonth, 0, 0, 0);
+      if (millis != TimeZoneConverter.UNSUPPORTED) return new Date(millis);
       Calendar c = Calendar.getInstance();
       c.clear();
-      c.set(Calendar.YEAR, buf.readShort());
-      c.set(Calendar.MONTH, buf.readByte() - 1);
-      c.set(Calendar.DAY_OF_MONTH, buf.readByte());
+      c.set(Calendar.YEAR, year);
+      c.set(Calendar.MONTH, month - 1);
+      c.set(Calendar.DAY_OF_MONTH, dayOfMonth);
       return new Date(c.getTimeInMillis());
     } else {
       synchronized (cal) {
@@ -310,10 +318,16 @@ public class DateColumn extends ColumnDefinitionPacket implements ColumnDecoder
 
     Timestamp timestamp;
     if (calParam == null) {
-      Calendar cal = Calendar.getInstance();
-      cal.clear();
-      cal.set(year, month - 1, (int) dayOfMonth, 0, 0, 0);
-      timestamp = new Timestamp(cal.getTimeInMillis());
+      long millis =
+          TimeZoneConverter.getDefault().epochMillis(year, month, (int) dayOfMonth, 0, 0, 0);
+      if (millis != TimeZoneConverter.UNSUPPORTED) {
+        timestamp = new Timestamp(millis);
+      } else {
+        Calendar cal = Calendar.getInstance();
+        cal.clear();
+        cal.set(year, month - 1, (int) dayOfMonth, 0, 0, 0);
+        timestamp = new Timestamp(cal.getTimeInMillis());
+      }
     } else {
       synchronized (calParam) {
         calParam.clear();
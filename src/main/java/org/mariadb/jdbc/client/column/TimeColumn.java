@@ -12,6 +12,7 @@ import org.mariadb.jdbc.client.ReadableByteBuf;
 import org.mariadb.jdbc.client.util.MutableInt;
 import org.mariadb.jdbc.message.server.ColumnDefinitionPacket;
 import org.mariadb.jdbc.plugin.codec.LocalTimeCodec;
+import org.mariadb.jdbc.util.TimeZoneConverter;
 
 /** Column metadata definition */
 public class TimeColumn extends ColumnDefinitionPacket implements ColumnDecoder {
@@ -76,8 +77,7 @@ public class TimeColumn extends ColumnDefinitionPacket implements ColumnDecoder
   @Override
   public Object getDefaultText(final Configuration conf, ReadableByteBuf buf, MutableInt length)
       throws SQLDataException {
-    Calendar c = Calendar.getInstance();
-    int offset = c.getTimeZone().getOffset(0);
+    int offset = TimeZoneConverter.getDefault().epochOffset();
     int[] parts = LocalTimeCodec.parseTime(buf, length, this);
     long timeInMillis =
         (parts[1] * 3_600_000L + parts[2] * 60_000L + parts[3] * 1_000L + parts[4] / 1_000_000)
@@ -90,7 +90,6 @@ public class TimeColumn extends ColumnDefinitionPacket implements ColumnDecoder
   public Object getDefaultBinary(final Configuration conf, ReadableByteBuf buf, MutableInt length)
       throws SQLDataException {
     boolean negate = false;
-    Calendar cal = Calendar.getInstance();
     long dayOfMonth = 0;
     int hour = 0;
     int minutes = 0;
@@ -107,7 +106,7 @@ public class TimeColumn extends ColumnDefinitionPacket implements ColumnDecoder
         microseconds = buf.readUnsignedInt();
       }
     }
-    int offset = cal.getTimeZone().getOffset(0);
+    int offset = TimeZoneConverter.getDefault().epochOffset();
     long timeInMillis =
         ((24 * dayOfMonth + hour) * 3_600_000
                     + minutes * 60_000
@@ -286,8 +285,8 @@ public class TimeColumn extends ColumnDefinitionPacket implements ColumnDecoder
   @Override
   public Time decodeTimeText(ReadableByteBuf buf, MutableInt length, Calendar cal)
       throws SQLDataException {
-    Calendar c = cal == null ? Calendar.getInstance() : cal;
-    int offset = c.getTimeZone().getOffset(0);
+    int offset =
+        cal == null ? TimeZoneConverter.getDefault().epochOffset() : cal.getTimeZone().getOffset(0);
     int[] parts = LocalTimeCodec.parseTime(buf, length, this);
     long timeInMillis =
         (parts[1] * 3_600_000L + parts[2] * 60_000L + parts[3] * 1_000L + parts[4] / 1_000_000)
@@ -299,7 +298,6 @@ public class TimeColumn extends ColumnDefinitionPacket implements ColumnDecoder
   @Override
   public Time decodeTimeBinary(ReadableByteBuf buf, MutableInt length, Calendar calParam)
       throws SQLDataException {
-    Calendar cal = calParam == null ? Calendar.getInstance() : calParam;
     long dayOfMonth = 0;
     int hour = 0;
     int minutes = 0;
@@ -317,7 +315,10 @@ public class TimeColumn extends ColumnDefinitionPacket implements ColumnDecoder
         microseconds = buf.readUnsignedInt();
       }
     }
-    int offset = cal.getTimeZone().getOffset(0);
+    int offset =
+        calParam == null
+            ? TimeZoneConverter.getDefault().epochOffset()
+            : calParam.getTimeZone().getOffset(0);
     long timeInMillis =
         ((24 * dayOfMonth + hour) * 3_600_000
                     + minutes * 60_000
@@ -336,6 +337,15 @@ public class TimeColumn extends ColumnDefinitionPacket implements ColumnDecoder
 
     // specific case for TIME, to handle value not in 00:00:00-23:59:59
     if (calParam == null) {
+      if (parts[0] != -1) {
+        long millis =
+            TimeZoneConverter.getDefault().epochMillis(1970, 1, 1, parts[1], parts[2], parts[3]);
+        if (millis != TimeZoneConverter.UNSUPPORTED) {
+          t = new Timestamp(millis);
+          t.setNanos(parts[4]);
+          return t;
+        }
+      }
       Calendar cal = Calendar.getInstance();
       cal.clear();
       cal.setLenient(true);
@@ -381,7 +391,6 @@ public class TimeColumn extends ColumnDefinitionPacket implements ColumnDecoder
   @Override
   public Timestamp decodeTimestampBinary(ReadableByteBuf buf, MutableInt length, Calendar calParam)
       throws SQLDataException {
-    Calendar cal = calParam == null ? Calendar.getInstance() : calParam;
     long microseconds = 0;
 
     // specific case for TIME, to handle value not in 00:00:00-23:59:59
@@ -393,7 +402,10 @@ public class TimeColumn extends ColumnDefinitionPacket implements ColumnDecoder
     if (length.get() > 8) {
       microseconds = buf.readUnsignedInt();
     }
-    int offset = cal.getTimeZone().getOffset(0);
+    int offset =
+        calParam == null
+            ? TimeZoneConverter.getDefault().epochOffset()
+            : calParam.getTimeZone().getOffset(0);
     long timeInMillis =
         ((24 * dayOfMonth + hour) * 3_600_000
                     + minutes * 60_000
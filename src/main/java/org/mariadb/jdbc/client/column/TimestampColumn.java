@@ -7,6 +7,7 @@ import static org.mariadb.jdbc.client.result.Result.NULL_LENGTH;
 
 import java.sql.*;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Calendar;
@@ -18,6 +19,7 @@ import org.mariadb.jdbc.client.util.MutableInt;
 import org.mariadb.jdbc.message.server.ColumnDefinitionPacket;
 import org.mariadb.jdbc.plugin.codec.LocalDateTimeCodec;
 import org.mariadb.jdbc.plugin.codec.TimeCodec;
+import org.mariadb.jdbc.util.TimeZoneConverter;
 
 /** Column metadata definition */
 public class TimestampColumn extends ColumnDefinitionPacket implements ColumnDecoder {
@@ -283,6 +285,16 @@ public class TimestampColumn extends ColumnDefinitionPacket implements ColumnDec
 
     Timestamp timestamp;
     if (cal == null) {
+      long millis =
+          TimeZoneConverter.getDefault()
+              .dayEpochMillis(
+                  timestampsPart[0],
+                  timestampsPart[1],
+                  timestampsPart[2],
+                  timestampsPart[3],
+                  timestampsPart[4],
+                  timestampsPart[5]);
+      if (millis != TimeZoneConverter.UNSUPPORTED) return new Date(millis);
       Calendar c = Calendar.getInstance();
       c.set(
           timestampsPart[0],
@@ -351,6 +363,10 @@ public class TimestampColumn extends ColumnDefinitionPacket implements ColumnDec
 
     Timestamp timestamp;
     if (calParam == null) {
+      long millis =
+          TimeZoneConverter.getDefault()
+              .dayEpochMillis(year, month, dayOfMonth, hour, minutes, seconds);
+      if (millis != TimeZoneConverter.UNSUPPORTED) return new Date(millis);
       Calendar cal = Calendar.getInstance();
       cal.clear();
       cal.set(year, month - 1, dayOfMonth, hour, minutes, seconds);
@@ -372,9 +388,9 @@ public class TimestampColumn extends ColumnDefinitionPacket implements ColumnDec
       throws SQLDataException {
     LocalDateTime lt = LocalDateTimeCodec.INSTANCE.decodeText(buf, length, this, cal);
     if (lt == null) return null;
-    Calendar cc = cal == null ? Calendar.getInstance() : cal;
-    ZonedDateTime d =
-        TimeCodec.EPOCH_DATE.atTime(lt.toLocalTime()).atZone(cc.getTimeZone().toZoneId());
+    ZoneId zoneId =
+        cal == null ? TimeZoneConverter.getDefault().zoneId() : cal.getTimeZone().toZoneId();
+    ZonedDateTime d = TimeCodec.EPOCH_DATE.atTime(lt.toLocalTime()).atZone(zoneId);
     return new Time(d.toEpochSecond() * 1000 + d.getNano() / 1_000_000);
   }
 
@@ -411,6 +427,8 @@ public class TimestampColumn extends ColumnDefinitionPacket implements ColumnDec
     }
 
     if (calParam == null) {
+      long millis = TimeZoneConverter.getDefault().epochMillis(1970, 1, 1, hour, minutes, seconds);
+      if (millis != TimeZoneConverter.UNSUPPORTED) return new Time(millis + microseconds / 1_000);
       Calendar cal = Calendar.getInstance();
       cal.clear();
       cal.set(1970, Calendar.JANUARY, 1, hour, minutes, seconds);
@@ -472,6 +490,20 @@ public class TimestampColumn extends ColumnDefinitionPacket implements ColumnDec
 
     Timestamp timestamp;
     if (calParam == null) {
+      long millis =
+          TimeZoneConverter.getDefault()
+              .epochMillis(
+                  timestampsPart[0],
+                  timestampsPart[1],
+                  timestampsPart[2],
+                  timestampsPart[3],
+                  timestampsPart[4],
+                  timestampsPart[5]);
+      if (millis != TimeZoneConverter.UNSUPPORTED) {
+        timestamp = new Timestamp(millis);
+        timestamp.setNanos(timestampsPart[6] * 1000);
+        return timestamp;
+      }
       Calendar c = Calendar.getInstance();
       c.set(
           timestampsPart[0],
@@ -538,10 +570,17 @@ public class TimestampColumn extends ColumnDefinitionPacket implements ColumnDec
     }
     Timestamp timestamp;
     if (calParam == null) {
-      Calendar cal = Calendar.getInstance();
-      cal.clear();
-      cal.set(year, month - 1, dayOfMonth, hour, minutes, seconds);
-      timestamp = new Timestamp(cal.getTimeInMillis());
+      long millis =
+          TimeZoneConverter.getDefault()
+              .epochMillis(year, month, dayOfMonth, hour, minutes, seconds);
+      if (millis != TimeZoneConverter.UNSUPPORTED) {
+        timestamp = new Timestamp(millis);
+      } else {
+        Calendar cal = Calendar.getInstance();
+        cal.clear();
+        cal.set(year, month - 1, dayOfMonth, hour, minutes, seconds);
+        timestamp = new Timestamp(cal.getTimeInMillis());
+      }
     } else {
       synchronized (calParam) {
         calParam.clear();
@@ -0,0 +1,217 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.impl;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import org.mariadb.jdbc.Configuration;
+import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.client.Client;
+import org.mariadb.jdbc.message.client.QueryPacket;
+import org.mariadb.jdbc.util.log.Logger;
+import org.mariadb.jdbc.util.log.Loggers;
+
+/**
+ * Cancel channel, sending <code>KILL QUERY</code> commands to a host. A single connection per
+ * configuration and host is shared by all connections, created on first cancel and re-created if
+ * lost, avoiding a connection creation (TCP, TLS and authentication) for each cancel.
+ *
+ * <p>Cancels are serialized. Cancels queued while another cancel is sent are sent by the next
+ * thread acquiring the channel, a cancel requested for a connection already having a queued cancel
+ * joining this one.
+ *
+ * <p>Number of channels is limited: when limit is reached, least recently used idle channel is
+ * evicted.
+ */
+public final class CancelChannel {
+
+  private static final Logger logger = Loggers.getLogger(CancelChannel.class);
+  private static final int MAX_CHANNELS = 64;
+  private static final Map<List<Object>, CancelChannel> channels = new ConcurrentHashMap<>();
+  private static final LongAdder cancels = new LongAdder();
+  private static final LongAdder cancelNanos = new LongAdder();
+  private static final LongAdder connections = new LongAdder();
+
+  private final Configuration conf;
+  private final HostAddress hostAddress;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Map<Long, Request> pending = new ConcurrentHashMap<>();
+  private Client client;
+  private volatile long lastUsed = System.nanoTime();
+  private boolean evicted;
+
+  private CancelChannel(Configuration conf, HostAddress hostAddress) {
+    this.conf = conf;
+    this.hostAddress = hostAddress;
+  }
+
+  /**
+   * Get cancel channel for this configuration and host
+   *
+   * @param conf configuration
+   * @param hostAddress host
+   * @return cancel channel
+   */
+  public static CancelChannel get(Configuration conf, HostAddress hostAddress) {
+    List<Object> key = Arrays.asList(conf, hostAddress);
+    CancelChannel channel = channels.get(key);
+    if (channel == null) {
+      if (channels.size() >= MAX_CHANNELS) evictIdleChannel();
+      channel = channels.computeIfAbsent(key, k -> new CancelChannel(conf, hostAddress));
+    }
+    return channel;
+  }
+
+  /**
+   * Kill current query of a connection
+   *
+   * @param threadId connection thread id
+   * @throws SQLException if cancel cannot be sent or server return an error
+   */
+  public void cancel(long threadId) throws SQLException {
+    long start = System.nanoTime();
+    Request request = new Request();
+    Request queued = pending.putIfAbsent(threadId, request);
+    if (queued != null) request = queued;
+
+    lock.lock();
+    try {
+      lastUsed = System.nanoTime();
+      if (!request.done) {
+        // send own cancel, and those queued meanwhile
+        for (Map.Entry<Long, Request> entry : pending.entrySet()) {
+          Request req = entry.getValue();
+          if (pending.remove(entry.getKey(), req)) {
+            try {
+              kill(entry.getKey());
+            } catch (SQLException e) {
+              req.error = e;
+            }
+            req.done = true;
+          }
+        }
+      }
+      // channel evicted while waiting: connection must not be kept
+      if (evicted) close();
+    } finally {
+      lock.unlock();
+    }
+
+    long elapsed = System.nanoTime() - start;
+    cancels.increment();
+    cancelNanos.add(elapsed);
+    if (logger.isDebugEnabled()) {
+      logger.debug(
+          "cancel of thread {} on {} in {}us",
+          threadId,
+          hostAddress,
+          TimeUnit.NANOSECONDS.toMicros(elapsed));
+    }
+    if (request.error != null) throw request.error;
+  }
+
+  private void kill(long threadId) throws SQLException {
+    QueryPacket query = new QueryPacket("KILL QUERY " + threadId);
+    if (client != null && !client.isClosed()) {
+      try {
+        client.execute(query, false);
+        return;
+      } catch (SQLException e) {
+        // server error: connection is still valid
+        if (!client.isClosed()) throw e;
+      }
+    }
+    // channel connection never created or lost (wait_timeout, network ...)
+    close();
+    client = new StandardClient(conf, hostAddress, new ReentrantLock(), true);
+    connections.increment();
+    client.execute(query, false);
+  }
+
+  private void close() {
+    if (client != null) {
+      try {
+        client.close();
+      } catch (SQLException e) {
+        // eat
+      }
+      client = null;
+    }
+  }
+
+  /** Evict least recently used channel not currently sending a cancel, closing its connection. */
+  private static void evictIdleChannel() {
+    Map.Entry<List<Object>, CancelChannel> eldest = null;
+    for (Map.Entry<List<Object>, CancelChannel> entry : channels.entrySet()) {
+      if (eldest == null || entry.getValue().lastUsed < eldest.getValue().lastUsed) {
+        if (!entry.getValue().lock.isLocked()) eldest = entry;
+      }
+    }
+    if (eldest == null) return;
+    CancelChannel channel = eldest.getValue();
+    if (channel.lock.tryLock()) {
+      try {
+        channels.remove(eldest.getKey(), channel);
+        channel.evicted = true;
+        channel.close();
+      } finally {
+        channel.lock.unlock();
+      }
+    }
+  }
+
+  /** Close all cancel channels connections. Channels will reconnect on next cancel. */
+  public static void closeAll() {
+    for (Map.Entry<List<Object>, CancelChannel> entry : channels.entrySet()) {
+      CancelChannel channel = entry.getValue();
+      channel.lock.lock();
+      try {
+        channels.remove(entry.getKey(), channel);
+        channel.evicted = true;
+        channel.close();
+      } finally {
+        channel.lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Number of cancels since start
+   *
+   * @return cancel count
+   */
+  public static long cancelCount() {
+    return cancels.sum();
+  }
+
+  /**
+   * Cumulated cancel latency, from cancel request to server acknowledgment, including waiting for
+   * the channel and connecting when needed.
+   *
+   * @return total cancel latency in nanoseconds
+   */
+  public static long cancelLatencyNanos() {
+    return cancelNanos.sum();
+  }
+
+  /**
+   * Number of cancel channel connections created since start
+   *
+   * @return connection count
+   */
+  public static long connectionCount() {
+    return connections.sum();
+  }
+
+  private static final class Request {
+    private volatile boolean done;
+    private volatile SQLException error;
+  }
+}
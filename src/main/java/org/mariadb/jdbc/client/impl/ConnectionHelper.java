@@ -23,18 +23,22 @@ import org.mariadb.jdbc.client.ReadableByteBuf;
 import org.mariadb.jdbc.client.SocketHelper;
 import org.mariadb.jdbc.client.socket.Reader;
 import org.mariadb.jdbc.client.socket.Writer;
+import org.mariadb.jdbc.client.socket.impl.ChannelSocket;
 import org.mariadb.jdbc.client.socket.impl.SocketHandlerFunction;
 import org.mariadb.jdbc.client.socket.impl.SocketUtility;
+import org.mariadb.jdbc.client.tls.TlsHandshakeStatistics;
 import org.mariadb.jdbc.export.SslMode;
 import org.mariadb.jdbc.message.client.SslRequestPacket;
 import org.mariadb.jdbc.message.server.AuthSwitchPacket;
 import org.mariadb.jdbc.message.server.ErrorPacket;
 import org.mariadb.jdbc.message.server.OkPacket;
 import org.mariadb.jdbc.plugin.AuthenticationPlugin;
+import org.mariadb.jdbc.plugin.CompressionPlugin;
 import org.mariadb.jdbc.plugin.Credential;
 import org.mariadb.jdbc.plugin.CredentialPlugin;
 import org.mariadb.jdbc.plugin.TlsSocketPlugin;
 import org.mariadb.jdbc.plugin.authentication.AuthenticationPluginLoader;
+import org.mariadb.jdbc.plugin.compression.CompressionPluginLoader;
 import org.mariadb.jdbc.plugin.tls.TlsSocketPluginLoader;
 import org.mariadb.jdbc.util.ConfigurableSocketFactory;
 import org.mariadb.jdbc.util.constants.Capabilities;
@@ -65,6 +69,10 @@ public final class ConnectionHelper {
    */
   public static Socket createSocket(Configuration conf, HostAddress hostAddress)
       throws IOException, SQLException {
+    if (conf.useSocketChannel() && conf.pipe() == null && conf.socketFactory() == null) {
+      Socket socket = ChannelSocket.open(conf.localSocket());
+      if (socket != null) return socket;
+    }
     return socketHandler.apply(conf, hostAddress);
   }
 
@@ -141,6 +149,28 @@ public final class ConnectionHelper {
     }
   }
 
+  /**
+   * Choose compression algorithm: first algorithm of `compressionAlgorithms` option having its
+   * capability in indicated capabilities.
+   *
+   * @param configuration configuration
+   * @param capabilities server capabilities, or negotiated client capabilities
+   * @return compression plugin, or null if no algorithm is supported
+   * @throws SQLException if a configured compression algorithm is unknown
+   */
+  public static CompressionPlugin negotiateCompression(
+      final Configuration configuration, final long capabilities) throws SQLException {
+    if (configuration.compressionAlgorithms() == null) {
+      CompressionPlugin plugin = CompressionPluginLoader.get(null);
+      return (capabilities & plugin.capability()) != 0 ? plugin : null;
+    }
+    for (String type : configuration.compressionAlgorithms().split(",")) {
+      CompressionPlugin plugin = CompressionPluginLoader.get(type.trim());
+      if ((capabilities & plugin.capability()) != 0) return plugin;
+    }
+    return null;
+  }
+
   /**
    * Initialize client capability according to configuration and server capabilities.
    *
@@ -148,11 +178,13 @@ public final class ConnectionHelper {
    * @param serverCapabilities server capabilities
    * @param hostAddress host address server
    * @return client capabilities
+   * @throws SQLException if a configured compression algorithm is unknown
    */
   public static long initializeClientCapabilities(
       final Configuration configuration,
       final long serverCapabilities,
-      final HostAddress hostAddress) {
+      final HostAddress hostAddress)
+      throws SQLException {
     long capabilities =
         Capabilities.IGNORE_SPACE
             | Capabilities.CLIENT_PROTOCOL_41
@@ -166,8 +198,8 @@ public final class ConnectionHelper {
             | Capabilities.CLIENT_SESSION_TRACK;
 
     // since skipping metadata is only available when using binary protocol,
-    // only set it when server permit it and using binary protocol
-    if (configuration.useServerPrepStmts()
+    // only set it when server permit it and binary protocol can be used
+    if ((configuration.useServerPrepStmts() || configuration.prepareThreshold() > 0)
         && Boolean.parseBoolean(
             configuration.nonMappedOptions().getProperty("enableSkipMeta", "true"))) {
       capabilities |= Capabilities.CACHE_METADATA;
@@ -181,6 +213,7 @@ public final class ConnectionHelper {
 
     if (configuration.useBulkStmts() || configuration.useBulkStmtsForInserts()) {
       capabilities |= Capabilities.STMT_BULK_OPERATIONS;
+      capabilities |= Capabilities.BULK_UNIT_RESULTS;
     }
 
     if (!configuration.useAffectedRows()) {
@@ -211,7 +244,8 @@ public final class ConnectionHelper {
     }
 
     if (configuration.useCompression()) {
-      capabilities |= Capabilities.COMPRESS;
+      CompressionPlugin compressionPlugin = negotiateCompression(configuration, serverCapabilities);
+      if (compressionPlugin != null) capabilities |= compressionPlugin.capability();
     }
 
     // connect to database directly if not needed to be created, or if slave, since cannot be
@@ -355,7 +389,9 @@ public final class ConnectionHelper {
       enabledSslCipherSuites(sslSocket, conf);
 
       sslSocket.setUseClientMode(true);
+      long handshakeStart = System.currentTimeMillis();
       sslSocket.startHandshake();
+      TlsHandshakeStatistics.record(sslSocket.getSession(), handshakeStart);
 
       // perform hostname verification
       // (rfc2818 indicate that if "client has external information as to the expected identity of
@@ -545,6 +545,14 @@ public class MultiPrimaryClient implements Client {
     return currentClient.getSocketIp();
   }
 
+  public long getLastReadNanos() {
+    return currentClient.getLastReadNanos();
+  }
+
+  public boolean hasUnsolicitedData() {
+    return currentClient.hasUnsolicitedData();
+  }
+
   public boolean isPrimary() {
     return true;
   }
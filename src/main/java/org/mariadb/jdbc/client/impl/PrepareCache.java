@@ -3,24 +3,33 @@
 // Copyright (c) 2015-2023 MariaDB Corporation Ab
 package org.mariadb.jdbc.client.impl;
 
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 import org.mariadb.jdbc.ServerPreparedStatement;
 import org.mariadb.jdbc.export.Prepare;
 import org.mariadb.jdbc.message.server.CachedPrepareResultPacket;
 import org.mariadb.jdbc.message.server.PrepareResultPacket;
 
-/** LRU prepare cache */
-public final class PrepareCache extends LinkedHashMap<String, CachedPrepareResultPacket>
-    implements org.mariadb.jdbc.client.PrepareCache {
+/**
+ * LRU prepare cache.
+ *
+ * <p>Cache is split into segments, each one being a small access-ordered map with its own lock, so
+ * threads seldom contend and eviction only costs a linked list removal. Least recently used entry
+ * is evicted per segment. This permits cache content to be read by another thread, like pool
+ * warming new connections with most used commands.
+ */
+public final class PrepareCache implements org.mariadb.jdbc.client.PrepareCache {
 
-  private static final long serialVersionUID = -8922905563713952695L;
-
-  /** cache maximum size */
-  private final int maxSize;
+  /** maximum number of segments */
+  private static final int MAX_SEGMENTS = 16;
 
   /** client */
-  private final transient StandardClient con;
+  private final StandardClient con;
+
+  private final Segment[] segments;
+  private final int mask;
 
   /**
    * LRU prepare cache constructor
@@ -29,44 +38,85 @@ public final class PrepareCache extends LinkedHashMap<String, CachedPrepareResul
    * @param con client
    */
   public PrepareCache(int size, StandardClient con) {
-    super(size, .75f, true);
-    this.maxSize = size;
     this.con = con;
+    // keep segments of at least 16 entries, so eviction stays close to a global LRU
+    int segmentNumber = Integer.highestOneBit(Math.max(1, Math.min(MAX_SEGMENTS, size / 16)));
+    this.segments = new Segment[segmentNumber];
+    this.mask = segmentNumber - 1;
+    for (int i = 0; i < segmentNumber; i++) {
+      segments[i] = new Segment(size / segmentNumber + (i < size % segmentNumber ? 1 : 0));
+    }
   }
 
-  @Override
-  public boolean removeEldestEntry(Map.Entry<String, CachedPrepareResultPacket> eldest) {
-    if (this.size() > maxSize) {
-      eldest.getValue().unCache(con);
-      return true;
-    }
-    return false;
+  private Segment segment(String key) {
+    int hash = key.hashCode();
+    return segments[(hash ^ (hash >>> 16)) & mask];
   }
 
-  public synchronized Prepare get(String key, ServerPreparedStatement preparedStatement) {
-    CachedPrepareResultPacket prepare = super.get(key);
-    if (prepare != null && preparedStatement != null) {
-      prepare.incrementUse(preparedStatement);
+  public Prepare get(String key, ServerPreparedStatement preparedStatement) {
+    Segment segment = segment(key);
+    synchronized (segment) {
+      CacheEntry entry = segment.get(key);
+      if (entry == null) return null;
+      entry.uses.increment();
+      if (preparedStatement != null) {
+        entry.prepare.incrementUse(preparedStatement);
+      }
+      return entry.prepare;
     }
-    return prepare;
   }
 
-  public synchronized Prepare put(
-      String key, Prepare result, ServerPreparedStatement preparedStatement) {
-    CachedPrepareResultPacket cached = super.get(key);
+  public Prepare put(String key, Prepare result, ServerPreparedStatement preparedStatement) {
+    CachedPrepareResultPacket prepare = (CachedPrepareResultPacket) result;
+    Segment segment = segment(key);
+    synchronized (segment) {
+      CacheEntry cached = segment.get(key);
 
-    // if there is already some cached data, return existing cached data
-    if (cached != null) {
-      cached.incrementUse(preparedStatement);
-      ((CachedPrepareResultPacket) result).unCache(con);
-      return cached;
+      // if there is already some cached data, return existing cached data
+      if (cached != null) {
+        cached.prepare.incrementUse(preparedStatement);
+        prepare.unCache(con);
+        return cached.prepare;
+      }
+
+      if (prepare.cache()) {
+        prepare.incrementUse(preparedStatement);
+        segment.put(key, new CacheEntry(prepare));
+      }
+      return null;
     }
+  }
 
-    if (((CachedPrepareResultPacket) result).cache()) {
-      ((CachedPrepareResultPacket) result).incrementUse(preparedStatement);
-      super.put(key, (CachedPrepareResultPacket) result);
+  /**
+   * Use number of cached commands.
+   *
+   * @return map of command to use number
+   */
+  public Map<String, Long> uses() {
+    Map<String, Long> uses = new HashMap<>();
+    for (Segment segment : segments) {
+      synchronized (segment) {
+        for (Map.Entry<String, CacheEntry> mapEntry : segment.entrySet()) {
+          uses.put(mapEntry.getKey(), mapEntry.getValue().uses.sum());
+        }
+      }
     }
-    return null;
+    return uses;
+  }
+
+  /**
+   * Current number of cached commands
+   *
+   * @return size
+   */
+  public int size() {
+    int size = 0;
+    for (Segment segment : segments) {
+      synchronized (segment) {
+        size += segment.size();
+      }
+    }
+    return size;
   }
 
   public CachedPrepareResultPacket get(Object key) {
@@ -86,9 +136,42 @@ public final class PrepareCache extends LinkedHashMap<String, CachedPrepareResul
   }
 
   public void reset() {
-    for (CachedPrepareResultPacket prep : values()) {
-      prep.reset();
+    for (Segment segment : segments) {
+      synchronized (segment) {
+        for (CacheEntry entry : segment.values()) {
+          entry.prepare.reset();
+        }
+        segment.clear();
+      }
+    }
+  }
+
+  private static final class CacheEntry {
+    private final CachedPrepareResultPacket prepare;
+    private final LongAdder uses = new LongAdder();
+
+    CacheEntry(CachedPrepareResultPacket prepare) {
+      this.prepare = prepare;
+      uses.increment();
+    }
+  }
+
+  private final class Segment extends LinkedHashMap<String, CacheEntry> {
+    private static final long serialVersionUID = -8922905563713952695L;
+    private final int maxSize;
+
+    Segment(int maxSize) {
+      super(16, .75f, true);
+      this.maxSize = maxSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+      if (size() > maxSize) {
+        eldest.getValue().prepare.unCache(con);
+        return true;
+      }
+      return false;
     }
-    this.clear();
   }
 }
@@ -41,6 +41,7 @@ import org.mariadb.jdbc.message.client.*;
 import org.mariadb.jdbc.message.server.ErrorPacket;
 import org.mariadb.jdbc.message.server.InitialHandshakePacket;
 import org.mariadb.jdbc.message.server.PrepareResultPacket;
+import org.mariadb.jdbc.plugin.CompressionPlugin;
 import org.mariadb.jdbc.plugin.Credential;
 import org.mariadb.jdbc.plugin.CredentialPlugin;
 import org.mariadb.jdbc.util.Security;
@@ -75,6 +76,7 @@ public class StandardClient implements Client, AutoCloseable {
   private org.mariadb.jdbc.Statement streamStmt = null;
   private ClientMessage streamMsg = null;
   private int socketTimeout;
+  private long lastReadNanos;
 
   /**
    * Constructor
@@ -105,10 +107,16 @@ public class StandardClient implements Client, AutoCloseable {
       // creating socket
       // **********************************************************************
       OutputStream out = socket.getOutputStream();
-      InputStream in =
-          conf.useReadAheadInput()
-              ? new ReadAheadBufferedStream(socket.getInputStream())
-              : new BufferedInputStream(socket.getInputStream(), 16384);
+      InputStream in;
+      if (socket instanceof ChannelSocket) {
+        // channel socket already buffers data in direct buffers
+        in = socket.getInputStream();
+      } else {
+        in =
+            conf.useReadAheadInput()
+                ? new ReadAheadBufferedStream(socket.getInputStream())
+                : new BufferedInputStream(socket.getInputStream(), 16384);
+      }
 
       assignStream(out, in, conf, null);
 
@@ -196,10 +204,13 @@ public class StandardClient implements Client, AutoCloseable {
       // **********************************************************************
       // activate compression if required
       // **********************************************************************
-      if ((clientCapabilities & Capabilities.COMPRESS) != 0) {
+      CompressionPlugin compressionPlugin =
+          ConnectionHelper.negotiateCompression(conf, clientCapabilities);
+      if (compressionPlugin != null) {
         assignStream(
-            new CompressOutputStream(out, compressionSequence),
-            new CompressInputStream(in, compressionSequence),
+            new CompressOutputStream(
+                out, compressionSequence, compressionPlugin.compressor(conf.compressionLevel())),
+            new CompressInputStream(in, compressionSequence, compressionPlugin.decompressor()),
             conf,
             handshake.getThreadId());
       }
@@ -211,6 +222,7 @@ public class StandardClient implements Client, AutoCloseable {
         postConnectionQueries();
       }
       setSocketTimeout(conf.socketTimeout());
+      lastReadNanos = System.nanoTime();
 
     } catch (IOException ioException) {
       destroySocket();
@@ -924,6 +936,7 @@ public class StandardClient implements Client, AutoCloseable {
               lock,
               traceEnable,
               message);
+      lastReadNanos = System.nanoTime();
       if (completion instanceof StreamingResult && !((StreamingResult) completion).loaded()) {
         streamStmt = stmt;
         streamMsg = message;
@@ -1059,6 +1072,21 @@ public class StandardClient implements Client, AutoCloseable {
         : this.socket.getInetAddress().getHostAddress();
   }
 
+  public long getLastReadNanos() {
+    return lastReadNanos;
+  }
+
+  public boolean hasUnsolicitedData() {
+    if (closed || socket.isClosed() || socket.isInputShutdown()) return true;
+    try {
+      // nothing is expected from server between commands: pending bytes are an error packet
+      // (connection killed, server shutdown) or a TLS close notification
+      return socket.getInputStream().available() > 0;
+    } catch (IOException ioe) {
+      return true;
+    }
+  }
+
   public boolean isPrimary() {
     return hostAddress.primary;
   }
@@ -4,6 +4,7 @@
 package org.mariadb.jdbc.client.impl;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import org.mariadb.jdbc.MariaDbBlob;
 import org.mariadb.jdbc.client.ReadableByteBuf;
 
@@ -18,6 +19,9 @@ public final class StandardReadableByteBuf implements ReadableByteBuf {
   /** row data limit */
   private int limit;
 
+  /** buffer array is recycled once row is not used anymore */
+  private boolean recycled;
+
   /**
    * Packet buffer constructor
    *
@@ -53,6 +57,19 @@ public final class StandardReadableByteBuf implements ReadableByteBuf {
     return buf;
   }
 
+  public boolean recycled() {
+    return recycled;
+  }
+
+  /**
+   * Set if buffer array is recycled once row is not used anymore.
+   *
+   * @param recycled buffer array is recycled
+   */
+  public void recycled(boolean recycled) {
+    this.recycled = recycled;
+  }
+
   public void buf(byte[] buf, int limit, int pos) {
     this.buf = buf;
     this.limit = limit;
@@ -92,6 +109,7 @@ public final class StandardReadableByteBuf implements ReadableByteBuf {
 
   public MariaDbBlob readBlob(int length) {
     pos += length;
+    if (recycled) return new MariaDbBlob(Arrays.copyOfRange(buf, pos - length, pos));
     return MariaDbBlob.safeMariaDbBlob(buf, pos - length, length);
   }
 
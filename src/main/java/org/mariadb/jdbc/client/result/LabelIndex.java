@@ -0,0 +1,135 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.result;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.mariadb.jdbc.client.Column;
+
+/**
+ * Immutable case-insensitive column label index, built once for a metadata set. Labels are column
+ * aliases and "table.column" labels, first column having a label winning. Lookups hash labels
+ * case-insensitively without any allocation.
+ *
+ * <p>Index can be shared between executions: {@link #matches(Column[])} permits to check that new
+ * metadata have the same labels.
+ */
+public final class LabelIndex {
+
+  private final Column[] source;
+  private final String[] keys;
+  private final int[] hashes;
+  private final int[] indexes;
+  private final int mask;
+
+  private LabelIndex(Column[] columns) {
+    this.source = columns;
+    int capacity = Integer.highestOneBit(Math.max(4, columns.length * 4) - 1) << 1;
+    this.keys = new String[capacity];
+    this.hashes = new int[capacity];
+    this.indexes = new int[capacity];
+    this.mask = capacity - 1;
+    for (int i = 0; i < columns.length; i++) {
+      String columnAlias = columns[i].getColumnAlias();
+      if (columnAlias != null) {
+        putIfAbsent(columnAlias, i + 1);
+        putIfAbsent(tableLabel(columns[i]) + "." + columnAlias, i + 1);
+      }
+    }
+  }
+
+  /**
+   * Build label index for metadata set
+   *
+   * @param columns columns metadata
+   * @return label index
+   */
+  public static LabelIndex of(Column[] columns) {
+    return new LabelIndex(columns);
+  }
+
+  private static String tableLabel(Column column) {
+    String tableAlias = column.getTableAlias();
+    return tableAlias != null ? tableAlias : column.getTable();
+  }
+
+  private static int hash(String label) {
+    int h = 0;
+    for (int i = 0; i < label.length(); i++) {
+      // same folding as String.equalsIgnoreCase
+      h = 31 * h + Character.toLowerCase(Character.toUpperCase(label.charAt(i)));
+    }
+    return h ^ (h >>> 16);
+  }
+
+  private void putIfAbsent(String key, int index) {
+    int hash = hash(key);
+    int pos = hash & mask;
+    while (keys[pos] != null) {
+      if (hashes[pos] == hash && keys[pos].equalsIgnoreCase(key)) return;
+      pos = (pos + 1) & mask;
+    }
+    keys[pos] = key;
+    hashes[pos] = hash;
+    indexes[pos] = index;
+  }
+
+  /**
+   * Get column index corresponding to label
+   *
+   * @param label column label, case-insensitive
+   * @return column index (1 is first), or -1 if no column correspond
+   */
+  public int get(String label) {
+    int hash = hash(label);
+    int pos = hash & mask;
+    String key;
+    while ((key = keys[pos]) != null) {
+      if (hashes[pos] == hash && key.equalsIgnoreCase(label)) return indexes[pos];
+      pos = (pos + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Indicate if index can be used for this metadata set: same metadata, or metadata with same
+   * labels.
+   *
+   * @param columns columns metadata
+   * @return true if index corresponds to metadata labels
+   */
+  public boolean matches(Column[] columns) {
+    if (columns == source) return true;
+    if (columns.length != source.length) return false;
+    for (int i = 0; i < columns.length; i++) {
+      Column col = columns[i];
+      Column other = source[i];
+      if (!equals(col.getColumnAlias(), other.getColumnAlias())
+          || !equals(col.getTableAlias(), other.getTableAlias())
+          || !equals(col.getTable(), other.getTable())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean equals(String a, String b) {
+    return a == null ? b == null : a.equals(b);
+  }
+
+  /**
+   * Possible labels, for error message
+   *
+   * @return lower case labels
+   */
+  public String possibleLabels() {
+    Map<String, Integer> mapper = new HashMap<>();
+    for (String key : keys) {
+      if (key != null) mapper.put(key.toLowerCase(Locale.ROOT), 0);
+    }
+    return Arrays.toString(mapper.keySet().toArray(new String[0]));
+  }
+}
@@ -5,16 +5,19 @@ package org.mariadb.jdbc.client.result;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.net.URI;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.sql.*;
 import java.sql.Date;
 import java.util.*;
 import java.util.concurrent.locks.ReentrantLock;
+import org.mariadb.jdbc.BasePreparedStatement;
 import org.mariadb.jdbc.Configuration;
 import org.mariadb.jdbc.client.*;
 import org.mariadb.jdbc.client.impl.StandardReadableByteBuf;
@@ -34,7 +37,6 @@ public abstract class Result implements ResultSet, Completion {
   public static final int NULL_LENGTH = -1;
 
   private static final BinaryRowDecoder BINARY_ROW_DECODER = new BinaryRowDecoder();
-  private static final TextRowDecoder TEXT_ROW_DECODER = new TextRowDecoder();
 
   /** result-set type */
   protected final int resultSetType;
@@ -69,12 +71,18 @@ public abstract class Result implements ResultSet, Completion {
   /** rows */
   protected byte[][] data;
 
+  /** row lengths, when row arrays can be bigger than row (null otherwise) */
+  protected int[] rowLengths;
+
   /** mutable field index */
   protected MutableInt fieldIndex = new MutableInt();
 
   /** is fully loaded */
   protected boolean loaded;
 
+  /** has a row whose content is not fully read from socket */
+  protected boolean partialRow;
+
   /** is an output parameter result-set */
   protected boolean outputParameter;
 
@@ -91,7 +99,7 @@ public abstract class Result implements ResultSet, Completion {
   protected long maxRows;
 
   private boolean closeOnCompletion;
-  private Map<String, Integer> mapper = null;
+  private LabelIndex labelIndex = null;
   private int fetchSize;
 
   /**
@@ -137,7 +145,7 @@ public abstract class Result implements ResultSet, Completion {
       rowDecoder = BINARY_ROW_DECODER;
       nullBitmap = new byte[(maxIndex + 9) / 8];
     } else {
-      rowDecoder = TEXT_ROW_DECODER;
+      rowDecoder = new TextRowDecoder();
       nullBitmap = null;
     }
   }
@@ -154,7 +162,8 @@ public abstract class Result implements ResultSet, Completion {
     this.resultSetType = prev.resultSetType;
     this.traceEnable = prev.traceEnable;
     this.forceAlias = true;
-    this.rowDecoder = prev.rowDecoder;
+    this.rowDecoder =
+        prev.rowDecoder instanceof TextRowDecoder ? new TextRowDecoder() : prev.rowDecoder;
     this.nullBitmap = prev.nullBitmap;
     this.data = prev.data;
     this.dataSize = prev.dataSize;
@@ -184,7 +193,7 @@ public abstract class Result implements ResultSet, Completion {
     this.resultSetType = resultSetType;
     this.closeOnCompletion = false;
     this.traceEnable = false;
-    this.rowDecoder = TEXT_ROW_DECODER;
+    this.rowDecoder = new TextRowDecoder();
     this.nullBitmap = null;
     this.forceAlias = false;
   }
@@ -197,19 +206,33 @@ public abstract class Result implements ResultSet, Completion {
    * @throws IOException if any socket error occurs
    * @throws SQLException for all other type of errors
    */
-  @SuppressWarnings("fallthrough")
   protected boolean readNext(byte[] buf) throws IOException, SQLException {
+    return readNext(buf, buf.length);
+  }
+
+  /**
+   * Read new row
+   *
+   * @param buf packet buffer
+   * @param length packet length
+   * @return true if fully loaded
+   * @throws IOException if any socket error occurs
+   * @throws SQLException for all other type of errors
+   */
+  @SuppressWarnings("fallthrough")
+  protected boolean readNext(byte[] buf, int length) throws IOException, SQLException {
     switch (buf[0]) {
       case (byte) 0xFF:
         loaded = true;
-        ErrorPacket errorPacket = new ErrorPacket(reader.readableBufFromArray(buf), context);
+        ErrorPacket errorPacket =
+            new ErrorPacket(reader.readableBufFromArray(buf, length), context);
         throw exceptionFactory.create(
             errorPacket.getMessage(), errorPacket.getSqlState(), errorPacket.getErrorCode());
 
       case (byte) 0xFE:
-        if ((context.isEofDeprecated() && buf.length < 16777215)
-            || (!context.isEofDeprecated() && buf.length < 8)) {
-          ReadableByteBuf readBuf = reader.readableBufFromArray(buf);
+        if ((context.isEofDeprecated() && length < 16777215)
+            || (!context.isEofDeprecated() && length < 8)) {
+          ReadableByteBuf readBuf = reader.readableBufFromArray(buf, length);
           readBuf.skip(); // skip header
           int serverStatus;
           int warnings;
@@ -238,6 +261,7 @@ public abstract class Result implements ResultSet, Completion {
         if (dataSize + 1 > data.length) {
           growDataArray();
         }
+        if (rowLengths != null) rowLengths[dataSize] = length;
         data[dataSize++] = buf;
     }
     return true;
@@ -299,6 +323,7 @@ public abstract class Result implements ResultSet, Completion {
     byte[][] newData = new byte[newCapacity][];
     System.arraycopy(data, 0, newData, 0, data.length);
     data = newData;
+    if (rowLengths != null) rowLengths = Arrays.copyOf(rowLengths, newCapacity);
   }
 
   /**
@@ -427,6 +452,29 @@ public abstract class Result implements ResultSet, Completion {
     if (rowBuf.buf == null) {
       throw new SQLDataException("wrong row position", "22023");
     }
+    if (partialRow) loadColumn(index);
+  }
+
+  /**
+   * Ensure column content is loaded in current row, when current row content has not been fully
+   * read from socket.
+   *
+   * @param index column index
+   * @throws SQLException if column cannot be loaded
+   */
+  protected void loadColumn(int index) throws SQLException {}
+
+  /**
+   * Stream reading column content directly from socket, when current row content has not been fully
+   * read from socket.
+   *
+   * @param index column index
+   * @param character stream will be read as characters
+   * @return stream, or null if column content is in current row
+   * @throws SQLException if column stream cannot be provided
+   */
+  protected InputStream columnStream(int index, boolean character) throws SQLException {
+    return null;
   }
 
   /**
@@ -662,6 +710,10 @@ public abstract class Result implements ResultSet, Completion {
 
   @Override
   public InputStream getBinaryStream(int columnIndex) throws SQLException {
+    if (partialRow) {
+      InputStream stream = columnStream(columnIndex, false);
+      if (stream != null) return stream;
+    }
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
@@ -800,6 +852,10 @@ public abstract class Result implements ResultSet, Completion {
 
   @Override
   public Reader getCharacterStream(int columnIndex) throws SQLException {
+    if (partialRow) {
+      InputStream stream = columnStream(columnIndex, true);
+      if (stream != null) return new InputStreamReader(stream, StandardCharsets.UTF_8);
+    }
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
@@ -1661,11 +1717,9 @@ public abstract class Result implements ResultSet, Completion {
       return (T) rowDecoder.defaultDecode(conf, metadataList, fieldIndex, rowBuf, fieldLength);
     }
 
-    for (Codec<?> codec : conf.codecs()) {
-      if (codec.canDecode(column, type)) {
-        return rowDecoder.decode(
-            (Codec<T>) codec, calendar, rowBuf, fieldLength, metadataList, fieldIndex);
-      }
+    Codec<T> codec = (Codec<T>) conf.codecDispatch().decoder(column, type);
+    if (codec != null) {
+      return rowDecoder.decode(codec, calendar, rowBuf, fieldLength, metadataList, fieldIndex);
     }
     rowBuf.skip(fieldLength.get());
     throw new SQLException(
@@ -1720,24 +1774,18 @@ public abstract class Result implements ResultSet, Completion {
 
   public int findColumn(String label) throws SQLException {
     if (label == null) throw new SQLException("null is not a valid label value");
-    if (mapper == null) {
-      mapper = new HashMap<>();
-      for (int i = 0; i < maxIndex; i++) {
-        Column ci = metadataList[i];
-        String columnAlias = ci.getColumnAlias();
-        if (columnAlias != null) {
-          columnAlias = columnAlias.toLowerCase(Locale.ROOT);
-          mapper.putIfAbsent(columnAlias, i + 1);
-          String tableAlias = ci.getTableAlias();
-          String tableLabel = tableAlias != null ? tableAlias : ci.getTable();
-          mapper.putIfAbsent(tableLabel.toLowerCase(Locale.ROOT) + "." + columnAlias, i + 1);
-        }
-      }
+    if (labelIndex == null) {
+      // prepared statement label index is shared between executions
+      labelIndex =
+          statement instanceof BasePreparedStatement
+              ? ((BasePreparedStatement) statement).labelIndex(metadataList)
+              : LabelIndex.of(metadataList);
     }
-    Integer ind = mapper.get(label.toLowerCase(Locale.ROOT));
-    if (ind == null) {
-      String keys = Arrays.toString(mapper.keySet().toArray(new String[0]));
-      throw new SQLException(String.format("Unknown label '%s'. Possible value %s", label, keys));
+    int ind = labelIndex.get(label);
+    if (ind == -1) {
+      throw new SQLException(
+          String.format(
+              "Unknown label '%s'. Possible value %s", label, labelIndex.possibleLabels()));
     }
     return ind;
   }
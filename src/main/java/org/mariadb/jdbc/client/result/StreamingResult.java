@@ -3,13 +3,18 @@
 // Copyright (c) 2015-2023 MariaDB Corporation Ab
 package org.mariadb.jdbc.client.result;
 
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLDataException;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.concurrent.locks.ReentrantLock;
 import org.mariadb.jdbc.Statement;
 import org.mariadb.jdbc.client.ColumnDecoder;
 import org.mariadb.jdbc.client.Context;
 import org.mariadb.jdbc.client.socket.Reader;
+import org.mariadb.jdbc.client.util.MutableInt;
 
 /**
  * Streaming result-set implementation. Implementation rely on reading as many rows than fetch size
@@ -36,12 +41,26 @@ import org.mariadb.jdbc.client.socket.Reader;
  * <p>If another query is executed on the same connection when a streaming result-set has not been
  * fully read, the connector will put the whole remaining streaming result-set in memory in order to
  * execute the next query. This can lead to OutOfMemoryError if not handled.
+ *
+ * <p>With option <code>streamLargeColumns</code>, for forward-only result-sets, rows exceeding 16M
+ * are not read in memory: the first column of at least 1M not fitting in row first packet is read
+ * directly from socket when consumed, using {@link #getBinaryStream(int)} or {@link
+ * #getCharacterStream(int)}. Row following columns are read once stream has been consumed, or when
+ * accessed.
  */
 public class StreamingResult extends Result {
   private static final int MAX_FETCH_SIZE = 16384;
+  private static final int MAX_PACKET_SIZE = 0xffffff;
+  private static final int LARGE_COLUMN_LENGTH = 1024 * 1024;
   private final ReentrantLock lock;
   private int dataFetchTime;
   private int requestedFetchSize;
+  private final boolean recycleRows;
+  private final boolean streamLargeColumns;
+  private final boolean binaryProtocol;
+  private final MutableInt packetLength = new MutableInt();
+  private long fetchedRows;
+  private LargeRow largeRow;
 
   /**
    * Constructor
@@ -90,6 +109,19 @@ public class StreamingResult extends Result {
     this.dataFetchTime = 0;
     this.requestedFetchSize = fetchSize;
     this.data = new byte[Math.min(MAX_FETCH_SIZE, Math.max(fetchSize, 10))][];
+    this.binaryProtocol = binaryProtocol;
+    this.streamLargeColumns =
+        resultSetType == TYPE_FORWARD_ONLY && context.getConf().streamLargeColumns();
+
+    // forward-only rows are not used anymore when next rows are fetched: arrays can be recycled
+    this.recycleRows =
+        resultSetType == TYPE_FORWARD_ONLY
+            && !streamLargeColumns
+            && context.getConf().recycleRowBuffers();
+    if (recycleRows) {
+      this.rowLengths = new int[data.length];
+      this.rowBuf.recycled(true);
+    }
     addStreamingValue();
   }
 
@@ -98,6 +130,29 @@ public class StreamingResult extends Result {
     return true;
   }
 
+  @Override
+  public void close() throws SQLException {
+    super.close();
+    if (recycleRows) releaseRows();
+  }
+
+  /** Give back row arrays to connection buffer pool. */
+  private void releaseRows() {
+    for (int i = 0; i < dataSize; i++) {
+      if (data[i] != null) reader.releasePacket(data[i]);
+      data[i] = null;
+    }
+  }
+
+  private void setCurrentRow() {
+    if (recycleRows) {
+      rowBuf.buf(data[rowPointer], rowLengths[rowPointer], 0);
+      fieldIndex.set(-1);
+    } else {
+      setRow(data[rowPointer]);
+    }
+  }
+
   /**
    * This permit to replace current stream results by next ones.
    *
@@ -107,6 +162,13 @@ public class StreamingResult extends Result {
 
     // if resultSet can be back to some previous value
     if (resultSetType == TYPE_FORWARD_ONLY) {
+      if (recycleRows) releaseRows();
+      if (largeRow != null) {
+        // row is discarded: large column is skipped, not loaded
+        skipLargeColumn();
+        largeRow = null;
+        partialRow = false;
+      }
       rowPointer = 0;
       dataSize = 0;
     }
@@ -117,21 +179,33 @@ public class StreamingResult extends Result {
   private void addStreamingValue() throws SQLException {
     lock.lock();
     try {
+      // following rows can only be read once large row is
+      if (largeRow != null && !largeRow.completed) largeRow.complete(largeRow.stream == null);
+
       // read only fetchSize values
       int fetchSizeTmp =
           (maxRows <= 0)
               ? super.getFetchSize()
-              : Math.min(
-                  super.getFetchSize(),
-                  Math.max(0, (int) (maxRows - dataFetchTime * super.getFetchSize())));
+              : Math.min(super.getFetchSize(), Math.max(0, (int) (maxRows - fetchedRows())));
       do {
-        byte[] buf = reader.readPacket(traceEnable);
-        readNext(buf);
+        if (streamLargeColumns) {
+          byte[] buf = reader.readFirstPacket(traceEnable);
+          if (buf.length == MAX_PACKET_SIZE) {
+            addLargeRow(buf);
+          } else {
+            readNext(buf);
+          }
+        } else if (recycleRows) {
+          byte[] buf = reader.readPooledPacket(traceEnable, packetLength);
+          if (!readNext(buf, packetLength.get())) reader.releasePacket(buf);
+        } else {
+          readNext(reader.readPacket(traceEnable));
+        }
         fetchSizeTmp--;
-      } while (fetchSizeTmp > 0 && !loaded);
+        fetchedRows++;
+      } while (fetchSizeTmp > 0 && !loaded && (largeRow == null || largeRow.completed));
       dataFetchTime++;
-      if (maxRows > 0 && (long) dataFetchTime * super.getFetchSize() >= maxRows && !loaded)
-        skipRemaining();
+      if (maxRows > 0 && fetchedRows() >= maxRows && !loaded) skipRemaining();
     } catch (IOException ioe) {
       throw exceptionFactory.create("Error while streaming resultSet data", "08000", ioe);
     } finally {
@@ -139,6 +213,100 @@ public class StreamingResult extends Result {
     }
   }
 
+  /**
+   * Number of rows already fetched. When streaming large columns, a fetch stops at a large row,
+   * reading less than fetch size rows: rows are then counted.
+   *
+   * @return number of rows fetched
+   * @throws SQLException if result-set is closed
+   */
+  private long fetchedRows() throws SQLException {
+    return streamLargeColumns ? fetchedRows : (long) dataFetchTime * super.getFetchSize();
+  }
+
+  @Override
+  protected void skipRemaining() throws IOException, SQLException {
+    if (largeRow != null && !largeRow.completed) largeRow.complete(false);
+    super.skipRemaining();
+  }
+
+  @Override
+  public void closeFromStmtClose(ReentrantLock lock) throws SQLException {
+    lock.lock();
+    try {
+      skipLargeColumn();
+      super.closeFromStmtClose(lock);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void skipLargeColumn() throws SQLException {
+    if (largeRow != null && !largeRow.completed) {
+      try {
+        largeRow.complete(false);
+      } catch (IOException ioe) {
+        throw exceptionFactory.create("Error while streaming resultSet data", "08000", ioe);
+      }
+    }
+  }
+
+  /**
+   * Add a row exceeding 16M, whose first packet has been read.
+   *
+   * @param firstPacket row first packet
+   * @throws IOException if any socket error occurs
+   * @throws SQLException if row is too big
+   */
+  private void addLargeRow(byte[] firstPacket) throws IOException, SQLException {
+    LargeRow row = new LargeRow(firstPacket, dataSize);
+    addRowData(row.parse());
+    if (!row.completed) {
+      largeRow = row;
+      partialRow = true;
+    }
+  }
+
+  @Override
+  protected void loadColumn(int index) throws SQLException {
+    if (largeRow == null || rowPointer != largeRow.rowIndex || index - 1 < largeRow.column) return;
+    if (index - 1 == largeRow.column && (largeRow.stream != null || largeRow.skipped)) {
+      throw new SQLException(
+          String.format("Column %s content has already been read as a stream", index));
+    }
+    if (!largeRow.completed) {
+      lock.lock();
+      try {
+        largeRow.complete(index - 1 == largeRow.column);
+      } catch (IOException ioe) {
+        throw exceptionFactory.create("Error while streaming resultSet data", "08000", ioe);
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  @Override
+  protected InputStream columnStream(int index, boolean character) throws SQLException {
+    if (largeRow == null
+        || rowPointer != largeRow.rowIndex
+        || index - 1 != largeRow.column
+        || (largeRow.completed && !largeRow.skipped && largeRow.stream == null)) return null;
+    checkClose();
+    ColumnDecoder column = metadataList[index - 1];
+    if (character && column.isBinary()) {
+      throw new SQLDataException(
+          String.format("Data type %s cannot be decoded as Reader", column.getType()));
+    }
+    if (largeRow.stream == null) {
+      if (largeRow.skipped) {
+        throw new SQLException(String.format("Column %s content has already been skipped", index));
+      }
+      largeRow.stream = largeRow.new ColumnStream();
+    }
+    return largeRow.stream;
+  }
+
   /**
    * When protocol has a current Streaming result (this) fetch all to permit another query is
    * executing.
@@ -159,7 +327,7 @@ public class StreamingResult extends Result {
     checkClose();
     if (rowPointer < dataSize - 1) {
       rowPointer++;
-      setRow(data[rowPointer]);
+      setCurrentRow();
       return true;
     } else {
       if (!loaded) {
@@ -176,7 +344,7 @@ public class StreamingResult extends Result {
           // resultSet has been cleared. next value is pointer 0.
           rowPointer = 0;
           if (dataSize > 0) {
-            setRow(data[rowPointer]);
+            setCurrentRow();
             return true;
           }
         } else {
@@ -184,7 +352,7 @@ public class StreamingResult extends Result {
           // results have been added to current resultSet
           rowPointer++;
           if (dataSize > rowPointer) {
-            setRow(data[rowPointer]);
+            setCurrentRow();
             return true;
           }
         }
@@ -269,7 +437,7 @@ public class StreamingResult extends Result {
 
     rowPointer = 0;
     if (dataSize > 0) {
-      setRow(data[rowPointer]);
+      setCurrentRow();
       return true;
     }
     setNullRowBuf();
@@ -282,7 +450,7 @@ public class StreamingResult extends Result {
     fetchRemaining();
     rowPointer = dataSize - 1;
     if (dataSize > 0) {
-      setRow(data[rowPointer]);
+      setCurrentRow();
       return true;
     }
     setNullRowBuf();
@@ -311,7 +479,7 @@ public class StreamingResult extends Result {
 
     if (idx > 0 && idx <= dataSize) {
       rowPointer = idx - 1;
-      setRow(data[rowPointer]);
+      setCurrentRow();
       return true;
     }
 
@@ -321,7 +489,7 @@ public class StreamingResult extends Result {
     if (idx > 0) {
       if (idx <= dataSize) {
         rowPointer = idx - 1;
-        setRow(data[rowPointer]);
+        setCurrentRow();
         return true;
       }
 
@@ -333,7 +501,7 @@ public class StreamingResult extends Result {
       if (dataSize + idx >= 0) {
         // absolute position reverse from ending resultSet
         rowPointer = dataSize + idx;
-        setRow(data[rowPointer]);
+        setCurrentRow();
         return true;
       }
       setNullRowBuf();
@@ -363,7 +531,7 @@ public class StreamingResult extends Result {
     }
 
     rowPointer = newPos;
-    setRow(data[rowPointer]);
+    setCurrentRow();
     return true;
   }
 
@@ -374,7 +542,7 @@ public class StreamingResult extends Result {
     if (rowPointer > -1) {
       rowPointer--;
       if (rowPointer != -1) {
-        setRow(data[rowPointer]);
+        setCurrentRow();
         return true;
       }
     }
@@ -405,4 +573,312 @@ public class StreamingResult extends Result {
       }
     }
   }
+
+  /**
+   * Row exceeding 16M. Row is parsed from its first packet until the first column of at least 1M
+   * whose content is not fully in this packet: this column content is then read directly from
+   * socket when needed, following columns being read afterward.
+   *
+   * <p>Row in memory meanwhile contains columns preceding this column, followed by an empty value
+   * for this column.
+   */
+  private final class LargeRow {
+    private final int rowIndex;
+    private byte[] firstPacket;
+    private final InputStream continuation;
+    private long position;
+    private byte[] extra = new byte[64];
+    private int extraLength;
+    private byte[] row;
+    private int column = -1;
+    private long remaining;
+    private boolean completed;
+    private boolean skipped;
+    private ColumnStream stream;
+
+    LargeRow(byte[] firstPacket, int rowIndex) {
+      this.firstPacket = firstPacket;
+      this.rowIndex = rowIndex;
+      this.continuation = reader.continuationStream();
+    }
+
+    /**
+     * Parse row until large column
+     *
+     * @return row with columns preceding large column, or complete row if there is none
+     * @throws IOException if any socket error occurs
+     * @throws SQLException if row is too big
+     */
+    private byte[] parse() throws IOException, SQLException {
+      if (binaryProtocol) consume(1 + (metadataList.length + 9) / 8);
+      for (int i = 0; i < metadataList.length; i++) {
+        if (binaryProtocol) {
+          if ((firstPacket[1 + (i + 2) / 8] & (1 << ((i + 2) % 8))) != 0) continue;
+          switch (metadataList[i].getType()) {
+            case BIGINT:
+            case DOUBLE:
+              consume(8);
+              continue;
+            case INTEGER:
+            case MEDIUMINT:
+            case FLOAT:
+              consume(4);
+              continue;
+            case SMALLINT:
+            case YEAR:
+              consume(2);
+              continue;
+            case TINYINT:
+              consume(1);
+              continue;
+            default:
+              break;
+          }
+        }
+
+        long start = position;
+        int extraMark = extraLength;
+        int type = readByte();
+        long len;
+        switch (type) {
+          case 0xFB:
+            // text protocol NULL value
+            continue;
+          case 0xFC:
+            len = readByte() + ((long) readByte() << 8);
+            break;
+          case 0xFD:
+            len = readByte() + ((long) readByte() << 8) + ((long) readByte() << 16);
+            break;
+          case 0xFE:
+            len = 0;
+            for (int j = 0; j < 8; j++) len += (long) readByte() << (8 * j);
+            break;
+          default:
+            len = type;
+            break;
+        }
+
+        if (len >= LARGE_COLUMN_LENGTH && position + len > firstPacket.length) {
+          column = i;
+          remaining = len;
+          extraLength = extraMark;
+          int prefixLength = (int) Math.min(start, firstPacket.length);
+          row = new byte[prefixLength + extraLength + 1];
+          System.arraycopy(firstPacket, 0, row, 0, prefixLength);
+          System.arraycopy(extra, 0, row, prefixLength, extraLength);
+          // empty value for large column
+          row[row.length - 1] = 0;
+          return row;
+        }
+        consume(len);
+      }
+
+      // no large column: row is completely read
+      completed = true;
+      if (continuation.read() != -1) throw new IOException("unexpected row content");
+      row = new byte[firstPacket.length + extraLength];
+      System.arraycopy(firstPacket, 0, row, 0, firstPacket.length);
+      System.arraycopy(extra, 0, row, firstPacket.length, extraLength);
+      firstPacket = null;
+      return row;
+    }
+
+    /**
+     * Read remaining row content, replacing current row.
+     *
+     * @param load must large column content be loaded, or skipped
+     * @throws IOException if any socket error occurs
+     * @throws SQLException if large column is too big to be loaded
+     */
+    private void complete(boolean load) throws IOException, SQLException {
+      if (completed) return;
+      completed = true;
+      long length = remaining;
+      boolean tooBig = load && length > Integer.MAX_VALUE - 9 - row.length;
+      byte[] value = null;
+      if (load && !tooBig) {
+        value = new byte[(int) remaining];
+        int off = 0;
+        while (off < value.length) {
+          int count = read(value, off, value.length - off);
+          if (count < 0) throw new EOFException("unexpected end of row");
+          off += count;
+        }
+      } else {
+        skipped = true;
+        skip(remaining);
+      }
+      remaining = 0;
+      readRemaining();
+
+      int prefixLength = row.length - 1;
+      int valueLength = value == null ? 1 : value.length + lengthEncodedSize(value.length);
+      byte[] newRow = Arrays.copyOf(row, prefixLength + valueLength + extraLength);
+      if (value != null) {
+        int pos = writeLength(newRow, prefixLength, value.length);
+        System.arraycopy(value, 0, newRow, pos, value.length);
+      }
+      System.arraycopy(extra, 0, newRow, prefixLength + valueLength, extraLength);
+      firstPacket = null;
+      row = null;
+      extra = null;
+
+      if (dataSize > rowIndex) {
+        data[rowIndex] = newRow;
+        if (rowPointer == rowIndex) setRow(newRow);
+      }
+      if (tooBig) {
+        throw exceptionFactory.create(
+            String.format(
+                "Column %s content of %s bytes is too big to be loaded, only streaming is possible",
+                column + 1, length),
+            "22001");
+      }
+    }
+
+    /** read row content following large column */
+    private void readRemaining() throws IOException {
+      extraLength = 0;
+      int count;
+      do {
+        ensureExtra(8192);
+        count = continuation.read(extra, extraLength, extra.length - extraLength);
+        if (count > 0) extraLength += count;
+      } while (count >= 0);
+    }
+
+    private int lengthEncodedSize(int length) {
+      if (length < 251) return 1;
+      if (length < 65536) return 3;
+      if (length < 16777216) return 4;
+      return 9;
+    }
+
+    private int writeLength(byte[] buf, int pos, int length) {
+      int size = lengthEncodedSize(length);
+      switch (size) {
+        case 1:
+          buf[pos++] = (byte) length;
+          return pos;
+        case 3:
+          buf[pos++] = (byte) 0xFC;
+          break;
+        case 4:
+          buf[pos++] = (byte) 0xFD;
+          break;
+        default:
+          buf[pos++] = (byte) 0xFE;
+          break;
+      }
+      for (int i = 0; i < size - 1; i++) {
+        buf[pos++] = (byte) (i < 4 ? length >>> (8 * i) : 0);
+      }
+      return pos;
+    }
+
+    private void ensureExtra(int len) {
+      if (extraLength + len > extra.length) {
+        extra = Arrays.copyOf(extra, Math.max(extra.length * 2, extraLength + len));
+      }
+    }
+
+    /** read one byte of row, keeping it when not in first packet */
+    private int readByte() throws IOException {
+      if (position < firstPacket.length) return firstPacket[(int) position++] & 0xff;
+      int value = continuation.read();
+      if (value < 0) throw new EOFException("unexpected end of row");
+      ensureExtra(1);
+      extra[extraLength++] = (byte) value;
+      position++;
+      return value;
+    }
+
+    /** read row content, keeping it when not in first packet */
+    private void consume(long len) throws IOException, SQLException {
+      int inFirst = (int) Math.min(len, Math.max(0, firstPacket.length - position));
+      position += inFirst;
+      len -= inFirst;
+      if (len > 0) {
+        if (extraLength + len > Integer.MAX_VALUE - 16 - firstPacket.length) {
+          throw exceptionFactory.create("Row is too big to be loaded", "22001");
+        }
+        ensureExtra((int) len);
+        while (len > 0) {
+          int count = continuation.read(extra, extraLength, (int) len);
+          if (count < 0) throw new EOFException("unexpected end of row");
+          extraLength += count;
+          position += count;
+          len -= count;
+        }
+      }
+    }
+
+    /** read large column content */
+    private int read(byte[] b, int off, int len) throws IOException {
+      if (position < firstPacket.length) {
+        int count = (int) Math.min(len, firstPacket.length - position);
+        System.arraycopy(firstPacket, (int) position, b, off, count);
+        position += count;
+        return count;
+      }
+      int count = continuation.read(b, off, len);
+      if (count > 0) position += count;
+      return count;
+    }
+
+    /** skip large column content */
+    private void skip(long len) throws IOException {
+      byte[] buf = new byte[(int) Math.min(len, 8192)];
+      while (len > 0) {
+        int count = read(buf, 0, (int) Math.min(len, buf.length));
+        if (count < 0) throw new EOFException("unexpected end of row");
+        len -= count;
+      }
+    }
+
+    /** large column content stream, reading directly from socket */
+    private final class ColumnStream extends InputStream {
+
+      @Override
+      public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException {
+        lock.lock();
+        try {
+          if (remaining == 0) {
+            if (completed && !skipped) return -1;
+            if (completed) throw new IOException("Stream has been closed, row has been skipped");
+          }
+          if (len == 0) return 0;
+          int count = LargeRow.this.read(b, off, (int) Math.min(len, remaining));
+          if (count < 0) throw new EOFException("unexpected end of row");
+          remaining -= count;
+          if (remaining == 0) {
+            // stream is consumed: read following columns
+            try {
+              complete(false);
+              skipped = false;
+            } catch (SQLException e) {
+              throw new IOException(e);
+            }
+          }
+          return count;
+        } finally {
+          lock.unlock();
+        }
+      }
+
+      @Override
+      public int available() {
+        return (int)
+            Math.min(
+                remaining, Math.max(0, firstPacket == null ? 0 : firstPacket.length - position));
+      }
+    }
+  }
 }
@@ -1016,12 +1016,11 @@ public class UpdatableResult extends CompleteResult {
       return;
     }
 
-    for (Codec<?> codec : context.getConf().codecs()) {
-      if (codec.canEncode(x)) {
-        Parameter p = new Parameter(codec, x, scaleOrLength);
-        parameters.set(columnIndex - 1, p);
-        return;
-      }
+    Codec<?> codec = context.getConf().codecDispatch().encoder(x);
+    if (codec != null) {
+      Parameter p = new Parameter(codec, x, scaleOrLength);
+      parameters.set(columnIndex - 1, p);
+      return;
     }
 
     throw new SQLException(String.format("Type %s not supported type", x.getClass().getName()));
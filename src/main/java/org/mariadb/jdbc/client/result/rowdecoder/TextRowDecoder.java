@@ -16,9 +16,18 @@ import org.mariadb.jdbc.client.impl.StandardReadableByteBuf;
 import org.mariadb.jdbc.client.util.MutableInt;
 import org.mariadb.jdbc.plugin.Codec;
 
-/** TEXT rows decoder */
+/**
+ * TEXT rows decoder. Decoder keeps current row field offsets, so one instance must be used by
+ * result-set.
+ */
 public class TextRowDecoder implements RowDecoder {
 
+  /** field offsets of current row, allocated on first backward seek */
+  private int[] offsets;
+
+  /** number of known offsets of current row, offsets[0..knownOffsets) being set */
+  private int knownOffsets;
+
   @Override
   public <T> T decode(
       Codec<T> codec,
@@ -152,6 +161,11 @@ public class TextRowDecoder implements RowDecoder {
   /**
    * Set length and pos indicator to asked index.
    *
+   * <p>Text fields are length encoded, so reaching a field requires to skip all preceding fields.
+   * Once a backward seek happens, field offsets are recorded while skipping, permitting to go back
+   * directly to any field already reached in current row. Offset array is kept for the result-set
+   * life, a new row (field index -1) only resetting the number of known offsets.
+   *
    * @param newIndex index (1 is first).
    */
   @Override
@@ -162,18 +176,45 @@ public class TextRowDecoder implements RowDecoder {
       final StandardReadableByteBuf rowBuf,
       final byte[] nullBitmap,
       final ColumnDecoder[] metadataList) {
+    if (fieldIndex.get() == -1) {
+      // new row
+      knownOffsets = 0;
+    }
+
     if (fieldIndex.get() >= newIndex) {
-      fieldIndex.set(0);
-      rowBuf.pos(0);
+      if (offsets == null) offsets = new int[maxIndex];
+      if (newIndex < knownOffsets) {
+        fieldIndex.set(newIndex);
+        rowBuf.pos(offsets[newIndex]);
+        return readLength(rowBuf);
+      }
+      if (knownOffsets == 0) {
+        offsets[0] = 0;
+        knownOffsets = 1;
+      }
+      fieldIndex.set(knownOffsets - 1);
+      rowBuf.pos(offsets[knownOffsets - 1]);
     } else {
       fieldIndex.incrementAndGet();
     }
 
-    while (fieldIndex.get() < newIndex) {
-      rowBuf.skipLengthEncoded();
-      fieldIndex.incrementAndGet();
+    if (offsets == null) {
+      while (fieldIndex.get() < newIndex) {
+        rowBuf.skipLengthEncoded();
+        fieldIndex.incrementAndGet();
+      }
+    } else {
+      while (fieldIndex.get() < newIndex) {
+        if (fieldIndex.get() == knownOffsets) offsets[knownOffsets++] = rowBuf.pos;
+        rowBuf.skipLengthEncoded();
+        fieldIndex.incrementAndGet();
+      }
+      if (newIndex == knownOffsets) offsets[knownOffsets++] = rowBuf.pos;
     }
+    return readLength(rowBuf);
+  }
 
+  private static int readLength(final StandardReadableByteBuf rowBuf) {
     byte len = rowBuf.buf[rowBuf.pos++];
     switch (len) {
       case (byte) 251:
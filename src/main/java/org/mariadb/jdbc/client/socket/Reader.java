@@ -4,9 +4,11 @@
 package org.mariadb.jdbc.client.socket;
 
 import java.io.IOException;
+import java.io.InputStream;
 import org.mariadb.jdbc.HostAddress;
 import org.mariadb.jdbc.client.ReadableByteBuf;
 import org.mariadb.jdbc.client.util.MutableByte;
+import org.mariadb.jdbc.client.util.MutableInt;
 
 /** Packet Reader */
 public interface Reader {
@@ -40,6 +42,45 @@ public interface Reader {
    */
   byte[] readPacket(boolean traceEnable) throws IOException;
 
+  /**
+   * Get next MySQL packet, without reading following packets if packet is 16M: content remaining
+   * must then be read using {@link #continuationStream()}.
+   *
+   * @param traceEnable must trace packet.
+   * @return first packet content.
+   * @throws IOException if socket exception occur.
+   */
+  byte[] readFirstPacket(boolean traceEnable) throws IOException;
+
+  /**
+   * Stream reading content following a 16M packet returned by {@link #readFirstPacket(boolean)}
+   * directly from socket, ending with MySQL packet end. Stream must be read to end before reading
+   * any other packet.
+   *
+   * @return continuation stream
+   */
+  InputStream continuationStream();
+
+  /**
+   * Get next MySQL packet in an array coming from connection buffer pool. Array length can be
+   * bigger than packet length. Array must be given back using {@link #releasePacket(byte[])} when
+   * not used anymore.
+   *
+   * @param traceEnable must trace packet.
+   * @param length packet length
+   * @return array containing packet.
+   * @throws IOException if socket exception occur.
+   */
+  byte[] readPooledPacket(boolean traceEnable, MutableInt length) throws IOException;
+
+  /**
+   * Give back an array obtained by {@link #readPooledPacket(boolean, MutableInt)} to connection
+   * buffer pool.
+   *
+   * @param buf array not used anymore
+   */
+  void releasePacket(byte[] buf);
+
   /**
    * Get a readable byte array from byte array. This packet is expected to be read immediately,
    * since no lock is set on this packet.
@@ -49,6 +90,16 @@ public interface Reader {
    */
   ReadableByteBuf readableBufFromArray(byte[] buf);
 
+  /**
+   * Get a readable byte array from the beginning of a byte array, up to limit. This packet is
+   * expected to be read immediately, since no lock is set on this packet.
+   *
+   * @param buf byte array to be parsed
+   * @param limit packet length
+   * @return array packet.
+   */
+  ReadableByteBuf readableBufFromArray(byte[] buf, int limit);
+
   /**
    * Skip next MySQL packet. Packet is expected to have size &lt; 16M
    *
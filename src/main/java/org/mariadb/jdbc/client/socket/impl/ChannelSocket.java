@@ -0,0 +1,493 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.socket.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.SocketException;
+import java.net.SocketOption;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.net.UnknownHostException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.UnresolvedAddressException;
+import java.util.concurrent.locks.ReentrantLock;
+import org.mariadb.jdbc.client.SocketHelper;
+import org.mariadb.jdbc.client.util.DirectBufferPool;
+
+/**
+ * Socket implementation using a non-blocking {@link SocketChannel} and pooled direct buffers.
+ *
+ * <p>Reads fill a direct buffer that packets are copied from. Writes are kept in a direct buffer
+ * until flushed; data that doesn't fit is sent with a gathering write together with pending data,
+ * so a command made of several packets goes out in a single write call, without intermediate heap
+ * copy. Connect and read timeouts are implemented with selectors.
+ *
+ * <p>Reading and writing use distinct locks and selectors, so a blocking read never delays a write
+ * or an {@link InputStream#available()} check, the latter only reading buffered byte count when a
+ * read is in progress.
+ */
+public class ChannelSocket extends Socket {
+
+  // same limit as JDK socket streams, to avoid JDK caching huge temporary direct buffers
+  private static final int MAX_WRITE_CHUNK = 128 * 1024;
+
+  private final SocketChannel channel;
+  private final SocketAddress unixAddress;
+  private final Selector readSelector;
+  private final SelectionKey readKey;
+  private final Selector writeSelector;
+  private final SelectionKey writeKey;
+  private final ReentrantLock readLock = new ReentrantLock();
+  private final ReentrantLock writeLock = new ReentrantLock();
+  private final ByteBuffer readBuf;
+  private final ByteBuffer writeBuf;
+  private final ByteBuffer[] gather = new ByteBuffer[2];
+  private final InputStream inputStream = new ChannelInputStream();
+  private final OutputStream outputStream = new ChannelOutputStream();
+  private volatile boolean closed;
+  private volatile int buffered;
+  private volatile boolean inputShutdown;
+  private boolean outputShutdown;
+  private volatile int timeout;
+
+  /**
+   * Constructor
+   *
+   * @param channel unconnected socket channel
+   * @param unixAddress unix domain socket address, null for TCP channel
+   * @throws IOException if selectors cannot be created
+   */
+  public ChannelSocket(SocketChannel channel, SocketAddress unixAddress) throws IOException {
+    this.channel = channel;
+    this.unixAddress = unixAddress;
+    Selector readSelector = null;
+    try {
+      channel.configureBlocking(false);
+      readSelector = Selector.open();
+      this.readSelector = readSelector;
+      this.readKey = channel.register(readSelector, 0);
+      this.writeSelector = Selector.open();
+      this.writeKey = channel.register(writeSelector, 0);
+    } catch (IOException e) {
+      if (readSelector != null) readSelector.close();
+      channel.close();
+      throw e;
+    }
+    this.readBuf = DirectBufferPool.acquire();
+    ((Buffer) readBuf).flip();
+    this.writeBuf = DirectBufferPool.acquire();
+  }
+
+  /**
+   * Create channel socket.
+   *
+   * @param localSocket unix domain socket path, null for TCP
+   * @return channel socket, or null if unix domain socket channels are not supported by current
+   *     java version
+   * @throws IOException if channel cannot be opened
+   */
+  public static ChannelSocket open(String localSocket) throws IOException {
+    if (localSocket == null) return new ChannelSocket(SocketChannel.open(), null);
+    SocketAddress address = SocketHelper.unixDomainSocketAddress(localSocket);
+    if (address == null) return null;
+    return new ChannelSocket(SocketHelper.openUnixDomainChannel(), address);
+  }
+
+  @Override
+  public void connect(SocketAddress endpoint) throws IOException {
+    connect(endpoint, 0);
+  }
+
+  @Override
+  public void connect(SocketAddress endpoint, int timeout) throws IOException {
+    SocketAddress address = endpoint == null ? unixAddress : endpoint;
+    if (address == null) throw new SocketException("No address to connect to");
+    try {
+      if (!channel.connect(address)) {
+        while (!channel.finishConnect()) {
+          await(writeSelector, writeKey, SelectionKey.OP_CONNECT, timeout, "Connect timed out");
+        }
+      }
+    } catch (UnresolvedAddressException e) {
+      close();
+      throw new UnknownHostException(address.toString());
+    } catch (IOException e) {
+      close();
+      throw e;
+    }
+  }
+
+  /**
+   * Wait for channel to be ready for operation.
+   *
+   * @param selector selector, read or write one
+   * @param key channel key for this selector
+   * @param op selection key operation
+   * @param timeout timeout in milliseconds, 0 for no timeout
+   * @param timeoutMessage timeout exception message
+   * @throws IOException if socket is closed or timeout is reached
+   */
+  private void await(
+      Selector selector, SelectionKey key, int op, int timeout, String timeoutMessage)
+      throws IOException {
+    try {
+      if (key.interestOps() != op) key.interestOps(op);
+      long deadline = timeout > 0 ? System.nanoTime() + timeout * 1_000_000L : 0;
+      while (true) {
+        if (closed) throw new SocketException("Socket is closed");
+        int selected;
+        if (timeout > 0) {
+          long remaining = (deadline - System.nanoTime()) / 1_000_000L;
+          if (remaining <= 0) throw new SocketTimeoutException(timeoutMessage);
+          selected = selector.select(remaining);
+        } else {
+          selected = selector.select();
+        }
+        if (selected > 0) {
+          selector.selectedKeys().clear();
+          return;
+        }
+      }
+    } catch (ClosedSelectorException | CancelledKeyException e) {
+      throw new SocketException("Socket is closed");
+    }
+  }
+
+  private void ensureOpen() throws SocketException {
+    if (closed) throw new SocketException("Socket is closed");
+  }
+
+  /**
+   * Read data from channel into read buffer, waiting for data if none is available.
+   *
+   * @return false if end of stream is reached
+   * @throws IOException if any socket error occurs, or timeout is reached
+   */
+  private boolean fill() throws IOException {
+    ((Buffer) readBuf).clear();
+    try {
+      while (true) {
+        int read = channel.read(readBuf);
+        if (read > 0) return true;
+        if (read < 0) {
+          inputShutdown = true;
+          return false;
+        }
+        await(readSelector, readKey, SelectionKey.OP_READ, timeout, "Read timed out");
+      }
+    } finally {
+      ((Buffer) readBuf).flip();
+    }
+  }
+
+  private int read(byte[] b, int off, int len) throws IOException {
+    readLock.lock();
+    try {
+      ensureOpen();
+      if (len == 0) return 0;
+      if (!readBuf.hasRemaining() && !fill()) return -1;
+      int length = Math.min(len, readBuf.remaining());
+      readBuf.get(b, off, length);
+      buffered = readBuf.remaining();
+      return length;
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  private int available() throws IOException {
+    ensureOpen();
+    int count = buffered;
+    // a read in progress will consume channel data: only buffered data is then reported
+    if (count > 0 || inputShutdown || !readLock.tryLock()) return count;
+    try {
+      ensureOpen();
+      if (!readBuf.hasRemaining()) {
+        ((Buffer) readBuf).clear();
+        try {
+          if (channel.read(readBuf) < 0) inputShutdown = true;
+        } finally {
+          ((Buffer) readBuf).flip();
+        }
+      }
+      return buffered = readBuf.remaining();
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  private void write(byte[] b, int off, int len) throws IOException {
+    writeLock.lock();
+    try {
+      ensureOpen();
+      writeData(b, off, len);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  private void writeData(byte[] b, int off, int len) throws IOException {
+    if (len <= writeBuf.remaining()) {
+      writeBuf.put(b, off, len);
+      return;
+    }
+
+    // gathering write of pending data and new data
+    ((Buffer) writeBuf).flip();
+    ByteBuffer data = ByteBuffer.wrap(b, off, len);
+    gather[0] = writeBuf;
+    gather[1] = data;
+    int end = off + len;
+    try {
+      while (data.hasRemaining()) {
+        ((Buffer) data).limit(Math.min(end, data.position() + MAX_WRITE_CHUNK));
+        while (data.hasRemaining()) {
+          if (channel.write(gather) == 0) {
+            await(writeSelector, writeKey, SelectionKey.OP_WRITE, 0, null);
+          }
+        }
+        ((Buffer) data).limit(end);
+      }
+    } finally {
+      gather[1] = null;
+      ((Buffer) writeBuf).clear();
+    }
+  }
+
+  private void flush() throws IOException {
+    writeLock.lock();
+    try {
+      ensureOpen();
+      if (writeBuf.position() == 0) return;
+      ((Buffer) writeBuf).flip();
+      try {
+        while (writeBuf.hasRemaining()) {
+          if (channel.write(writeBuf) == 0) {
+            await(writeSelector, writeKey, SelectionKey.OP_WRITE, 0, null);
+          }
+        }
+      } finally {
+        ((Buffer) writeBuf).clear();
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public void bind(SocketAddress bindpoint) throws IOException {
+    channel.bind(bindpoint);
+  }
+
+  @Override
+  public boolean isConnected() {
+    return channel.isConnected();
+  }
+
+  @Override
+  public boolean isClosed() {
+    return closed;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) return;
+    closed = true;
+    try {
+      channel.close();
+    } finally {
+      // wake up threads waiting on selectors
+      try {
+        readSelector.close();
+      } finally {
+        writeSelector.close();
+      }
+      readLock.lock();
+      try {
+        buffered = 0;
+        DirectBufferPool.release(readBuf);
+      } finally {
+        readLock.unlock();
+      }
+      writeLock.lock();
+      try {
+        DirectBufferPool.release(writeBuf);
+      } finally {
+        writeLock.unlock();
+      }
+    }
+  }
+
+  @Override
+  public InputStream getInputStream() throws IOException {
+    ensureOpen();
+    return inputStream;
+  }
+
+  @Override
+  public OutputStream getOutputStream() throws IOException {
+    ensureOpen();
+    return outputStream;
+  }
+
+  @Override
+  public void shutdownInput() throws IOException {
+    channel.shutdownInput();
+    inputShutdown = true;
+  }
+
+  @Override
+  public void shutdownOutput() throws IOException {
+    flush();
+    channel.shutdownOutput();
+    outputShutdown = true;
+  }
+
+  @Override
+  public boolean isInputShutdown() {
+    return inputShutdown;
+  }
+
+  @Override
+  public boolean isOutputShutdown() {
+    return outputShutdown;
+  }
+
+  @Override
+  public void setSoTimeout(int timeout) throws SocketException {
+    ensureOpen();
+    this.timeout = timeout;
+  }
+
+  @Override
+  public int getSoTimeout() {
+    return timeout;
+  }
+
+  @Override
+  public void setTcpNoDelay(boolean on) throws SocketException {
+    setChannelOption(StandardSocketOptions.TCP_NODELAY, on);
+  }
+
+  @Override
+  public void setKeepAlive(boolean on) throws SocketException {
+    setChannelOption(StandardSocketOptions.SO_KEEPALIVE, on);
+  }
+
+  @Override
+  public void setSoLinger(boolean on, int linger) throws SocketException {
+    setChannelOption(StandardSocketOptions.SO_LINGER, on ? linger : -1);
+  }
+
+  /**
+   * Set socket option (java 9 socket API, used for extended TCP keep-alive options).
+   *
+   * @param name option
+   * @param value option value
+   * @param <T> option type
+   * @return this socket
+   * @throws IOException if option cannot be set
+   */
+  public <T> Socket setOption(SocketOption<T> name, T value) throws IOException {
+    setChannelOption(name, value);
+    return this;
+  }
+
+  private <T> void setChannelOption(SocketOption<T> name, T value) throws SocketException {
+    // unix domain socket channel doesn't support TCP options
+    if (!channel.supportedOptions().contains(name)) return;
+    try {
+      channel.setOption(name, value);
+    } catch (SocketException e) {
+      throw e;
+    } catch (IOException e) {
+      throw new SocketException(e.getMessage());
+    }
+  }
+
+  private InetSocketAddress remoteAddress() {
+    try {
+      SocketAddress address = channel.getRemoteAddress();
+      return address instanceof InetSocketAddress ? (InetSocketAddress) address : null;
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  @Override
+  public InetAddress getInetAddress() {
+    InetSocketAddress address = remoteAddress();
+    return address == null ? null : address.getAddress();
+  }
+
+  @Override
+  public int getPort() {
+    InetSocketAddress address = remoteAddress();
+    return address == null ? 0 : address.getPort();
+  }
+
+  @Override
+  public String toString() {
+    return "ChannelSocket[" + channel + "]";
+  }
+
+  class ChannelInputStream extends InputStream {
+
+    @Override
+    public int read() throws IOException {
+      byte[] single = new byte[1];
+      return ChannelSocket.this.read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      return ChannelSocket.this.read(b, off, len);
+    }
+
+    @Override
+    public int available() throws IOException {
+      return ChannelSocket.this.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+      ChannelSocket.this.close();
+    }
+  }
+
+  class ChannelOutputStream extends OutputStream {
+
+    @Override
+    public void write(int b) throws IOException {
+      ChannelSocket.this.write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      ChannelSocket.this.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      ChannelSocket.this.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      ChannelSocket.this.close();
+    }
+  }
+}
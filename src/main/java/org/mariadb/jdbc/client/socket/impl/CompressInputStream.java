@@ -6,19 +6,30 @@ package org.mariadb.jdbc.client.socket.impl;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.zip.DataFormatException;
-import java.util.zip.Inflater;
+import java.util.concurrent.locks.ReentrantLock;
 import org.mariadb.jdbc.client.util.MutableByte;
+import org.mariadb.jdbc.plugin.CompressionPlugin;
+import org.mariadb.jdbc.plugin.compression.zlib.ZlibCompressionPlugin;
 
 /**
  * Compression handler, permitting decompression of mysql packet if needed. When compression is set,
  * using a 7 byte header to identify is packet is compressed or not.
+ *
+ * <p>Decompressor, compressed data buffer and packet buffer are reused for connection life.
+ * Decompressor is only released on close when no packet is being read, since close may be called
+ * by another thread, when aborting connection.
  */
 public class CompressInputStream extends InputStream {
+  private static final int DEFAULT_BUFFER_SIZE = 8192;
+  private static final int MAX_KEPT_BUFFER_SIZE = 1024 * 1024;
   private final InputStream in;
   private final MutableByte sequence;
+  private final CompressionPlugin.Decompressor decompressor;
+  private byte[] compressedBuf = new byte[DEFAULT_BUFFER_SIZE];
 
   private final byte[] header = new byte[7];
+  private final ReentrantLock lock = new ReentrantLock();
+  private volatile boolean closed;
 
   private int end;
   private int pos;
@@ -34,8 +45,23 @@ public class CompressInputStream extends InputStream {
    * @param compressionSequence compression sequence
    */
   public CompressInputStream(InputStream in, MutableByte compressionSequence) {
+    this(in, compressionSequence, new ZlibCompressionPlugin().decompressor());
+  }
+
+  /**
+   * Constructor. When this handler is used, driver expect packet with 7 byte compression header
+   *
+   * @param in socket input stream
+   * @param compressionSequence compression sequence
+   * @param decompressor negotiated algorithm decompressor
+   */
+  public CompressInputStream(
+      InputStream in,
+      MutableByte compressionSequence,
+      CompressionPlugin.Decompressor decompressor) {
     this.in = in;
     this.sequence = compressionSequence;
+    this.decompressor = decompressor;
   }
 
   /**
@@ -89,22 +115,29 @@ public class CompressInputStream extends InputStream {
       return 0;
     }
 
-    int totalReads = 0;
-    do {
-      if (end - pos <= 0) {
-        retrieveBuffer();
-      }
-      // copy internal value to buf.
-      int copyLength = Math.min(len - totalReads, end - pos);
-      System.arraycopy(buf, pos, b, off + totalReads, copyLength);
-      pos += copyLength;
-      totalReads += copyLength;
-    } while (totalReads < len && super.available() > 0);
+    lock.lock();
+    try {
+      int totalReads = 0;
+      do {
+        if (end - pos <= 0) {
+          retrieveBuffer();
+        }
+        // copy internal value to buf.
+        int copyLength = Math.min(len - totalReads, end - pos);
+        System.arraycopy(buf, pos, b, off + totalReads, copyLength);
+        pos += copyLength;
+        totalReads += copyLength;
+      } while (totalReads < len && super.available() > 0);
 
-    return totalReads;
+      return totalReads;
+    } finally {
+      lock.unlock();
+    }
   }
 
   private void retrieveBuffer() throws IOException {
+    if (closed) throw new IOException("Stream is closed");
+
     // ***************************************************
     // Read header
     // ***************************************************
@@ -128,7 +161,17 @@ public class CompressInputStream extends InputStream {
     int packetLength = (header[4] & 0xff) + ((header[5] & 0xff) << 8) + ((header[6] & 0xff) << 16);
     boolean compressed = (packetLength != 0);
     remaining = compressedPacketLength;
-    byte[] intermediaryBuf = new byte[remaining];
+    byte[] contentBuf;
+    if (compressed) {
+      if (compressedBuf.length < compressedPacketLength
+          || (compressedBuf.length > MAX_KEPT_BUFFER_SIZE
+              && compressedPacketLength <= MAX_KEPT_BUFFER_SIZE)) {
+        compressedBuf = new byte[Math.max(DEFAULT_BUFFER_SIZE, compressedPacketLength)];
+      }
+      contentBuf = compressedBuf;
+    } else {
+      contentBuf = packetBuffer(compressedPacketLength);
+    }
 
     // ***************************************************
     // Read content
@@ -136,7 +179,7 @@ public class CompressInputStream extends InputStream {
 
     readOffset = 0;
     do {
-      int count = in.read(intermediaryBuf, readOffset, remaining);
+      int count = in.read(contentBuf, readOffset, remaining);
       if (count < 0) {
         throw new EOFException(
             "unexpected end of stream, read "
@@ -150,30 +193,33 @@ public class CompressInputStream extends InputStream {
     } while (remaining > 0);
 
     if (compressed) {
-      buf = new byte[packetLength];
-      Inflater inflater = new Inflater();
-      inflater.setInput(intermediaryBuf);
-      try {
-        int actualUncompressBytes = inflater.inflate(buf);
-        if (actualUncompressBytes != packetLength) {
-          throw new IOException(
-              "Invalid exception length after decompression "
-                  + actualUncompressBytes
-                  + ",expected "
-                  + packetLength);
-        }
-      } catch (DataFormatException dfe) {
-        throw new IOException(dfe);
-      }
-      inflater.end();
+      buf = packetBuffer(packetLength);
+      decompressor.decompress(compressedBuf, 0, compressedPacketLength, buf, 0, packetLength);
       end = packetLength;
     } else {
-      buf = intermediaryBuf;
+      buf = contentBuf;
       end = compressedPacketLength;
     }
     pos = 0;
   }
 
+  /**
+   * Get packet buffer of at least asked length, reusing current one if possible. A buffer bigger
+   * than 1Mb is not kept when a smaller one is enough.
+   *
+   * @param length minimum length
+   * @return packet buffer
+   */
+  private byte[] packetBuffer(int length) {
+    byte[] current = buf;
+    if (current != null
+        && current.length >= length
+        && (current.length <= MAX_KEPT_BUFFER_SIZE || length > MAX_KEPT_BUFFER_SIZE)) {
+      return current;
+    }
+    return new byte[Math.max(DEFAULT_BUFFER_SIZE, length)];
+  }
+
   /**
    * Skips over and discards <code>n</code> bytes of data from this input stream. The <code>skip
    * </code> method may, for a variety of reasons, end up skipping over some smaller number of
@@ -194,7 +240,18 @@ public class CompressInputStream extends InputStream {
    */
   @Override
   public long skip(long n) throws IOException {
-    return read(new byte[(int) n], 0, (int) n);
+    if (n <= 0) return 0;
+    lock.lock();
+    try {
+      if (end - pos <= 0) {
+        retrieveBuffer();
+      }
+      int skipped = (int) Math.min(n, end - pos);
+      pos += skipped;
+      return skipped;
+    } finally {
+      lock.unlock();
+    }
   }
 
   /**
@@ -232,7 +289,19 @@ public class CompressInputStream extends InputStream {
    */
   @Override
   public void close() throws IOException {
-    in.close();
+    if (closed) return;
+    closed = true;
+    try {
+      // closing socket first, unblocking any packet being read
+      in.close();
+    } finally {
+      lock.lock();
+      try {
+        decompressor.close();
+      } finally {
+        lock.unlock();
+      }
+    }
   }
 
   /**
@@ -3,23 +3,41 @@
 // Copyright (c) 2015-2023 MariaDB Corporation Ab
 package org.mariadb.jdbc.client.socket.impl;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.zip.DeflaterOutputStream;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
 import org.mariadb.jdbc.client.util.MutableByte;
+import org.mariadb.jdbc.plugin.CompressionPlugin;
+import org.mariadb.jdbc.plugin.compression.zlib.ZlibCompressionPlugin;
 
 /**
  * Compression writer handler Permit to wrap standard packet to compressed packet ( 7 byte header).
  * Driver will compress packet only if packet size is meaningful (1536 bytes) &gt; to one TCP
  * packet.
+ *
+ * <p>Compressor and compression buffer are kept for connection life, compressed data being written
+ * directly after header space into compression buffer. Data exceeding maximum packet length is
+ * kept in a pending buffer, reused to join it with next packet data, so a multi-packet command
+ * allocates its buffers once.
+ *
+ * <p>Compressor is only released on close when no packet is being written, since close may be
+ * called by another thread, when aborting connection.
  */
 public class CompressOutputStream extends OutputStream {
   private static final int MIN_COMPRESSION_SIZE = 1536; // TCP-IP single packet
+  private static final int COMPRESS_HEADER_SIZE = 7;
+  private static final int DEFAULT_BUFFER_SIZE = 8192;
+  private static final int MAX_KEPT_BUFFER_SIZE = 1024 * 1024;
   private final OutputStream out;
   private final MutableByte sequence;
   private final byte[] header = new byte[7];
-  private byte[] longPacketBuffer = null;
+  private final CompressionPlugin.Compressor compressor;
+  private final ReentrantLock lock = new ReentrantLock();
+  private byte[] compressBuf = new byte[DEFAULT_BUFFER_SIZE];
+  private byte[] pending = null;
+  private int pendingLength;
+  private volatile boolean closed;
 
   /**
    * Constructor.
@@ -28,8 +46,21 @@ public class CompressOutputStream extends OutputStream {
    * @param compressionSequence compression sequence
    */
   public CompressOutputStream(OutputStream out, MutableByte compressionSequence) {
+    this(out, compressionSequence, new ZlibCompressionPlugin().compressor(0));
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param out socket output stream
+   * @param compressionSequence compression sequence
+   * @param compressor negotiated algorithm compressor
+   */
+  public CompressOutputStream(
+      OutputStream out, MutableByte compressionSequence, CompressionPlugin.Compressor compressor) {
     this.out = out;
     this.sequence = compressionSequence;
+    this.compressor = compressor;
   }
 
   /**
@@ -57,82 +88,101 @@ public class CompressOutputStream extends OutputStream {
    */
   @Override
   public void write(byte[] b, int off, int len) throws IOException {
-    if (len + ((longPacketBuffer != null) ? longPacketBuffer.length : 0) < MIN_COMPRESSION_SIZE) {
+    lock.lock();
+    try {
+      ensureOpen();
+      writePacket(b, off, len);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void ensureOpen() throws IOException {
+    if (closed) throw new IOException("Stream is closed");
+  }
+
+  private void writePacket(byte[] b, int off, int len) throws IOException {
+    if (len + pendingLength < MIN_COMPRESSION_SIZE) {
       // *******************************************************************************
       // small packet, no compression
       // *******************************************************************************
-
-      if (longPacketBuffer != null) {
-        header[0] = (byte) (len + longPacketBuffer.length);
-        header[1] = (byte) ((len + longPacketBuffer.length) >>> 8);
-        header[2] = 0;
-        header[3] = sequence.incrementAndGet();
-        header[4] = 0;
-        header[5] = 0;
-        header[6] = 0;
-        out.write(header, 0, 7);
-        out.write(longPacketBuffer, 0, longPacketBuffer.length);
-        out.write(b, off, len);
-        longPacketBuffer = null;
-        return;
-      }
-
-      header[0] = (byte) len;
-      header[1] = (byte) (len >>> 8);
+      int total = len + pendingLength;
+      header[0] = (byte) total;
+      header[1] = (byte) (total >>> 8);
       header[2] = 0;
       header[3] = sequence.incrementAndGet();
       header[4] = 0;
       header[5] = 0;
       header[6] = 0;
       out.write(header, 0, 7);
+      if (pendingLength > 0) {
+        out.write(pending, 0, pendingLength);
+        pendingLength = 0;
+      }
       out.write(b, off, len);
+      return;
+    }
 
-    } else {
-      // *******************************************************************************
-      // compressing packet
-      // *******************************************************************************
-      int sent = 0;
-      try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-        try (DeflaterOutputStream deflater = new DeflaterOutputStream(baos)) {
-
-          /**
-           * For multi packet, len will be 0x00ffffff + 4 bytes for header. but compression can only
-           * compress up to 0x00ffffff bytes (header initial length size cannot be > 3 bytes) so,
-           * for this specific case, a buffer will save remaining data
-           */
-          if (longPacketBuffer != null) {
-            deflater.write(longPacketBuffer, 0, longPacketBuffer.length);
-            sent = longPacketBuffer.length;
-            longPacketBuffer = null;
-          }
-          if (len + sent > 0x00ffffff) {
-            int remaining = len + sent - 0x00ffffff;
-            longPacketBuffer = new byte[remaining];
-            System.arraycopy(b, off + 0x00ffffff - sent, longPacketBuffer, 0, remaining);
-          }
-
-          int bufLenSent = Math.min(0x00ffffff - sent, len);
-          deflater.write(b, off, bufLenSent);
-          sent += bufLenSent;
-          deflater.finish();
-        }
-
-        byte[] compressedBytes = baos.toByteArray();
+    // *******************************************************************************
+    // compressing packet
+    // *******************************************************************************
 
-        int compressLen = compressedBytes.length;
+    /*
+     * For multi packet, len will be 0x00ffffff + 4 bytes for header. but compression can only
+     * compress up to 0x00ffffff bytes (header initial length size cannot be > 3 bytes) so,
+     * for this specific case, a buffer will save remaining data
+     */
+    int previous = pendingLength;
+    int bufLenSent = Math.min(0x00ffffff - previous, len);
+    byte[] src = b;
+    int srcOff = off;
+    if (previous > 0) {
+      // compression is done in one call: joining remaining data of previous packet
+      if (pending.length < previous + bufLenSent) {
+        pending = Arrays.copyOf(pending, previous + bufLenSent);
+      }
+      System.arraycopy(b, off, pending, previous, bufLenSent);
+      src = pending;
+      srcOff = 0;
+    }
+    int sent = previous + bufLenSent;
+    pendingLength = 0;
 
-        header[0] = (byte) compressLen;
-        header[1] = (byte) (compressLen >>> 8);
-        header[2] = (byte) (compressLen >>> 16);
-        header[3] = sequence.incrementAndGet();
-        header[4] = (byte) sent;
-        header[5] = (byte) (sent >>> 8);
-        header[6] = (byte) (sent >>> 16);
+    int maxLength = COMPRESS_HEADER_SIZE + compressor.maxCompressedLength(sent);
+    if (compressBuf.length < maxLength) compressBuf = new byte[maxLength];
+    int compressedLength = compressor.compress(src, srcOff, sent, compressBuf, COMPRESS_HEADER_SIZE);
+    if (compressedLength >= sent) {
+      // incompressible data: sending uncompressed packet
+      header[0] = (byte) sent;
+      header[1] = (byte) (sent >>> 8);
+      header[2] = (byte) (sent >>> 16);
+      header[3] = sequence.incrementAndGet();
+      header[4] = 0;
+      header[5] = 0;
+      header[6] = 0;
+      out.write(header, 0, 7);
+      out.write(src, srcOff, sent);
+    } else {
+      // compressed data is written after header space, sending both with one write
+      compressBuf[0] = (byte) compressedLength;
+      compressBuf[1] = (byte) (compressedLength >>> 8);
+      compressBuf[2] = (byte) (compressedLength >>> 16);
+      compressBuf[3] = sequence.incrementAndGet();
+      compressBuf[4] = (byte) sent;
+      compressBuf[5] = (byte) (sent >>> 8);
+      compressBuf[6] = (byte) (sent >>> 16);
+      out.write(compressBuf, 0, COMPRESS_HEADER_SIZE + compressedLength);
+    }
+    out.flush();
 
-        out.write(header, 0, 7);
-        out.write(compressedBytes, 0, compressLen);
-        out.flush();
+    // keep data exceeding maximum packet length for next packet
+    int remaining = len - bufLenSent;
+    if (remaining > 0) {
+      if (pending == null || pending.length < remaining) {
+        pending = new byte[Math.max(DEFAULT_BUFFER_SIZE, remaining)];
       }
+      System.arraycopy(b, off + bufLenSent, pending, 0, remaining);
+      pendingLength = remaining;
     }
   }
 
@@ -153,13 +203,23 @@ public class CompressOutputStream extends OutputStream {
    */
   @Override
   public void flush() throws IOException {
-    if (longPacketBuffer != null) {
-      byte[] b = longPacketBuffer;
-      longPacketBuffer = null;
-      write(b, 0, b.length);
+    lock.lock();
+    try {
+      ensureOpen();
+      if (pendingLength > 0) {
+        int length = pendingLength;
+        pendingLength = 0;
+        writePacket(pending, 0, length);
+      }
+      out.flush();
+      sequence.set((byte) -1);
+
+      // don't keep huge buffers after big commands
+      if (compressBuf.length > MAX_KEPT_BUFFER_SIZE) compressBuf = new byte[DEFAULT_BUFFER_SIZE];
+      if (pending != null && pending.length > MAX_KEPT_BUFFER_SIZE) pending = null;
+    } finally {
+      lock.unlock();
     }
-    out.flush();
-    sequence.set((byte) -1);
   }
 
   /**
@@ -173,7 +233,19 @@ public class CompressOutputStream extends OutputStream {
    */
   @Override
   public void close() throws IOException {
-    out.close();
+    if (closed) return;
+    closed = true;
+    try {
+      // closing socket first, unblocking any packet being written
+      out.close();
+    } finally {
+      lock.lock();
+      try {
+        compressor.close();
+      } finally {
+        lock.unlock();
+      }
+    }
   }
 
   /**
@@ -6,12 +6,16 @@ package org.mariadb.jdbc.client.socket.impl;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import org.mariadb.jdbc.Configuration;
 import org.mariadb.jdbc.HostAddress;
 import org.mariadb.jdbc.client.ReadableByteBuf;
 import org.mariadb.jdbc.client.impl.StandardReadableByteBuf;
 import org.mariadb.jdbc.client.socket.Reader;
+import org.mariadb.jdbc.client.util.BufferPool;
 import org.mariadb.jdbc.client.util.MutableByte;
+import org.mariadb.jdbc.client.util.MutableInt;
 import org.mariadb.jdbc.util.log.Logger;
 import org.mariadb.jdbc.util.log.LoggerHelper;
 import org.mariadb.jdbc.util.log.Loggers;
@@ -28,6 +32,7 @@ public class PacketReader implements Reader {
   private final int maxQuerySizeToLog;
   private final MutableByte sequence;
   private final StandardReadableByteBuf readBuf = new StandardReadableByteBuf(null, 0);
+  private final BufferPool bufferPool = new BufferPool();
   private String serverThreadLog = "";
 
   /**
@@ -48,6 +53,11 @@ public class PacketReader implements Reader {
     return readBuf;
   }
 
+  public ReadableByteBuf readableBufFromArray(byte[] buf, int limit) {
+    readBuf.buf(buf, limit, 0);
+    return readBuf;
+  }
+
   public ReadableByteBuf readReusablePacket() throws IOException {
     return readReusablePacket(logger.isTraceEnabled());
   }
@@ -121,6 +131,27 @@ public class PacketReader implements Reader {
    * @throws IOException if socket exception occur.
    */
   public byte[] readPacket(boolean traceEnable) throws IOException {
+    byte[] rawBytes = readFirstPacket(traceEnable);
+
+    // ***************************************************
+    // In case content length is big, content will be separate in many 16Mb packets
+    // ***************************************************
+    if (rawBytes.length == MAX_PACKET_SIZE) {
+      rawBytes = readNextPackets(rawBytes, traceEnable);
+    }
+
+    return rawBytes;
+  }
+
+  /**
+   * Get next MySQL packet, without reading following packets if packet is 16M: content remaining
+   * must then be read using {@link #continuationStream()}.
+   *
+   * @param traceEnable must trace packet.
+   * @return first packet content.
+   * @throws IOException if socket exception occur.
+   */
+  public byte[] readFirstPacket(boolean traceEnable) throws IOException {
     // ***************************************************
     // Read 4 byte header
     // ***************************************************
@@ -170,63 +201,167 @@ public class PacketReader implements Reader {
           LoggerHelper.hex(header, rawBytes, 0, lastPacketLength, maxQuerySizeToLog));
     }
 
-    // ***************************************************
-    // In case content length is big, content will be separate in many 16Mb packets
-    // ***************************************************
-    if (lastPacketLength == MAX_PACKET_SIZE) {
-      int packetLength;
-      do {
-        remaining = 4;
-        off = 0;
-        do {
-          int count = inputStream.read(header, off, remaining);
-          if (count < 0) {
-            throw new EOFException("unexpected end of stream, read " + off + " bytes from 4");
-          }
-          remaining -= count;
-          off += count;
-        } while (remaining > 0);
-
-        packetLength = (header[0] & 0xff) + ((header[1] & 0xff) << 8) + ((header[2] & 0xff) << 16);
+    return rawBytes;
+  }
 
-        int currentbufLength = rawBytes.length;
-        byte[] newRawBytes = new byte[currentbufLength + packetLength];
-        System.arraycopy(rawBytes, 0, newRawBytes, 0, currentbufLength);
-        rawBytes = newRawBytes;
+  public InputStream continuationStream() {
+    return new ContinuationStream();
+  }
 
-        // ***************************************************
-        // Read content
-        // ***************************************************
-        remaining = packetLength;
-        off = currentbufLength;
-        do {
-          int count = inputStream.read(rawBytes, off, remaining);
-          if (count < 0) {
-            throw new EOFException(
-                "unexpected end of stream, read "
-                    + (packetLength - remaining)
-                    + " bytes from "
-                    + packetLength);
-          }
-          remaining -= count;
-          off += count;
-        } while (remaining > 0);
+  /**
+   * Read the packets following a 16Mb packet, until a packet that has not length = 16Mb.
+   *
+   * <p>Each 16Mb packet is read in its own array, so previous content is never re-copied. Once
+   * last packet header is read, complete content length is known: final array is then allocated
+   * once, last packet is read directly into it, and previous packets are copied, each being
+   * released as soon as copied.
+   *
+   * @param firstPacket first packet content
+   * @param traceEnable must trace packet.
+   * @return complete content
+   * @throws IOException if socket exception occur.
+   */
+  private byte[] readNextPackets(byte[] firstPacket, boolean traceEnable) throws IOException {
+    long totalLength = firstPacket.length;
+    int remaining;
+    int off;
+    List<byte[]> packets = new ArrayList<>();
+    packets.add(firstPacket);
+    int packetLength;
+    byte[] rawBytes;
+    while (true) {
+      remaining = 4;
+      off = 0;
+      do {
+        int count = inputStream.read(header, off, remaining);
+        if (count < 0) {
+          throw new EOFException("unexpected end of stream, read " + off + " bytes from 4");
+        }
+        remaining -= count;
+        off += count;
+      } while (remaining > 0);
+
+      packetLength = (header[0] & 0xff) + ((header[1] & 0xff) << 8) + ((header[2] & 0xff) << 16);
+      totalLength += packetLength;
+      if (totalLength > Integer.MAX_VALUE - 8) {
+        throw new IOException(
+            "packet of " + totalLength + " bytes exceed maximum array size, cannot be read");
+      }
 
+      if (packetLength == MAX_PACKET_SIZE) {
+        byte[] packet = new byte[packetLength];
+        readFully(packet, 0, packetLength);
         if (traceEnable) {
           logger.trace(
               "read: {}\n{}",
               serverThreadLog,
-              LoggerHelper.hex(
-                  header, rawBytes, currentbufLength, packetLength, maxQuerySizeToLog));
+              LoggerHelper.hex(header, packet, 0, packetLength, maxQuerySizeToLog));
         }
+        packets.add(packet);
+        continue;
+      }
 
-        lastPacketLength += packetLength;
-      } while (packetLength == MAX_PACKET_SIZE);
+      // last packet: read directly at its final position
+      rawBytes = new byte[(int) totalLength];
+      off = (int) totalLength - packetLength;
+      readFully(rawBytes, off, packetLength);
+      if (traceEnable) {
+        logger.trace(
+            "read: {}\n{}",
+            serverThreadLog,
+            LoggerHelper.hex(header, rawBytes, off, packetLength, maxQuerySizeToLog));
+      }
+      break;
     }
 
+    off = 0;
+    for (int i = 0; i < packets.size(); i++) {
+      byte[] packet = packets.set(i, null);
+      System.arraycopy(packet, 0, rawBytes, off, packet.length);
+      off += packet.length;
+    }
     return rawBytes;
   }
 
+  private void readFully(byte[] buf, int pos, int length) throws IOException {
+    int remaining = length;
+    int off = pos;
+    while (remaining > 0) {
+      int count = inputStream.read(buf, off, remaining);
+      if (count < 0) {
+        throw new EOFException(
+            "unexpected end of stream, read " + (length - remaining) + " bytes from " + length);
+      }
+      remaining -= count;
+      off += count;
+    }
+  }
+
+  public byte[] readPooledPacket(boolean traceEnable, MutableInt length) throws IOException {
+    // ***************************************************
+    // Read 4 byte header
+    // ***************************************************
+    int remaining = 4;
+    int off = 0;
+    do {
+      int count = inputStream.read(header, off, remaining);
+      if (count < 0) {
+        throw new EOFException(
+            "unexpected end of stream, read "
+                + off
+                + " bytes from 4 (socket was closed by server)");
+      }
+      remaining -= count;
+      off += count;
+    } while (remaining > 0);
+
+    int lastPacketLength =
+        (header[0] & 0xff) + ((header[1] & 0xff) << 8) + ((header[2] & 0xff) << 16);
+
+    // prepare array
+    byte[] rawBytes =
+        lastPacketLength == MAX_PACKET_SIZE
+            ? new byte[lastPacketLength]
+            : bufferPool.acquire(lastPacketLength);
+
+    // ***************************************************
+    // Read content
+    // ***************************************************
+    remaining = lastPacketLength;
+    off = 0;
+    do {
+      int count = inputStream.read(rawBytes, off, remaining);
+      if (count < 0) {
+        throw new EOFException(
+            "unexpected end of stream, read "
+                + (lastPacketLength - remaining)
+                + " bytes from "
+                + lastPacketLength
+                + " (socket was closed by server)");
+      }
+      remaining -= count;
+      off += count;
+    } while (remaining > 0);
+
+    if (traceEnable) {
+      logger.trace(
+          "read: {}\n{}",
+          serverThreadLog,
+          LoggerHelper.hex(header, rawBytes, 0, lastPacketLength, maxQuerySizeToLog));
+    }
+
+    if (lastPacketLength == MAX_PACKET_SIZE) {
+      rawBytes = readNextPackets(rawBytes, traceEnable);
+      lastPacketLength = rawBytes.length;
+    }
+    length.set(lastPacketLength);
+    return rawBytes;
+  }
+
+  public void releasePacket(byte[] buf) {
+    bufferPool.release(buf);
+  }
+
   public void skipPacket() throws IOException {
     if (logger.isTraceEnabled()) {
       readReusablePacket(logger.isTraceEnabled());
@@ -287,6 +422,68 @@ public class PacketReader implements Reader {
     }
   }
 
+  /** Stream reading packets following a 16M packet, without their header, until last packet */
+  private final class ContinuationStream extends InputStream {
+    private int remaining;
+    private boolean last;
+
+    private boolean nextPacket() throws IOException {
+      while (remaining == 0) {
+        if (last) return false;
+        int off = 0;
+        do {
+          int count = inputStream.read(header, off, 4 - off);
+          if (count < 0) {
+            throw new EOFException("unexpected end of stream, read " + off + " bytes from 4");
+          }
+          off += count;
+        } while (off < 4);
+        remaining = (header[0] & 0xff) + ((header[1] & 0xff) << 8) + ((header[2] & 0xff) << 16);
+        last = remaining < MAX_PACKET_SIZE;
+        if (logger.isTraceEnabled()) {
+          logger.trace("read: {} continuation packet of {} bytes", serverThreadLog, remaining);
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (!nextPacket()) return -1;
+      int value = inputStream.read();
+      if (value < 0) throw new EOFException("unexpected end of stream");
+      remaining--;
+      return value;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) return 0;
+      if (!nextPacket()) return -1;
+      int count = inputStream.read(b, off, Math.min(len, remaining));
+      if (count < 0) {
+        throw new EOFException("unexpected end of stream, " + remaining + " bytes remaining");
+      }
+      remaining -= count;
+      return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      long skipped = 0;
+      while (skipped < n && nextPacket()) {
+        int count = read(reusableArray, 0, (int) Math.min(n - skipped, REUSABLE_BUFFER_LENGTH));
+        skipped += count;
+      }
+      return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+      return Math.min(remaining, inputStream.available());
+    }
+  }
+
   public MutableByte getSequence() {
     return sequence;
   }
@@ -0,0 +1,58 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.tls;
+
+import java.util.concurrent.atomic.LongAdder;
+import javax.net.ssl.SSLSession;
+
+/**
+ * JVM-wide TLS handshake statistics. A handshake is considered resumed when negotiated session has
+ * been created before handshake start, meaning that a session (TLS 1.2 session id or TLS 1.3
+ * ticket) of a previous connection sharing the same SSL context has been reused.
+ */
+public final class TlsHandshakeStatistics {
+
+  private static final LongAdder fullHandshakes = new LongAdder();
+  private static final LongAdder resumedHandshakes = new LongAdder();
+
+  private TlsHandshakeStatistics() {}
+
+  /**
+   * Record a completed handshake
+   *
+   * @param session negotiated session
+   * @param handshakeStart handshake start time, in milliseconds since epoch
+   */
+  public static void record(SSLSession session, long handshakeStart) {
+    if (session.getCreationTime() < handshakeStart) {
+      resumedHandshakes.increment();
+    } else {
+      fullHandshakes.increment();
+    }
+  }
+
+  /**
+   * Number of handshakes that have negotiated a new session
+   *
+   * @return full handshake count
+   */
+  public static long fullHandshakeCount() {
+    return fullHandshakes.sum();
+  }
+
+  /**
+   * Number of handshakes that have resumed a previous session
+   *
+   * @return resumed handshake count
+   */
+  public static long resumedHandshakeCount() {
+    return resumedHandshakes.sum();
+  }
+
+  /** Reset statistics */
+  public static void reset() {
+    fullHandshakes.reset();
+    resumedHandshakes.reset();
+  }
+}
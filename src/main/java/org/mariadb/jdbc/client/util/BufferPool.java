@@ -0,0 +1,70 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.util;
+
+/**
+ * Connection byte array pool, with power of 2 size classes from 256 bytes to 1Mb. Each class keeps
+ * a limited number of free arrays (about 64Kb, and at least 2 arrays), so pool memory stays
+ * bounded. Arrays bigger than biggest size class are not pooled.
+ */
+public final class BufferPool {
+
+  private static final int MIN_CLASS_BITS = 8;
+  private static final int MAX_CLASS_BITS = 20;
+  private static final int CLASS_BYTES = 64 * 1024;
+
+  private final byte[][][] free = new byte[MAX_CLASS_BITS - MIN_CLASS_BITS + 1][][];
+  private final int[] freeSize = new int[free.length];
+
+  /** Constructor */
+  public BufferPool() {
+    for (int i = 0; i < free.length; i++) {
+      free[i] = new byte[Math.max(2, CLASS_BYTES >> (i + MIN_CLASS_BITS))][];
+    }
+  }
+
+  private static int sizeClass(int length) {
+    if (length <= 1 << MIN_CLASS_BITS) return 0;
+    return 32 - Integer.numberOfLeadingZeros(length - 1) - MIN_CLASS_BITS;
+  }
+
+  /**
+   * Get an array of at least the asked length. Array length is the size class length, except for
+   * length bigger than biggest class.
+   *
+   * @param length minimum length
+   * @return byte array
+   */
+  public byte[] acquire(int length) {
+    int sizeClass = sizeClass(length);
+    if (sizeClass >= free.length) return new byte[length];
+    synchronized (this) {
+      int size = freeSize[sizeClass];
+      if (size > 0) {
+        byte[] buf = free[sizeClass][--size];
+        free[sizeClass][size] = null;
+        freeSize[sizeClass] = size;
+        return buf;
+      }
+    }
+    return new byte[1 << (sizeClass + MIN_CLASS_BITS)];
+  }
+
+  /**
+   * Give back an array that is not used anymore. Arrays not coming from pool are ignored.
+   *
+   * @param buf byte array
+   */
+  public void release(byte[] buf) {
+    int sizeClass = sizeClass(buf.length);
+    if (sizeClass >= free.length || buf.length != 1 << (sizeClass + MIN_CLASS_BITS)) return;
+    synchronized (this) {
+      int size = freeSize[sizeClass];
+      if (size < free[sizeClass].length) {
+        free[sizeClass][size] = buf;
+        freeSize[sizeClass] = size + 1;
+      }
+    }
+  }
+}
@@ -0,0 +1,53 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.util;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Driver-wide pool of fixed size direct byte buffers. Direct buffers are costly to allocate and
+ * their memory is only freed by garbage collection, so a bounded number of released buffers is kept
+ * for next connections.
+ */
+public final class DirectBufferPool {
+
+  /** Pooled buffer size */
+  public static final int BUFFER_SIZE = 16384;
+
+  private static final int MAX_POOLED = 64;
+  private static final ConcurrentLinkedQueue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+  private static final AtomicInteger freeSize = new AtomicInteger();
+
+  private DirectBufferPool() {}
+
+  /**
+   * Get a cleared direct buffer of {@link #BUFFER_SIZE} capacity.
+   *
+   * @return direct buffer
+   */
+  public static ByteBuffer acquire() {
+    ByteBuffer buf = free.poll();
+    if (buf == null) return ByteBuffer.allocateDirect(BUFFER_SIZE);
+    freeSize.decrementAndGet();
+    ((Buffer) buf).clear();
+    return buf;
+  }
+
+  /**
+   * Give back a buffer that is not used anymore. Buffers not coming from pool are ignored.
+   *
+   * @param buf direct buffer
+   */
+  public static void release(ByteBuffer buf) {
+    if (!buf.isDirect() || buf.capacity() != BUFFER_SIZE) return;
+    if (freeSize.incrementAndGet() > MAX_POOLED) {
+      freeSize.decrementAndGet();
+      return;
+    }
+    free.offer(buf);
+  }
+}
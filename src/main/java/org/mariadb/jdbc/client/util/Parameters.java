@@ -3,7 +3,18 @@
 // Copyright (c) 2015-2023 MariaDB Corporation Ab
 package org.mariadb.jdbc.client.util;
 
-/** Parameters list */
+import java.io.IOException;
+import java.sql.SQLException;
+import org.mariadb.jdbc.client.Context;
+import org.mariadb.jdbc.client.socket.Writer;
+
+/**
+ * Parameters list.
+ *
+ * <p>int, long and double values can be set without creating a {@link Parameter}, so encoding
+ * should use index methods ({@link #encodeText(int, Writer, Context)}, ...) rather than getting
+ * parameter object.
+ */
 public interface Parameters {
 
   /**
@@ -30,6 +41,75 @@ public interface Parameters {
    */
   void set(int index, Parameter element);
 
+  /**
+   * Set int parameter at index
+   *
+   * @param index index
+   * @param value value
+   */
+  void setInt(int index, int value);
+
+  /**
+   * Set long parameter at index
+   *
+   * @param index index
+   * @param value value
+   */
+  void setLong(int index, long value);
+
+  /**
+   * Set double parameter at index
+   *
+   * @param index index
+   * @param value value
+   */
+  void setDouble(int index, double value);
+
+  /**
+   * Indicate if parameter at index is null
+   *
+   * @param index index
+   * @return true if null
+   */
+  boolean isNull(int index);
+
+  /**
+   * Binary encoding type of parameter at index
+   *
+   * @param index index
+   * @return binary encoding type
+   */
+  int getBinaryEncodeType(int index);
+
+  /**
+   * Indicate if parameter at index can be sent separately using COM_STMT_SEND_LONG_DATA
+   *
+   * @param index index
+   * @return true if parameter can be sent as long data
+   */
+  boolean canEncodeLongData(int index);
+
+  /**
+   * Encode parameter at index using text protocol
+   *
+   * @param index index
+   * @param encoder writer
+   * @param context connection context
+   * @throws IOException if any socket error occurs
+   * @throws SQLException if any other kind of error occurs
+   */
+  void encodeText(int index, Writer encoder, Context context) throws IOException, SQLException;
+
+  /**
+   * Encode parameter at index using binary protocol
+   *
+   * @param index index
+   * @param encoder writer
+   * @throws IOException if any socket error occurs
+   * @throws SQLException if any other kind of error occurs
+   */
+  void encodeBinary(int index, Writer encoder) throws IOException, SQLException;
+
   /**
    * list size
    *
@@ -0,0 +1,153 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc.codec;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.mariadb.jdbc.client.ColumnDecoder;
+import org.mariadb.jdbc.client.DataType;
+import org.mariadb.jdbc.plugin.Codec;
+import org.mariadb.jdbc.plugin.codec.*;
+
+/**
+ * Codec dispatch table, avoiding to scan codec list for each value. Decoder is resolved once by
+ * (column data type, requested class), encoder once by value class, resolution using codec <code>
+ * canDecode</code>/<code>canEncode</code> methods, so subclass and interface matches are handled
+ * like with a codec list scan.
+ *
+ * <p>Built-in codec decisions only depend on column data type and requested class, or on value
+ * class. Custom codecs may check anything else, so custom codecs declared before resolved codec are
+ * still checked for each value, preserving codec list priority.
+ */
+public final class CodecDispatch {
+
+  // driver codecs, as declared in META-INF/services/org.mariadb.jdbc.plugin.Codec
+  private static final Set<Class<?>> BUILT_IN_CODECS =
+      new HashSet<>(
+          Arrays.asList(
+              BigDecimalCodec.class,
+              BigIntegerCodec.class,
+              BitSetCodec.class,
+              BlobCodec.class,
+              BooleanCodec.class,
+              ByteArrayCodec.class,
+              ByteCodec.class,
+              ClobCodec.class,
+              DateCodec.class,
+              DoubleCodec.class,
+              DurationCodec.class,
+              FloatCodec.class,
+              GeometryCollectionCodec.class,
+              IntCodec.class,
+              InstantCodec.class,
+              OffsetDateTimeCodec.class,
+              LineStringCodec.class,
+              LocalDateCodec.class,
+              LocalDateTimeCodec.class,
+              LocalTimeCodec.class,
+              LongCodec.class,
+              MultiLinestringCodec.class,
+              MultiPointCodec.class,
+              MultiPolygonCodec.class,
+              PointCodec.class,
+              PolygonCodec.class,
+              ReaderCodec.class,
+              ShortCodec.class,
+              StreamCodec.class,
+              StringCodec.class,
+              TimeCodec.class,
+              TimestampCodec.class,
+              UuidCodec.class,
+              ZonedDateTimeCodec.class));
+  private static final int DATA_TYPE_NUMBER = DataType.values().length;
+
+  private final Codec<?>[] codecs;
+  private final boolean[] builtIn;
+  private final int[] customIndexes;
+  private final ConcurrentHashMap<Class<?>, int[]> decoders = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<Class<?>, Integer> encoders = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor
+   *
+   * @param codecs codec list, by priority order
+   */
+  public CodecDispatch(Codec<?>[] codecs) {
+    this.codecs = codecs;
+    this.builtIn = new boolean[codecs.length];
+    List<Integer> customs = new ArrayList<>();
+    for (int i = 0; i < codecs.length; i++) {
+      builtIn[i] = BUILT_IN_CODECS.contains(codecs[i].getClass());
+      if (!builtIn[i]) customs.add(i);
+    }
+    this.customIndexes = customs.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  /**
+   * Get codec able to decode column to requested class
+   *
+   * @param column column metadata
+   * @param type requested class
+   * @return codec, or null if no codec can decode column to requested class
+   */
+  public Codec<?> decoder(ColumnDecoder column, Class<?> type) {
+    int[] byDataType = decoders.get(type);
+    if (byDataType == null) {
+      int[] unresolved = new int[DATA_TYPE_NUMBER];
+      Arrays.fill(unresolved, -1);
+      byDataType = decoders.putIfAbsent(type, unresolved);
+      if (byDataType == null) byDataType = unresolved;
+    }
+
+    int ordinal = column.getType().ordinal();
+    int resolved = byDataType[ordinal];
+    if (resolved == -1) {
+      resolved = codecs.length;
+      for (int i = 0; i < codecs.length; i++) {
+        if (builtIn[i] && codecs[i].canDecode(column, type)) {
+          resolved = i;
+          break;
+        }
+      }
+      byDataType[ordinal] = resolved;
+    }
+
+    for (int i : customIndexes) {
+      if (i > resolved) break;
+      if (codecs[i].canDecode(column, type)) return codecs[i];
+    }
+    return resolved == codecs.length ? null : codecs[resolved];
+  }
+
+  /**
+   * Get codec able to encode value
+   *
+   * @param value non-null value
+   * @return codec, or null if no codec can encode value
+   */
+  public Codec<?> encoder(Object value) {
+    Integer resolved = encoders.get(value.getClass());
+    if (resolved == null) {
+      int index = codecs.length;
+      for (int i = 0; i < codecs.length; i++) {
+        if (builtIn[i] && codecs[i].canEncode(value)) {
+          index = i;
+          break;
+        }
+      }
+      resolved = index;
+      encoders.put(value.getClass(), resolved);
+    }
+
+    for (int i : customIndexes) {
+      if (i > resolved) break;
+      if (codecs[i].canEncode(value)) return codecs[i];
+    }
+    return resolved == codecs.length ? null : codecs[resolved];
+  }
+}
@@ -0,0 +1,98 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc.export;
+
+/**
+ * Immutable copy of a latency histogram. Values are in nanoseconds. Percentile values have the
+ * histogram precision (about 3%), maximum value is exact.
+ */
+public final class HistogramSnapshot {
+
+  private final long[] values;
+  private final long[] counts;
+  private final long count;
+  private final long sum;
+  private final long max;
+
+  /**
+   * Constructor.
+   *
+   * @param values bucket representative values, in increasing order
+   * @param counts bucket counts
+   * @param sum sum of all recorded values
+   * @param max maximum recorded value
+   */
+  public HistogramSnapshot(long[] values, long[] counts, long sum, long max) {
+    this.values = values;
+    this.counts = counts;
+    long total = 0;
+    for (long bucketCount : counts) total += bucketCount;
+    this.count = total;
+    this.sum = sum;
+    this.max = max;
+  }
+
+  /**
+   * Number of recorded values
+   *
+   * @return recorded value number
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Mean of recorded values
+   *
+   * @return mean value in nanoseconds, 0 if no value has been recorded
+   */
+  public long getMean() {
+    return count == 0 ? 0 : sum / count;
+  }
+
+  /**
+   * Maximum recorded value
+   *
+   * @return maximum value in nanoseconds, 0 if no value has been recorded
+   */
+  public long getMax() {
+    return max;
+  }
+
+  /**
+   * Get value below which given percentage of recorded values fall.
+   *
+   * @param percentile percentile, between 0 and 100
+   * @return value in nanoseconds, 0 if no value has been recorded
+   */
+  public long getValueAtPercentile(double percentile) {
+    if (count == 0) return 0;
+    long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * count));
+    long cumulated = 0;
+    for (int i = 0; i < counts.length; i++) {
+      cumulated += counts[i];
+      if (cumulated >= rank) return Math.min(values[i], max);
+    }
+    return max;
+  }
+
+  @Override
+  public String toString() {
+    return "count="
+        + count
+        + ", mean="
+        + getMean()
+        + "ns, p50="
+        + getValueAtPercentile(50)
+        + "ns, p90="
+        + getValueAtPercentile(90)
+        + "ns, p99="
+        + getValueAtPercentile(99)
+        + "ns, p99.9="
+        + getValueAtPercentile(99.9)
+        + "ns, max="
+        + max
+        + "ns";
+  }
+}
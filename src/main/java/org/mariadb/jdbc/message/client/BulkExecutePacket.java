@@ -11,7 +11,6 @@ import java.util.List;
 import org.mariadb.jdbc.ServerPreparedStatement;
 import org.mariadb.jdbc.client.Context;
 import org.mariadb.jdbc.client.socket.Writer;
-import org.mariadb.jdbc.client.util.Parameter;
 import org.mariadb.jdbc.client.util.Parameters;
 import org.mariadb.jdbc.export.MaxAllowedPacketException;
 import org.mariadb.jdbc.export.Prepare;
@@ -25,6 +24,7 @@ import org.mariadb.jdbc.message.server.PrepareResultPacket;
 public final class BulkExecutePacket implements RedoableWithPrepareClientMessage {
   private final String command;
   private final ServerPreparedStatement prep;
+  private final boolean sendUnitResults;
   private List<Parameters> batchParameterList;
   private Prepare prepareResult;
 
@@ -35,16 +35,20 @@ public final class BulkExecutePacket implements RedoableWithPrepareClientMessage
    * @param batchParameterList batch parameter list
    * @param command sql command
    * @param prep object creator
+   * @param sendUnitResults ask server to return a result-set with individual results (auto
+   *     increment id and affected rows for each parameter set)
    */
   public BulkExecutePacket(
       Prepare prepareResult,
       List<Parameters> batchParameterList,
       String command,
-      ServerPreparedStatement prep) {
+      ServerPreparedStatement prep,
+      boolean sendUnitResults) {
     this.batchParameterList = batchParameterList;
     this.prepareResult = prepareResult;
     this.command = command;
     this.prep = prep;
+    this.sendUnitResults = sendUnitResults;
   }
 
   public void saveParameters() {
@@ -67,11 +71,10 @@ public final class BulkExecutePacket implements RedoableWithPrepareClientMessage
     Parameters parameters = paramIterator.next();
     int parameterCount = parameters.size();
 
-    @SuppressWarnings("rawtypes")
-    Parameter[] parameterHeaderType = new Parameter[parameterCount];
+    int[] parameterHeaderType = new int[parameterCount];
     // set header type
     for (int i = 0; i < parameterCount; i++) {
-      parameterHeaderType[i] = parameters.get(i);
+      parameterHeaderType[i] = parameters.getBinaryEncodeType(i);
     }
     byte[] lastCmdData = null;
     int bulkPacketNo = 0;
@@ -89,10 +92,11 @@ public final class BulkExecutePacket implements RedoableWithPrepareClientMessage
       writer.initPacket();
       writer.writeByte(0xfa); // COM_STMT_BULK_EXECUTE
       writer.writeInt(statementId);
-      writer.writeShort((short) 128); // always SEND_TYPES_TO_SERVER
+      // always SEND_TYPES_TO_SERVER, SEND_UNIT_RESULTS if requested
+      writer.writeShort((short) (sendUnitResults ? 192 : 128));
 
       for (int i = 0; i < parameterCount; i++) {
-        writer.writeShort((short) parameterHeaderType[i].getBinaryEncodeType());
+        writer.writeShort((short) parameterHeaderType[i]);
       }
 
       if (lastCmdData != null) {
@@ -112,12 +116,11 @@ public final class BulkExecutePacket implements RedoableWithPrepareClientMessage
       parameter_loop:
       while (true) {
         for (int i = 0; i < parameterCount; i++) {
-          Parameter param = parameters.get(i);
-          if (param.isNull()) {
+          if (parameters.isNull(i)) {
             writer.writeByte(0x01); // value is null
           } else {
             writer.writeByte(0x00); // value follow
-            param.encodeBinary(writer);
+            parameters.encodeBinary(i, writer);
           }
         }
 
@@ -131,7 +134,7 @@ public final class BulkExecutePacket implements RedoableWithPrepareClientMessage
           parameters = paramIterator.next();
           // reset header type
           for (int j = 0; j < parameterCount; j++) {
-            parameterHeaderType[j] = parameters.get(j);
+            parameterHeaderType[j] = parameters.getBinaryEncodeType(j);
           }
           break;
         }
@@ -161,13 +164,12 @@ public final class BulkExecutePacket implements RedoableWithPrepareClientMessage
 
         // ensure type has not changed
         for (int i = 0; i < parameterCount; i++) {
-          if (parameterHeaderType[i].getBinaryEncodeType()
-                  != parameters.get(i).getBinaryEncodeType()
-              && !parameters.get(i).isNull()) {
+          if (parameterHeaderType[i] != parameters.getBinaryEncodeType(i)
+              && !parameters.isNull(i)) {
             writer.flush();
             // reset header type
             for (int j = 0; j < parameterCount; j++) {
-              parameterHeaderType[j] = parameters.get(j);
+              parameterHeaderType[j] = parameters.getBinaryEncodeType(j);
             }
             break parameter_loop;
           }
@@ -9,7 +9,6 @@ import java.sql.SQLException;
 import org.mariadb.jdbc.ServerPreparedStatement;
 import org.mariadb.jdbc.client.Context;
 import org.mariadb.jdbc.client.socket.Writer;
-import org.mariadb.jdbc.client.util.Parameter;
 import org.mariadb.jdbc.client.util.Parameters;
 import org.mariadb.jdbc.export.Prepare;
 import org.mariadb.jdbc.message.ClientMessage;
@@ -58,10 +57,11 @@ public final class ExecutePacket implements RedoableWithPrepareClientMessage {
   public void ensureReplayable(Context context) throws IOException, SQLException {
     int parameterCount = parameters.size();
     for (int i = 0; i < parameterCount; i++) {
-      Parameter p = parameters.get(i);
-      if (!p.isNull() && p.canEncodeLongData()) {
+      if (!parameters.isNull(i) && parameters.canEncodeLongData(i)) {
         this.parameters.set(
-            i, new org.mariadb.jdbc.codec.Parameter<>(ByteArrayCodec.INSTANCE, p.encodeData()));
+            i,
+            new org.mariadb.jdbc.codec.Parameter<>(
+                ByteArrayCodec.INSTANCE, parameters.get(i).encodeData()));
       }
     }
   }
@@ -78,9 +78,8 @@ public final class ExecutePacket implements RedoableWithPrepareClientMessage {
 
     // send long data value in separate packet
     for (int i = 0; i < parameterCount; i++) {
-      Parameter p = parameters.get(i);
-      if (!p.isNull() && p.canEncodeLongData()) {
-        new LongDataPacket(statementId, p, i).encode(writer, context);
+      if (!parameters.isNull(i) && parameters.canEncodeLongData(i)) {
+        new LongDataPacket(statementId, parameters.get(i), i).encode(writer, context);
       }
     }
 
@@ -103,10 +102,9 @@ public final class ExecutePacket implements RedoableWithPrepareClientMessage {
 
       // Store types of parameters in first package that is sent to the server.
       for (int i = 0; i < parameterCount; i++) {
-        Parameter p = parameters.get(i);
-        writer.writeByte(p.getBinaryEncodeType());
+        writer.writeByte(parameters.getBinaryEncodeType(i));
         writer.writeByte(0);
-        if (p.isNull()) {
+        if (parameters.isNull(i)) {
           nullBitsBuffer[i / 8] |= (byte) (1 << (i % 8));
         }
       }
@@ -116,9 +114,8 @@ public final class ExecutePacket implements RedoableWithPrepareClientMessage {
 
       // send not null parameter, not long data
       for (int i = 0; i < parameterCount; i++) {
-        Parameter p = parameters.get(i);
-        if (!p.isNull() && !p.canEncodeLongData()) {
-          p.encodeBinary(writer);
+        if (!parameters.isNull(i) && !parameters.canEncodeLongData(i)) {
+          parameters.encodeBinary(i, writer);
         }
       }
     }
@@ -15,6 +15,7 @@ import org.mariadb.jdbc.client.socket.impl.PacketWriter;
 import org.mariadb.jdbc.message.ClientMessage;
 import org.mariadb.jdbc.plugin.Credential;
 import org.mariadb.jdbc.plugin.authentication.standard.NativePasswordPlugin;
+import org.mariadb.jdbc.plugin.compression.zstd.ZstdCompressionPlugin;
 import org.mariadb.jdbc.util.ThreadUtils;
 import org.mariadb.jdbc.util.VersionFactory;
 
@@ -179,6 +180,11 @@ public final class HandshakeResponse implements ClientMessage {
     if (context.hasServerCapability(CONNECT_ATTRS)) {
       writeConnectAttributes(writer, connectionAttributes, host);
     }
+
+    if (context.hasClientCapability(ZSTD_COMPRESSION_ALGORITHM)) {
+      int level = context.getConf().compressionLevel();
+      writer.writeByte(level != 0 ? level : ZstdCompressionPlugin.DEFAULT_LEVEL);
+    }
     writer.flush();
     return 1;
   }
@@ -4,7 +4,9 @@
 package org.mariadb.jdbc.message.client;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
+import org.mariadb.jdbc.HostAddress;
 import org.mariadb.jdbc.client.Context;
 import org.mariadb.jdbc.client.socket.Writer;
 import org.mariadb.jdbc.client.util.Parameter;
@@ -16,10 +18,18 @@ import org.mariadb.jdbc.message.ClientMessage;
  * <p>Permit to send ONE value in a dedicated packet. The advantage is when length is unknown, to
  * stream easily data to socket
  *
+ * <p>Value is split in as many COM_STMT_SEND_LONG_DATA commands as needed for each command to
+ * respect max_allowed_packet, server concatenating them. Value is never buffered.
+ *
  * <p>https://mariadb.com/kb/en/com_stmt_send_long_data/
  */
 public final class LongDataPacket implements ClientMessage {
 
+  private static final int HEADER_LENGTH = 7;
+
+  /** maximum chunk size, for a command to fit in a 1M writer buffer, avoiding buffer to grow */
+  private static final int MAX_CHUNK_SIZE = 1024 * 1024 - 4 - HEADER_LENGTH;
+
   private final int statementId;
   private final Parameter parameter;
   private final int index;
@@ -39,12 +49,194 @@ public final class LongDataPacket implements ClientMessage {
 
   @Override
   public int encode(Writer writer, Context context) throws IOException, SQLException {
-    writer.initPacket();
-    writer.writeByte(0x18);
-    writer.writeInt(statementId);
-    writer.writeShort((short) index);
-    parameter.encodeLongData(writer);
+    Integer maxAllowedPacket = context.getConf().maxAllowedPacket();
+    int chunkSize =
+        maxAllowedPacket == null
+            ? MAX_CHUNK_SIZE
+            : Math.min(MAX_CHUNK_SIZE, Math.max(1024, maxAllowedPacket - HEADER_LENGTH - 1));
+    ChunkWriter chunkWriter = new ChunkWriter(writer, chunkSize);
+    chunkWriter.writeHeader();
+    parameter.encodeLongData(chunkWriter);
     writer.flush();
     return 0;
   }
+
+  /**
+   * Writer ending current COM_STMT_SEND_LONG_DATA command and starting a new one each time chunk
+   * size is reached.
+   */
+  private final class ChunkWriter implements Writer {
+    private final Writer writer;
+    private final int chunkSize;
+    private int chunkLength;
+
+    ChunkWriter(Writer writer, int chunkSize) {
+      this.writer = writer;
+      this.chunkSize = chunkSize;
+    }
+
+    private void writeHeader() throws IOException {
+      writer.initPacket();
+      writer.writeByte(0x18);
+      writer.writeInt(statementId);
+      writer.writeShort((short) index);
+      chunkLength = 0;
+    }
+
+    private void ensure(int length) throws IOException {
+      if (chunkLength + length > chunkSize && chunkLength > 0) {
+        writer.flush();
+        writeHeader();
+      }
+      chunkLength += length;
+    }
+
+    public int pos() {
+      return writer.pos();
+    }
+
+    public byte[] buf() {
+      return writer.buf();
+    }
+
+    public void pos(int pos) throws IOException {
+      writer.pos(pos);
+    }
+
+    public void writeByte(int value) throws IOException {
+      ensure(1);
+      writer.writeByte(value);
+    }
+
+    public void writeShort(short value) throws IOException {
+      ensure(2);
+      writer.writeShort(value);
+    }
+
+    public void writeInt(int value) throws IOException {
+      ensure(4);
+      writer.writeInt(value);
+    }
+
+    public void writeLong(long value) throws IOException {
+      ensure(8);
+      writer.writeLong(value);
+    }
+
+    public void writeDouble(double value) throws IOException {
+      ensure(8);
+      writer.writeDouble(value);
+    }
+
+    public void writeFloat(float value) throws IOException {
+      ensure(4);
+      writer.writeFloat(value);
+    }
+
+    public void writeBytes(byte[] arr) throws IOException {
+      writeBytes(arr, 0, arr.length);
+    }
+
+    public void writeBytesAtPos(byte[] arr, int pos) {
+      writer.writeBytesAtPos(arr, pos);
+    }
+
+    public void writeBytes(byte[] arr, int off, int len) throws IOException {
+      while (len > 0) {
+        if (chunkLength >= chunkSize) {
+          writer.flush();
+          writeHeader();
+        }
+        int chunkLen = Math.min(len, chunkSize - chunkLength);
+        writer.writeBytes(arr, off, chunkLen);
+        chunkLength += chunkLen;
+        off += chunkLen;
+        len -= chunkLen;
+      }
+    }
+
+    public void writeLength(long length) throws IOException {
+      ensure(9);
+      writer.writeLength(length);
+    }
+
+    public void writeAscii(String str) throws IOException {
+      writeBytes(str.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public void writeString(String str) throws IOException {
+      writeBytes(str.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public void writeStringEscaped(String str, boolean noBackslashEscapes) throws IOException {
+      ensure(str.length() * 3);
+      writer.writeStringEscaped(str, noBackslashEscapes);
+    }
+
+    public void writeBytesEscaped(byte[] bytes, int len, boolean noBackslashEscapes)
+        throws IOException {
+      ensure(len * 2);
+      writer.writeBytesEscaped(bytes, len, noBackslashEscapes);
+    }
+
+    public void writeEmptyPacket() throws IOException {
+      writer.writeEmptyPacket();
+    }
+
+    public void flush() throws IOException {
+      writer.flush();
+    }
+
+    public void flushPipeline() throws IOException {
+      writer.flushPipeline();
+    }
+
+    public boolean throwMaxAllowedLength(int length) {
+      return writer.throwMaxAllowedLength(length);
+    }
+
+    public long getCmdLength() {
+      return writer.getCmdLength();
+    }
+
+    public void permitTrace(boolean permitTrace) {
+      writer.permitTrace(permitTrace);
+    }
+
+    public void setServerThreadId(Long serverThreadId, HostAddress hostAddress) {
+      writer.setServerThreadId(serverThreadId, hostAddress);
+    }
+
+    public void mark() {
+      writer.mark();
+    }
+
+    public boolean isMarked() {
+      return writer.isMarked();
+    }
+
+    public boolean hasFlushed() {
+      return writer.hasFlushed();
+    }
+
+    public void flushBufferStopAtMark() throws IOException {
+      writer.flushBufferStopAtMark();
+    }
+
+    public boolean bufIsDataAfterMark() {
+      return writer.bufIsDataAfterMark();
+    }
+
+    public byte[] resetMark() {
+      return writer.resetMark();
+    }
+
+    public void initPacket() {
+      writer.initPacket();
+    }
+
+    public void close() throws IOException {
+      writer.close();
+    }
+  }
 }
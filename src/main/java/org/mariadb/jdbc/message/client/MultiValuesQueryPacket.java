@@ -0,0 +1,167 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc.message.client;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.mariadb.jdbc.client.Context;
+import org.mariadb.jdbc.client.socket.Writer;
+import org.mariadb.jdbc.client.util.Parameters;
+import org.mariadb.jdbc.export.MaxAllowedPacketException;
+import org.mariadb.jdbc.plugin.codec.ByteArrayCodec;
+import org.mariadb.jdbc.util.ClientParser;
+
+/**
+ * Batch of INSERT parameters, rewritten client side as COM_QUERY multi-values INSERT commands :
+ * "INSERT INTO t(a,b) VALUES (?,?)" is sent as "INSERT INTO t(a,b) VALUES (1,'a'),(2,'b'),...".
+ * Commands are split to respect max_allowed_packet, so one or more commands are sent.
+ */
+public final class MultiValuesQueryPacket implements RedoableClientMessage {
+
+  private final String preSqlCmd;
+  private final ClientParser parser;
+  private List<Parameters> batchParameterList;
+
+  /**
+   * Constructor
+   *
+   * @param preSqlCmd additional pre command
+   * @param parser command parser result, must be multi-values rewritable
+   * @param batchParameterList batch parameter list
+   */
+  public MultiValuesQueryPacket(
+      String preSqlCmd, ClientParser parser, List<Parameters> batchParameterList) {
+    this.preSqlCmd = preSqlCmd;
+    this.parser = parser;
+    this.batchParameterList = batchParameterList;
+  }
+
+  @Override
+  public void ensureReplayable(Context context) throws IOException, SQLException {
+    for (Parameters parameters : batchParameterList) {
+      int parameterCount = parameters.size();
+      for (int i = 0; i < parameterCount; i++) {
+        if (!parameters.isNull(i) && parameters.canEncodeLongData(i)) {
+          parameters.set(
+              i,
+              new org.mariadb.jdbc.codec.Parameter<>(
+                  ByteArrayCodec.INSTANCE, parameters.get(i).encodeData()));
+        }
+      }
+    }
+  }
+
+  public void saveParameters() {
+    List<Parameters> savedList = new ArrayList<>(batchParameterList.size());
+    for (Parameters parameterList : batchParameterList) {
+      savedList.add(parameterList.clone());
+    }
+    this.batchParameterList = savedList;
+  }
+
+  @Override
+  public int encode(Writer writer, Context context) throws IOException, SQLException {
+    byte[] query = parser.getQuery();
+    int valuesStart = parser.getValuesStart();
+    Iterator<Parameters> paramIterator = batchParameterList.iterator();
+    Parameters parameters = paramIterator.next();
+    byte[] lastRowData = null;
+    int commandNo = 0;
+
+    // Same principle as bulk: after each row, buffer is marked. If the next row makes the command
+    // bigger than max_allowed_packet, or buffer has been flushed up to mark, command is ended at
+    // mark and the pending row starts a new command.
+    main_loop:
+    while (true) {
+      commandNo++;
+      boolean firstRow = true;
+
+      writer.initPacket();
+      writer.writeByte(0x03);
+      if (preSqlCmd != null) writer.writeAscii(preSqlCmd);
+      writer.writeBytes(query, 0, valuesStart);
+
+      if (lastRowData != null) {
+        // pending row, without its separator
+        if (writer.throwMaxAllowedLength(lastRowData.length - 1)) {
+          throw new MaxAllowedPacketException(
+              "query size is >= to max_allowed_packet", writer.getCmdLength() != 0);
+        }
+        writer.writeBytes(lastRowData, 1, lastRowData.length - 1);
+        writer.mark();
+        lastRowData = null;
+        firstRow = false;
+        if (!paramIterator.hasNext()) {
+          break;
+        }
+        parameters = paramIterator.next();
+      }
+
+      while (true) {
+        if (!firstRow) writer.writeByte(',');
+        writeRow(writer, context, query, parameters);
+        firstRow = false;
+
+        if (!writer.isMarked() && writer.hasFlushed()) {
+          // row was too big to fit in a MySQL packet, command is ended with this row
+          writer.flush();
+          if (!paramIterator.hasNext()) {
+            return commandNo;
+          }
+          parameters = paramIterator.next();
+          continue main_loop;
+        }
+
+        if (writer.isMarked() && writer.throwMaxAllowedLength(writer.pos())) {
+          // command length was ok at last mark, but won't with new row
+          writer.flushBufferStopAtMark();
+          writer.mark();
+          lastRowData = writer.resetMark();
+          continue main_loop;
+        }
+
+        writer.mark();
+
+        if (writer.bufIsDataAfterMark()) {
+          // command has been sent up to previous row
+          lastRowData = writer.resetMark();
+          continue main_loop;
+        }
+
+        if (!paramIterator.hasNext()) {
+          break main_loop;
+        }
+        parameters = paramIterator.next();
+      }
+    }
+
+    writer.flush();
+    return commandNo;
+  }
+
+  private void writeRow(Writer writer, Context context, byte[] query, Parameters parameters)
+      throws IOException, SQLException {
+    int[] paramPositions = parser.getParamPositionArray();
+    int pos = parser.getValuesStart();
+    for (int i = 0; i < paramPositions.length; i++) {
+      int paramPos = paramPositions[i];
+      writer.writeBytes(query, pos, paramPos - pos);
+      pos = paramPos + 1;
+      parameters.encodeText(i, writer, context);
+    }
+    writer.writeBytes(query, pos, parser.getValuesEnd() - pos);
+  }
+
+  public int batchUpdateLength() {
+    return batchParameterList.size();
+  }
+
+  @Override
+  public String description() {
+    return parser.getSql();
+  }
+}
@@ -15,7 +15,6 @@ import org.mariadb.jdbc.client.Context;
 import org.mariadb.jdbc.client.ReadableByteBuf;
 import org.mariadb.jdbc.client.socket.Reader;
 import org.mariadb.jdbc.client.socket.Writer;
-import org.mariadb.jdbc.client.util.Parameter;
 import org.mariadb.jdbc.client.util.Parameters;
 import org.mariadb.jdbc.export.ExceptionFactory;
 import org.mariadb.jdbc.export.Prepare;
@@ -74,9 +73,8 @@ public final class PrepareExecutePacket implements RedoableWithPrepareClientMess
 
     // send long data value in separate packet
     for (int i = 0; i < parameterCount; i++) {
-      Parameter p = parameters.get(i);
-      if (!p.isNull() && p.canEncodeLongData()) {
-        new LongDataPacket(statementId, p, i).encode(writer, context);
+      if (!parameters.isNull(i) && parameters.canEncodeLongData(i)) {
+        new LongDataPacket(statementId, parameters.get(i), i).encode(writer, context);
       }
     }
 
@@ -99,10 +97,9 @@ public final class PrepareExecutePacket implements RedoableWithPrepareClientMess
 
       // Store types of parameters in first package that is sent to the server.
       for (int i = 0; i < parameterCount; i++) {
-        Parameter p = parameters.get(i);
-        writer.writeByte(p.getBinaryEncodeType());
+        writer.writeByte(parameters.getBinaryEncodeType(i));
         writer.writeByte(0);
-        if (p.isNull()) {
+        if (parameters.isNull(i)) {
           nullBitsBuffer[i / 8] |= (byte) (1 << (i % 8));
         }
       }
@@ -112,9 +109,8 @@ public final class PrepareExecutePacket implements RedoableWithPrepareClientMess
 
       // send not null parameter, not long data
       for (int i = 0; i < parameterCount; i++) {
-        Parameter p = parameters.get(i);
-        if (!p.isNull() && !p.canEncodeLongData()) {
-          p.encodeBinary(writer);
+        if (!parameters.isNull(i) && !parameters.canEncodeLongData(i)) {
+          parameters.encodeBinary(i, writer);
         }
       }
     }
@@ -154,8 +150,8 @@ public final class PrepareExecutePacket implements RedoableWithPrepareClientMess
             .create(
                 errorPacket.getMessage(), errorPacket.getSqlState(), errorPacket.getErrorCode());
       }
-      if (context.getConf().useServerPrepStmts()
-          && context.getConf().cachePrepStmts()
+      if (context.getConf().cachePrepStmts()
+          && (stmt == null || stmt instanceof ServerPreparedStatement)
           && sql.length() < 8192) {
         PrepareResultPacket prepare = new CachedPrepareResultPacket(buf, reader, context);
         PrepareResultPacket previousCached =
@@ -207,10 +203,11 @@ public final class PrepareExecutePacket implements RedoableWithPrepareClientMess
   public void ensureReplayable(Context context) throws IOException, SQLException {
     int parameterCount = parameters.size();
     for (int i = 0; i < parameterCount; i++) {
-      Parameter p = parameters.get(i);
-      if (!p.isNull() && p.canEncodeLongData()) {
+      if (!parameters.isNull(i) && parameters.canEncodeLongData(i)) {
         this.parameters.set(
-            i, new org.mariadb.jdbc.codec.Parameter<>(ByteArrayCodec.INSTANCE, p.encodeData()));
+            i,
+            new org.mariadb.jdbc.codec.Parameter<>(
+                ByteArrayCodec.INSTANCE, parameters.get(i).encodeData()));
       }
     }
   }
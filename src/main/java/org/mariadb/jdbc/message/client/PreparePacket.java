@@ -72,8 +72,8 @@ public final class PreparePacket implements ClientMessage {
           .withSql(this.description())
           .create(errorPacket.getMessage(), errorPacket.getSqlState(), errorPacket.getErrorCode());
     }
-    if (context.getConf().useServerPrepStmts()
-        && context.getConf().cachePrepStmts()
+    if (context.getConf().cachePrepStmts()
+        && (stmt == null || stmt instanceof ServerPreparedStatement)
         && sql.length() < 8192) {
       PrepareResultPacket prepare = new CachedPrepareResultPacket(buf, reader, context);
       PrepareResultPacket previousCached =
@@ -8,7 +8,6 @@ import java.io.InputStream;
 import java.sql.SQLException;
 import org.mariadb.jdbc.client.Context;
 import org.mariadb.jdbc.client.socket.Writer;
-import org.mariadb.jdbc.client.util.Parameter;
 import org.mariadb.jdbc.client.util.Parameters;
 import org.mariadb.jdbc.message.ClientMessage;
 import org.mariadb.jdbc.plugin.codec.ByteArrayCodec;
@@ -48,10 +47,11 @@ public final class QueryWithParametersPacket implements RedoableClientMessage {
   public void ensureReplayable(Context context) throws IOException, SQLException {
     int parameterCount = parameters.size();
     for (int i = 0; i < parameterCount; i++) {
-      Parameter p = parameters.get(i);
-      if (!p.isNull() && p.canEncodeLongData()) {
+      if (!parameters.isNull(i) && parameters.canEncodeLongData(i)) {
         this.parameters.set(
-            i, new org.mariadb.jdbc.codec.Parameter<>(ByteArrayCodec.INSTANCE, p.encodeData()));
+            i,
+            new org.mariadb.jdbc.codec.Parameter<>(
+                ByteArrayCodec.INSTANCE, parameters.get(i).encodeData()));
       }
     }
   }
@@ -65,18 +65,20 @@ public final class QueryWithParametersPacket implements RedoableClientMessage {
     encoder.initPacket();
     encoder.writeByte(0x03);
     if (preSqlCmd != null) encoder.writeAscii(preSqlCmd);
-    if (parser.getParamPositions().size() == 0) {
-      encoder.writeBytes(parser.getQuery());
+    int[] paramPositions = parser.getParamPositionArray();
+    byte[] query = parser.getQuery();
+    if (paramPositions.length == 0) {
+      encoder.writeBytes(query);
     } else {
       int pos = 0;
       int paramPos;
-      for (int i = 0; i < parser.getParamPositions().size(); i++) {
-        paramPos = parser.getParamPositions().get(i);
-        encoder.writeBytes(parser.getQuery(), pos, paramPos - pos);
+      for (int i = 0; i < paramPositions.length; i++) {
+        paramPos = paramPositions[i];
+        encoder.writeBytes(query, pos, paramPos - pos);
         pos = paramPos + 1;
-        parameters.get(i).encodeText(encoder, context);
+        parameters.encodeText(i, encoder, context);
       }
-      encoder.writeBytes(parser.getQuery(), pos, parser.getQuery().length - pos);
+      encoder.writeBytes(query, pos, query.length - pos);
     }
     encoder.flush();
     return 1;
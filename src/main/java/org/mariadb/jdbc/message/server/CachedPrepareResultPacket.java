@@ -5,13 +5,14 @@ package org.mariadb.jdbc.message.server;
 
 import java.io.IOException;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.mariadb.jdbc.ServerPreparedStatement;
 import org.mariadb.jdbc.client.Client;
 import org.mariadb.jdbc.client.Context;
 import org.mariadb.jdbc.client.ReadableByteBuf;
+import org.mariadb.jdbc.client.result.LabelIndex;
 import org.mariadb.jdbc.client.socket.Reader;
 
 /** Prepare packet result with flag indicating use */
@@ -19,7 +20,8 @@ public final class CachedPrepareResultPacket extends PrepareResultPacket {
 
   private final AtomicBoolean closing = new AtomicBoolean();
   private final AtomicBoolean cached = new AtomicBoolean();
-  private final List<ServerPreparedStatement> statements = new ArrayList<>();
+  private final List<ServerPreparedStatement> statements = new CopyOnWriteArrayList<>();
+  private volatile LabelIndex labelIndex;
 
   /**
    * Cache prepare result with flag indicating use
@@ -34,6 +36,24 @@ public final class CachedPrepareResultPacket extends PrepareResultPacket {
     super(buffer, reader, context);
   }
 
+  /**
+   * Result-set label index, shared by statements using this prepare result
+   *
+   * @return label index, or null if not computed
+   */
+  public LabelIndex getLabelIndex() {
+    return labelIndex;
+  }
+
+  /**
+   * Set result-set label index
+   *
+   * @param labelIndex label index
+   */
+  public void setLabelIndex(LabelIndex labelIndex) {
+    this.labelIndex = labelIndex;
+  }
+
   /**
    * Indicate that a prepare statement must be closed (if not in LRU cache)
    *
@@ -18,6 +18,17 @@ public class OkPacket implements Completion {
   private final long affectedRows;
   private final long lastInsertId;
 
+  /**
+   * Constructor for individual results, like bulk unit results
+   *
+   * @param affectedRows affected rows
+   * @param lastInsertId last auto generated insert id
+   */
+  public OkPacket(long affectedRows, long lastInsertId) {
+    this.affectedRows = affectedRows;
+    this.lastInsertId = lastInsertId;
+  }
+
   /**
    * Parser
    *
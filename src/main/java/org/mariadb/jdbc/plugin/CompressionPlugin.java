@@ -0,0 +1,96 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc.plugin;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * Compression algorithm plugin definition, for compressed protocol. Each compressed protocol packet
+ * is compressed independently, so algorithms only have to provide one-shot compression and
+ * decompression.
+ */
+public interface CompressionPlugin {
+
+  /**
+   * Compression algorithm identifier, as used in option `compressionAlgorithms`
+   *
+   * @return type
+   */
+  String type();
+
+  /**
+   * Capability flag that negotiate this algorithm with server
+   *
+   * @return capability flag
+   */
+  long capability();
+
+  /**
+   * Create a compressor, for connection life.
+   *
+   * @param level compression level, 0 for algorithm default level
+   * @return compressor
+   * @throws SQLException if algorithm implementation is not available
+   */
+  Compressor compressor(int level) throws SQLException;
+
+  /**
+   * Create a decompressor, for connection life.
+   *
+   * @return decompressor
+   * @throws SQLException if algorithm implementation is not available
+   */
+  Decompressor decompressor() throws SQLException;
+
+  /** Packet compressor */
+  interface Compressor {
+
+    /**
+     * Maximum compressed length of data.
+     *
+     * @param length data length
+     * @return maximum compressed length
+     */
+    int maxCompressedLength(int length);
+
+    /**
+     * Compress data.
+     *
+     * @param src source array
+     * @param srcOff source offset
+     * @param srcLen source length
+     * @param dst destination array, having at least {@link #maxCompressedLength(int)} bytes
+     *     available after offset
+     * @param dstOff destination offset
+     * @return compressed length
+     * @throws IOException if any compression error occurs
+     */
+    int compress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff) throws IOException;
+
+    /** Release compressor resources */
+    void close();
+  }
+
+  /** Packet decompressor */
+  interface Decompressor {
+
+    /**
+     * Decompress data.
+     *
+     * @param src compressed data array
+     * @param srcOff compressed data offset
+     * @param srcLen compressed data length
+     * @param dst destination array
+     * @param dstOff destination offset
+     * @param dstLen expected decompressed length
+     * @throws IOException if data cannot be decompressed or doesn't have expected length
+     */
+    void decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen)
+        throws IOException;
+
+    /** Release decompressor resources */
+    void close();
+  }
+}
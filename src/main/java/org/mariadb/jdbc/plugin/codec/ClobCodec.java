@@ -8,6 +8,7 @@ import java.io.IOException;
 import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.sql.*;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.EnumSet;
 import org.mariadb.jdbc.MariaDbClob;
@@ -71,7 +72,11 @@ public class ClobCodec implements Codec<Clob> {
       case STRING:
       case VARCHAR:
       case VARSTRING:
-        Clob clob = new MariaDbClob(buf.buf(), buf.pos(), length.get());
+        Clob clob =
+            buf.recycled()
+                ? new MariaDbClob(
+                    Arrays.copyOfRange(buf.buf(), buf.pos(), buf.pos() + length.get()))
+                : new MariaDbClob(buf.buf(), buf.pos(), length.get());
         buf.skip(length.get());
         return clob;
 
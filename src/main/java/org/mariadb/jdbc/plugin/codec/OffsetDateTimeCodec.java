@@ -7,6 +7,7 @@ import java.io.IOException;
 import java.sql.SQLDataException;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Calendar;
 import java.util.EnumSet;
@@ -14,6 +15,7 @@ import org.mariadb.jdbc.client.*;
 import org.mariadb.jdbc.client.socket.Writer;
 import org.mariadb.jdbc.client.util.MutableInt;
 import org.mariadb.jdbc.plugin.Codec;
+import org.mariadb.jdbc.util.TimeZoneConverter;
 
 /** OffsetDateTime codec */
 public class OffsetDateTimeCodec implements Codec<OffsetDateTime> {
@@ -60,8 +62,11 @@ public class OffsetDateTimeCodec implements Codec<OffsetDateTime> {
         LocalDateTime localDateTime =
             LocalDateTimeCodec.INSTANCE.decodeText(buf, length, column, calParam);
         if (localDateTime == null) return null;
-        Calendar cal = calParam == null ? Calendar.getInstance() : calParam;
-        return localDateTime.atZone(cal.getTimeZone().toZoneId()).toOffsetDateTime();
+        ZoneId zoneId =
+            calParam == null
+                ? TimeZoneConverter.getDefault().zoneId()
+                : calParam.getTimeZone().toZoneId();
+        return localDateTime.atZone(zoneId).toOffsetDateTime();
       case STRING:
       case VARCHAR:
       case VARSTRING:
@@ -93,8 +98,11 @@ public class OffsetDateTimeCodec implements Codec<OffsetDateTime> {
         LocalDateTime localDateTime =
             LocalDateTimeCodec.INSTANCE.decodeBinary(buf, length, column, calParam);
         if (localDateTime == null) return null;
-        Calendar cal = calParam == null ? Calendar.getInstance() : calParam;
-        return localDateTime.atZone(cal.getTimeZone().toZoneId()).toOffsetDateTime();
+        ZoneId zoneId =
+            calParam == null
+                ? TimeZoneConverter.getDefault().zoneId()
+                : calParam.getTimeZone().toZoneId();
+        return localDateTime.atZone(zoneId).toOffsetDateTime();
       case STRING:
       case VARCHAR:
       case VARSTRING:
@@ -4,6 +4,10 @@
 package org.mariadb.jdbc.plugin.codec;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.sql.SQLDataException;
 import java.util.Calendar;
@@ -82,85 +86,85 @@ public class ReaderCodec implements Codec<Reader> {
   @Override
   public void encodeText(Writer encoder, Context context, Object val, Calendar cal, Long maxLen)
       throws IOException {
-    Reader reader = (Reader) val;
+    // encoded and escaped in a single pass directly into writer, reader is never buffered
+    boolean noBackslashEscapes =
+        (context.getServerStatus() & ServerStatus.NO_BACKSLASH_ESCAPES) != 0;
     encoder.writeByte('\'');
-    char[] buf = new char[4096];
-    int len;
-    if (maxLen == null) {
-      while ((len = reader.read(buf)) >= 0) {
-        byte[] data = new String(buf, 0, len).getBytes(StandardCharsets.UTF_8);
-        encoder.writeBytesEscaped(
-            data,
-            data.length,
-            (context.getServerStatus() & ServerStatus.NO_BACKSLASH_ESCAPES) != 0);
-      }
-    } else {
-      while ((len = reader.read(buf)) >= 0) {
-        byte[] data =
-            new String(buf, 0, Math.min(len, maxLen.intValue())).getBytes(StandardCharsets.UTF_8);
-        maxLen -= len;
-        encoder.writeBytesEscaped(
-            data,
-            data.length,
-            (context.getServerStatus() & ServerStatus.NO_BACKSLASH_ESCAPES) != 0);
-      }
-    }
+    encodeUtf8(
+        (Reader) val,
+        maxLen,
+        (bytes, len) -> encoder.writeBytesEscaped(bytes, len, noBackslashEscapes));
     encoder.writeByte('\'');
   }
 
   @Override
   public void encodeBinary(Writer encoder, Object val, Calendar cal, Long maxLength)
       throws IOException {
-    // prefer use of encodeLongData, because length is unknown
-    byte[] clobBytes = new byte[4096];
-    int pos = 0;
-    char[] buf = new char[4096];
-    Reader reader = (Reader) val;
-    int len;
-
-    long maxLen = maxLength != null ? maxLength : Long.MAX_VALUE;
-    while (maxLen > 0 && (len = reader.read(buf)) > 0) {
-      byte[] data =
-          new String(buf, 0, (int) Math.min(len, maxLen)).getBytes(StandardCharsets.UTF_8);
-      if (clobBytes.length - pos < data.length) {
-        byte[] newBlobBytes = new byte[clobBytes.length + 65536];
-        System.arraycopy(clobBytes, 0, newBlobBytes, 0, pos);
-        clobBytes = newBlobBytes;
-      }
-      System.arraycopy(data, 0, clobBytes, pos, data.length);
-      pos += data.length;
-      maxLen -= len;
-    }
-    encoder.writeLength(pos);
-    encoder.writeBytes(clobBytes, 0, pos);
+    // length is not known, and must be written first: value is buffered. This is only used by
+    // bulk commands, execution using COM_STMT_SEND_LONG_DATA streaming values.
+    ByteArrayOutputStream bb = new ByteArrayOutputStream(4096);
+    encodeUtf8((Reader) val, maxLength, (bytes, len) -> bb.write(bytes, 0, len));
+    byte[] data = bb.toByteArray();
+    encoder.writeLength(data.length);
+    encoder.writeBytes(data, 0, data.length);
   }
 
   @Override
   public void encodeLongData(Writer encoder, Reader reader, Long maxLength) throws IOException {
-    char[] buf = new char[4096];
-    int len;
-    long maxLen = maxLength != null ? maxLength : Long.MAX_VALUE;
-    while (maxLen > 0 && (len = reader.read(buf)) >= 0) {
-      byte[] data =
-          new String(buf, 0, (int) Math.min(len, maxLen)).getBytes(StandardCharsets.UTF_8);
-      encoder.writeBytes(data, 0, data.length);
-      maxLen -= len;
-    }
+    encodeUtf8(reader, maxLength, (bytes, len) -> encoder.writeBytes(bytes, 0, len));
   }
 
   @Override
   public byte[] encodeData(Reader reader, Long maxLength) throws IOException {
     ByteArrayOutputStream bb = new ByteArrayOutputStream();
-    char[] buf = new char[4096];
+    encodeUtf8(reader, maxLength, (bytes, len) -> bb.write(bytes, 0, len));
+    return bb.toByteArray();
+  }
+
+  /**
+   * Read reader up to maxLength characters, encoding it to UTF-8 chunk by chunk, reusing same
+   * buffers. Surrogate pairs split between two reads are correctly encoded.
+   *
+   * @param reader reader
+   * @param maxLength maximum number of characters to read, null for no limit
+   * @param consumer encoded bytes consumer
+   * @throws IOException if any error occurs reading value
+   */
+  private static void encodeUtf8(Reader reader, Long maxLength, BytesConsumer consumer)
+      throws IOException {
+    CharsetEncoder charsetEncoder =
+        StandardCharsets.UTF_8
+            .newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    CharBuffer chars = CharBuffer.allocate(4096);
+    ByteBuffer bytes = ByteBuffer.allocate(4096 * 3);
+    long remainingLen = maxLength != null ? maxLength : Long.MAX_VALUE;
     int len;
-    long maxLen = maxLength != null ? maxLength : Long.MAX_VALUE;
-    while (maxLen > 0 && (len = reader.read(buf)) >= 0) {
-      byte[] data =
-          new String(buf, 0, (int) Math.min(len, maxLen)).getBytes(StandardCharsets.UTF_8);
-      bb.write(data, 0, data.length);
-      maxLen -= len;
+    while (remainingLen > 0
+        && (len =
+                reader.read(
+                    chars.array(),
+                    chars.position(),
+                    (int) Math.min(chars.remaining(), remainingLen)))
+            >= 0) {
+      remainingLen -= len;
+      chars.position(chars.position() + len);
+      chars.flip();
+      charsetEncoder.encode(chars, bytes, false);
+      if (bytes.position() > 0) consumer.accept(bytes.array(), bytes.position());
+      bytes.clear();
+      chars.compact();
     }
-    return bb.toByteArray();
+    chars.flip();
+    charsetEncoder.encode(chars, bytes, true);
+    charsetEncoder.flush(bytes);
+    if (bytes.position() > 0) consumer.accept(bytes.array(), bytes.position());
+  }
+
+  @FunctionalInterface
+  private interface BytesConsumer {
+    void accept(byte[] bytes, int len) throws IOException;
   }
 
   public int getBinaryEncodeType() {
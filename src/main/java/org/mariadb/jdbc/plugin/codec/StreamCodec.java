@@ -5,6 +5,7 @@ package org.mariadb.jdbc.plugin.codec;
 
 import java.io.*;
 import java.sql.SQLDataException;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.EnumSet;
 import org.mariadb.jdbc.client.*;
@@ -49,7 +50,11 @@ public class StreamCodec implements Codec<InputStream> {
       case TINYBLOB:
       case MEDIUMBLOB:
       case LONGBLOB:
-        ByteArrayInputStream is = new ByteArrayInputStream(buf.buf(), buf.pos(), length.get());
+        ByteArrayInputStream is =
+            buf.recycled()
+                ? new ByteArrayInputStream(
+                    Arrays.copyOfRange(buf.buf(), buf.pos(), buf.pos() + length.get()))
+                : new ByteArrayInputStream(buf.buf(), buf.pos(), length.get());
         buf.skip(length.get());
         return is;
       default:
@@ -71,7 +76,11 @@ public class StreamCodec implements Codec<InputStream> {
       case TINYBLOB:
       case MEDIUMBLOB:
       case LONGBLOB:
-        ByteArrayInputStream is = new ByteArrayInputStream(buf.buf(), buf.pos(), length.get());
+        ByteArrayInputStream is =
+            buf.recycled()
+                ? new ByteArrayInputStream(
+                    Arrays.copyOfRange(buf.buf(), buf.pos(), buf.pos() + length.get()))
+                : new ByteArrayInputStream(buf.buf(), buf.pos(), length.get());
         buf.skip(length.get());
         return is;
       default:
@@ -88,24 +97,18 @@ public class StreamCodec implements Codec<InputStream> {
   @Override
   public void encodeText(Writer encoder, Context context, Object value, Calendar cal, Long maxLen)
       throws IOException {
+    // escaped in a single pass directly into writer, stream is never buffered
     encoder.writeBytes(ByteArrayCodec.BINARY_PREFIX);
     byte[] array = new byte[4096];
     int len;
     InputStream stream = (InputStream) value;
-
-    if (maxLen == null) {
-      while ((len = stream.read(array)) > 0) {
-        encoder.writeBytesEscaped(
-            array, len, (context.getServerStatus() & ServerStatus.NO_BACKSLASH_ESCAPES) != 0);
-      }
-    } else {
-      while ((len = stream.read(array)) > 0 && maxLen > 0) {
-        encoder.writeBytesEscaped(
-            array,
-            Math.min(len, maxLen.intValue()),
-            (context.getServerStatus() & ServerStatus.NO_BACKSLASH_ESCAPES) != 0);
-        maxLen -= len;
-      }
+    boolean noBackslashEscapes =
+        (context.getServerStatus() & ServerStatus.NO_BACKSLASH_ESCAPES) != 0;
+    long remainingLen = maxLen == null ? Long.MAX_VALUE : maxLen;
+    while (remainingLen > 0
+        && (len = stream.read(array, 0, (int) Math.min(array.length, remainingLen))) > 0) {
+      encoder.writeBytesEscaped(array, len, noBackslashEscapes);
+      remainingLen -= len;
     }
     encoder.writeByte('\'');
   }
@@ -113,35 +116,22 @@ public class StreamCodec implements Codec<InputStream> {
   @Override
   public void encodeBinary(Writer encoder, Object value, Calendar cal, Long maxLength)
       throws IOException {
-    // length is not known
+    // length is not known, and must be written first: value is buffered. This is only used by
+    // bulk commands, execution using COM_STMT_SEND_LONG_DATA streaming values.
     byte[] blobBytes = new byte[4096];
     int pos = 0;
-    byte[] array = new byte[4096];
     InputStream stream = (InputStream) value;
 
     int len;
-    if (maxLength == null) {
-      while ((len = stream.read(array)) > 0) {
-        if (blobBytes.length - pos < len) {
-          byte[] newBlobBytes = new byte[blobBytes.length + 65536];
-          System.arraycopy(blobBytes, 0, newBlobBytes, 0, blobBytes.length);
-          blobBytes = newBlobBytes;
-        }
-        System.arraycopy(array, 0, blobBytes, pos, len);
-        pos += len;
-      }
-    } else {
-      long remainingLen = maxLength;
-      while ((len = stream.read(array)) > 0 && remainingLen > 0) {
-        len = Math.min((int) remainingLen, len);
-        if (blobBytes.length - pos < len) {
-          byte[] newBlobBytes = new byte[blobBytes.length + 65536];
-          System.arraycopy(blobBytes, 0, newBlobBytes, 0, blobBytes.length);
-          blobBytes = newBlobBytes;
-        }
-        System.arraycopy(array, 0, blobBytes, pos, len);
-        pos += len;
-        remainingLen -= len;
+    long remainingLen = maxLength == null ? Long.MAX_VALUE : maxLength;
+    while (remainingLen > 0
+        && (len = stream.read(blobBytes, pos, (int) Math.min(blobBytes.length - pos, remainingLen)))
+            > 0) {
+      pos += len;
+      remainingLen -= len;
+      if (pos == blobBytes.length) {
+        // grow by doubling, for linear copy cost
+        blobBytes = Arrays.copyOf(blobBytes, blobBytes.length << 1);
       }
     }
     encoder.writeLength(pos);
@@ -158,8 +148,8 @@ public class StreamCodec implements Codec<InputStream> {
       }
     } else {
       long maxLen = maxLength;
-      while ((len = value.read(array)) > 0 && maxLen > 0) {
-        encoder.writeBytes(array, 0, Math.min(len, (int) maxLen));
+      while (maxLen > 0 && (len = value.read(array, 0, (int) Math.min(array.length, maxLen))) > 0) {
+        encoder.writeBytes(array, 0, len);
         maxLen -= len;
       }
     }
@@ -6,6 +6,7 @@ package org.mariadb.jdbc.plugin.codec;
 import java.io.IOException;
 import java.sql.SQLDataException;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Calendar;
 import java.util.EnumSet;
@@ -13,6 +14,7 @@ import org.mariadb.jdbc.client.*;
 import org.mariadb.jdbc.client.socket.Writer;
 import org.mariadb.jdbc.client.util.MutableInt;
 import org.mariadb.jdbc.plugin.Codec;
+import org.mariadb.jdbc.util.TimeZoneConverter;
 
 /** ZonedDateTime codec */
 public class ZonedDateTimeCodec implements Codec<ZonedDateTime> {
@@ -55,8 +57,11 @@ public class ZonedDateTimeCodec implements Codec<ZonedDateTime> {
     LocalDateTime localDateTime =
         LocalDateTimeCodec.INSTANCE.decodeText(buf, length, column, calParam);
     if (localDateTime == null) return null;
-    Calendar cal = calParam == null ? Calendar.getInstance() : calParam;
-    return localDateTime.atZone(cal.getTimeZone().toZoneId());
+    ZoneId zoneId =
+        calParam == null
+            ? TimeZoneConverter.getDefault().zoneId()
+            : calParam.getTimeZone().toZoneId();
+    return localDateTime.atZone(zoneId);
   }
 
   @Override
@@ -66,8 +71,11 @@ public class ZonedDateTimeCodec implements Codec<ZonedDateTime> {
     LocalDateTime localDateTime =
         LocalDateTimeCodec.INSTANCE.decodeBinary(buf, length, column, calParam);
     if (localDateTime == null) return null;
-    Calendar cal = calParam == null ? Calendar.getInstance() : calParam;
-    return localDateTime.atZone(cal.getTimeZone().toZoneId());
+    ZoneId zoneId =
+        calParam == null
+            ? TimeZoneConverter.getDefault().zoneId()
+            : calParam.getTimeZone().toZoneId();
+    return localDateTime.atZone(zoneId);
   }
 
   @Override
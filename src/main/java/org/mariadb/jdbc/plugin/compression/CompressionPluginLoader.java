@@ -0,0 +1,37 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc.plugin.compression;
+
+import java.sql.SQLException;
+import java.util.ServiceLoader;
+import org.mariadb.jdbc.Driver;
+import org.mariadb.jdbc.plugin.CompressionPlugin;
+import org.mariadb.jdbc.plugin.compression.zlib.ZlibCompressionPlugin;
+
+/** Compression plugin loader */
+public final class CompressionPluginLoader {
+
+  /**
+   * Get compression plugin from type String. Custom compression plugin can be added implementing
+   * CompressionPlugin and registering new type in resources services.
+   *
+   * @param type compression plugin type, null for zlib
+   * @return compression plugin corresponding to type
+   * @throws SQLException if no compression plugin in classpath have indicated type
+   */
+  public static CompressionPlugin get(String type) throws SQLException {
+    if (type == null) return new ZlibCompressionPlugin();
+
+    ServiceLoader<CompressionPlugin> loader =
+        ServiceLoader.load(CompressionPlugin.class, Driver.class.getClassLoader());
+
+    for (CompressionPlugin implClass : loader) {
+      if (type.equals(implClass.type())) {
+        return implClass;
+      }
+    }
+    throw new SQLException(
+        "Client has not found any compression plugin with name '" + type + "'.", "08004", 1251);
+  }
+}
@@ -0,0 +1,104 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc.plugin.compression.zlib;
+
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.mariadb.jdbc.plugin.CompressionPlugin;
+import org.mariadb.jdbc.util.constants.Capabilities;
+
+/** zlib compression, supported by all servers */
+public class ZlibCompressionPlugin implements CompressionPlugin {
+
+  @Override
+  public String type() {
+    return "zlib";
+  }
+
+  @Override
+  public long capability() {
+    return Capabilities.COMPRESS;
+  }
+
+  @Override
+  public Compressor compressor(int level) {
+    return new ZlibCompressor(level == 0 ? Deflater.DEFAULT_COMPRESSION : level);
+  }
+
+  @Override
+  public Decompressor decompressor() {
+    return new ZlibDecompressor();
+  }
+
+  /** Deflater based compressor, native state being reset for each packet */
+  private static class ZlibCompressor implements Compressor {
+    private final Deflater deflater;
+
+    ZlibCompressor(int level) {
+      deflater = new Deflater(level);
+    }
+
+    @Override
+    public int maxCompressedLength(int length) {
+      // zlib compressBound
+      return length + (length >> 12) + (length >> 14) + (length >> 25) + 13;
+    }
+
+    @Override
+    public int compress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff)
+        throws IOException {
+      deflater.reset();
+      deflater.setInput(src, srcOff, srcLen);
+      deflater.finish();
+      int pos = dstOff;
+      while (!deflater.finished()) {
+        if (pos == dst.length) throw new IOException("Compression buffer too small");
+        pos += deflater.deflate(dst, pos, dst.length - pos);
+      }
+      return pos - dstOff;
+    }
+
+    @Override
+    public void close() {
+      deflater.end();
+    }
+  }
+
+  /** Inflater based decompressor, native state being reset for each packet */
+  private static class ZlibDecompressor implements Decompressor {
+    private final Inflater inflater = new Inflater();
+
+    @Override
+    public void decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen)
+        throws IOException {
+      inflater.reset();
+      inflater.setInput(src, srcOff, srcLen);
+      try {
+        int actualUncompressBytes = 0;
+        while (actualUncompressBytes < dstLen && !inflater.finished()) {
+          int inflated =
+              inflater.inflate(dst, dstOff + actualUncompressBytes, dstLen - actualUncompressBytes);
+          if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+          actualUncompressBytes += inflated;
+        }
+        if (actualUncompressBytes != dstLen) {
+          throw new IOException(
+              "Invalid exception length after decompression "
+                  + actualUncompressBytes
+                  + ",expected "
+                  + dstLen);
+        }
+      } catch (DataFormatException dfe) {
+        throw new IOException(dfe);
+      }
+    }
+
+    @Override
+    public void close() {
+      inflater.end();
+    }
+  }
+}
@@ -0,0 +1,50 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc.plugin.compression.zstd;
+
+import java.sql.SQLException;
+import org.mariadb.jdbc.plugin.CompressionPlugin;
+import org.mariadb.jdbc.util.constants.Capabilities;
+
+/**
+ * zstd compression, available with MySQL 8.0.18+ servers. Requires 'com.github.luben:zstd-jni'
+ * library in classpath.
+ */
+public class ZstdCompressionPlugin implements CompressionPlugin {
+
+  /** zstd default compression level */
+  public static final int DEFAULT_LEVEL = 3;
+
+  @Override
+  public String type() {
+    return "zstd";
+  }
+
+  @Override
+  public long capability() {
+    return Capabilities.ZSTD_COMPRESSION_ALGORITHM;
+  }
+
+  private static void checkLibrary() throws SQLException {
+    try {
+      Class.forName("com.github.luben.zstd.ZstdCompressCtx");
+    } catch (ClassNotFoundException ex) {
+      throw new SQLException(
+          "Compression algorithm 'zstd' is used without having zstd-jni in classpath. "
+              + "Please add 'com.github.luben:zstd-jni' to classpath");
+    }
+  }
+
+  @Override
+  public Compressor compressor(int level) throws SQLException {
+    checkLibrary();
+    return new ZstdCompressor(level == 0 ? DEFAULT_LEVEL : level);
+  }
+
+  @Override
+  public Decompressor decompressor() throws SQLException {
+    checkLibrary();
+    return new ZstdDecompressor();
+  }
+}
@@ -0,0 +1,39 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc.plugin.compression.zstd;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdCompressCtx;
+import com.github.luben.zstd.ZstdException;
+import java.io.IOException;
+import org.mariadb.jdbc.plugin.CompressionPlugin;
+
+/** zstd compressor, keeping native context for connection life */
+final class ZstdCompressor implements CompressionPlugin.Compressor {
+  private final ZstdCompressCtx ctx;
+
+  ZstdCompressor(int level) {
+    ctx = new ZstdCompressCtx().setLevel(level);
+  }
+
+  @Override
+  public int maxCompressedLength(int length) {
+    return (int) Zstd.compressBound(length);
+  }
+
+  @Override
+  public int compress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff)
+      throws IOException {
+    try {
+      return ctx.compressByteArray(dst, dstOff, dst.length - dstOff, src, srcOff, srcLen);
+    } catch (ZstdException e) {
+      throw new IOException(e);
+    }
+  }
+
+  @Override
+  public void close() {
+    ctx.close();
+  }
+}
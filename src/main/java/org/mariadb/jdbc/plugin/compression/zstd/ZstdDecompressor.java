@@ -0,0 +1,34 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc.plugin.compression.zstd;
+
+import com.github.luben.zstd.ZstdDecompressCtx;
+import com.github.luben.zstd.ZstdException;
+import java.io.IOException;
+import org.mariadb.jdbc.plugin.CompressionPlugin;
+
+/** zstd decompressor, keeping native context for connection life */
+final class ZstdDecompressor implements CompressionPlugin.Decompressor {
+  private final ZstdDecompressCtx ctx = new ZstdDecompressCtx();
+
+  @Override
+  public void decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen)
+      throws IOException {
+    int decompressed;
+    try {
+      decompressed = ctx.decompressByteArray(dst, dstOff, dstLen, src, srcOff, srcLen);
+    } catch (ZstdException e) {
+      throw new IOException(e);
+    }
+    if (decompressed != dstLen) {
+      throw new IOException(
+          "Invalid exception length after decompression " + decompressed + ",expected " + dstLen);
+    }
+  }
+
+  @Override
+  public void close() {
+    ctx.close();
+  }
+}
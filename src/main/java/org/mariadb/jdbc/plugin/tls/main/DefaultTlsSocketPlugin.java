@@ -5,15 +5,20 @@ package org.mariadb.jdbc.plugin.tls.main;
 
 import java.io.*;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
 import java.security.KeyManagementException;
 import java.security.KeyStore;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.Certificate;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
 import java.sql.SQLException;
+import java.util.Base64;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
 import javax.net.ssl.*;
 import org.mariadb.jdbc.Configuration;
@@ -26,9 +31,25 @@ import org.mariadb.jdbc.plugin.TlsSocketPlugin;
 import org.mariadb.jdbc.util.log.Logger;
 import org.mariadb.jdbc.util.log.Loggers;
 
-/** Default TLS socket plugin */
+/**
+ * Default TLS socket plugin.
+ *
+ * <p>SSL contexts are cached JVM-wide by TLS configuration, so certificates and key stores are not
+ * reloaded for each connection, and connections sharing a context can resume TLS sessions. Local
+ * files modification is detected, creating a new context. Cache is keyed by a digest of TLS
+ * options, passwords never being kept, and least recently used context is evicted when cache is
+ * full.
+ */
 public class DefaultTlsSocketPlugin implements TlsSocketPlugin {
   private static final Logger logger = Loggers.getLogger(DefaultTlsSocketPlugin.class);
+  private static final int MAX_CACHED_CONTEXTS = 64;
+  private static final Map<String, CachedFactory> factoryCache =
+      new LinkedHashMap<String, CachedFactory>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedFactory> eldest) {
+          return size() > MAX_CACHED_CONTEXTS;
+        }
+      };
 
   private static KeyManager loadClientCerts(
       String keyStoreUrl,
@@ -89,9 +110,113 @@ public class DefaultTlsSocketPlugin implements TlsSocketPlugin {
     return "DEFAULT";
   }
 
+  /**
+   * Local file state, permitting to detect file change.
+   *
+   * @param path file path, url or PEM content
+   * @return file state, empty if not a local file
+   */
+  private static String fileStamp(String path) {
+    if (path == null || path.startsWith("-----")) return "";
+    File file;
+    try {
+      URI uri = new URI(path);
+      String scheme = uri.getScheme();
+      if (scheme == null || scheme.length() == 1) {
+        // relative path or windows drive letter
+        file = new File(path);
+      } else if ("file".equalsIgnoreCase(scheme)) {
+        file = new File(uri);
+      } else {
+        return "";
+      }
+    } catch (Exception e) {
+      file = new File(path);
+    }
+    return file.lastModified() + ":" + file.length();
+  }
+
+  /** Remove all cached SSL contexts */
+  public static void clearCache() {
+    synchronized (factoryCache) {
+      factoryCache.clear();
+    }
+  }
+
+  /**
+   * Cache key: SHA-256 digest of values, each value being length prefixed to avoid ambiguity.
+   *
+   * @param values TLS options values
+   * @return cache key
+   */
+  private static String cacheKey(String... values) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      for (String value : values) {
+        if (value == null) {
+          digest.update((byte) 0);
+          continue;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) 1);
+        digest.update(
+            new byte[] {
+              (byte) (bytes.length >>> 24),
+              (byte) (bytes.length >>> 16),
+              (byte) (bytes.length >>> 8),
+              (byte) bytes.length
+            });
+        digest.update(bytes);
+      }
+      return Base64.getEncoder().encodeToString(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      // SHA-256 is required for all java platforms
+      throw new IllegalStateException(e);
+    }
+  }
+
   @Override
   public SSLSocketFactory getSocketFactory(Configuration conf, ExceptionFactory exceptionFactory)
       throws SQLException {
+    String systemKeyStore = System.getProperty("javax.net.ssl.keyStore");
+    String systemTrustStore = System.getProperty("javax.net.ssl.trustStore");
+    String key =
+        cacheKey(
+            conf.sslMode() == SslMode.TRUST ? "trust" : "verify",
+            conf.serverSslCert(),
+            conf.trustStoreType(),
+            conf.keyStore(),
+            conf.keyStorePassword(),
+            conf.keyPassword(),
+            conf.keyStoreType(),
+            systemKeyStore,
+            System.getProperty("javax.net.ssl.keyStorePassword"),
+            System.getProperty("javax.net.ssl.keyStoreType"),
+            systemTrustStore,
+            System.getProperty("javax.net.ssl.trustStorePassword"),
+            System.getProperty("javax.net.ssl.trustStoreType"));
+    String stamp =
+        fileStamp(conf.serverSslCert())
+            + "|"
+            + fileStamp(conf.keyStore() != null ? conf.keyStore() : systemKeyStore)
+            + "|"
+            + fileStamp(systemTrustStore);
+
+    CachedFactory cached;
+    synchronized (factoryCache) {
+      cached = factoryCache.get(key);
+    }
+    if (cached != null && cached.stamp.equals(stamp)) return cached.factory;
+
+    SSLSocketFactory factory = createSocketFactory(conf, exceptionFactory);
+    synchronized (factoryCache) {
+      factoryCache.put(key, new CachedFactory(stamp, factory));
+    }
+    return factory;
+  }
+
+  private static SSLSocketFactory createSocketFactory(
+      Configuration conf, ExceptionFactory exceptionFactory) throws SQLException {
 
     TrustManager[] trustManager = null;
     KeyManager[] keyManager = null;
@@ -203,4 +328,14 @@ public class DefaultTlsSocketPlugin implements TlsSocketPlugin {
       throw ex;
     }
   }
+
+  private static final class CachedFactory {
+    private final String stamp;
+    private final SSLSocketFactory factory;
+
+    CachedFactory(String stamp, SSLSocketFactory factory) {
+      this.stamp = stamp;
+      this.factory = factory;
+    }
+  }
 }
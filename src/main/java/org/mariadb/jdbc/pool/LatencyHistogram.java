@@ -0,0 +1,82 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc.pool;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import org.mariadb.jdbc.export.HistogramSnapshot;
+
+/**
+ * Lock-free, allocation-free latency histogram, with log-linear buckets: each power of 2 range is
+ * divided in 32 linear sub-buckets, giving about 3% precision. Values are in nanoseconds, up to
+ * 2^44 ns (about 4.8 hours), bigger values being counted in last bucket.
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int MAX_SHIFT = 44 - SUB_BUCKET_BITS - 1;
+  private static final int BUCKETS = (MAX_SHIFT + 2) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Record a value.
+   *
+   * @param nanos value in nanoseconds
+   */
+  public void record(long nanos) {
+    long value = Math.max(0, nanos);
+    counts.incrementAndGet(bucketIndex(value));
+    sum.add(value);
+    if (value > max.get()) max.accumulateAndGet(value, Math::max);
+  }
+
+  /**
+   * Record elapsed time since a {@link System#nanoTime()} value.
+   *
+   * @param startNanos start time in nanoseconds
+   */
+  public void recordSince(long startNanos) {
+    record(System.nanoTime() - startNanos);
+  }
+
+  /**
+   * Copy current histogram state. Concurrent recording may be partially visible.
+   *
+   * @return histogram snapshot
+   */
+  public HistogramSnapshot snapshot() {
+    long[] values = new long[BUCKETS];
+    long[] bucketCounts = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      values[i] = bucketValue(i);
+      bucketCounts[i] = counts.get(i);
+    }
+    return new HistogramSnapshot(values, bucketCounts, sum.sum(), max.get());
+  }
+
+  static int bucketIndex(long value) {
+    if (value < SUB_BUCKETS) return (int) value;
+    int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    if (shift > MAX_SHIFT) return BUCKETS - 1;
+    return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+  }
+
+  /**
+   * Bucket representative value: middle of bucket range.
+   *
+   * @param index bucket index
+   * @return bucket value
+   */
+  static long bucketValue(int index) {
+    if (index < SUB_BUCKETS) return index;
+    int shift = index / SUB_BUCKETS - 1;
+    long lowest = (long) (index % SUB_BUCKETS + SUB_BUCKETS) << shift;
+    return lowest + ((1L << shift) - 1) / 2;
+  }
+}
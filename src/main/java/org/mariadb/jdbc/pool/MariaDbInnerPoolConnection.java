@@ -3,6 +3,8 @@
 // Copyright (c) 2015-2023 MariaDB Corporation Ab
 package org.mariadb.jdbc.pool;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.sql.*;
 import org.mariadb.jdbc.Connection;
@@ -10,10 +12,23 @@ import org.mariadb.jdbc.MariaDbPoolConnection;
 
 /**
  * MariaDB pool connection for internal pool permit to add a last used information, to remove
- * connection after staying in pool for long time.
+ * connection after staying in pool for long time, and a borrowing state, permitting lock-free
+ * borrowing.
  */
 public class MariaDbInnerPoolConnection extends MariaDbPoolConnection {
+
+  /** connection is borrowed */
+  public static final int STATE_IN_USE = 0;
+
+  /** connection is available in pool */
+  public static final int STATE_IDLE = 1;
+
+  /** connection has been removed from pool */
+  public static final int STATE_REMOVED = 2;
+
   private final AtomicLong lastUsed;
+  private final AtomicInteger state;
+  private final AtomicBoolean queued;
 
   /**
    * Constructor.
@@ -23,6 +38,8 @@ public class MariaDbInnerPoolConnection extends MariaDbPoolConnection {
   public MariaDbInnerPoolConnection(Connection connection) {
     super(connection);
     lastUsed = new AtomicLong(System.nanoTime());
+    state = new AtomicInteger(STATE_IN_USE);
+    queued = new AtomicBoolean();
   }
 
   /**
@@ -43,4 +60,47 @@ public class MariaDbInnerPoolConnection extends MariaDbPoolConnection {
   public void ensureValidation() {
     lastUsed.set(0L);
   }
+
+  /**
+   * Current borrowing state.
+   *
+   * @return current state
+   */
+  public int getState() {
+    return state.get();
+  }
+
+  /**
+   * Set borrowing state.
+   *
+   * @param newState new state
+   */
+  public void setState(int newState) {
+    state.set(newState);
+  }
+
+  /**
+   * Atomically change borrowing state if current state is the expected one.
+   *
+   * @param expect expected state
+   * @param update new state
+   * @return true if successful
+   */
+  public boolean compareAndSetState(int expect, int update) {
+    return state.compareAndSet(expect, update);
+  }
+
+  /**
+   * Mark connection as queued for hand-off to waiting requests.
+   *
+   * @return true if connection was not already queued
+   */
+  public boolean markQueued() {
+    return queued.compareAndSet(false, true);
+  }
+
+  /** Indicate connection has been taken out of hand-off queue. */
+  public void unmarkQueued() {
+    queued.set(false);
+  }
 }
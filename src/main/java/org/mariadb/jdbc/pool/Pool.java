@@ -4,23 +4,32 @@
 package org.mariadb.jdbc.pool;
 
 import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.text.NumberFormat;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
+import javax.management.openmbean.*;
 import javax.sql.ConnectionEvent;
 import javax.sql.ConnectionEventListener;
 import org.mariadb.jdbc.Configuration;
 import org.mariadb.jdbc.Connection;
 import org.mariadb.jdbc.Driver;
 import org.mariadb.jdbc.Statement;
+import org.mariadb.jdbc.client.Client;
+import org.mariadb.jdbc.client.PrepareCache;
+import org.mariadb.jdbc.export.HistogramSnapshot;
+import org.mariadb.jdbc.message.client.PreparePacket;
 import org.mariadb.jdbc.util.log.Logger;
 import org.mariadb.jdbc.util.log.Loggers;
 
@@ -32,13 +41,36 @@ public class Pool implements AutoCloseable, PoolMBean {
   private static final int POOL_STATE_OK = 0;
   private static final int POOL_STATE_CLOSING = 1;
 
+  private static final String[] HISTOGRAM_ITEMS = {
+    "count", "meanMicros", "p50Micros", "p90Micros", "p99Micros", "p999Micros", "maxMicros"
+  };
+  private static final CompositeType HISTOGRAM_TYPE = histogramType();
+
   private final AtomicInteger poolState = new AtomicInteger();
 
   private final Configuration conf;
   private final AtomicInteger pendingRequestNumber = new AtomicInteger();
   private final AtomicInteger totalConnection = new AtomicInteger();
+  private final AtomicInteger connectingNumber = new AtomicInteger();
+  private final AtomicLong validationPingsAvoided = new AtomicLong();
+
+  // latency histograms
+  private final LatencyHistogram borrowWaitTime = new LatencyHistogram();
+  private final LatencyHistogram connectionCreationTime = new LatencyHistogram();
+  private final LatencyHistogram validationTime = new LatencyHistogram();
+  private final LatencyHistogram resetTime = new LatencyHistogram();
+  private final LatencyHistogram holdTime = new LatencyHistogram();
+
+  // all pooled connections, whatever their state. Borrowing is done by changing connection state
+  private final CopyOnWriteArrayList<MariaDbInnerPoolConnection> connections;
 
+  // last connection used by thread, to reuse it first
+  private final ThreadLocal<WeakReference<MariaDbInnerPoolConnection>> threadConnection;
+
+  // released connections handed off to waiting requests
   private final LinkedBlockingDeque<MariaDbInnerPoolConnection> idleConnections;
+  private final AtomicInteger waiters = new AtomicInteger();
+  private final ConnectionFactory connectionFactory;
   private final ThreadPoolExecutor connectionAppender;
   private final BlockingQueue<Runnable> connectionAppenderQueue;
 
@@ -57,16 +89,35 @@ public class Pool implements AutoCloseable, PoolMBean {
    */
   @SuppressWarnings({"this-escape"})
   public Pool(Configuration conf, int poolIndex, ScheduledThreadPoolExecutor poolExecutor) {
+    this(conf, poolIndex, poolExecutor, Driver::connect);
+  }
+
+  /**
+   * Create pool from configuration, using a specific connection factory.
+   *
+   * @param conf configuration parser
+   * @param poolIndex pool index to permit distinction of thread name
+   * @param poolExecutor pools common executor
+   * @param connectionFactory connection factory
+   */
+  @SuppressWarnings({"this-escape"})
+  public Pool(
+      Configuration conf,
+      int poolIndex,
+      ScheduledThreadPoolExecutor poolExecutor,
+      ConnectionFactory connectionFactory) {
 
     this.conf = conf;
+    this.connectionFactory = connectionFactory;
     poolTag = generatePoolTag(poolIndex);
 
-    // one thread to add new connection to pool.
+    // threads adding new connection to pool, limiting concurrent connection creation.
+    int appenderThreads = Math.max(1, Math.min(conf.poolMaxConnecting(), conf.maxPoolSize()));
     connectionAppenderQueue = new ArrayBlockingQueue<>(conf.maxPoolSize());
     connectionAppender =
         new ThreadPoolExecutor(
-            1,
-            1,
+            appenderThreads,
+            appenderThreads,
             10,
             TimeUnit.SECONDS,
             connectionAppenderQueue,
@@ -75,6 +126,8 @@ public class Pool implements AutoCloseable, PoolMBean {
     // create workers, since driver only interact with queue after that (i.e. not using .execute() )
     connectionAppender.prestartCoreThread();
 
+    connections = new CopyOnWriteArrayList<>();
+    threadConnection = new ThreadLocal<>();
     idleConnections = new LinkedBlockingDeque<>();
     int minDelay =
         Integer.parseInt(conf.nonMappedOptions().getProperty("testMinRemovalDelay", "30"));
@@ -93,13 +146,12 @@ public class Pool implements AutoCloseable, PoolMBean {
     }
 
     // create minimal connection in pool
+    waitTimeout = 28800;
     try {
-      for (int i = 0; i < Math.max(1, conf.minPoolSize()); i++) {
-        addConnection();
-      }
-      waitTimeout = 28800;
-      if (!idleConnections.isEmpty()) {
-        try (Statement stmt = idleConnections.getFirst().getConnection().createStatement()) {
+      addConnection();
+      warmUp();
+      if (!connections.isEmpty()) {
+        try (Statement stmt = connections.get(0).getConnection().createStatement()) {
           ResultSet rs = stmt.executeQuery("SELECT @@wait_timeout");
           if (rs.next()) waitTimeout = rs.getInt(1);
         }
@@ -110,26 +162,91 @@ public class Pool implements AutoCloseable, PoolMBean {
   }
 
   /**
-   * Add new connection if needed. Only one thread create new connection, so new connection request
-   * will wait to newly created connection or for a released connection.
+   * Create connections up to minPoolSize, concurrently using appender threads, waiting for their
+   * creation.
+   *
+   * @throws SQLException if any connection creation fails
+   */
+  private void warmUp() throws SQLException {
+    List<Future<?>> creations = new ArrayList<>();
+    for (int i = 1; i < conf.minPoolSize(); i++) {
+      creations.add(
+          connectionAppender.submit(
+              () -> {
+                connectingNumber.incrementAndGet();
+                MariaDbInnerPoolConnection item;
+                try {
+                  item = createConnection();
+                } finally {
+                  connectingNumber.decrementAndGet();
+                }
+                registerConnection(item);
+                return null;
+              }));
+    }
+
+    SQLException exception = null;
+    for (Future<?> creation : creations) {
+      try {
+        creation.get();
+      } catch (ExecutionException executionException) {
+        if (exception == null && executionException.getCause() instanceof SQLException) {
+          exception = (SQLException) executionException.getCause();
+        }
+      } catch (InterruptedException interrupted) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+    if (exception != null) throw exception;
+  }
+
+  /**
+   * Add new connections if needed. Pool grows by as many connections as there are waiting requests
+   * (or missing connections to reach minPoolSize), created concurrently by appender threads. New
+   * connection requests will wait to newly created connection or for a released connection.
    */
   private void addConnectionRequest() {
-    if (totalConnection.get() < conf.maxPoolSize() && poolState.get() == POOL_STATE_OK) {
+    if (poolState.get() != POOL_STATE_OK) return;
+
+    int total = totalConnection.get();
+    int planned = connectingNumber.get() + connectionAppenderQueue.size();
+    int needed =
+        Math.min(
+            Math.max(conf.minPoolSize() - total, pendingRequestNumber.get()) - planned,
+            conf.maxPoolSize() - total - planned);
 
-      // ensure to have one worker if was timeout
+    for (int i = 0; i < needed; i++) {
+      // ensure to have workers if they were timeout
       connectionAppender.prestartCoreThread();
-      connectionAppenderQueue.offer(
-          () -> {
-            if ((totalConnection.get() < conf.minPoolSize() || pendingRequestNumber.get() > 0)
-                && totalConnection.get() < conf.maxPoolSize()) {
-              try {
-                addConnection();
-              } catch (SQLException sqle) {
-                logger.error("error adding connection to pool", sqle);
-              }
-            }
-          });
+      if (!connectionAppenderQueue.offer(this::addConnectionIfNeeded)) return;
+    }
+  }
+
+  /** Create a new connection if still needed, when no other creation in progress satisfies it. */
+  private void addConnectionIfNeeded() {
+    int connecting;
+    do {
+      connecting = connectingNumber.get();
+      int total = totalConnection.get() + connecting;
+      if (poolState.get() != POOL_STATE_OK
+          || total >= conf.maxPoolSize()
+          || (total >= conf.minPoolSize() && pendingRequestNumber.get() <= connecting)) {
+        return;
+      }
+    } while (!connectingNumber.compareAndSet(connecting, connecting + 1));
+
+    MariaDbInnerPoolConnection item;
+    try {
+      item = createConnection();
+    } catch (SQLException sqle) {
+      logger.error("error adding connection to pool", sqle);
+      return;
+    } finally {
+      // released before connection is counted in total, never counting it twice
+      connectingNumber.decrementAndGet();
     }
+    registerConnection(item);
   }
 
   /**
@@ -138,13 +255,8 @@ public class Pool implements AutoCloseable, PoolMBean {
    */
   private void removeIdleTimeoutConnection() {
 
-    // descending iterator since first from queue are the first to be used
-    Iterator<MariaDbInnerPoolConnection> iterator = idleConnections.descendingIterator();
-
-    MariaDbInnerPoolConnection item;
-
-    while (iterator.hasNext()) {
-      item = iterator.next();
+    for (MariaDbInnerPoolConnection item : connections) {
+      if (item.getState() != MariaDbInnerPoolConnection.STATE_IDLE) continue;
 
       long idleTime = System.nanoTime() - item.getLastUsed().get();
       boolean timedOut = idleTime > TimeUnit.SECONDS.toNanos(conf.maxIdleTime());
@@ -167,9 +279,11 @@ public class Pool implements AutoCloseable, PoolMBean {
         shouldBeReleased = true;
       }
 
-      if (shouldBeReleased && idleConnections.remove(item)) {
+      if (shouldBeReleased
+          && item.compareAndSetState(
+              MariaDbInnerPoolConnection.STATE_IDLE, MariaDbInnerPoolConnection.STATE_REMOVED)) {
 
-        totalConnection.decrementAndGet();
+        removeConnection(item);
         silentCloseConnection(con);
         addConnectionRequest();
         if (logger.isDebugEnabled()) {
@@ -191,9 +305,54 @@ public class Pool implements AutoCloseable, PoolMBean {
    * @throws SQLException if connection creation failed
    */
   private void addConnection() throws SQLException {
+    registerConnection(createConnection());
+  }
+
+  /**
+   * Prepare on new connection the most used commands of pool connections prepare caches, so new
+   * connection doesn't have to prepare them on first use.
+   *
+   * @param connection new connection
+   */
+  private void warmUpPrepareCache(Connection connection) {
+    Map<String, Long> uses = new HashMap<>();
+    for (MariaDbInnerPoolConnection item : connections) {
+      PrepareCache prepareCache = item.getConnection().getContext().getPrepareCache();
+      if (prepareCache != null) {
+        prepareCache.uses().forEach((sql, use) -> uses.merge(sql, use, Long::sum));
+      }
+    }
+    if (uses.isEmpty()) return;
 
-    // create new connection
-    Connection connection = Driver.connect(conf);
+    uses.entrySet().stream()
+        .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+        .limit(conf.poolPrepStmtWarmUp())
+        .forEach(
+            entry -> {
+              try {
+                connection.getClient().execute(new PreparePacket(entry.getKey()), null, true);
+              } catch (SQLException e) {
+                // command might depend on connection state, like current database
+                logger.debug("pool " + poolTag + " failed to prepare command on new connection", e);
+              }
+            });
+  }
+
+  /**
+   * Create new physical connection, not yet added to pool.
+   *
+   * @return pool connection
+   * @throws SQLException if connection creation failed
+   */
+  private MariaDbInnerPoolConnection createConnection() throws SQLException {
+    long start = System.nanoTime();
+    Connection connection = connectionFactory.connect(conf);
+    connectionCreationTime.recordSince(start);
+    if (conf.poolPrepStmtWarmUp() > 0
+        && (conf.useServerPrepStmts() || conf.prepareThreshold() > 0)
+        && conf.cachePrepStmts()) {
+      warmUpPrepareCache(connection);
+    }
     MariaDbInnerPoolConnection item = new MariaDbInnerPoolConnection(connection);
     item.addConnectionEventListener(
         new ConnectionEventListener() {
@@ -203,16 +362,19 @@ public class Pool implements AutoCloseable, PoolMBean {
             MariaDbInnerPoolConnection item = (MariaDbInnerPoolConnection) event.getSource();
             if (poolState.get() == POOL_STATE_OK) {
               try {
-                if (!idleConnections.contains(item)) {
+                if (item.getState() == MariaDbInnerPoolConnection.STATE_IN_USE) {
+                  long start = System.nanoTime();
+                  holdTime.record(start - item.getLastUsed().get());
                   item.getConnection().setPoolConnection(null);
                   item.getConnection().reset();
-                  idleConnections.addFirst(item);
+                  resetTime.recordSince(start);
                   item.getConnection().setPoolConnection(item);
+                  releaseConnection(item);
                 }
               } catch (SQLException sqle) {
 
                 // sql exception during reset, removing connection from pool
-                totalConnection.decrementAndGet();
+                removeConnection(item);
                 silentCloseConnection(item.getConnection());
                 logger.debug(
                     "connection {} removed from pool {} due to error during reset (total:{},"
@@ -225,12 +387,8 @@ public class Pool implements AutoCloseable, PoolMBean {
               }
             } else {
               // pool is closed, should then not be rendered to pool, but closed.
-              try {
-                item.getConnection().close();
-              } catch (SQLException sqle) {
-                // eat
-              }
-              totalConnection.decrementAndGet();
+              removeConnection(item);
+              silentCloseConnection(item.getConnection());
             }
           }
 
@@ -238,12 +396,13 @@ public class Pool implements AutoCloseable, PoolMBean {
           public void connectionErrorOccurred(ConnectionEvent event) {
 
             MariaDbInnerPoolConnection item = ((MariaDbInnerPoolConnection) event.getSource());
-            totalConnection.decrementAndGet();
-            idleConnections.remove(item);
+            removeConnection(item);
 
             // ensure that other connection will be validated before being use
             // since one connection failed, better to assume the other might as well
-            idleConnections.forEach(MariaDbInnerPoolConnection::ensureValidation);
+            for (MariaDbInnerPoolConnection conn : connections) {
+              if (conn.getState() == MariaDbInnerPoolConnection.STATE_IDLE) conn.ensureValidation();
+            }
 
             silentCloseConnection(item.getConnection());
             addConnectionRequest();
@@ -257,9 +416,26 @@ public class Pool implements AutoCloseable, PoolMBean {
                 pendingRequestNumber.get());
           }
         });
-    if (poolState.get() == POOL_STATE_OK
-        && totalConnection.incrementAndGet() <= conf.maxPoolSize()) {
-      idleConnections.addFirst(item);
+    return item;
+  }
+
+  /**
+   * Add created connection to pool, making it available to requests. Connection is closed if pool
+   * is closed or has already reached maximum size.
+   *
+   * @param item pool connection
+   */
+  private void registerConnection(MariaDbInnerPoolConnection item) {
+    Connection connection = item.getConnection();
+    if (poolState.get() == POOL_STATE_OK) {
+      if (totalConnection.incrementAndGet() > conf.maxPoolSize()) {
+        // concurrent creation has already reached maximum pool size
+        totalConnection.decrementAndGet();
+        silentCloseConnection(connection);
+        return;
+      }
+      connections.add(item);
+      offerIdleConnection(item);
 
       if (logger.isDebugEnabled()) {
         logger.debug(
@@ -276,6 +452,144 @@ public class Pool implements AutoCloseable, PoolMBean {
     silentCloseConnection(connection);
   }
 
+  /**
+   * Borrow an idle connection without locking: connection last used by current thread is tried
+   * first, then all pool connections.
+   *
+   * @return an IDLE connection, now borrowed, or null if none are available
+   */
+  private MariaDbInnerPoolConnection borrowIdleConnection() {
+    WeakReference<MariaDbInnerPoolConnection> ref = threadConnection.get();
+    if (ref != null) {
+      MariaDbInnerPoolConnection item = ref.get();
+      if (item != null
+          && item.compareAndSetState(
+              MariaDbInnerPoolConnection.STATE_IDLE, MariaDbInnerPoolConnection.STATE_IN_USE)) {
+        return item;
+      }
+    }
+
+    for (MariaDbInnerPoolConnection item : connections) {
+      if (item.compareAndSetState(
+          MariaDbInnerPoolConnection.STATE_IDLE, MariaDbInnerPoolConnection.STATE_IN_USE)) {
+        return item;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Borrow an idle connection, waiting up to timeout for a connection to be released or created.
+   *
+   * @return an IDLE connection, now borrowed, or null if none are available within timeout
+   */
+  private MariaDbInnerPoolConnection borrowConnection(long timeout, TimeUnit timeUnit)
+      throws InterruptedException {
+    MariaDbInnerPoolConnection item = borrowIdleConnection();
+    if (item != null || timeout == 0) return item;
+
+    long deadline = System.nanoTime() + timeUnit.toNanos(timeout);
+    waiters.incrementAndGet();
+    try {
+      // check again, since a connection might have been released before registering as waiter
+      if ((item = borrowIdleConnection()) != null) return item;
+
+      long remaining;
+      while ((remaining = deadline - System.nanoTime()) > 0) {
+        // released and newly created connections are handed off through queue
+        item = idleConnections.pollFirst(remaining, TimeUnit.NANOSECONDS);
+        if (item == null) return null;
+        item.unmarkQueued();
+        if (item.compareAndSetState(
+            MariaDbInnerPoolConnection.STATE_IDLE, MariaDbInnerPoolConnection.STATE_IN_USE)) {
+          return item;
+        }
+        // handed off connection has already been borrowed by a request without waiting (or
+        // removed): connection created for this request might have been used, asking for a new
+        // connection if still needed
+        addConnectionRequest();
+      }
+      return null;
+    } finally {
+      waiters.decrementAndGet();
+    }
+  }
+
+  /**
+   * Make connection available to other requests, handing it off to waiting request if any.
+   * Connection is queued at most once, and only if it was still in use (not removed meanwhile).
+   *
+   * @param item pool connection
+   */
+  private void offerIdleConnection(MariaDbInnerPoolConnection item) {
+    if (item.compareAndSetState(
+            MariaDbInnerPoolConnection.STATE_IN_USE, MariaDbInnerPoolConnection.STATE_IDLE)
+        && waiters.get() > 0
+        && item.markQueued()) {
+      idleConnections.offerFirst(item);
+    }
+  }
+
+  /**
+   * Release connection to pool, keeping it as preferred connection for current thread.
+   *
+   * @param item pool connection
+   */
+  private void releaseConnection(MariaDbInnerPoolConnection item) {
+    WeakReference<MariaDbInnerPoolConnection> ref = threadConnection.get();
+    if (ref == null || ref.get() != item) {
+      threadConnection.set(new WeakReference<>(item));
+    }
+    offerIdleConnection(item);
+  }
+
+  /**
+   * Remove connection from pool.
+   *
+   * @param item pool connection
+   */
+  private void removeConnection(MariaDbInnerPoolConnection item) {
+    item.setState(MariaDbInnerPoolConnection.STATE_REMOVED);
+    if (connections.remove(item)) {
+      totalConnection.decrementAndGet();
+      idleConnections.remove(item);
+    }
+  }
+
+  /**
+   * Validate a connection before giving it. Validation relies first on passive evidence: connection
+   * with server data pending or unused for more than server @@wait_timeout is discarded, connection
+   * that has successfully read server response recently is considered valid. A ping is only sent
+   * when evidence is inconclusive.
+   *
+   * @param item connection to validate
+   * @return true if connection can be used
+   * @throws SQLException if ping fails
+   */
+  private boolean validate(MariaDbInnerPoolConnection item) throws SQLException {
+    Client client = item.getConnection().getClient();
+    if (client.hasUnsolicitedData()) return false;
+
+    long now = System.nanoTime();
+    long sinceLastRead = now - client.getLastReadNanos();
+    if (waitTimeout > 0 && sinceLastRead > TimeUnit.SECONDS.toNanos(waitTimeout)) {
+      // server has already closed connection
+      return false;
+    }
+
+    long validMinDelay = TimeUnit.MILLISECONDS.toNanos(conf.poolValidMinDelay());
+    long lastUsed = item.getLastUsed().get();
+    if (lastUsed != 0L && sinceLastRead <= validMinDelay) {
+      // connection has been recently active -> skip connection validation
+      if (now - lastUsed > validMinDelay) validationPingsAvoided.incrementAndGet();
+      return true;
+    }
+
+    boolean valid = item.getConnection().isValid(10); // 10 seconds timeout
+    validationTime.recordSince(now);
+    return valid;
+  }
+
   /**
    * Get an existing idle connection in pool.
    *
@@ -285,34 +599,20 @@ public class Pool implements AutoCloseable, PoolMBean {
       throws InterruptedException {
 
     while (true) {
-      MariaDbInnerPoolConnection item =
-          (timeout == 0)
-              ? idleConnections.pollFirst()
-              : idleConnections.pollFirst(timeout, timeUnit);
+      MariaDbInnerPoolConnection item = borrowConnection(timeout, timeUnit);
 
       if (item != null) {
         try {
-          if (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - item.getLastUsed().get())
-              > conf.poolValidMinDelay()) {
-
-            // validate connection
-            if (item.getConnection().isValid(10)) { // 10 seconds timeout
-              item.lastUsedToNow();
-              return item;
-            }
-
-          } else {
-
-            // connection has been retrieved recently -> skip connection validation
+          if (validate(item)) {
             item.lastUsedToNow();
             return item;
           }
-
         } catch (SQLException sqle) {
           // eat
         }
 
         // validation failed
+        removeConnection(item);
         silentAbortConnection(item.getConnection());
         addConnectionRequest();
         if (logger.isDebugEnabled()) {
@@ -359,6 +659,7 @@ public class Pool implements AutoCloseable, PoolMBean {
    * @throws SQLException if no connection is created when reaching timeout (connectTimeout option)
    */
   public MariaDbInnerPoolConnection getPoolConnection() throws SQLException {
+    long start = System.nanoTime();
     pendingRequestNumber.incrementAndGet();
     MariaDbInnerPoolConnection poolConnection;
     try {
@@ -389,6 +690,7 @@ public class Pool implements AutoCloseable, PoolMBean {
       throw new SQLException("Thread was interrupted", "70100", interrupted);
     } finally {
       pendingRequestNumber.decrementAndGet();
+      borrowWaitTime.recordSince(start);
     }
   }
 
@@ -415,6 +717,29 @@ public class Pool implements AutoCloseable, PoolMBean {
     return new MariaDbInnerPoolConnection(Driver.connect(tmpConf));
   }
 
+  private static CompositeType histogramType() {
+    try {
+      OpenType<?>[] types = new OpenType<?>[HISTOGRAM_ITEMS.length];
+      Arrays.fill(types, SimpleType.LONG);
+      return new CompositeType(
+          "LatencyHistogram",
+          "latency histogram, values in microseconds",
+          HISTOGRAM_ITEMS,
+          new String[] {
+            "recorded value number",
+            "mean",
+            "50th percentile",
+            "90th percentile",
+            "99th percentile",
+            "99.9th percentile",
+            "maximum"
+          },
+          types);
+    } catch (OpenDataException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
   private String generatePoolTag(int poolIndex) {
     if (conf.poolName() == null) {
       return "MariaDB-pool";
@@ -470,7 +795,7 @@ public class Pool implements AutoCloseable, PoolMBean {
         // loop for up to 10 seconds to close not used connection
         long start = System.nanoTime();
         do {
-          closeAll(idleConnections);
+          closeAllIdle();
           if (totalConnection.get() > 0) {
             Thread.sleep(0, 10_00);
           }
@@ -478,9 +803,10 @@ public class Pool implements AutoCloseable, PoolMBean {
             && TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 10);
 
         // after having wait for 10 seconds, force removal, even if used connections
-        if (totalConnection.get() > 0 || idleConnections.isEmpty()) {
-          closeAll(idleConnections);
+        if (totalConnection.get() > 0) {
+          closeAllIdle();
         }
+        idleConnections.clear();
 
         connectionRemover.shutdown();
         try {
@@ -495,11 +821,11 @@ public class Pool implements AutoCloseable, PoolMBean {
     }
   }
 
-  private void closeAll(Collection<MariaDbInnerPoolConnection> collection) {
-    synchronized (collection) { // synchronized mandatory to iterate Collections.synchronizedList()
-      for (MariaDbInnerPoolConnection item : collection) {
-        collection.remove(item);
-        totalConnection.decrementAndGet();
+  private void closeAllIdle() {
+    for (MariaDbInnerPoolConnection item : connections) {
+      if (item.compareAndSetState(
+          MariaDbInnerPoolConnection.STATE_IDLE, MariaDbInnerPoolConnection.STATE_REMOVED)) {
+        removeConnection(item);
         silentAbortConnection(item.getConnection());
       }
     }
@@ -516,7 +842,7 @@ public class Pool implements AutoCloseable, PoolMBean {
 
   @Override
   public long getActiveConnections() {
-    return totalConnection.get() - idleConnections.size();
+    return totalConnection.get() - getIdleConnections();
   }
 
   @Override
@@ -526,13 +852,82 @@ public class Pool implements AutoCloseable, PoolMBean {
 
   @Override
   public long getIdleConnections() {
-    return idleConnections.size();
+    long idle = 0;
+    for (MariaDbInnerPoolConnection item : connections) {
+      if (item.getState() == MariaDbInnerPoolConnection.STATE_IDLE) idle++;
+    }
+    return idle;
   }
 
   public long getConnectionRequests() {
     return pendingRequestNumber.get();
   }
 
+  @Override
+  public long getValidationPingsAvoided() {
+    return validationPingsAvoided.get();
+  }
+
+  @Override
+  public CompositeData getBorrowWaitTime() {
+    return toCompositeData(borrowWaitTime.snapshot());
+  }
+
+  @Override
+  public CompositeData getConnectionCreationTime() {
+    return toCompositeData(connectionCreationTime.snapshot());
+  }
+
+  @Override
+  public CompositeData getValidationTime() {
+    return toCompositeData(validationTime.snapshot());
+  }
+
+  @Override
+  public CompositeData getResetTime() {
+    return toCompositeData(resetTime.snapshot());
+  }
+
+  @Override
+  public CompositeData getHoldTime() {
+    return toCompositeData(holdTime.snapshot());
+  }
+
+  /**
+   * Get pool latency histograms: borrow wait, connection creation, validation ping, reset on
+   * release and connection hold time.
+   *
+   * @return histogram snapshots by name
+   */
+  public Map<String, HistogramSnapshot> getHistograms() {
+    Map<String, HistogramSnapshot> histograms = new LinkedHashMap<>();
+    histograms.put("BorrowWaitTime", borrowWaitTime.snapshot());
+    histograms.put("ConnectionCreationTime", connectionCreationTime.snapshot());
+    histograms.put("ValidationTime", validationTime.snapshot());
+    histograms.put("ResetTime", resetTime.snapshot());
+    histograms.put("HoldTime", holdTime.snapshot());
+    return histograms;
+  }
+
+  private static CompositeData toCompositeData(HistogramSnapshot snapshot) {
+    try {
+      return new CompositeDataSupport(
+          HISTOGRAM_TYPE,
+          HISTOGRAM_ITEMS,
+          new Object[] {
+            snapshot.getCount(),
+            TimeUnit.NANOSECONDS.toMicros(snapshot.getMean()),
+            TimeUnit.NANOSECONDS.toMicros(snapshot.getValueAtPercentile(50)),
+            TimeUnit.NANOSECONDS.toMicros(snapshot.getValueAtPercentile(90)),
+            TimeUnit.NANOSECONDS.toMicros(snapshot.getValueAtPercentile(99)),
+            TimeUnit.NANOSECONDS.toMicros(snapshot.getValueAtPercentile(99.9)),
+            TimeUnit.NANOSECONDS.toMicros(snapshot.getMax())
+          });
+    } catch (OpenDataException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
   private void registerJmx() throws Exception {
     MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
     String jmxName = poolTag.replace(":", "_");
@@ -560,9 +955,25 @@ public class Pool implements AutoCloseable, PoolMBean {
    */
   public List<Long> testGetConnectionIdleThreadIds() {
     List<Long> threadIds = new ArrayList<>();
-    for (MariaDbInnerPoolConnection pooledConnection : idleConnections) {
-      threadIds.add(pooledConnection.getConnection().getThreadId());
+    for (MariaDbInnerPoolConnection pooledConnection : connections) {
+      if (pooledConnection.getState() == MariaDbInnerPoolConnection.STATE_IDLE) {
+        threadIds.add(pooledConnection.getConnection().getThreadId());
+      }
     }
     return threadIds;
   }
+
+  /** Connection factory, creating a new physical connection for pool */
+  @FunctionalInterface
+  public interface ConnectionFactory {
+
+    /**
+     * Create a new connection.
+     *
+     * @param conf configuration
+     * @return new connection
+     * @throws SQLException if connection creation failed
+     */
+    Connection connect(Configuration conf) throws SQLException;
+  }
 }
@@ -3,6 +3,8 @@
 // Copyright (c) 2015-2023 MariaDB Corporation Ab
 package org.mariadb.jdbc.pool;
 
+import javax.management.openmbean.CompositeData;
+
 /** JMX pool bean */
 public interface PoolMBean {
 
@@ -33,4 +35,47 @@ public interface PoolMBean {
    * @return request number
    */
   long getConnectionRequests();
+
+  /**
+   * get number of connection validation pings avoided, connection being known valid from recent
+   * activity
+   *
+   * @return avoided ping number
+   */
+  long getValidationPingsAvoided();
+
+  /**
+   * get histogram of time waited to borrow a connection, validation included
+   *
+   * @return borrow wait time histogram (microseconds)
+   */
+  CompositeData getBorrowWaitTime();
+
+  /**
+   * get histogram of physical connection creation time
+   *
+   * @return connection creation time histogram (microseconds)
+   */
+  CompositeData getConnectionCreationTime();
+
+  /**
+   * get histogram of connection validation ping time
+   *
+   * @return validation time histogram (microseconds)
+   */
+  CompositeData getValidationTime();
+
+  /**
+   * get histogram of connection reset time when connection is given back to pool
+   *
+   * @return reset time histogram (microseconds)
+   */
+  CompositeData getResetTime();
+
+  /**
+   * get histogram of time connections are borrowed
+   *
+   * @return hold time histogram (microseconds)
+   */
+  CompositeData getHoldTime();
 }
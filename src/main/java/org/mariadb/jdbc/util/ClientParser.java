@@ -5,29 +5,54 @@ package org.mariadb.jdbc.util;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+/**
+ * Client side parsing result: query UTF-8 bytes and parameter positions. Results are immutable and
+ * shared between connections through a JVM-wide cache.
+ */
 public final class ClientParser implements PrepareResult {
 
+  private static final ParseCache<ClientParser> cache = new ParseCache<>(2048);
+
   private final String sql;
   private final byte[] query;
-  private final List<Integer> paramPositions;
+  private final int[] paramPositions;
+  private final List<Integer> paramPositionList;
   private final int paramCount;
   private final boolean isInsert;
   private final boolean isInsertDuplicate;
+  private final int valuesStart;
+  private final int valuesEnd;
 
   private ClientParser(
       String sql,
       byte[] query,
       List<Integer> paramPositions,
       boolean isInsert,
-      boolean isInsertDuplicate) {
+      boolean isInsertDuplicate,
+      int valuesStart,
+      int valuesEnd) {
     this.sql = sql;
     this.query = query;
-    this.paramPositions = paramPositions;
-    this.paramCount = paramPositions.size();
+    this.paramPositions = paramPositions.stream().mapToInt(Integer::intValue).toArray();
+    this.paramPositionList = Collections.unmodifiableList(paramPositions);
+    this.paramCount = this.paramPositions.length;
     this.isInsert = isInsert;
     this.isInsertDuplicate = isInsertDuplicate;
+
+    // multi-values rewrite is only possible if all parameters are in VALUES (...) group
+    if (valuesEnd != -1
+        && paramCount > 0
+        && this.paramPositions[0] > valuesStart
+        && this.paramPositions[paramCount - 1] < valuesEnd) {
+      this.valuesStart = valuesStart;
+      this.valuesEnd = valuesEnd;
+    } else {
+      this.valuesStart = -1;
+      this.valuesEnd = -1;
+    }
   }
 
   /**
@@ -37,11 +62,31 @@ public final class ClientParser implements PrepareResult {
    * INTO tableName(id, name) VALUES (?, ?)" result list will be : {"INSERT INTO tableName(id, name)
    * VALUES (", ", ", ")"}
    *
+   * <p>Result is cached for next calls with same query and escape mode.
+   *
    * @param queryString query
    * @param noBackslashEscapes escape mode
    * @return ClientPrepareResult
    */
   public static ClientParser parameterParts(String queryString, boolean noBackslashEscapes) {
+    ClientParser parser = cache.get(queryString, noBackslashEscapes);
+    if (parser == null) {
+      parser = parse(queryString, noBackslashEscapes);
+      cache.put(queryString, noBackslashEscapes, parser);
+    }
+    return parser;
+  }
+
+  /**
+   * Parsing cache, shared by all connections
+   *
+   * @return cache
+   */
+  public static ParseCache<ClientParser> cache() {
+    return cache;
+  }
+
+  private static ClientParser parse(String queryString, boolean noBackslashEscapes) {
 
     List<Integer> paramPositions = new ArrayList<>();
     LexState state = LexState.Normal;
@@ -50,11 +95,20 @@ public final class ClientParser implements PrepareResult {
     boolean singleQuotes = false;
     boolean isInsert = false;
     boolean isInsertDupplicate = false;
+    boolean isValues = false;
+    int depth = 0;
+    int valuesStart = -1;
+    int valuesEnd = -1;
+    boolean rewritable = true;
     byte[] query = queryString.getBytes(StandardCharsets.UTF_8);
     int queryLength = query.length;
     for (int i = 0; i < queryLength; i++) {
 
       byte car = query[i];
+      if (valuesEnd != -1 && state == LexState.Normal && car > ' ') {
+        // something follows VALUES (...) group
+        rewritable = false;
+      }
       if (state == LexState.Escape
           && !((car == '\'' && singleQuotes) || (car == '"' && !singleQuotes))) {
         state = LexState.String;
@@ -160,6 +214,41 @@ public final class ClientParser implements PrepareResult {
           }
           break;
 
+        case (byte) 'V':
+        case (byte) 'v':
+          if (isInsert && !isValues && depth == 0 && state == LexState.Normal) {
+            if (i + 5 < queryLength
+                && (query[i + 1] == (byte) 'a' || query[i + 1] == (byte) 'A')
+                && (query[i + 2] == (byte) 'l' || query[i + 2] == (byte) 'L')
+                && (query[i + 3] == (byte) 'u' || query[i + 3] == (byte) 'U')
+                && (query[i + 4] == (byte) 'e' || query[i + 4] == (byte) 'E')) {
+              if (i > 0 && (query[i - 1] > ' ' && "();><=-+,".indexOf(query[i - 1]) == -1)) {
+                break;
+              }
+              int end = (query[i + 5] == (byte) 's' || query[i + 5] == (byte) 'S') ? i + 6 : i + 5;
+              if (end < queryLength && query[end] > ' ' && "();><=-+,".indexOf(query[end]) == -1) {
+                break;
+              }
+              i = end - 1;
+              isValues = true;
+            }
+          }
+          break;
+
+        case (byte) '(':
+          if (state == LexState.Normal) {
+            if (isValues && depth == 0 && valuesStart == -1) valuesStart = i;
+            depth++;
+          }
+          break;
+
+        case (byte) ')':
+          if (state == LexState.Normal) {
+            depth--;
+            if (depth == 0 && valuesStart != -1 && valuesEnd == -1) valuesEnd = i + 1;
+          }
+          break;
+
         case (byte) '\\':
           if (noBackslashEscapes) {
             break;
@@ -184,7 +273,14 @@ public final class ClientParser implements PrepareResult {
       lastChar = car;
     }
 
-    return new ClientParser(queryString, query, paramPositions, isInsert, isInsertDupplicate);
+    return new ClientParser(
+        queryString,
+        query,
+        paramPositions,
+        isInsert,
+        isInsertDupplicate,
+        rewritable ? valuesStart : -1,
+        rewritable ? valuesEnd : -1);
   }
 
   public String getSql() {
@@ -196,6 +292,16 @@ public final class ClientParser implements PrepareResult {
   }
 
   public List<Integer> getParamPositions() {
+    return paramPositionList;
+  }
+
+  /**
+   * Parameter placeholder positions in query, for encoding without unboxing. Array must not be
+   * modified.
+   *
+   * @return placeholder positions
+   */
+  public int[] getParamPositionArray() {
     return paramPositions;
   }
 
@@ -211,6 +317,34 @@ public final class ClientParser implements PrepareResult {
     return isInsertDuplicate;
   }
 
+  /**
+   * Can command be rewritten as a multi-values INSERT, i.e. command is an INSERT with a single
+   * VALUES (...) group containing all parameters, followed by nothing.
+   *
+   * @return is rewritable
+   */
+  public boolean isMultiValuesRewritable() {
+    return valuesStart != -1;
+  }
+
+  /**
+   * Position of VALUES group opening parenthesis, when rewritable
+   *
+   * @return values group start, or -1
+   */
+  public int getValuesStart() {
+    return valuesStart;
+  }
+
+  /**
+   * Position following VALUES group closing parenthesis, when rewritable
+   *
+   * @return values group end, or -1
+   */
+  public int getValuesEnd() {
+    return valuesEnd;
+  }
+
   enum LexState {
     Normal, /* inside  query */
     String, /* inside string */
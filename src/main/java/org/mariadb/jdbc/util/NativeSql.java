@@ -9,10 +9,46 @@ import org.mariadb.jdbc.client.Context;
 
 public final class NativeSql {
 
+  private static final ParseCache<String> cache = new ParseCache<>(1024);
+
+  /**
+   * Convert JDBC escape sequences to native SQL. Result is cached for next calls with same sql and
+   * server kind.
+   *
+   * @param sql sql with escape sequences
+   * @param context connection context
+   * @return native sql
+   * @throws SQLException if escape sequence is malformed
+   */
   public static String parse(String sql, Context context) throws SQLException {
     if (!sql.contains("{")) {
       return sql;
     }
+    // only server dependant conversion is CONVERT to DOUBLE
+    boolean castDouble =
+        context.getVersion().isMariaDBServer()
+            || context.getVersion().versionGreaterOrEqual(8, 0, 17);
+    String nativeSql = cache.get(sql, castDouble);
+    if (nativeSql == null) {
+      nativeSql = parseEscapes(sql, context);
+      cache.put(sql, castDouble, nativeSql);
+    }
+    return nativeSql;
+  }
+
+  /**
+   * Escape processing cache, shared by all connections
+   *
+   * @return cache
+   */
+  public static ParseCache<String> cache() {
+    return cache;
+  }
+
+  private static String parseEscapes(String sql, Context context) throws SQLException {
+    if (!sql.contains("{")) {
+      return sql;
+    }
 
     ClientParser.LexState state = ClientParser.LexState.Normal;
     char lastChar = '\0';
@@ -142,11 +178,11 @@ public final class NativeSql {
     int endIndex = escaped.length() - 1;
     if (escaped.startsWith("{fn ")) {
       String resolvedParams = replaceFunctionParameter(escaped.substring(4, endIndex), context);
-      return parse(resolvedParams, context);
+      return parseEscapes(resolvedParams, context);
     } else if (escaped.startsWith("{oj ")) {
       // Outer join
       // the server supports "oj" in any case, even "oJ"
-      return parse(escaped.substring(4, endIndex), context);
+      return parseEscapes(escaped.substring(4, endIndex), context);
     } else if (escaped.startsWith("{d ")) {
       // date literal
       return escaped.substring(3, endIndex);
@@ -168,10 +204,10 @@ public final class NativeSql {
     } else if (escaped.startsWith("{call ") || escaped.startsWith("{CALL ")) {
       // We support uppercase "{CALL" only because Connector/J supports it. It is not in the JDBC
       // spec.
-      return parse(escaped.substring(1, endIndex), context);
+      return parseEscapes(escaped.substring(1, endIndex), context);
     } else if (escaped.startsWith("{?")) {
       // likely ?=call(...)
-      return parse(escaped.substring(1, endIndex), context);
+      return parseEscapes(escaped.substring(1, endIndex), context);
     } else if (escaped.startsWith("{ ") || escaped.startsWith("{\n")) {
       // Spaces and newlines before keyword, this is not JDBC compliant, however some it works in
       // some drivers,
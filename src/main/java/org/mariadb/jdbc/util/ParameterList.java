@@ -3,12 +3,34 @@
 // Copyright (c) 2015-2023 MariaDB Corporation Ab
 package org.mariadb.jdbc.util;
 
+import java.io.IOException;
+import java.sql.SQLException;
 import java.util.Arrays;
+import org.mariadb.jdbc.client.Context;
+import org.mariadb.jdbc.client.DataType;
+import org.mariadb.jdbc.client.socket.Writer;
 import org.mariadb.jdbc.client.util.Parameter;
 import org.mariadb.jdbc.client.util.Parameters;
+import org.mariadb.jdbc.codec.NonNullParameter;
+import org.mariadb.jdbc.plugin.codec.DoubleCodec;
+import org.mariadb.jdbc.plugin.codec.IntCodec;
+import org.mariadb.jdbc.plugin.codec.LongCodec;
 
+/**
+ * Parameter list. int, long and double values are stored in a primitive array, without boxing nor
+ * {@link Parameter} allocation; a parameter object is only created if requested by {@link
+ * #get(int)}.
+ */
 public class ParameterList implements Parameters, Cloneable {
+  private static final byte OBJECT = 0;
+  private static final byte INT = 1;
+  private static final byte LONG = 2;
+  private static final byte DOUBLE = 3;
+
   Parameter[] elementData;
+  // primitive values (double as raw long bits), and their type, allocated on first primitive set
+  long[] primitives;
+  byte[] types;
   int length;
 
   public ParameterList(int defaultSize) {
@@ -21,15 +43,30 @@ public class ParameterList implements Parameters, Cloneable {
     length = 0;
   }
 
+  private boolean isPrimitive(int index) {
+    return types != null && types[index] != OBJECT;
+  }
+
   public Parameter get(int index) {
     if (index >= length)
       throw new ArrayIndexOutOfBoundsException("wrong index " + index + " length:" + length);
+    if (isPrimitive(index)) {
+      switch (types[index]) {
+        case INT:
+          return new NonNullParameter<>(IntCodec.INSTANCE, (int) primitives[index]);
+        case LONG:
+          return new NonNullParameter<>(LongCodec.INSTANCE, primitives[index]);
+        default:
+          return new NonNullParameter<>(
+              DoubleCodec.INSTANCE, Double.longBitsToDouble(primitives[index]));
+      }
+    }
     return elementData[index];
   }
 
   public boolean containsKey(int index) {
     if (index >= 0 && length > index) {
-      return elementData[index] != null;
+      return elementData[index] != null || isPrimitive(index);
     }
     return false;
   }
@@ -37,9 +74,91 @@ public class ParameterList implements Parameters, Cloneable {
   public void set(int index, Parameter element) {
     if (elementData.length <= index) grow(index + 1);
     elementData[index] = element;
+    if (types != null) types[index] = OBJECT;
     if (index >= length) length = index + 1;
   }
 
+  private void setPrimitive(int index, byte type, long value) {
+    if (elementData.length <= index) grow(index + 1);
+    if (types == null) {
+      types = new byte[elementData.length];
+      primitives = new long[elementData.length];
+    }
+    elementData[index] = null;
+    types[index] = type;
+    primitives[index] = value;
+    if (index >= length) length = index + 1;
+  }
+
+  public void setInt(int index, int value) {
+    setPrimitive(index, INT, value);
+  }
+
+  public void setLong(int index, long value) {
+    setPrimitive(index, LONG, value);
+  }
+
+  public void setDouble(int index, double value) {
+    setPrimitive(index, DOUBLE, Double.doubleToRawLongBits(value));
+  }
+
+  public boolean isNull(int index) {
+    return !isPrimitive(index) && elementData[index].isNull();
+  }
+
+  public int getBinaryEncodeType(int index) {
+    if (isPrimitive(index)) {
+      switch (types[index]) {
+        case INT:
+          return DataType.INTEGER.get();
+        case LONG:
+          return DataType.BIGINT.get();
+        default:
+          return DataType.DOUBLE.get();
+      }
+    }
+    return elementData[index].getBinaryEncodeType();
+  }
+
+  public boolean canEncodeLongData(int index) {
+    return !isPrimitive(index) && elementData[index].canEncodeLongData();
+  }
+
+  public void encodeText(int index, Writer encoder, Context context)
+      throws IOException, SQLException {
+    if (isPrimitive(index)) {
+      switch (types[index]) {
+        case INT:
+          encoder.writeAscii(Integer.toString((int) primitives[index]));
+          return;
+        case LONG:
+          encoder.writeAscii(Long.toString(primitives[index]));
+          return;
+        default:
+          encoder.writeAscii(Double.toString(Double.longBitsToDouble(primitives[index])));
+          return;
+      }
+    }
+    elementData[index].encodeText(encoder, context);
+  }
+
+  public void encodeBinary(int index, Writer encoder) throws IOException, SQLException {
+    if (isPrimitive(index)) {
+      switch (types[index]) {
+        case INT:
+          encoder.writeInt((int) primitives[index]);
+          return;
+        case LONG:
+          encoder.writeLong(primitives[index]);
+          return;
+        default:
+          encoder.writeDouble(Double.longBitsToDouble(primitives[index]));
+          return;
+      }
+    }
+    elementData[index].encodeBinary(encoder);
+  }
+
   public int size() {
     return length;
   }
@@ -48,12 +167,22 @@ public class ParameterList implements Parameters, Cloneable {
     int currLength = elementData.length;
     int newLength = Math.max(currLength + (currLength >> 1), minLength);
     elementData = Arrays.copyOf(elementData, newLength);
+    if (types != null) {
+      types = Arrays.copyOf(types, newLength);
+      primitives = Arrays.copyOf(primitives, newLength);
+    }
   }
 
   @Override
   public ParameterList clone() {
     ParameterList param = new ParameterList(length);
-    if (length > 0) System.arraycopy(elementData, 0, param.elementData, 0, length);
+    if (length > 0) {
+      System.arraycopy(elementData, 0, param.elementData, 0, length);
+      if (types != null) {
+        param.types = Arrays.copyOf(types, length);
+        param.primitives = Arrays.copyOf(primitives, length);
+      }
+    }
     param.length = length;
     return param;
   }
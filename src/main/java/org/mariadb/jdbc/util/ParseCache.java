@@ -0,0 +1,192 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded JVM-wide cache of SQL parsing results, keyed by SQL and a parsing mode flag. Cache is
+ * split into segments, each one being a small LRU map with its own lock, so concurrent connections
+ * seldom contend and eviction only costs a linked list removal. Cached values must be immutable.
+ *
+ * @param <V> parsing result type
+ */
+public final class ParseCache<V> {
+
+  /** SQL longer than this are not cached */
+  public static final int MAX_SQL_LENGTH = 16 * 1024;
+
+  private static final int SEGMENTS = 16;
+
+  private final Segment<V>[] segments;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * Constructor
+   *
+   * @param maxSize maximum number of cached results
+   */
+  @SuppressWarnings("unchecked")
+  public ParseCache(int maxSize) {
+    segments = (Segment<V>[]) new Segment<?>[SEGMENTS];
+    int segmentSize = Math.max(1, maxSize / SEGMENTS);
+    for (int i = 0; i < SEGMENTS; i++) segments[i] = new Segment<>(segmentSize);
+  }
+
+  private Segment<V> segment(int hash) {
+    return segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+  }
+
+  /**
+   * Get cached parsing result.
+   *
+   * @param sql sql
+   * @param flag parsing mode
+   * @return cached result, or null if not cached
+   */
+  public V get(String sql, boolean flag) {
+    if (sql.length() > MAX_SQL_LENGTH) return null;
+    Key key = new Key(sql, flag);
+    Segment<V> segment = segment(key.hash);
+    V value;
+    synchronized (segment) {
+      value = segment.get(key);
+    }
+    if (value == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return value;
+  }
+
+  /**
+   * Cache parsing result.
+   *
+   * @param sql sql
+   * @param flag parsing mode
+   * @param value immutable parsing result
+   */
+  public void put(String sql, boolean flag, V value) {
+    if (sql.length() > MAX_SQL_LENGTH) return;
+    Key key = new Key(sql, flag);
+    Segment<V> segment = segment(key.hash);
+    synchronized (segment) {
+      segment.put(key, value);
+    }
+  }
+
+  /**
+   * Remove cached result.
+   *
+   * @param sql sql
+   * @param flag parsing mode
+   */
+  public void remove(String sql, boolean flag) {
+    if (sql.length() > MAX_SQL_LENGTH) return;
+    Key key = new Key(sql, flag);
+    Segment<V> segment = segment(key.hash);
+    synchronized (segment) {
+      segment.remove(key);
+    }
+  }
+
+  /**
+   * Number of lookups that found a cached result
+   *
+   * @return hit count
+   */
+  public long hitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Number of lookups that didn't find a cached result
+   *
+   * @return miss count
+   */
+  public long missCount() {
+    return misses.sum();
+  }
+
+  /**
+   * Ratio of lookups that found a cached result
+   *
+   * @return hit rate, between 0 and 1
+   */
+  public double hitRate() {
+    long hitCount = hits.sum();
+    long total = hitCount + misses.sum();
+    return total == 0 ? 0 : (double) hitCount / total;
+  }
+
+  /**
+   * Current number of cached results
+   *
+   * @return size
+   */
+  public int size() {
+    int size = 0;
+    for (Segment<V> segment : segments) {
+      synchronized (segment) {
+        size += segment.size();
+      }
+    }
+    return size;
+  }
+
+  /** Remove all cached results and reset statistics */
+  public void clear() {
+    for (Segment<V> segment : segments) {
+      synchronized (segment) {
+        segment.clear();
+      }
+    }
+    hits.reset();
+    misses.reset();
+  }
+
+  private static final class Key {
+    private final String sql;
+    private final boolean flag;
+    private final int hash;
+
+    Key(String sql, boolean flag) {
+      this.sql = sql;
+      this.flag = flag;
+      this.hash = flag ? ~sql.hashCode() : sql.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof Key)) return false;
+      Key key = (Key) o;
+      return flag == key.flag && hash == key.hash && sql.equals(key.sql);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  private static final class Segment<V> extends LinkedHashMap<Key, V> {
+    private static final long serialVersionUID = 1L;
+    private final int maxSize;
+
+    Segment(int maxSize) {
+      super(16, .75f, true);
+      this.maxSize = maxSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Key, V> eldest) {
+      return size() > maxSize;
+    }
+  }
+}
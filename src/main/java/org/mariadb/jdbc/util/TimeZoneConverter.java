@@ -0,0 +1,228 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc.util;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Conversion of local date-time fields to epoch milliseconds in a time zone, without Calendar
+ * allocation.
+ *
+ * <p>Result is the one a Calendar of this time zone gives. Fixed offset zones (like UTC) directly
+ * apply their offset. For other zones, offset of a local day is computed once then kept in a small
+ * table indexed by day. Values needing Calendar rules are not converted ({@link #UNSUPPORTED} is
+ * returned): days near an offset transition (gap and overlap resolution), dates before gregorian
+ * cutover, fields out of range (lenient normalization) and non-gregorian default calendars.
+ */
+public final class TimeZoneConverter {
+
+  /** Value returned when conversion must be done using a Calendar */
+  public static final long UNSUPPORTED = Long.MIN_VALUE;
+
+  private static final int CACHE_SIZE = 1024;
+  private static final int TRANSITION = Integer.MIN_VALUE;
+  private static final long SECONDS_PER_DAY = 86_400;
+  private static final long MILLIS_PER_DAY = SECONDS_PER_DAY * 1000;
+  private static volatile TimeZoneConverter defaultConverter;
+
+  private final TimeZone timeZone;
+  private final Locale locale;
+  private final ZoneId zoneId;
+  private final ZoneRules rules;
+  private final boolean gregorian;
+  private final boolean fixed;
+  private final int fixedOffset;
+  private final int epochOffset;
+
+  // local day offsets: epoch day in high 32 bits, offset in low 32 bits
+  private final AtomicLongArray days = new AtomicLongArray(CACHE_SIZE);
+
+  /**
+   * Constructor
+   *
+   * @param timeZone time zone
+   */
+  public TimeZoneConverter(TimeZone timeZone) {
+    this(timeZone, Locale.getDefault(Locale.Category.FORMAT));
+  }
+
+  private TimeZoneConverter(TimeZone timeZone, Locale locale) {
+    this.timeZone = timeZone;
+    this.locale = locale;
+    this.gregorian = Calendar.getInstance(timeZone, locale).getClass() == GregorianCalendar.class;
+    this.epochOffset = timeZone.getOffset(0);
+
+    ZoneId zone = null;
+    ZoneRules zoneRules = null;
+    try {
+      zone = timeZone.toZoneId();
+      // rules can only be used if they are the time zone ones (not for a custom time zone)
+      if (TimeZone.getTimeZone(zone).hasSameRules(timeZone)) zoneRules = zone.getRules();
+    } catch (RuntimeException e) {
+      // custom time zone without ZoneId equivalent
+    }
+    this.zoneId = zone;
+    this.rules = zoneRules;
+    this.fixed = zoneRules != null && zoneRules.isFixedOffset();
+    this.fixedOffset = fixed ? zoneRules.getOffset(Instant.EPOCH).getTotalSeconds() * 1000 : 0;
+    for (int i = 0; i < CACHE_SIZE; i++) days.set(i, Long.MIN_VALUE);
+  }
+
+  /**
+   * Converter for default time zone, the one used by <code>Calendar.getInstance()</code>. Converter
+   * is re-created if default time zone or locale changed.
+   *
+   * @return default time zone converter
+   */
+  public static TimeZoneConverter getDefault() {
+    TimeZone timeZone = TimeZone.getDefault();
+    Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+    TimeZoneConverter converter = defaultConverter;
+    if (converter == null
+        || converter.locale != locale
+        || converter.timeZone.getRawOffset() != timeZone.getRawOffset()
+        || !converter.timeZone.getID().equals(timeZone.getID())) {
+      converter = new TimeZoneConverter(timeZone, locale);
+      defaultConverter = converter;
+    }
+    return converter;
+  }
+
+  /**
+   * Time zone identifier
+   *
+   * @return zone id
+   */
+  public ZoneId zoneId() {
+    return zoneId != null ? zoneId : timeZone.toZoneId();
+  }
+
+  /**
+   * Time zone offset at 1970-01-01 00:00:00 UTC, in milliseconds
+   *
+   * @return offset at epoch
+   */
+  public int epochOffset() {
+    return epochOffset;
+  }
+
+  /**
+   * Epoch milliseconds of local date-time.
+   *
+   * @param year year
+   * @param month month (1-12)
+   * @param day day of month
+   * @param hour hour
+   * @param minute minute
+   * @param second second
+   * @return epoch milliseconds, or {@link #UNSUPPORTED} if Calendar must be used
+   */
+  public long epochMillis(int year, int month, int day, int hour, int minute, int second) {
+    if (!validTime(hour, minute, second)) return UNSUPPORTED;
+    return convert(year, month, day, hour * 3_600_000L + minute * 60_000L + second * 1_000L);
+  }
+
+  /**
+   * Epoch milliseconds of local date-time day start. Time fields are only validated, since out of
+   * range time fields would change day.
+   *
+   * @param year year
+   * @param month month (1-12)
+   * @param day day of month
+   * @param hour hour
+   * @param minute minute
+   * @param second second
+   * @return epoch milliseconds of day start, or {@link #UNSUPPORTED} if Calendar must be used
+   */
+  public long dayEpochMillis(int year, int month, int day, int hour, int minute, int second) {
+    if (!validTime(hour, minute, second)) return UNSUPPORTED;
+    return convert(year, month, day, 0);
+  }
+
+  private static boolean validTime(int hour, int minute, int second) {
+    return hour >= 0 && hour < 24 && minute >= 0 && minute < 60 && second >= 0 && second < 60;
+  }
+
+  private long convert(int year, int month, int day, long timeMillis) {
+    if (!gregorian
+        || year < 1583
+        || year > 9999
+        || month < 1
+        || month > 12
+        || day < 1
+        || (day > 28 && day > lengthOfMonth(year, month))) return UNSUPPORTED;
+
+    long epochDay = epochDay(year, month, day);
+    long local = epochDay * MILLIS_PER_DAY + timeMillis;
+    if (fixed) return local - fixedOffset;
+    if (rules == null) return UNSUPPORTED;
+    int offset = dayOffset(epochDay);
+    return offset == TRANSITION ? UNSUPPORTED : local - offset;
+  }
+
+  private int dayOffset(long epochDay) {
+    int slot = (int) (epochDay & (CACHE_SIZE - 1));
+    long entry = days.get(slot);
+    if ((int) (entry >> 32) == (int) epochDay) return (int) entry;
+    int offset = computeDayOffset(epochDay);
+    days.set(slot, (epochDay << 32) | (offset & 0xffffffffL));
+    return offset;
+  }
+
+  /**
+   * Offset of a local day, if offset is the same during all that day. Since offset is at most 18
+   * hours, checking there is no transition from 2 days before to 3 days after is enough.
+   */
+  private int computeDayOffset(long epochDay) {
+    long start = (epochDay - 2) * SECONDS_PER_DAY;
+    long end = (epochDay + 3) * SECONDS_PER_DAY;
+    ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochSecond(start));
+    if (transition != null && transition.toEpochSecond() <= end) return TRANSITION;
+    int offset = timeZone.getOffset(epochDay * MILLIS_PER_DAY);
+    if (offset != timeZone.getOffset(start * 1000) || offset != timeZone.getOffset(end * 1000)) {
+      return TRANSITION;
+    }
+    return offset;
+  }
+
+  private static boolean isLeapYear(int year) {
+    return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+  }
+
+  private static int lengthOfMonth(int year, int month) {
+    switch (month) {
+      case 2:
+        return isLeapYear(year) ? 29 : 28;
+      case 4:
+      case 6:
+      case 9:
+      case 11:
+        return 30;
+      default:
+        return 31;
+    }
+  }
+
+  /** proleptic gregorian epoch day, as LocalDate.toEpochDay() */
+  private static long epochDay(int year, int month, int day) {
+    long total = 365L * year;
+    total += (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+    total += (367 * month - 362) / 12;
+    total += day - 1;
+    if (month > 2) {
+      total--;
+      if (!isLeapYear(year)) total--;
+    }
+    // days from year 0 to 1970
+    return total - 719528;
+  }
+}
@@ -0,0 +1,220 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+import org.mariadb.jdbc.pool.PoolThreadFactory;
+
+/**
+ * Hashed wheel timer, for client side query timeout.
+ *
+ * <p>Each timeout is a reusable node, linked in the bucket corresponding to its deadline tick, so
+ * arming and disarming don't allocate: that permits to arm a timeout for each query. A single
+ * daemon thread advances the wheel each tick, expired actions being run on another thread so a slow
+ * action doesn't delay other timeouts. Precision is one tick.
+ */
+public final class TimeoutWheel {
+
+  private static volatile TimeoutWheel instance;
+
+  private final long tickNanos;
+  private final Bucket[] buckets;
+  private final int mask;
+  private final ExecutorService executor;
+  private long startNanos;
+  private volatile Thread worker;
+
+  /** last tick whose bucket has been expired, guarded by bucket locks */
+  private volatile long processed = -1;
+
+  /**
+   * Constructor
+   *
+   * @param tickMillis tick duration in milliseconds
+   * @param wheelSize number of buckets, rounded to a power of 2
+   */
+  public TimeoutWheel(long tickMillis, int wheelSize) {
+    this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+    int size = Integer.highestOneBit(Math.max(2, wheelSize) - 1) << 1;
+    this.buckets = new Bucket[size];
+    for (int i = 0; i < size; i++) buckets[i] = new Bucket();
+    this.mask = size - 1;
+    this.executor = Executors.newCachedThreadPool(new PoolThreadFactory("MariaDb-timeout"));
+  }
+
+  /**
+   * Shared query timeout wheel, 100ms tick
+   *
+   * @return shared wheel
+   */
+  public static TimeoutWheel getDefault() {
+    TimeoutWheel wheel = instance;
+    if (wheel == null) {
+      synchronized (TimeoutWheel.class) {
+        wheel = instance;
+        if (wheel == null) {
+          wheel = new TimeoutWheel(100, 512);
+          instance = wheel;
+        }
+      }
+    }
+    return wheel;
+  }
+
+  private synchronized void start() {
+    if (worker == null) {
+      startNanos = System.nanoTime();
+      worker = new PoolThreadFactory("MariaDb-timeout-wheel").newThread(this::run);
+      worker.start();
+    }
+  }
+
+  /**
+   * Arm timeout. If timeout was already armed, previous deadline is replaced.
+   *
+   * @param timeout timeout
+   * @param delayMillis delay in milliseconds
+   */
+  public void arm(Timeout timeout, long delayMillis) {
+    arm(timeout, delayMillis, 0L);
+  }
+
+  /**
+   * Arm timeout with a stamp, given to action when timeout expires. If timeout was already armed,
+   * previous deadline is replaced.
+   *
+   * @param timeout timeout
+   * @param delayMillis delay in milliseconds
+   * @param stamp stamp identifying this arming, like an execution sequence
+   */
+  public void arm(Timeout timeout, long delayMillis, long stamp) {
+    if (worker == null) start();
+    disarm(timeout);
+    long elapsed = System.nanoTime() - startNanos + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+    long deadline = (elapsed + tickNanos - 1) / tickNanos;
+    while (true) {
+      Bucket bucket = buckets[(int) (deadline & mask)];
+      synchronized (bucket) {
+        long next = processed + 1;
+        if (deadline < next) {
+          // deadline already passed: expire on next tick
+          deadline = next;
+          if (buckets[(int) (deadline & mask)] != bucket) continue;
+        }
+        timeout.generation++;
+        timeout.deadline = deadline;
+        timeout.stamp = stamp;
+        bucket.add(timeout);
+        return;
+      }
+    }
+  }
+
+  /**
+   * Disarm timeout. Action won't be run, unless already running.
+   *
+   * @param timeout timeout
+   */
+  public void disarm(Timeout timeout) {
+    Bucket bucket = timeout.bucket;
+    if (bucket != null) {
+      synchronized (bucket) {
+        if (timeout.bucket == bucket) bucket.remove(timeout);
+      }
+    }
+    timeout.generation++;
+  }
+
+  private void run() {
+    long tick = 0;
+    while (true) {
+      long sleep = startNanos + tick * tickNanos - System.nanoTime();
+      while (sleep > 0) {
+        LockSupport.parkNanos(sleep);
+        sleep = startNanos + tick * tickNanos - System.nanoTime();
+      }
+      expire(tick++);
+    }
+  }
+
+  private void expire(long tick) {
+    Bucket bucket = buckets[(int) (tick & mask)];
+    synchronized (bucket) {
+      Timeout timeout = bucket.head;
+      while (timeout != null) {
+        Timeout next = timeout.next;
+        if (timeout.deadline <= tick) {
+          bucket.remove(timeout);
+          Timeout expired = timeout;
+          long generation = timeout.generation;
+          long stamp = timeout.stamp;
+          executor.execute(
+              () -> {
+                // skip if disarmed or re-armed since expiration
+                if (expired.generation == generation) expired.action.accept(stamp);
+              });
+        }
+        timeout = next;
+      }
+      processed = tick;
+    }
+  }
+
+  /** Reusable timeout */
+  public static final class Timeout {
+    private final LongConsumer action;
+    private volatile long generation;
+    private long deadline;
+    private long stamp;
+    private volatile Bucket bucket;
+    private Timeout prev;
+    private Timeout next;
+
+    /**
+     * Constructor
+     *
+     * @param action action to run when timeout expires
+     */
+    public Timeout(Runnable action) {
+      this.action = stamp -> action.run();
+    }
+
+    /**
+     * Constructor
+     *
+     * @param action action to run when timeout expires, receiving the stamp given when armed
+     */
+    public Timeout(LongConsumer action) {
+      this.action = action;
+    }
+  }
+
+  private static final class Bucket {
+    private Timeout head;
+
+    private void add(Timeout timeout) {
+      timeout.bucket = this;
+      timeout.prev = null;
+      timeout.next = head;
+      if (head != null) head.prev = timeout;
+      head = timeout;
+    }
+
+    private void remove(Timeout timeout) {
+      if (timeout.prev != null) {
+        timeout.prev.next = timeout.next;
+      } else {
+        head = timeout.next;
+      }
+      if (timeout.next != null) timeout.next.prev = timeout.prev;
+      timeout.prev = null;
+      timeout.next = null;
+      timeout.bucket = null;
+    }
+  }
+}
@@ -79,6 +79,9 @@ public final class Capabilities {
   /** EOF packet deprecated */
   public static final int CLIENT_DEPRECATE_EOF = 1 << 24;
 
+  /** zstd compression protocol (MySQL 8.0.18+) */
+  public static final int ZSTD_COMPRESSION_ALGORITHM = 1 << 26;
+
   /** Client support progress indicator (before 10.2) */
   public static final int PROGRESS_OLD = 1 << 29;
 
@@ -98,4 +101,7 @@ public final class Capabilities {
 
   /** permit metadata caching */
   public static final long CACHE_METADATA = 1L << 36;
+
+  /** permit returning all bulk individual results */
+  public static final long BULK_UNIT_RESULTS = 1L << 37;
 }
@@ -4,12 +4,38 @@
 package org.mariadb.jdbc.client;
 
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.net.InetSocketAddress;
+import java.net.ProtocolFamily;
 import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.SocketChannel;
 import jdk.net.ExtendedSocketOptions;
 import org.mariadb.jdbc.Configuration;
 
 public class SocketHelper {
+  private static final Method unixAddressOf;
+  private static final Method openChannel;
+
+  static {
+    // UnixDomainSocketAddress and SocketChannel.open(ProtocolFamily) are java 16 API
+    Method addressOf = null;
+    Method open = null;
+    if (Runtime.version().feature() >= 16) {
+      try {
+        addressOf = Class.forName("java.net.UnixDomainSocketAddress").getMethod("of", String.class);
+        open = SocketChannel.class.getMethod("open", ProtocolFamily.class);
+      } catch (ReflectiveOperationException e) {
+        addressOf = null;
+        open = null;
+      }
+    }
+    unixAddressOf = addressOf;
+    openChannel = open;
+  }
+
   public SocketHelper() {}
 
   public static void setSocketOption(final Configuration conf, final Socket socket)
@@ -41,4 +67,37 @@ public class SocketHelper {
       socket.bind(localAddress);
     }
   }
+
+  /**
+   * Create unix domain socket address for socket channel. Requires java 16.
+   *
+   * @param path unix domain socket path
+   * @return unix domain socket address, or null if not supported by this java version
+   */
+  public static SocketAddress unixDomainSocketAddress(String path) {
+    if (unixAddressOf == null) return null;
+    try {
+      return (SocketAddress) unixAddressOf.invoke(null, path);
+    } catch (IllegalAccessException | InvocationTargetException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Open a unix domain socket channel. Requires java 16.
+   *
+   * @return unix domain socket channel
+   * @throws IOException if channel cannot be opened or is not supported by this java version
+   */
+  public static SocketChannel openUnixDomainChannel() throws IOException {
+    if (openChannel == null) throw new IOException("Unix domain socket channels require java 16");
+    try {
+      return (SocketChannel) openChannel.invoke(null, StandardProtocolFamily.valueOf("UNIX"));
+    } catch (InvocationTargetException e) {
+      if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+      throw new IOException(e.getCause());
+    } catch (IllegalAccessException e) {
+      throw new IOException(e);
+    }
+  }
 }
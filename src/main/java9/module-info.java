@@ -13,6 +13,7 @@ module org.mariadb.jdbc {
   requires static com.sun.jna;
   requires static com.sun.jna.platform;
   requires static org.slf4j;
+  requires static com.github.luben.zstd_jni;
 
   exports org.mariadb.jdbc;
   exports org.mariadb.jdbc.client;
@@ -30,12 +31,15 @@ module org.mariadb.jdbc {
   exports org.mariadb.jdbc.plugin.credential.env;
   exports org.mariadb.jdbc.plugin.credential.system;
   exports org.mariadb.jdbc.plugin.tls.main;
+  exports org.mariadb.jdbc.plugin.compression.zlib;
+  exports org.mariadb.jdbc.plugin.compression.zstd;
 
   uses java.sql.Driver;
   uses org.mariadb.jdbc.plugin.CredentialPlugin;
   uses org.mariadb.jdbc.plugin.Codec;
   uses org.mariadb.jdbc.plugin.AuthenticationPlugin;
   uses org.mariadb.jdbc.plugin.TlsSocketPlugin;
+  uses org.mariadb.jdbc.plugin.CompressionPlugin;
 
   provides java.sql.Driver with
       org.mariadb.jdbc.Driver;
@@ -84,4 +88,7 @@ module org.mariadb.jdbc {
       org.mariadb.jdbc.plugin.credential.system.PropertiesCredentialPlugin;
   provides org.mariadb.jdbc.plugin.TlsSocketPlugin with
       org.mariadb.jdbc.plugin.tls.main.DefaultTlsSocketPlugin;
+  provides org.mariadb.jdbc.plugin.CompressionPlugin with
+      org.mariadb.jdbc.plugin.compression.zlib.ZlibCompressionPlugin,
+      org.mariadb.jdbc.plugin.compression.zstd.ZstdCompressionPlugin;
 }
@@ -525,6 +525,181 @@ public class BatchTest extends Common {
     con.commit();
   }
 
+  @Test
+  public void bulkGeneratedKeys() throws SQLException {
+    for (String opt :
+        new String[] {
+          "&useServerPrepStmts&useBulkStmts&returnMultiValuesGeneratedIds",
+          "&useServerPrepStmts=false&useBulkStmts&returnMultiValuesGeneratedIds",
+          "&useServerPrepStmts&useBulkStmts",
+          "&useServerPrepStmts=false&useBulkStmts"
+        }) {
+      try (Connection con = createCon(opt)) {
+        bulkGeneratedKeys(con);
+      }
+    }
+  }
+
+  private void bulkGeneratedKeys(Connection con) throws SQLException {
+    Statement stmt = con.createStatement();
+    stmt.execute("TRUNCATE BatchTest");
+    stmt.execute("START TRANSACTION"); // if MAXSCALE ensure using WRITER
+    try (PreparedStatement prep =
+        con.prepareStatement(
+            "INSERT INTO BatchTest(t2) VALUES (?)", java.sql.Statement.RETURN_GENERATED_KEYS)) {
+      for (int i = 0; i < 5; i++) {
+        prep.setString(1, "a" + i);
+        prep.addBatch();
+      }
+      assertArrayEquals(new int[] {1, 1, 1, 1, 1}, prep.executeBatch());
+      ResultSet rs = prep.getGeneratedKeys();
+      ResultSet rs2 = stmt.executeQuery("SELECT t1 FROM BatchTest ORDER BY t1");
+      for (int i = 0; i < 5; i++) {
+        assertTrue(rs.next());
+        assertTrue(rs2.next());
+        assertEquals(rs2.getLong(1), rs.getLong(1));
+      }
+      assertFalse(rs.next());
+    }
+    con.commit();
+  }
+
+  @Test
+  public void rewriteBatch() throws SQLException {
+    try (Connection con =
+        createCon("&useBulkStmts=false&useBulkStmtsForInserts=false&rewriteBatchedStatements")) {
+      Statement stmt = con.createStatement();
+      stmt.execute("TRUNCATE BatchTest");
+      stmt.execute("START TRANSACTION"); // if MAXSCALE ensure using WRITER
+      try (PreparedStatement prep =
+          con.prepareStatement("INSERT INTO BatchTest(t1, t2) VALUES (?, CONCAT(?, '?'))")) {
+        prep.setInt(1, 1);
+        prep.setString(2, "a'b");
+        prep.addBatch();
+        prep.setInt(1, 2);
+        prep.setNull(2, Types.VARCHAR);
+        prep.addBatch();
+        prep.setInt(1, 3);
+        prep.setString(2, "c");
+        prep.addBatch();
+        assertArrayEquals(new int[] {1, 1, 1}, prep.executeBatch());
+
+        prep.setInt(1, 4);
+        prep.setString(2, "d");
+        prep.addBatch();
+        prep.setInt(1, 5);
+        prep.setString(2, "e");
+        prep.addBatch();
+        assertArrayEquals(new long[] {1, 1}, prep.executeLargeBatch());
+      }
+      ResultSet rs = stmt.executeQuery("SELECT * FROM BatchTest");
+      String[] expected = {"a'b?", null, "c?", "d?", "e?"};
+      for (int i = 0; i < expected.length; i++) {
+        assertTrue(rs.next());
+        assertEquals(i + 1, rs.getInt(1));
+        assertEquals(expected[i], rs.getString(2));
+      }
+      assertFalse(rs.next());
+
+      // per-row counts can't be derived when affected rows differ from batch size
+      try (PreparedStatement prep =
+          con.prepareStatement("INSERT IGNORE INTO BatchTest(t1, t2) VALUES (?, ?)")) {
+        for (int i = 5; i <= 7; i++) {
+          prep.setInt(1, i);
+          prep.setString(2, "f");
+          prep.addBatch();
+        }
+        assertArrayEquals(
+            new int[] {
+              Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO
+            },
+            prep.executeBatch());
+      }
+      rs = stmt.executeQuery("SELECT count(*) FROM BatchTest");
+      assertTrue(rs.next());
+      assertEquals(7, rs.getInt(1));
+      con.commit();
+    }
+  }
+
+  @Test
+  public void rewriteBatchGeneratedKeys() throws SQLException {
+    try (Connection con =
+        createCon(
+            "&useBulkStmts=false&useBulkStmtsForInserts=false&rewriteBatchedStatements"
+                + "&returnMultiValuesGeneratedIds")) {
+      Statement stmt = con.createStatement();
+      stmt.execute("TRUNCATE BatchTest");
+      stmt.execute("START TRANSACTION"); // if MAXSCALE ensure using WRITER
+      try (PreparedStatement prep =
+          con.prepareStatement(
+              "INSERT INTO BatchTest(t2) VALUES (?)", java.sql.Statement.RETURN_GENERATED_KEYS)) {
+        for (int i = 0; i < 3; i++) {
+          prep.setString(1, "a" + i);
+          prep.addBatch();
+        }
+        assertArrayEquals(new int[] {1, 1, 1}, prep.executeBatch());
+        ResultSet rs = prep.getGeneratedKeys();
+        ResultSet rs2 = stmt.executeQuery("SELECT t1 FROM BatchTest ORDER BY t1");
+        for (int i = 0; i < 3; i++) {
+          assertTrue(rs.next());
+          assertTrue(rs2.next());
+          assertEquals(rs2.getInt(1), rs.getInt(1));
+        }
+        assertFalse(rs.next());
+      }
+      con.commit();
+    }
+  }
+
+  @Test
+  public void rewriteBatchPacketSplit() throws SQLException {
+    char[] arr = new char[3000];
+    for (int pos = 0; pos < arr.length; pos++) {
+      arr[pos] = (char) ((pos % 60) + 65);
+    }
+    String val = new String(arr);
+    try (Connection con =
+        createCon(
+            "&useBulkStmts=false&useBulkStmtsForInserts=false&rewriteBatchedStatements"
+                + "&maxAllowedPacket=20000")) {
+      Statement stmt = con.createStatement();
+      stmt.execute("TRUNCATE BatchTest");
+      stmt.execute("START TRANSACTION"); // if MAXSCALE ensure using WRITER
+      try (PreparedStatement prep =
+          con.prepareStatement("INSERT INTO BatchTest(t1, t2) VALUES (?,?)")) {
+        for (int i = 1; i <= 50; i++) {
+          prep.setInt(1, i);
+          prep.setString(2, val);
+          prep.addBatch();
+        }
+        int[] res = prep.executeBatch();
+        assertEquals(50, res.length);
+        for (int i = 0; i < 50; i++) assertEquals(1, res[i]);
+      }
+      ResultSet rs = stmt.executeQuery("SELECT * FROM BatchTest");
+      for (int i = 1; i <= 50; i++) {
+        assertTrue(rs.next());
+        assertEquals(i, rs.getInt(1));
+        assertEquals(val, rs.getString(2));
+      }
+      assertFalse(rs.next());
+
+      // error in a later command
+      stmt.execute("TRUNCATE BatchTest");
+      try (PreparedStatement prep =
+          con.prepareStatement("INSERT INTO BatchTest(t1, t2) VALUES (?,?)")) {
+        for (int i = 1; i <= 50; i++) {
+          prep.setInt(1, i == 50 ? 1 : i);
+          prep.setString(2, val);
+          prep.addBatch();
+        }
+        assertThrows(BatchUpdateException.class, prep::executeBatch);
+      }
+      con.rollback();
+    }
+  }
+
   @Test
   public void bulkPacketSplitMaxAllowedPacket() throws SQLException {
     Assumptions.assumeTrue(runLongTest());
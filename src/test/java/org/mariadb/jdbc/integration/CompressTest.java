@@ -9,6 +9,7 @@ import java.sql.*;
 import org.junit.jupiter.api.*;
 import org.mariadb.jdbc.Connection;
 import org.mariadb.jdbc.Statement;
+import org.mariadb.jdbc.util.constants.Capabilities;
 
 public class CompressTest extends Common {
   private static Connection shareCompressCon;
@@ -85,4 +86,28 @@ public class CompressTest extends Common {
     rs.close();
     stmt.execute("COMMIT");
   }
+
+  @Test
+  public void compressionAlgorithms() throws SQLException {
+    // MariaDB servers only support zlib, so zstd is only negotiated with MySQL 8.0.18+ servers
+    try (Connection con =
+        createCon("useCompression&compressionAlgorithms=zstd,zlib&compressionLevel=9")) {
+      boolean zstd = con.getContext().hasServerCapability(Capabilities.ZSTD_COMPRESSION_ALGORITHM);
+      assertEquals(
+          zstd, con.getContext().hasClientCapability(Capabilities.ZSTD_COMPRESSION_ALGORITHM));
+      if (zstd) assertFalse(con.getContext().hasClientCapability(Capabilities.COMPRESS));
+      bigSend(con, 1024 * 1024);
+    }
+
+    try (Connection con =
+        createCon("useCompression&compressionAlgorithms=zlib&compressionLevel=1")) {
+      assertFalse(con.getContext().hasClientCapability(Capabilities.ZSTD_COMPRESSION_ALGORITHM));
+      bigSend(con, 128 * 1024);
+    }
+
+    Common.assertThrowsContains(
+        SQLException.class,
+        () -> createCon("useCompression&compressionAlgorithms=unknown"),
+        "Client has not found any compression plugin with name 'unknown'");
+  }
 }
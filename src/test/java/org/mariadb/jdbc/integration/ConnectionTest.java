@@ -8,6 +8,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.sql.*;
 import java.sql.Connection;
 import java.sql.Statement;
+import java.util.Arrays;
 import java.util.Locale;
 import java.util.Properties;
 import java.util.Timer;
@@ -17,6 +18,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import org.junit.jupiter.api.*;
 import org.mariadb.jdbc.*;
+import org.mariadb.jdbc.client.socket.impl.ChannelSocket;
 import org.mariadb.jdbc.integration.util.SocketFactoryBasicTest;
 import org.mariadb.jdbc.integration.util.SocketFactoryTest;
 
@@ -998,6 +1000,92 @@ public class ConnectionTest extends Common {
     }
   }
 
+  @Test
+  public void socketChannel() throws Exception {
+    Assumptions.assumeTrue(
+        !"maxscale".equals(System.getenv("srv"))
+            && !"skysql".equals(System.getenv("srv"))
+            && !"skysql-ha".equals(System.getenv("srv"))
+            && !isXpand());
+
+    // transport receive server greeting
+    try (ChannelSocket socket = ChannelSocket.open(null)) {
+      socket.setTcpNoDelay(true);
+      socket.setSoTimeout(1000);
+      socket.connect(new java.net.InetSocketAddress(hostname, port), 1000);
+      assertTrue(socket.isConnected());
+      assertEquals(port, socket.getPort());
+      java.io.InputStream is = socket.getInputStream();
+      byte[] header = new byte[4];
+      int read = 0;
+      while (read < 4) read += is.read(header, read, 4 - read);
+      assertTrue((header[0] & 0xff) > 0);
+      // protocol version
+      assertEquals(10, is.read());
+    }
+
+    try (Connection con =
+        createCon("useSocketChannel&socketTimeout=500&tcpKeepAlive=true&tcpAbortiveClose=true")) {
+      Statement stmt = con.createStatement();
+      ResultSet rs = stmt.executeQuery("SELECT 1");
+      assertTrue(rs.next());
+      assertEquals(1, rs.getInt(1));
+
+      // commands bigger than channel buffer and than write chunk size
+      for (int len : new int[] {100, 20_000, 300_000}) {
+        char[] chars = new char[len];
+        Arrays.fill(chars, 'a');
+        String value = new String(chars);
+        try (PreparedStatement prep = con.prepareStatement("SELECT ?, 'b'")) {
+          prep.setString(1, value);
+          rs = prep.executeQuery();
+          assertTrue(rs.next());
+          assertEquals(value, rs.getString(1));
+          assertEquals("b", rs.getString(2));
+        }
+        rs = stmt.executeQuery("SELECT '" + value + "'");
+        assertTrue(rs.next());
+        assertEquals(value, rs.getString(1));
+      }
+
+      rs = stmt.executeQuery("SELECT * FROM seq_1_to_10000");
+      for (int i = 1; i <= 10000; i++) {
+        assertTrue(rs.next());
+        assertEquals(i, rs.getInt(1));
+      }
+      assertFalse(rs.next());
+
+      assertTrue(con.isValid(1));
+      Common.assertThrowsContains(SQLException.class, () -> stmt.execute("SELECT SLEEP(1)"), "");
+    }
+
+    Common.assertThrowsContains(
+        SQLException.class,
+        () -> createCon("useSocketChannel&connectTimeout=500", 4), // wrong port
+        "Socket fail to connect to host");
+  }
+
+  @Test
+  public void socketChannelLocalSocket() throws Exception {
+    Assumptions.assumeTrue(
+        System.getenv("local") != null
+            && "1".equals(System.getenv("local"))
+            && !System.getProperty("os.name").toLowerCase(Locale.ROOT).contains("win"));
+    Statement stmt = sharedConn.createStatement();
+    ResultSet rs = stmt.executeQuery("select @@socket");
+    if (!rs.next() || rs.getString(1) == null) {
+      return;
+    }
+    String path = rs.getString(1);
+    try (Connection con =
+        createCon("useSocketChannel&socketTimeout=500&tcpKeepAlive&localSocket=" + path)) {
+      rs = con.createStatement().executeQuery("select 1");
+      assertTrue(rs.next());
+      assertNull(((org.mariadb.jdbc.Connection) con).getClient().getSocketIp());
+      assertTrue(con.isValid(1));
+    }
+  }
+
   @Test
   public void sslNotSet() throws SQLException {
     Assumptions.assumeTrue(
@@ -8,13 +8,18 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.lang.management.ManagementFactory;
 import java.sql.*;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.management.MBeanInfo;
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
 import javax.sql.ConnectionPoolDataSource;
 import javax.sql.PooledConnection;
 import javax.sql.XAConnection;
@@ -23,6 +28,7 @@ import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.mariadb.jdbc.MariaDbPoolDataSource;
+import org.mariadb.jdbc.export.HistogramSnapshot;
 import org.mariadb.jdbc.pool.PoolThreadFactory;
 import org.mariadb.jdbc.pool.Pools;
 
@@ -218,6 +224,42 @@ public class PoolDataSourceTest extends Common {
     }
   }
 
+  @Test
+  public void prepareCacheWarmUp() throws SQLException {
+    Assumptions.assumeTrue(
+        !"maxscale".equals(System.getenv("srv")) && !"skysql-ha".equals(System.getenv("srv")));
+    String sql = "SELECT ? FROM DUAL";
+    try (MariaDbPoolDataSource pool =
+        new MariaDbPoolDataSource(
+            mDefUrl
+                + "&minPoolSize=1&maxPoolSize=2&useServerPrepStmts&cachePrepStmts"
+                + "&poolPrepStmtWarmUp=10")) {
+      try (org.mariadb.jdbc.Connection connection =
+          (org.mariadb.jdbc.Connection) pool.getConnection()) {
+        for (int i = 0; i < 3; i++) {
+          try (PreparedStatement prep = connection.prepareStatement(sql)) {
+            prep.setInt(1, i);
+            ResultSet rs = prep.executeQuery();
+            assertTrue(rs.next());
+          }
+        }
+        assertTrue(connection.getContext().getPrepareCache().uses().containsKey(sql));
+
+        // first connection is in use, so a new connection is created, with prepared command
+        try (org.mariadb.jdbc.Connection connection2 =
+            (org.mariadb.jdbc.Connection) pool.getConnection()) {
+          assertTrue(connection2.getContext().getPrepareCache().uses().containsKey(sql));
+          try (PreparedStatement prep = connection2.prepareStatement(sql)) {
+            prep.setInt(1, 5);
+            ResultSet rs = prep.executeQuery();
+            assertTrue(rs.next());
+            assertEquals(5, rs.getInt(1));
+          }
+        }
+      }
+    }
+  }
+
   @Test
   public void testResetDatabase() throws SQLException {
     try (MariaDbPoolDataSource pool = new MariaDbPoolDataSource(mDefUrl + "&maxPoolSize=1")) {
@@ -429,7 +471,7 @@ public class PoolDataSourceTest extends Common {
         ObjectName name = objectNames.iterator().next();
 
         MBeanInfo info = server.getMBeanInfo(name);
-        assertEquals(4, info.getAttributes().length);
+        assertEquals(10, info.getAttributes().length);
 
         checkJmxInfo(server, name, 1, 1, 0);
 
@@ -455,7 +497,7 @@ public class PoolDataSourceTest extends Common {
         ObjectName name = objectNames.iterator().next();
 
         MBeanInfo info = server.getMBeanInfo(name);
-        assertEquals(4, info.getAttributes().length);
+        assertEquals(10, info.getAttributes().length);
 
         // wait to ensure pool has time to create 5 connections
         try {
@@ -516,7 +558,7 @@ public class PoolDataSourceTest extends Common {
         ObjectName name = objectNames.iterator().next();
 
         MBeanInfo info = server.getMBeanInfo(name);
-        assertEquals(4, info.getAttributes().length);
+        assertEquals(10, info.getAttributes().length);
 
         // to ensure pool has time to create minimal connection number
         Thread.sleep(200);
@@ -618,6 +660,143 @@ public class PoolDataSourceTest extends Common {
     Pools.close("PoolTest");
   }
 
+  @Test
+  public void threadAffinity() throws Throwable {
+    try (MariaDbPoolDataSource pool =
+        new MariaDbPoolDataSource(mDefUrl + "&maxPoolSize=4&minPoolSize=4")) {
+      long threadId;
+      try (org.mariadb.jdbc.Connection connection =
+          (org.mariadb.jdbc.Connection) pool.getConnection()) {
+        threadId = connection.getThreadId();
+      }
+
+      // thread last used connection must be borrowed first
+      for (int i = 0; i < 10; i++) {
+        try (org.mariadb.jdbc.Connection connection =
+            (org.mariadb.jdbc.Connection) pool.getConnection()) {
+          assertEquals(threadId, connection.getThreadId());
+        }
+      }
+
+      // while borrowed, other threads get another connection
+      try (org.mariadb.jdbc.Connection connection =
+          (org.mariadb.jdbc.Connection) pool.getConnection()) {
+        AtomicLong otherThreadId = new AtomicLong();
+        Thread thread =
+            new Thread(
+                () -> {
+                  try (org.mariadb.jdbc.Connection otherConnection =
+                      (org.mariadb.jdbc.Connection) pool.getConnection()) {
+                    otherThreadId.set(otherConnection.getThreadId());
+                  } catch (SQLException e) {
+                    e.printStackTrace();
+                  }
+                });
+        thread.start();
+        thread.join();
+        assertNotEquals(0, otherThreadId.get());
+        assertNotEquals(connection.getThreadId(), otherThreadId.get());
+        assertEquals(3, pool.testGetConnectionIdleThreadIds().size());
+      }
+      assertEquals(4, pool.testGetConnectionIdleThreadIds().size());
+    }
+  }
+
+  @Test
+  public void parallelWarmUpAndGrowth() throws Throwable {
+    try (MariaDbPoolDataSource pool =
+        new MariaDbPoolDataSource(mDefUrl + "&maxPoolSize=10&minPoolSize=6&poolMaxConnecting=3")) {
+      // minimal connections are created before pool is available
+      assertEquals(6, pool.testGetConnectionIdleThreadIds().size());
+
+      // spike: 10 threads hold connection at the same time
+      ThreadPoolExecutor exec =
+          new ThreadPoolExecutor(10, 10, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+      CountDownLatch borrowed = new CountDownLatch(10);
+      CountDownLatch release = new CountDownLatch(1);
+      AtomicInteger errors = new AtomicInteger();
+      for (int i = 0; i < 10; i++) {
+        exec.execute(
+            () -> {
+              try (Connection connection = pool.getConnection()) {
+                borrowed.countDown();
+                release.await();
+                connection.isValid(1);
+              } catch (Exception e) {
+                errors.incrementAndGet();
+              }
+            });
+      }
+      assertTrue(borrowed.await(10, TimeUnit.SECONDS));
+      release.countDown();
+      exec.shutdown();
+      assertTrue(exec.awaitTermination(10, TimeUnit.SECONDS));
+      assertEquals(0, errors.get());
+      assertEquals(10, pool.testGetConnectionIdleThreadIds().size());
+    }
+  }
+
+  @Test
+  public void histograms() throws Throwable {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName filter = new ObjectName("org.mariadb.jdbc.pool:type=testHistograms-*");
+    try (MariaDbPoolDataSource pool =
+        new MariaDbPoolDataSource(
+            mDefUrl + "&maxPoolSize=2&minPoolSize=2&poolName=testHistograms")) {
+      for (int i = 0; i < 10; i++) {
+        try (Connection connection = pool.getConnection()) {
+          connection.createStatement().execute("SELECT 1");
+        }
+      }
+      Map<String, HistogramSnapshot> histograms = pool.getPoolHistograms();
+      assertEquals(10, histograms.get("BorrowWaitTime").getCount());
+      assertEquals(10, histograms.get("HoldTime").getCount());
+      assertEquals(10, histograms.get("ResetTime").getCount());
+      assertEquals(2, histograms.get("ConnectionCreationTime").getCount());
+      assertTrue(histograms.get("ConnectionCreationTime").getMax() > 0);
+
+      ObjectName name = server.queryNames(filter, null).iterator().next();
+      CompositeData holdTime = (CompositeData) server.getAttribute(name, "HoldTime");
+      assertEquals(10L, holdTime.get("count"));
+      assertTrue((Long) holdTime.get("maxMicros") >= (Long) holdTime.get("p50Micros"));
+    }
+  }
+
+  @Test
+  public void validationPingAvoided() throws Throwable {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName filter = new ObjectName("org.mariadb.jdbc.pool:type=testPingAvoided-*");
+    try (MariaDbPoolDataSource pool =
+        new MariaDbPoolDataSource(
+            mDefUrl + "&maxPoolSize=1&poolValidMinDelay=100&poolName=testPingAvoided")) {
+      long threadId;
+      try (org.mariadb.jdbc.Connection connection =
+          (org.mariadb.jdbc.Connection) pool.getConnection()) {
+        threadId = connection.getThreadId();
+        Thread.sleep(200);
+        connection.createStatement().execute("SELECT 1");
+      }
+      ObjectName name = server.queryNames(filter, null).iterator().next();
+      assertEquals(0L, server.getAttribute(name, "ValidationPingsAvoided"));
+
+      // borrowed more than poolValidMinDelay ago, but server has answered recently
+      try (org.mariadb.jdbc.Connection connection =
+          (org.mariadb.jdbc.Connection) pool.getConnection()) {
+        assertEquals(threadId, connection.getThreadId());
+      }
+      assertEquals(1L, server.getAttribute(name, "ValidationPingsAvoided"));
+
+      // no recent activity: validation requires a ping
+      Thread.sleep(200);
+      try (org.mariadb.jdbc.Connection connection =
+          (org.mariadb.jdbc.Connection) pool.getConnection()) {
+        assertEquals(threadId, connection.getThreadId());
+        connection.createStatement().execute("SELECT 1");
+      }
+      assertEquals(1L, server.getAttribute(name, "ValidationPingsAvoided"));
+    }
+  }
+
   @Test
   public void ensureClosed() throws Throwable {
     Thread.sleep(500); // ensure that previous close are effective
@@ -30,6 +30,9 @@ public class PreparedStatementParametersTest extends Common {
     drop();
     Statement stmt = sharedConn.createStatement();
     stmt.execute("CREATE TABLE bigTest (t1 int not null primary key auto_increment, t2 LONGTEXT)");
+    stmt.execute(
+        "CREATE TABLE streamParam (t1 int not null primary key, t2 LONGTEXT) CHARACTER SET"
+            + " utf8mb4");
     stmt.execute("CREATE TABLE prepareParam (t1 BLOB(20))");
     stmt.execute("CREATE TABLE prepareParam2 (t1 BIGINT)");
     stmt.execute("CREATE TABLE prepareParam3 (t1 DOUBLE)");
@@ -46,6 +49,7 @@ public class PreparedStatementParametersTest extends Common {
   public static void drop() throws SQLException {
     Statement stmt = sharedConn.createStatement();
     stmt.execute("DROP TABLE IF EXISTS bigTest");
+    stmt.execute("DROP TABLE IF EXISTS streamParam");
     stmt.execute("DROP TABLE IF EXISTS prepareParam");
     stmt.execute("DROP TABLE IF EXISTS prepareParam2");
     stmt.execute("DROP TABLE IF EXISTS prepareParam3");
@@ -465,6 +469,48 @@ public class PreparedStatementParametersTest extends Common {
     con.commit();
   }
 
+  @Test
+  public void bigSendStream() throws Exception {
+    // value far bigger than max_allowed_packet: sent in multiple COM_STMT_SEND_LONG_DATA
+    StringBuilder sb = new StringBuilder();
+    for (int pos = 0; sb.length() < 1024 * 1024; pos++) {
+      sb.append((char) ('A' + (pos % 60)));
+      // surrogate pair, possibly split between two reads
+      if (pos % 1000 == 0) sb.append("\uD83D\uDE0E'\\");
+    }
+    String st = sb.toString();
+    try (Connection con = createCon("useServerPrepStmts=true&maxAllowedPacket=65536")) {
+      bigSendStream(con, st);
+    }
+    bigSendStream(sharedConn, st);
+  }
+
+  private void bigSendStream(Connection con, String st) throws Exception {
+    Statement stmt = con.createStatement();
+    stmt.execute("TRUNCATE streamParam");
+    stmt.execute("START TRANSACTION"); // if MAXSCALE ensure using WRITER
+    try (PreparedStatement prep = con.prepareStatement("INSERT INTO streamParam VALUES (?, ?)")) {
+      prep.setInt(1, 1);
+      prep.setCharacterStream(2, new StringReader(st));
+      prep.execute();
+      prep.setInt(1, 2);
+      prep.setBinaryStream(2, new ByteArrayInputStream(st.getBytes(StandardCharsets.UTF_8)));
+      prep.execute();
+      prep.setInt(1, 3);
+      prep.setCharacterStream(2, new StringReader(st), 100_000);
+      prep.execute();
+    }
+
+    ResultSet rs = stmt.executeQuery("SELECT t2 from streamParam ORDER BY t1");
+    assertTrue(rs.next());
+    assertEquals(st, rs.getString(1));
+    assertTrue(rs.next());
+    assertEquals(st, rs.getString(1));
+    assertTrue(rs.next());
+    assertEquals(st.substring(0, 100_000), rs.getString(1));
+    con.commit();
+  }
+
   @Test
   public void bigSendError() throws SQLException {
     int maxAllowedPacket = getMaxAllowedPacket();
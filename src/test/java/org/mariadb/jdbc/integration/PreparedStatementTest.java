@@ -14,6 +14,7 @@ import java.util.Random;
 import org.junit.jupiter.api.*;
 import org.mariadb.jdbc.Connection;
 import org.mariadb.jdbc.MariaDbBlob;
+import org.mariadb.jdbc.ServerPreparedStatement;
 import org.mariadb.jdbc.Statement;
 
 public class PreparedStatementTest extends Common {
@@ -50,6 +51,62 @@ public class PreparedStatementTest extends Common {
         .toString();
   }
 
+  @Test
+  public void adaptivePrepare() throws SQLException {
+    try (Connection con = createCon("useServerPrepStmts=false&prepareThreshold=2")) {
+      for (int i = 0; i < 4; i++) {
+        try (PreparedStatement stmt = con.prepareStatement("SELECT ?")) {
+          // command is server prepared once executed twice
+          assertEquals(i >= 2, stmt instanceof ServerPreparedStatement);
+          stmt.setInt(1, i);
+          ResultSet rs = stmt.executeQuery();
+          assertTrue(rs.next());
+          assertEquals(i, rs.getInt(1));
+        }
+      }
+      try (PreparedStatement stmt = con.prepareStatement("SELECT ? + 1")) {
+        assertFalse(stmt instanceof ServerPreparedStatement);
+      }
+      try (PreparedStatement stmt = con.prepareStatement("/*client prepare*/SELECT ?")) {
+        for (int i = 0; i < 3; i++) {
+          stmt.setInt(1, i);
+          stmt.execute();
+        }
+      }
+      try (PreparedStatement stmt = con.prepareStatement("/*client prepare*/SELECT ?")) {
+        assertFalse(stmt instanceof ServerPreparedStatement);
+      }
+    }
+  }
+
+  @Test
+  public void adaptivePrepareOnce() throws SQLException {
+    Assumptions.assumeTrue(
+        !isXpand()
+            && !"maxscale".equals(System.getenv("srv"))
+            && !"skysql-ha".equals(System.getenv("srv")));
+    try (Connection con = createCon("useServerPrepStmts=false&prepareThreshold=2")) {
+      long initialPrepare = stmtPrepareCount(con);
+      for (int i = 0; i < 10; i++) {
+        try (PreparedStatement stmt = con.prepareStatement("SELECT ?")) {
+          stmt.setInt(1, i);
+          ResultSet rs = stmt.executeQuery();
+          assertTrue(rs.next());
+          assertEquals(i, rs.getInt(1));
+        }
+      }
+      // hot command is prepared once, then retrieved from prepare cache
+      assertEquals(1, stmtPrepareCount(con) - initialPrepare);
+    }
+  }
+
+  private static long stmtPrepareCount(Connection con) throws SQLException {
+    java.sql.Statement stmt = con.createStatement();
+    ResultSet rs = stmt.executeQuery("SHOW SESSION STATUS LIKE 'Com_stmt_prepare'");
+    assertTrue(rs.next());
+    return rs.getLong(2);
+  }
+
   @Test
   public void prep() throws SQLException {
     try (PreparedStatement stmt = sharedConn.prepareStatement("SELECT ?")) {
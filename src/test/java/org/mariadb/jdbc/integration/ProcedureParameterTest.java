@@ -12,6 +12,7 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.BaseCallableStatement;
 import org.mariadb.jdbc.Statement;
 
 public class ProcedureParameterTest extends Common {
@@ -31,6 +32,8 @@ public class ProcedureParameterTest extends Common {
     Statement stmt = sharedConn.createStatement();
     stmt.execute("DROP PROCEDURE IF EXISTS useParameterName");
     stmt.execute("DROP PROCEDURE IF EXISTS withStrangeParameter");
+    stmt.execute("DROP PROCEDURE IF EXISTS cachedParameterProc");
+    stmt.execute("DROP PROCEDURE IF EXISTS longTextParameter");
   }
 
   @Test
@@ -49,6 +52,64 @@ public class ProcedureParameterTest extends Common {
     assertEquals(res, 1);
   }
 
+  @Test
+  public void parameterMetaDataCache() throws Exception {
+    Assumptions.assumeTrue(
+        !sharedConn.getMetaData().getDatabaseProductVersion().contains("maxScale-6.2.0"));
+    Assumptions.assumeFalse(isXpand());
+    Statement stmt = sharedConn.createStatement();
+    stmt.execute("CREATE PROCEDURE cachedParameterProc(a int) begin select a; end");
+
+    try (Connection con = createCon("callableStmtCacheTtl=60")) {
+      long hits = BaseCallableStatement.parameterMetaDataCache().hitCount();
+      for (int i = 0; i < 3; i++) {
+        try (CallableStatement callableStatement =
+            con.prepareCall("{call cachedParameterProc(?)}")) {
+          callableStatement.setInt("a", i);
+          ResultSet rs = callableStatement.executeQuery();
+          assertTrue(rs.next());
+          assertEquals(i, rs.getInt(1));
+        }
+      }
+      assertTrue(BaseCallableStatement.parameterMetaDataCache().hitCount() >= hits + 2);
+
+      // procedure change: cached parameter name isn't found anymore, metadata are reloaded
+      stmt.execute("DROP PROCEDURE cachedParameterProc");
+      stmt.execute("CREATE PROCEDURE cachedParameterProc(b int) begin select b * 2; end");
+      try (CallableStatement callableStatement = con.prepareCall("{call cachedParameterProc(?)}")) {
+        callableStatement.setInt("b", 5);
+        ResultSet rs = callableStatement.executeQuery();
+        assertTrue(rs.next());
+        assertEquals(10, rs.getInt(1));
+      }
+    }
+  }
+
+  @Test
+  public void longTextParameter() throws Exception {
+    Assumptions.assumeTrue(
+        !sharedConn.getMetaData().getDatabaseProductVersion().contains("maxScale-6.2.0"));
+    Assumptions.assumeFalse(isXpand());
+    Statement stmt = sharedConn.createStatement();
+    stmt.execute(
+        "CREATE PROCEDURE longTextParameter(IN a LONGTEXT, IN b INT) begin select CONCAT(a, b);"
+            + " end");
+
+    // CHARACTER_MAXIMUM_LENGTH of LONGTEXT parameter exceeds integer range
+    try (CallableStatement call = sharedConn.prepareCall("{call longTextParameter(?, ?)}")) {
+      ParameterMetaData meta = call.getParameterMetaData();
+      assertEquals(2, meta.getParameterCount());
+      assertEquals(Integer.MAX_VALUE, meta.getPrecision(1));
+      assertEquals(10, meta.getPrecision(2));
+
+      call.setString("a", "text");
+      call.setInt("b", 1);
+      ResultSet rs = call.executeQuery();
+      assertTrue(rs.next());
+      assertEquals("text1", rs.getString(1));
+    }
+  }
+
   @Test
   public void callWithoutBracket() throws Exception {
     // error MXS-3929 for maxscale 6.2.0
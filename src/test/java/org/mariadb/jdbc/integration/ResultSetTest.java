@@ -5,6 +5,7 @@ package org.mariadb.jdbc.integration;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.math.BigDecimal;
@@ -13,6 +14,7 @@ import java.util.HashMap;
 import java.util.Map;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.mariadb.jdbc.Statement;
@@ -35,6 +37,237 @@ public class ResultSetTest extends Common {
     stmt.execute("INSERT INTO resultsettest(t2) values (1),(2),(3),(4),(5),(6),(7),(8)");
   }
 
+  @Test
+  public void labelIndexReuse() throws SQLException {
+    labelIndexReuse(sharedConn);
+    labelIndexReuse(sharedConnBinary);
+  }
+
+  private void labelIndexReuse(Connection con) throws SQLException {
+    java.sql.Statement stmt = con.createStatement();
+    stmt.execute("DROP TABLE IF EXISTS labelIndexReuse");
+    stmt.execute("CREATE TABLE labelIndexReuse (t1 int, t2 varchar(10))");
+    stmt.execute("INSERT INTO labelIndexReuse VALUES (1, 'a')");
+    try (PreparedStatement prep =
+        con.prepareStatement("SELECT t2, t1, t1 as t2 FROM labelIndexReuse WHERE 1 = ?")) {
+      prep.setInt(1, 1);
+      for (int i = 0; i < 2; i++) {
+        ResultSet rs = prep.executeQuery();
+        assertTrue(rs.next());
+        assertEquals(2, rs.findColumn("T1"));
+        assertEquals(1, rs.findColumn("t2"));
+        assertEquals(1, rs.findColumn("LabelIndexReuse.T2"));
+        assertEquals("a", rs.getString("T2"));
+        assertEquals(1, rs.getInt("labelindexreuse.t1"));
+      }
+    }
+
+    // same command with different metadata
+    try (PreparedStatement prep = con.prepareStatement("SELECT * FROM labelIndexReuse")) {
+      ResultSet rs = prep.executeQuery();
+      assertTrue(rs.next());
+      assertEquals(1, rs.getInt("t1"));
+      stmt.execute("ALTER TABLE labelIndexReuse CHANGE t1 t3 int");
+      rs = prep.executeQuery();
+      assertTrue(rs.next());
+      assertEquals(1, rs.getInt("t3"));
+      ResultSet finalRs = rs;
+      assertThrowsContains(SQLException.class, () -> finalRs.getInt("t1"), "Unknown label 't1'");
+    }
+    stmt.execute("DROP TABLE labelIndexReuse");
+  }
+
+  @Test
+  public void nonSequentialColumnAccess() throws Exception {
+    Assumptions.assumeTrue(isMariaDBServer());
+    nonSequentialColumnAccess(sharedConn, 0);
+    nonSequentialColumnAccess(sharedConn, 2);
+    nonSequentialColumnAccess(sharedConnBinary, 0);
+  }
+
+  private void nonSequentialColumnAccess(Connection con, int fetchSize) throws Exception {
+    int cols = 40;
+    StringBuilder sb = new StringBuilder("SELECT ");
+    for (int i = 0; i < cols; i++) {
+      if (i > 0) sb.append(',');
+      switch (i % 3) {
+        case 0:
+          sb.append("IF(seq % 2 = 0, NULL, seq + ").append(i).append(')');
+          break;
+        case 1:
+          sb.append("REPEAT('a', seq * 30 + ").append(i).append(')');
+          break;
+        default:
+          sb.append("seq + ").append(i);
+      }
+    }
+    sb.append(" FROM seq_1_to_10");
+
+    java.util.Random random = new java.util.Random(42);
+    try (PreparedStatement prep = con.prepareStatement(sb.toString())) {
+      prep.setFetchSize(fetchSize);
+      ResultSet rs = prep.executeQuery();
+      for (int seq = 1; seq <= 10; seq++) {
+        assertTrue(rs.next());
+        for (int i = cols - 1; i >= 0; i--) {
+          checkColumn(rs, seq, i);
+        }
+        for (int j = 0; j < 100; j++) {
+          checkColumn(rs, seq, random.nextInt(cols));
+        }
+        for (int i = 0; i < cols; i++) {
+          checkColumn(rs, seq, i);
+        }
+      }
+      assertFalse(rs.next());
+    }
+  }
+
+  private void checkColumn(ResultSet rs, int seq, int i) throws SQLException {
+    switch (i % 3) {
+      case 0:
+        if (seq % 2 == 0) {
+          assertNull(rs.getString(i + 1));
+        } else {
+          assertEquals(seq + i, rs.getInt(i + 1));
+        }
+        break;
+      case 1:
+        assertEquals(seq * 30 + i, rs.getString(i + 1).length());
+        break;
+      default:
+        assertEquals(seq + i, rs.getInt(i + 1));
+    }
+  }
+
+  @Test
+  public void recycleRowBuffers() throws Exception {
+    Assumptions.assumeTrue(isMariaDBServer());
+    try (Connection con = createCon("recycleRowBuffers")) {
+      recycleRowBuffers(con);
+    }
+    try (Connection con = createCon("recycleRowBuffers&useServerPrepStmts")) {
+      recycleRowBuffers(con);
+    }
+  }
+
+  private void recycleRowBuffers(Connection con) throws Exception {
+    PreparedStatement prep =
+        con.prepareStatement(
+            "SELECT seq, REPEAT('a', seq * 50), CAST(REPEAT('b', seq) AS BINARY) FROM seq_1_to_40",
+            ResultSet.TYPE_FORWARD_ONLY,
+            ResultSet.CONCUR_READ_ONLY);
+    prep.setFetchSize(3);
+    ResultSet rs = prep.executeQuery();
+    Blob blob = null;
+    Clob clob = null;
+    InputStream is = null;
+    for (int i = 1; i <= 40; i++) {
+      assertTrue(rs.next());
+      assertEquals(i, rs.getInt(1));
+      assertEquals(i * 50, rs.getString(2).length());
+      assertEquals(i, rs.getBytes(3).length);
+      if (i == 2) {
+        blob = rs.getBlob(3);
+        clob = rs.getClob(2);
+        is = rs.getBinaryStream(3);
+      }
+    }
+    assertFalse(rs.next());
+
+    // values obtained before must not be affected by row buffer recycling
+    assertArrayEquals(new byte[] {'b', 'b'}, blob.getBytes(1, 2));
+    assertEquals(100, clob.length());
+    assertEquals("aaaa", clob.getSubString(1, 4));
+    assertEquals('b', is.read());
+    assertEquals('b', is.read());
+    assertEquals(-1, is.read());
+
+    // other command executed while streaming
+    rs = prep.executeQuery();
+    assertTrue(rs.next());
+    assertEquals(1, rs.getInt(1));
+    ResultSet rs2 = con.createStatement().executeQuery("SELECT 5");
+    assertTrue(rs2.next());
+    assertEquals(5, rs2.getInt(1));
+    for (int i = 2; i <= 40; i++) {
+      assertTrue(rs.next());
+      assertEquals(i, rs.getInt(1));
+      assertEquals(i * 50, rs.getString(2).length());
+    }
+    assertFalse(rs.next());
+    rs.close();
+  }
+
+  @Test
+  public void streamLargeColumns() throws Exception {
+    Assumptions.assumeTrue(isMariaDBServer() && getMaxAllowedPacket() > 24 * 1024 * 1024);
+    try (Connection con = createCon("streamLargeColumns")) {
+      streamLargeColumns(con);
+    }
+    try (Connection con = createCon("streamLargeColumns&useServerPrepStmts")) {
+      streamLargeColumns(con);
+    }
+  }
+
+  private void streamLargeColumns(Connection con) throws Exception {
+    int len = 20 * 1024 * 1024;
+    PreparedStatement prep =
+        con.prepareStatement(
+            "SELECT seq, REPEAT('a', 100), IF(seq = 2, NULL, CAST(REPEAT('b', ?) AS BINARY)),"
+                + " seq * 2 FROM seq_1_to_4",
+            ResultSet.TYPE_FORWARD_ONLY,
+            ResultSet.CONCUR_READ_ONLY);
+    prep.setInt(1, len);
+    prep.setFetchSize(2);
+    ResultSet rs = prep.executeQuery();
+
+    // stream read to end, following columns being read afterward
+    assertTrue(rs.next());
+    assertEquals(1, rs.getInt(1));
+    assertEquals(100, rs.getString(2).length());
+    InputStream is = rs.getBinaryStream(3);
+    byte[] buf = new byte[8192];
+    long total = 0;
+    int read;
+    while ((read = is.read(buf)) > 0) {
+      for (int i = 0; i < read; i++) assertEquals('b', buf[i]);
+      total += read;
+    }
+    assertEquals(len, total);
+    assertEquals(2, rs.getInt(4));
+    assertEquals(1, rs.getInt(1));
+    Common.assertThrowsContains(
+        SQLException.class, () -> rs.getBytes(3), "content has already been read as a stream");
+
+    // small row
+    assertTrue(rs.next());
+    assertNull(rs.getBinaryStream(3));
+    assertEquals(4, rs.getInt(4));
+
+    // following column accessed before stream end
+    assertTrue(rs.next());
+    InputStream is3 = rs.getBinaryStream(3);
+    assertEquals('b', is3.read());
+    assertEquals(6, rs.getInt(4));
+    assertThrows(IOException.class, is3::read);
+
+    // large column loaded when not accessed as a stream
+    assertTrue(rs.next());
+    assertEquals(len, rs.getBytes(3).length);
+    assertEquals(8, rs.getInt(4));
+    assertFalse(rs.next());
+
+    // partially read stream, then result-set closed
+    ResultSet rs2 = prep.executeQuery();
+    assertTrue(rs2.next());
+    assertEquals('b', rs2.getBinaryStream(3).read());
+    rs2.close();
+    ResultSet rs3 = con.createStatement().executeQuery("SELECT 5");
+    assertTrue(rs3.next());
+    assertEquals(5, rs3.getInt(1));
+  }
+
   @Test
   public void nonUpdatableFields() throws SQLException {
     Statement stmt = sharedConn.createStatement();
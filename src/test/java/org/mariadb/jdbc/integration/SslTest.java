@@ -17,6 +17,7 @@ import org.junit.jupiter.api.*;
 import org.mariadb.jdbc.*;
 import org.mariadb.jdbc.Connection;
 import org.mariadb.jdbc.Statement;
+import org.mariadb.jdbc.client.tls.TlsHandshakeStatistics;
 import org.mariadb.jdbc.integration.tools.TcpProxy;
 
 @DisplayName("SSL tests")
@@ -135,6 +136,25 @@ public class SslTest extends Common {
     }
   }
 
+  @Test
+  public void handshakeStatistics() throws SQLException {
+    try (Connection con = createCon("sslMode=trust", sslPort)) {
+      assertNotNull(getSslVersion(con));
+    }
+    long initial =
+        TlsHandshakeStatistics.fullHandshakeCount()
+            + TlsHandshakeStatistics.resumedHandshakeCount();
+    for (int i = 0; i < 3; i++) {
+      try (Connection con = createCon("sslMode=trust", sslPort)) {
+        assertNotNull(getSslVersion(con));
+      }
+    }
+    assertEquals(
+        initial + 3,
+        TlsHandshakeStatistics.fullHandshakeCount()
+            + TlsHandshakeStatistics.resumedHandshakeCount());
+  }
+
   @Test
   public void mandatorySsl() throws SQLException {
     Assumptions.assumeTrue(
@@ -15,6 +15,7 @@ import java.util.concurrent.Executors;
 import org.junit.jupiter.api.*;
 import org.mariadb.jdbc.Connection;
 import org.mariadb.jdbc.Statement;
+import org.mariadb.jdbc.client.impl.CancelChannel;
 import org.mariadb.jdbc.client.result.CompleteResult;
 import org.mariadb.jdbc.plugin.Codec;
 
@@ -847,6 +848,39 @@ public class StatementTest extends Common {
         "Query execution was interrupted");
   }
 
+  @Test
+  public void cancelChannel() throws Exception {
+    Assumptions.assumeTrue(
+        !"maxscale".equals(System.getenv("srv"))
+            && !"skysql".equals(System.getenv("srv"))
+            && !"skysql-ha".equals(System.getenv("srv"))
+            && !isXpand());
+    long cancels = CancelChannel.cancelCount();
+    long connections = CancelChannel.connectionCount();
+    ExecutorService exec = Executors.newFixedThreadPool(1);
+    try {
+      for (int i = 0; i < 3; i++) {
+        try (Connection con = createCon()) {
+          Statement stmt = con.createStatement();
+          exec.execute(new CancelThread(stmt));
+          Common.assertThrowsContains(
+              SQLTimeoutException.class,
+              () ->
+                  stmt.execute(
+                      "select * from information_schema.columns as c1,"
+                          + " information_schema.tables, information_schema.tables as t2"),
+              "Query execution was interrupted");
+        }
+      }
+    } finally {
+      exec.shutdown();
+    }
+    assertEquals(cancels + 3, CancelChannel.cancelCount());
+    // cancel connection is shared
+    assertTrue(CancelChannel.connectionCount() - connections <= 1);
+    assertTrue(CancelChannel.cancelLatencyNanos() > 0);
+  }
+
   @Test
   public void fetch() throws SQLException {
     Statement stmt = sharedConn.createStatement();
@@ -124,6 +124,11 @@ public class TcpProxySocket implements Runnable {
       while (!stop) {
         try {
           client = ss.accept();
+          if (stop) {
+            // server socket closing is deferred while accepting, connection came after kill
+            client.close();
+            break;
+          }
           final InputStream fromClient = client.getInputStream();
           final OutputStream toClient = client.getOutputStream();
           try {
@@ -0,0 +1,116 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc.unit.client.socket;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.client.socket.impl.CompressInputStream;
+import org.mariadb.jdbc.client.socket.impl.CompressOutputStream;
+import org.mariadb.jdbc.client.util.MutableByte;
+import org.mariadb.jdbc.plugin.CompressionPlugin;
+import org.mariadb.jdbc.plugin.compression.zlib.ZlibCompressionPlugin;
+import org.mariadb.jdbc.plugin.compression.zstd.ZstdCompressionPlugin;
+
+public class CompressStreamTest {
+
+  @Test
+  public void roundTrip() throws Exception {
+    roundTrip(new ZlibCompressionPlugin(), 0);
+    roundTrip(new ZlibCompressionPlugin(), 9);
+    roundTrip(new ZstdCompressionPlugin(), 0);
+    roundTrip(new ZstdCompressionPlugin(), 19);
+  }
+
+  private void roundTrip(CompressionPlugin plugin, int level) throws Exception {
+    Random random = new Random(42);
+    // small packet, compressed packets smaller and bigger than kept buffers, incompressible data
+    int[] sizes = {100, 5_000, 200_000, 100, 2_000_000, 3_000, 0x00ffffff + 4 + 10_000};
+    byte[][] packets = new byte[sizes.length][];
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    MutableByte writeSequence = new MutableByte();
+    writeSequence.set((byte) -1);
+    try (CompressOutputStream out =
+        new CompressOutputStream(baos, writeSequence, plugin.compressor(level))) {
+      for (int i = 0; i < sizes.length; i++) {
+        byte[] packet = new byte[sizes[i]];
+        if (i % 2 == 0) {
+          random.nextBytes(packet);
+        } else {
+          for (int j = 0; j < packet.length; j++) packet[j] = (byte) ('a' + j % 20);
+        }
+        packets[i] = packet;
+        if (packet.length > 0x00ffffff + 4) {
+          // same as packet writer, sending maximum packet length then remaining
+          out.write(packet, 0, 0x00ffffff + 4);
+          out.write(packet, 0x00ffffff + 4, packet.length - 0x00ffffff - 4);
+        } else {
+          out.write(packet, 0, packet.length);
+        }
+        out.flush();
+      }
+    }
+
+    MutableByte readSequence = new MutableByte();
+    try (CompressInputStream in =
+        new CompressInputStream(
+            new ByteArrayInputStream(baos.toByteArray()), readSequence, plugin.decompressor())) {
+      for (byte[] packet : packets) {
+        byte[] read = new byte[packet.length];
+        int off = 0;
+        while (off < read.length) {
+          off += in.read(read, off, read.length - off);
+        }
+        Assertions.assertArrayEquals(packet, read);
+      }
+    }
+  }
+
+  @Test
+  public void skip() throws IOException {
+    byte[] packet = new byte[10_000];
+    for (int i = 0; i < packet.length; i++) packet[i] = (byte) i;
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    MutableByte sequence = new MutableByte();
+    try (CompressOutputStream out = new CompressOutputStream(baos, sequence)) {
+      out.write(packet, 0, packet.length);
+      out.write(packet, 0, 10);
+      out.flush();
+    }
+    try (CompressInputStream in =
+        new CompressInputStream(new ByteArrayInputStream(baos.toByteArray()), sequence)) {
+      long skipped = 0;
+      while (skipped < 9_990) skipped += in.skip(9_990 - skipped);
+      byte[] read = new byte[20];
+      Assertions.assertEquals(10, in.read(read, 0, 20));
+      Assertions.assertEquals((byte) 9_990, read[0]);
+      Assertions.assertEquals(10, in.read(read, 10, 10));
+      Assertions.assertEquals(0, read[10]);
+      Assertions.assertEquals(9, read[19]);
+    }
+  }
+
+  @Test
+  public void useAfterClose() throws IOException {
+    byte[] packet = new byte[10_000];
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    MutableByte sequence = new MutableByte();
+    CompressOutputStream out = new CompressOutputStream(baos, sequence);
+    out.write(packet, 0, packet.length);
+    out.close();
+    // compressor has been released: must fail with an IOException, not in native code
+    Assertions.assertThrows(IOException.class, () -> out.write(packet, 0, packet.length));
+    Assertions.assertThrows(IOException.class, out::flush);
+    out.close();
+
+    CompressInputStream in =
+        new CompressInputStream(new ByteArrayInputStream(baos.toByteArray()), sequence);
+    in.close();
+    Assertions.assertThrows(IOException.class, () -> in.read(packet, 0, 10));
+    in.close();
+  }
+}
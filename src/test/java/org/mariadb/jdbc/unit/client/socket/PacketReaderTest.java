@@ -0,0 +1,119 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc.unit.client.socket;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.Configuration;
+import org.mariadb.jdbc.client.socket.impl.PacketReader;
+import org.mariadb.jdbc.client.util.MutableByte;
+import org.mariadb.jdbc.client.util.MutableInt;
+
+public class PacketReaderTest {
+
+  private static final int MAX_PACKET_SIZE = 0xffffff;
+
+  @Test
+  public void readMultiPacket() throws IOException, SQLException {
+    // 16M + 16M + 10 bytes: split in 3 packets
+    PacketReader reader = reader(MAX_PACKET_SIZE, MAX_PACKET_SIZE, 10);
+    byte[] content = reader.readPacket(false);
+    checkContent(content, 2 * MAX_PACKET_SIZE + 10);
+  }
+
+  @Test
+  public void readExactMultiplePacket() throws IOException, SQLException {
+    // exactly 16M content is followed by an empty packet
+    PacketReader reader = reader(MAX_PACKET_SIZE, 0);
+    byte[] content = reader.readPacket(false);
+    checkContent(content, MAX_PACKET_SIZE);
+  }
+
+  @Test
+  public void readPooledMultiPacket() throws IOException, SQLException {
+    PacketReader reader = reader(MAX_PACKET_SIZE, 1000, 5);
+    MutableInt length = new MutableInt();
+    byte[] content = reader.readPooledPacket(false, length);
+    Assertions.assertEquals(MAX_PACKET_SIZE + 1000, length.get());
+    checkContent(content, MAX_PACKET_SIZE + 1000);
+
+    // following packet is read independently
+    content = reader.readPooledPacket(false, length);
+    Assertions.assertEquals(5, length.get());
+  }
+
+  private static PacketReader reader(int... packetLengths) throws SQLException {
+    return new PacketReader(
+        new PacketInputStream(packetLengths),
+        Configuration.parse("jdbc:mariadb://localhost/test"),
+        new MutableByte());
+  }
+
+  private static void checkContent(byte[] content, int expectedLength) {
+    Assertions.assertEquals(expectedLength, content.length);
+    for (int i = 0; i < content.length; i++) {
+      if (content[i] != (byte) (i % 251)) {
+        Assertions.fail("wrong content at position " + i);
+      }
+    }
+  }
+
+  /**
+   * Stream generating packets of the given lengths, content of each packet continuing previous
+   * packet content. Reads return at most 64K, like a socket would.
+   */
+  private static class PacketInputStream extends InputStream {
+    private final int[] packetLengths;
+    private final byte[] header = new byte[4];
+    private int packetIndex = -1;
+    private int headerPos = 4;
+    private int remaining;
+    private long contentPos;
+
+    PacketInputStream(int[] packetLengths) {
+      this.packetLengths = packetLengths;
+    }
+
+    private boolean nextPacket() {
+      if (packetIndex + 1 >= packetLengths.length) return false;
+      packetIndex++;
+      int length = packetLengths[packetIndex];
+      header[0] = (byte) length;
+      header[1] = (byte) (length >>> 8);
+      header[2] = (byte) (length >>> 16);
+      header[3] = (byte) packetIndex;
+      headerPos = 0;
+      remaining = length;
+      // packets that are not continuation packets restart content
+      if (packetIndex > 0 && packetLengths[packetIndex - 1] != MAX_PACKET_SIZE) contentPos = 0;
+      return true;
+    }
+
+    @Override
+    public int read() {
+      byte[] b = new byte[1];
+      return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (headerPos == 4 && remaining == 0 && !nextPacket()) return -1;
+      if (headerPos < 4) {
+        int count = Math.min(len, 4 - headerPos);
+        System.arraycopy(header, headerPos, b, off, count);
+        headerPos += count;
+        return count;
+      }
+      int count = Math.min(Math.min(len, remaining), 65536);
+      for (int i = 0; i < count; i++) {
+        b[off + i] = (byte) (contentPos++ % 251);
+      }
+      remaining -= count;
+      return count;
+    }
+  }
+}
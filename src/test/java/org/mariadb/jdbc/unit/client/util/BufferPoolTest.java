@@ -0,0 +1,51 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc.unit.client.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.client.util.BufferPool;
+
+public class BufferPoolTest {
+
+  @Test
+  public void sizeClasses() {
+    BufferPool pool = new BufferPool();
+    assertEquals(256, pool.acquire(0).length);
+    assertEquals(256, pool.acquire(256).length);
+    assertEquals(512, pool.acquire(257).length);
+    assertEquals(1024 * 1024, pool.acquire(1024 * 1024).length);
+    assertEquals(1024 * 1024 + 1, pool.acquire(1024 * 1024 + 1).length);
+  }
+
+  @Test
+  public void recycle() {
+    BufferPool pool = new BufferPool();
+    byte[] buf = pool.acquire(300);
+    byte[] buf2 = pool.acquire(400);
+    assertNotSame(buf, buf2);
+    pool.release(buf);
+    assertSame(buf, pool.acquire(500));
+    assertNotSame(buf, pool.acquire(500));
+
+    // arrays not coming from pool are ignored
+    byte[] other = new byte[300];
+    pool.release(other);
+    assertNotSame(other, pool.acquire(300));
+  }
+
+  @Test
+  public void bounded() {
+    BufferPool pool = new BufferPool();
+    byte[][] bufs = new byte[3][];
+    for (int i = 0; i < 3; i++) bufs[i] = pool.acquire(1024 * 1024);
+    for (int i = 0; i < 3; i++) pool.release(bufs[i]);
+    // biggest class keeps 2 arrays
+    assertSame(bufs[1], pool.acquire(1024 * 1024));
+    assertSame(bufs[0], pool.acquire(1024 * 1024));
+    byte[] newBuf = pool.acquire(1024 * 1024);
+    for (byte[] buf : bufs) assertNotSame(buf, newBuf);
+  }
+}
@@ -0,0 +1,76 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc.unit.codec;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.client.ColumnDecoder;
+import org.mariadb.jdbc.client.DataType;
+import org.mariadb.jdbc.codec.CodecDispatch;
+import org.mariadb.jdbc.plugin.Codec;
+import org.mariadb.jdbc.plugin.codec.IntCodec;
+import org.mariadb.jdbc.plugin.codec.StringCodec;
+
+public class CodecDispatchTest {
+
+  private static final ColumnDecoder VARCHAR_COLUMN =
+      ColumnDecoder.create("t1", DataType.VARCHAR, 0);
+  private static final ColumnDecoder SPECIAL_COLUMN =
+      ColumnDecoder.create("special", DataType.VARCHAR, 0);
+
+  @Test
+  public void customCodecBeforeBuiltIn() {
+    Codec<?> custom = new CustomStringCodec();
+    CodecDispatch dispatch =
+        new CodecDispatch(new Codec<?>[] {custom, StringCodec.INSTANCE, IntCodec.INSTANCE});
+
+    // resolution is cached: custom codec must still win on following calls
+    for (int i = 0; i < 2; i++) {
+      assertSame(custom, dispatch.decoder(VARCHAR_COLUMN, String.class));
+      assertSame(custom, dispatch.encoder("a"));
+      assertSame(IntCodec.INSTANCE, dispatch.encoder(1));
+    }
+  }
+
+  @Test
+  public void customCodecAfterBuiltIn() {
+    Codec<?> custom = new CustomStringCodec();
+    CodecDispatch dispatch =
+        new CodecDispatch(new Codec<?>[] {StringCodec.INSTANCE, custom, IntCodec.INSTANCE});
+
+    for (int i = 0; i < 2; i++) {
+      assertSame(StringCodec.INSTANCE, dispatch.decoder(VARCHAR_COLUMN, String.class));
+      assertSame(StringCodec.INSTANCE, dispatch.encoder("a"));
+    }
+  }
+
+  @Test
+  public void customCodecCheckedForEachValue() {
+    // custom codec decision depends on column name, not only on data type and requested class
+    Codec<?> custom = new SpecialColumnCodec();
+    CodecDispatch dispatch = new CodecDispatch(new Codec<?>[] {custom, StringCodec.INSTANCE});
+
+    assertSame(StringCodec.INSTANCE, dispatch.decoder(VARCHAR_COLUMN, String.class));
+    assertSame(custom, dispatch.decoder(SPECIAL_COLUMN, String.class));
+    assertSame(StringCodec.INSTANCE, dispatch.decoder(VARCHAR_COLUMN, String.class));
+  }
+
+  @Test
+  public void noCodec() {
+    CodecDispatch dispatch = new CodecDispatch(new Codec<?>[] {StringCodec.INSTANCE});
+    assertNull(dispatch.decoder(VARCHAR_COLUMN, Integer.class));
+    assertNull(dispatch.encoder(1));
+  }
+
+  /** User codec for a built-in class, not being a built-in codec even if extending one. */
+  private static class CustomStringCodec extends StringCodec {}
+
+  private static class SpecialColumnCodec extends StringCodec {
+    @Override
+    public boolean canDecode(ColumnDecoder column, Class<?> type) {
+      return "special".equals(column.getColumnName()) && super.canDecode(column, type);
+    }
+  }
+}
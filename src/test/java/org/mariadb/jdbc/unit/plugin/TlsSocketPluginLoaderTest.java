@@ -3,10 +3,15 @@
 // Copyright (c) 2015-2023 MariaDB Corporation Ab
 package org.mariadb.jdbc.unit.plugin;
 
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.security.KeyStore;
 import java.sql.SQLException;
+import javax.net.ssl.SSLSocketFactory;
 import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.Configuration;
 import org.mariadb.jdbc.integration.Common;
 import org.mariadb.jdbc.plugin.TlsSocketPlugin;
 import org.mariadb.jdbc.plugin.tls.TlsSocketPluginLoader;
@@ -23,4 +28,60 @@ public class TlsSocketPluginLoaderTest extends Common {
         () -> TlsSocketPluginLoader.get("UNKNOWN"),
         "Client has not found any TLS factory plugin with name 'UNKNOWN'");
   }
+
+  @Test
+  public void socketFactoryCache() throws Exception {
+    File keyStoreFile = File.createTempFile("keystore", ".p12");
+    keyStoreFile.deleteOnExit();
+    writeKeyStore(keyStoreFile);
+
+    TlsSocketPlugin plugin = TlsSocketPluginLoader.get("DEFAULT");
+    Configuration conf =
+        Configuration.parse(
+            "jdbc:mariadb://localhost/?sslMode=trust&keyStorePassword=kspass&keyStore="
+                + keyStoreFile.getAbsolutePath());
+    SSLSocketFactory factory = plugin.getSocketFactory(conf, null);
+    assertSame(factory, plugin.getSocketFactory(conf, null));
+    assertSame(factory, plugin.getSocketFactory(Configuration.parse(conf.initialUrl()), null));
+
+    // different TLS configuration
+    Configuration otherConf =
+        Configuration.parse(
+            "jdbc:mariadb://localhost/?sslMode=verify-ca&keyStorePassword=kspass&keyStore="
+                + keyStoreFile.getAbsolutePath());
+    assertNotSame(factory, plugin.getSocketFactory(otherConf, null));
+
+    // key store file change
+    writeKeyStore(keyStoreFile);
+    assertTrue(keyStoreFile.setLastModified(keyStoreFile.lastModified() - 10_000));
+    SSLSocketFactory reloaded = plugin.getSocketFactory(conf, null);
+    assertNotSame(factory, reloaded);
+    assertSame(reloaded, plugin.getSocketFactory(conf, null));
+  }
+
+  @Test
+  public void socketFactoryCacheEviction() throws Exception {
+    TlsSocketPlugin plugin = TlsSocketPluginLoader.get("DEFAULT");
+    Configuration[] confs = new Configuration[66];
+    SSLSocketFactory[] factories = new SSLSocketFactory[confs.length];
+    for (int i = 0; i < confs.length; i++) {
+      confs[i] =
+          Configuration.parse("jdbc:mariadb://localhost/?sslMode=trust&keyStorePassword=pwd" + i);
+      factories[i] = plugin.getSocketFactory(confs[i], null);
+      // keep first context recently used
+      assertSame(factories[0], plugin.getSocketFactory(confs[0], null));
+    }
+    // only least recently used contexts are evicted
+    assertSame(factories[0], plugin.getSocketFactory(confs[0], null));
+    assertSame(factories[65], plugin.getSocketFactory(confs[65], null));
+    assertNotSame(factories[1], plugin.getSocketFactory(confs[1], null));
+  }
+
+  private static void writeKeyStore(File file) throws Exception {
+    KeyStore ks = KeyStore.getInstance("PKCS12");
+    ks.load(null, null);
+    try (FileOutputStream out = new FileOutputStream(file)) {
+      ks.store(out, "kspass".toCharArray());
+    }
+  }
 }
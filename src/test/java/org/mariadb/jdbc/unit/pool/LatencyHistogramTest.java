@@ -0,0 +1,60 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc.unit.pool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.export.HistogramSnapshot;
+import org.mariadb.jdbc.pool.LatencyHistogram;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void empty() {
+    HistogramSnapshot snapshot = new LatencyHistogram().snapshot();
+    assertEquals(0, snapshot.getCount());
+    assertEquals(0, snapshot.getMean());
+    assertEquals(0, snapshot.getMax());
+    assertEquals(0, snapshot.getValueAtPercentile(99));
+  }
+
+  @Test
+  public void percentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long i = 1; i <= 10_000; i++) {
+      histogram.record(i * 1000);
+    }
+    HistogramSnapshot snapshot = histogram.snapshot();
+    assertEquals(10_000, snapshot.getCount());
+    assertEquals(5_000_500, snapshot.getMean());
+    assertEquals(10_000_000, snapshot.getMax());
+    checkPrecision(5_000_000, snapshot.getValueAtPercentile(50));
+    checkPrecision(9_000_000, snapshot.getValueAtPercentile(90));
+    checkPrecision(9_900_000, snapshot.getValueAtPercentile(99));
+    checkPrecision(1_000, snapshot.getValueAtPercentile(0));
+    assertEquals(10_000_000, snapshot.getValueAtPercentile(100));
+  }
+
+  @Test
+  public void bounds() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(-5);
+    histogram.record(0);
+    histogram.record(31);
+    histogram.record(Long.MAX_VALUE);
+    HistogramSnapshot snapshot = histogram.snapshot();
+    assertEquals(4, snapshot.getCount());
+    assertEquals(0, snapshot.getValueAtPercentile(50));
+    assertEquals(31, snapshot.getValueAtPercentile(75));
+    assertEquals(Long.MAX_VALUE, snapshot.getMax());
+    assertTrue(snapshot.getValueAtPercentile(100) > 1L << 43);
+  }
+
+  private void checkPrecision(long expected, long value) {
+    assertTrue(
+        Math.abs(value - expected) <= expected * 0.035,
+        String.format("expected ~%s but was %s", expected, value));
+  }
+}
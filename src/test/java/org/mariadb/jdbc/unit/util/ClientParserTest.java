@@ -8,6 +8,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.Test;
 import org.mariadb.jdbc.util.ClientParser;
+import org.mariadb.jdbc.util.ParseCache;
 
 @SuppressWarnings("ConstantConditions")
 public class ClientParserTest {
@@ -110,4 +111,76 @@ public class ClientParserTest {
     assertFalse(ClientParser.parameterParts("INSERT _duplicate key", true).isInsertDuplicate());
     assertFalse(ClientParser.parameterParts("INSERT duplicate_ key", true).isInsertDuplicate());
   }
+
+  @Test
+  public void cache() {
+    String sql = "SELECT * FROM cacheTest WHERE a = '\\' AND b = ?";
+    ClientParser parser = ClientParser.parameterParts(sql, false);
+    assertSame(parser, ClientParser.parameterParts(sql, false));
+    assertSame(parser, ClientParser.parameterParts(new String(sql.toCharArray()), false));
+
+    // escape mode is part of cache key
+    ClientParser noBackslashParser = ClientParser.parameterParts(sql, true);
+    assertNotSame(parser, noBackslashParser);
+    assertEquals(0, parser.getParamCount());
+    assertEquals(1, noBackslashParser.getParamCount());
+    assertThrows(
+        UnsupportedOperationException.class, () -> noBackslashParser.getParamPositions().add(1));
+
+    ParseCache<String> cache = new ParseCache<>(32);
+    assertNull(cache.get("a", false));
+    cache.put("a", false, "b");
+    assertEquals("b", cache.get("a", false));
+    assertNull(cache.get("a", true));
+    assertEquals(1, cache.hitCount());
+    assertEquals(2, cache.missCount());
+    assertEquals(1 / 3d, cache.hitRate(), 0.0001);
+    for (int i = 0; i < 1000; i++) cache.put("sql" + i, false, "v");
+    assertTrue(cache.size() <= 32);
+    cache.clear();
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.hitRate());
+  }
+
+  @Test
+  public void multiValuesRewritable() {
+    ClientParser parser =
+        ClientParser.parameterParts("INSERT INTO t(a, b) VALUES (?, '(?)')  ", false);
+    assertTrue(parser.isMultiValuesRewritable());
+    assertEquals("(?, '(?)')", sqlPart(parser, parser.getValuesStart(), parser.getValuesEnd()));
+
+    parser = ClientParser.parameterParts("insert t value(?,now(),?)", false);
+    assertTrue(parser.isMultiValuesRewritable());
+    assertEquals("(?,now(),?)", sqlPart(parser, parser.getValuesStart(), parser.getValuesEnd()));
+
+    parser = ClientParser.parameterParts("INSERT INTO t(values_a) VALUES /* c */ (?)", false);
+    assertTrue(parser.isMultiValuesRewritable());
+    assertEquals("(?)", sqlPart(parser, parser.getValuesStart(), parser.getValuesEnd()));
+
+    // no parameter, parameter out of values, trailing clause or not an INSERT
+    assertFalse(
+        ClientParser.parameterParts("INSERT INTO t VALUES (1)", false).isMultiValuesRewritable());
+    assertFalse(
+        ClientParser.parameterParts("INSERT INTO t VALUES (?) ON DUPLICATE KEY UPDATE a=?", false)
+            .isMultiValuesRewritable());
+    assertFalse(
+        ClientParser.parameterParts("INSERT INTO t VALUES (?) ON DUPLICATE KEY UPDATE a=1", false)
+            .isMultiValuesRewritable());
+    assertFalse(
+        ClientParser.parameterParts("INSERT INTO t VALUES (?),(?)", false)
+            .isMultiValuesRewritable());
+    assertFalse(
+        ClientParser.parameterParts("INSERT INTO t VALUES (?); SELECT 1", false)
+            .isMultiValuesRewritable());
+    assertFalse(
+        ClientParser.parameterParts("INSERT INTO t SELECT * FROM t2 WHERE a = ?", false)
+            .isMultiValuesRewritable());
+    assertFalse(
+        ClientParser.parameterParts("UPDATE t SET a = ? WHERE b = 'VALUES (?)'", false)
+            .isMultiValuesRewritable());
+  }
+
+  private String sqlPart(ClientParser parser, int start, int end) {
+    return new String(parser.getQuery(), start, end - start, StandardCharsets.UTF_8);
+  }
 }
@@ -6,6 +6,7 @@ package org.mariadb.jdbc.unit.util;
 import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.client.DataType;
 import org.mariadb.jdbc.codec.Parameter;
 import org.mariadb.jdbc.plugin.codec.StringCodec;
 import org.mariadb.jdbc.util.ParameterList;
@@ -20,4 +21,29 @@ public class ParameterListTest {
     assertNotNull(p.get(2));
     assertThrows(ArrayIndexOutOfBoundsException.class, () -> p.get(3));
   }
+
+  @Test
+  public void primitives() {
+    ParameterList p = new ParameterList(2);
+    p.setInt(0, 5);
+    p.setLong(1, 10_000_000_000L);
+    p.setDouble(3, 1.5);
+    assertTrue(p.containsKey(0));
+    assertFalse(p.containsKey(2));
+    assertTrue(p.containsKey(3));
+    assertEquals(4, p.size());
+    assertFalse(p.isNull(0));
+    assertEquals(DataType.INTEGER.get(), p.getBinaryEncodeType(0));
+    assertEquals(DataType.BIGINT.get(), p.getBinaryEncodeType(1));
+    assertEquals(DataType.DOUBLE.get(), p.getBinaryEncodeType(3));
+    assertEquals("5", p.get(0).bestEffortStringValue(null));
+    assertEquals("10000000000", p.get(1).bestEffortStringValue(null));
+    assertEquals("1.5", p.get(3).bestEffortStringValue(null));
+
+    ParameterList clone = p.clone();
+    p.set(0, new Parameter<>(StringCodec.INSTANCE, "test"));
+    assertEquals(DataType.VARSTRING.get(), p.getBinaryEncodeType(0));
+    assertEquals("5", clone.get(0).bestEffortStringValue(null));
+    assertEquals("1.5", clone.get(3).bestEffortStringValue(null));
+  }
 }
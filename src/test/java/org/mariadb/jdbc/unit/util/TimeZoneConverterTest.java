@@ -0,0 +1,99 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc.unit.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.ZoneId;
+import java.util.Calendar;
+import java.util.Random;
+import java.util.TimeZone;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.util.TimeZoneConverter;
+
+public class TimeZoneConverterTest {
+
+  private static final String[] ZONES = {
+    "UTC",
+    "GMT+05:30",
+    "Europe/Paris",
+    "America/New_York",
+    "America/Sao_Paulo",
+    "Australia/Lord_Howe",
+    "Asia/Kolkata",
+    "Pacific/Apia"
+  };
+
+  @Test
+  public void sameAsCalendar() {
+    Random random = new Random(42);
+    for (String zone : ZONES) {
+      TimeZone timeZone = TimeZone.getTimeZone(zone);
+      TimeZoneConverter converter = new TimeZoneConverter(timeZone);
+      Calendar cal = Calendar.getInstance(timeZone);
+      int converted = 0;
+      for (int i = 0; i < 20_000; i++) {
+        int year = i % 2 == 0 ? 1960 + random.nextInt(100) : 1500 + random.nextInt(8600);
+        int month = 1 + random.nextInt(12);
+        int day = 1 + random.nextInt(31);
+        int hour = random.nextInt(24);
+        int minute = random.nextInt(60);
+        int second = random.nextInt(60);
+        cal.clear();
+        cal.set(year, month - 1, day, hour, minute, second);
+
+        long millis = converter.epochMillis(year, month, day, hour, minute, second);
+        if (millis != TimeZoneConverter.UNSUPPORTED) {
+          converted++;
+          assertEquals(cal.getTimeInMillis(), millis, String.format("%s %s", zone, cal.getTime()));
+        }
+
+        millis = converter.dayEpochMillis(year, month, day, hour, minute, second);
+        if (millis != TimeZoneConverter.UNSUPPORTED) {
+          cal.clear();
+          cal.set(year, month - 1, day);
+          assertEquals(cal.getTimeInMillis(), millis, zone);
+        }
+      }
+      // only dates before gregorian cutover, invalid days and days near a transition use Calendar
+      assertTrue(converted > 15_000, zone + " " + converted);
+    }
+  }
+
+  @Test
+  public void transitions() {
+    TimeZoneConverter converter = new TimeZoneConverter(TimeZone.getTimeZone("Europe/Paris"));
+    // DST start (gap) and end (overlap) are left to Calendar
+    assertEquals(TimeZoneConverter.UNSUPPORTED, converter.epochMillis(2023, 3, 26, 2, 30, 0));
+    assertEquals(TimeZoneConverter.UNSUPPORTED, converter.epochMillis(2023, 10, 29, 2, 30, 0));
+    assertEquals(1687775400000L, converter.epochMillis(2023, 6, 26, 12, 30, 0));
+
+    // fixed offset
+    converter = new TimeZoneConverter(TimeZone.getTimeZone("UTC"));
+    assertEquals(1679797800000L, converter.epochMillis(2023, 3, 26, 2, 30, 0));
+    assertEquals(0, converter.epochOffset());
+
+    // out of range fields
+    assertEquals(TimeZoneConverter.UNSUPPORTED, converter.epochMillis(2023, 2, 29, 0, 0, 0));
+    assertEquals(TimeZoneConverter.UNSUPPORTED, converter.epochMillis(2023, 0, 1, 0, 0, 0));
+    assertEquals(TimeZoneConverter.UNSUPPORTED, converter.epochMillis(2023, 1, 1, 24, 0, 0));
+    assertEquals(TimeZoneConverter.UNSUPPORTED, converter.epochMillis(1582, 1, 1, 0, 0, 0));
+    assertEquals(951782400000L, converter.epochMillis(2000, 2, 29, 0, 0, 0));
+  }
+
+  @Test
+  public void defaultTimeZoneChange() {
+    TimeZone initial = TimeZone.getDefault();
+    try {
+      TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+      assertEquals(ZoneId.of("America/New_York"), TimeZoneConverter.getDefault().zoneId());
+      assertEquals(-5 * 3_600_000, TimeZoneConverter.getDefault().epochOffset());
+      TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+      assertEquals(ZoneId.of("UTC"), TimeZoneConverter.getDefault().zoneId());
+      assertEquals(0, TimeZoneConverter.getDefault().epochMillis(1970, 1, 1, 0, 0, 0));
+    } finally {
+      TimeZone.setDefault(initial);
+    }
+  }
+}
@@ -0,0 +1,62 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2023 MariaDB Corporation Ab
+package org.mariadb.jdbc.unit.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.util.TimeoutWheel;
+
+public class TimeoutWheelTest {
+
+  @Test
+  public void expire() throws Exception {
+    TimeoutWheel wheel = new TimeoutWheel(10, 8);
+    CountDownLatch latch = new CountDownLatch(1);
+    TimeoutWheel.Timeout timeout = new TimeoutWheel.Timeout(latch::countDown);
+    long start = System.nanoTime();
+    // more than a wheel round
+    wheel.arm(timeout, 150);
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 140);
+  }
+
+  @Test
+  public void disarm() throws Exception {
+    TimeoutWheel wheel = new TimeoutWheel(10, 8);
+    AtomicInteger fired = new AtomicInteger();
+    TimeoutWheel.Timeout timeout = new TimeoutWheel.Timeout(fired::incrementAndGet);
+    for (int i = 0; i < 1000; i++) {
+      wheel.arm(timeout, 50);
+      wheel.disarm(timeout);
+    }
+    TimeoutWheel.Timeout other = new TimeoutWheel.Timeout(fired::incrementAndGet);
+    wheel.arm(other, 20);
+    wheel.arm(other, 60);
+    Thread.sleep(200);
+    assertEquals(1, fired.get());
+  }
+
+  @Test
+  public void stamp() throws Exception {
+    TimeoutWheel wheel = new TimeoutWheel(10, 8);
+    CountDownLatch latch = new CountDownLatch(1);
+    AtomicLong received = new AtomicLong();
+    TimeoutWheel.Timeout timeout =
+        new TimeoutWheel.Timeout(
+            (long stamp) -> {
+              received.set(stamp);
+              latch.countDown();
+            });
+    wheel.arm(timeout, 20, 5);
+    // re-armed timeout only expires with last stamp
+    wheel.arm(timeout, 40, 7);
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    assertEquals(7, received.get());
+  }
+}